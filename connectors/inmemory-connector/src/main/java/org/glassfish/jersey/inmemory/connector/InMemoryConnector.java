@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.inmemory.connector;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.security.Principal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.SecurityContext;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.internal.guava.ThreadFactoryBuilder;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+
+/**
+ * Connector invoking a Jersey server application through its {@link ApplicationHandler}.
+ * <p>
+ * Each request is handled by the application in a connector worker thread. The request entity is streamed to the
+ * application while it is being written by a connector writer thread, the response is returned to the client as soon as its
+ * status and headers are written and the response entity is streamed while it is being written by the application. Both
+ * worker and writer pools are bounded by {@link InMemoryConnectorProperties#WORKER_POOL_SIZE}; the writers have a pool of
+ * their own as a writer may wait for its request to be picked up by a worker.
+ * </p>
+ * <p>
+ * An asynchronous request does not hold any thread while waiting for the response. The callback is notified by a connector
+ * callback thread (from a pool bounded the same way), as it may read the response entity while the application is writing
+ * it.
+ * </p>
+ */
+class InMemoryConnector implements Connector {
+
+    private static final SecurityContext SECURITY_CONTEXT = new SecurityContext() {
+        @Override
+        public Principal getUserPrincipal() {
+            return null;
+        }
+
+        @Override
+        public boolean isUserInRole(final String role) {
+            return false;
+        }
+
+        @Override
+        public boolean isSecure() {
+            return false;
+        }
+
+        @Override
+        public String getAuthenticationScheme() {
+            return null;
+        }
+    };
+
+    private final URI baseUri;
+    private final ApplicationHandler appHandler;
+    private final int bufferSize;
+    private static final int MAX_REDIRECTS = 20;
+
+    private final ExecutorService executor;
+    private final ExecutorService writerExecutor;
+    private final ExecutorService callbackExecutor;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Create new in-memory connector.
+     *
+     * @param baseUri    application base URI.
+     * @param appHandler handler of the invoked application.
+     * @param config     client runtime configuration.
+     */
+    InMemoryConnector(final URI baseUri, final ApplicationHandler appHandler, final Configuration config) {
+        this.baseUri = baseUri;
+        this.appHandler = appHandler;
+
+        final Integer configuredBufferSize = ClientProperties.getValue(config.getProperties(),
+                InMemoryConnectorProperties.BUFFER_SIZE, InMemoryConnectorProperties.DEFAULT_BUFFER_SIZE, Integer.class);
+        if (configuredBufferSize <= 0) {
+            throw new ProcessingException(LocalizationMessages.WRONG_BUFFER_SIZE(configuredBufferSize));
+        }
+        this.bufferSize = configuredBufferSize;
+
+        final Integer poolSize = ClientProperties.getValue(config.getProperties(),
+                InMemoryConnectorProperties.WORKER_POOL_SIZE, InMemoryConnectorProperties.DEFAULT_WORKER_POOL_SIZE,
+                Integer.class);
+        if (poolSize <= 0) {
+            throw new ProcessingException(LocalizationMessages.WRONG_WORKER_POOL_SIZE(poolSize));
+        }
+        this.executor = newBoundedPool(poolSize, "jersey-inmemory-connector-%d");
+        this.writerExecutor = newBoundedPool(poolSize, "jersey-inmemory-connector-writer-%d");
+        this.callbackExecutor = newBoundedPool(poolSize, "jersey-inmemory-connector-callback-%d");
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("jersey-inmemory-connector-scheduler-%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    private static ExecutorService newBoundedPool(final int size, final String nameFormat) {
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(size, size, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    @Override
+    public ClientResponse apply(final ClientRequest clientRequest) {
+        final boolean followRedirects = clientRequest.resolveProperty(ClientProperties.FOLLOW_REDIRECTS, true);
+
+        ClientRequest request = clientRequest;
+        ClientResponse response = invoke(request);
+        for (int redirects = 0; followRedirects && redirects < MAX_REDIRECTS; redirects++) {
+            final ClientRequest redirected = redirect(request, response);
+            if (redirected == null) {
+                break;
+            }
+            response.close();
+            request = redirected;
+            response = invoke(request);
+        }
+        return response;
+    }
+
+    /**
+     * Create the request following a redirect response.
+     *
+     * @return redirected request or {@code null} if the response is not a redirect that can be followed.
+     */
+    private static ClientRequest redirect(final ClientRequest request, final ClientResponse response) {
+        final int status = response.getStatus();
+        if (!isRedirect(status) || response.getLocation() == null) {
+            return null;
+        }
+
+        final ClientRequest redirected = new ClientRequest(request);
+        redirected.setUri(request.getUri().resolve(response.getLocation()));
+        final String method = request.getMethod();
+        if ((status == 303 && !HttpMethod.HEAD.equals(method))
+                || ((status == 301 || status == 302) && HttpMethod.POST.equals(method))) {
+            redirected.setMethod(HttpMethod.GET);
+            redirected.setEntity(null);
+            redirected.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+            redirected.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            redirected.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+        }
+        // the request entity has been streamed to the application and cannot be sent again
+        return redirected.hasEntity() ? null : redirected;
+    }
+
+    @Override
+    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+        final AtomicReference<InMemoryResponseWriter> current = new AtomicReference<>();
+        final CompletableFuture<ClientResponse> result = new CompletableFuture<ClientResponse>() {
+            @Override
+            public boolean cancel(final boolean mayInterruptIfRunning) {
+                final boolean cancelled = super.cancel(mayInterruptIfRunning);
+                final InMemoryResponseWriter responseWriter = current.get();
+                if (cancelled && responseWriter != null) {
+                    responseWriter.cancel();
+                }
+                return cancelled;
+            }
+        };
+        result.whenComplete((response, failure) -> {
+            if (failure == null) {
+                callback.response(response);
+            } else if (!result.isCancelled()) {
+                callback.failure(failure);
+            }
+        });
+
+        final boolean followRedirects = request.resolveProperty(ClientProperties.FOLLOW_REDIRECTS, true);
+        invokeAsync(request, followRedirects ? MAX_REDIRECTS : 0, result, current);
+        return result;
+    }
+
+    /**
+     * Pass the request to the application and complete the result once the response status and headers are written,
+     * following at most the given number of redirects.
+     */
+    private void invokeAsync(final ClientRequest clientRequest,
+                             final int redirects,
+                             final CompletableFuture<ClientResponse> result,
+                             final AtomicReference<InMemoryResponseWriter> current) {
+        final InMemoryResponseWriter responseWriter;
+        try {
+            responseWriter = send(clientRequest);
+        } catch (final RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        current.set(responseWriter);
+        if (result.isCancelled()) {
+            responseWriter.cancel();
+            return;
+        }
+
+        final int readTimeout = clientRequest.resolveProperty(ClientProperties.READ_TIMEOUT, 0);
+        final ScheduledFuture<?> timeout = readTimeout <= 0 ? null : scheduler.schedule(
+                () -> responseWriter.getResponse().completeExceptionally(new ProcessingException(
+                        LocalizationMessages.RESPONSE_TIMEOUT(readTimeout), new TimeoutException())),
+                readTimeout, TimeUnit.MILLISECONDS);
+
+        // the response is completed by the application thread that is about to write the entity, which the callback may read
+        responseWriter.getResponse().whenCompleteAsync((response, failure) -> {
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            if (failure != null) {
+                responseWriter.cancel();
+                result.completeExceptionally(toProcessingException(failure));
+                return;
+            }
+
+            final ClientRequest redirected = redirects > 0 ? redirect(clientRequest, response) : null;
+            if (redirected != null && !result.isDone()) {
+                response.close();
+                invokeAsync(redirected, redirects - 1, result, current);
+            } else if (!result.complete(response)) {
+                // cancelled in the meantime
+                response.close();
+            }
+        }, callbackExecutor);
+    }
+
+    /**
+     * Pass the request to the application and wait for the response status and headers.
+     */
+    private ClientResponse invoke(final ClientRequest clientRequest) {
+        final InMemoryResponseWriter responseWriter = send(clientRequest);
+        try {
+            return awaitResponse(clientRequest, responseWriter);
+        } catch (final RuntimeException e) {
+            responseWriter.cancel();
+            throw e;
+        }
+    }
+
+    /**
+     * Pass the request to the application without waiting for the response.
+     *
+     * @return writer of the response to the request.
+     */
+    private InMemoryResponseWriter send(final ClientRequest clientRequest) {
+        final ContainerRequest containerRequest = new ContainerRequest(baseUri,
+                clientRequest.getUri(), clientRequest.getMethod(),
+                SECURITY_CONTEXT, new MapPropertiesDelegate(), appHandler.getConfiguration());
+
+        final InMemoryResponseWriter responseWriter = new InMemoryResponseWriter(clientRequest, bufferSize, scheduler);
+        containerRequest.setWriter(responseWriter);
+
+        try {
+            if (clientRequest.hasEntity()) {
+                final PipedBuffer requestBuffer = new PipedBuffer(bufferSize);
+                containerRequest.setEntityStream(requestBuffer.getInputStream());
+                // the application is no longer interested in the rest of the request entity once it has responded
+                responseWriter.onComplete(requestBuffer::discard);
+
+                // the headers are final once the entity stream is requested; only then the application can be invoked
+                clientRequest.setStreamProvider(contentLength -> {
+                    copyHeaders(clientRequest, containerRequest, contentLength);
+                    dispatch(containerRequest, responseWriter);
+                    return requestBuffer.getOutputStream();
+                });
+                // the entity is written by a worker so that the caller is able to read a response streamed
+                // by the application while the request entity is still being consumed
+                writeEntity(clientRequest, requestBuffer, responseWriter);
+            } else {
+                copyHeaders(clientRequest, containerRequest, -1);
+                containerRequest.setEntityStream(new ByteArrayInputStream(new byte[0]));
+                dispatch(containerRequest, responseWriter);
+            }
+
+            return responseWriter;
+        } catch (final RuntimeException e) {
+            responseWriter.cancel();
+            throw e;
+        }
+    }
+
+    private void writeEntity(final ClientRequest clientRequest,
+                             final PipedBuffer requestBuffer,
+                             final InMemoryResponseWriter responseWriter) {
+        try {
+            writerExecutor.execute(() -> {
+                try {
+                    clientRequest.writeEntity();
+                } catch (final IOException | RuntimeException e) {
+                    requestBuffer.fail(e);
+                    // no effect if the application has already responded
+                    responseWriter.getResponse().completeExceptionally(
+                            new ProcessingException(LocalizationMessages.ENTITY_WRITE_FAILED(), e));
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            throw new ProcessingException(LocalizationMessages.CONNECTOR_CLOSED(), e);
+        }
+    }
+
+    private static void copyHeaders(final ClientRequest clientRequest,
+                                    final ContainerRequest containerRequest,
+                                    final int contentLength) {
+        containerRequest.getHeaders().putAll(clientRequest.getStringHeaders());
+        if (contentLength != -1 && !containerRequest.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH)) {
+            containerRequest.getHeaders().putSingle(HttpHeaders.CONTENT_LENGTH, String.valueOf(contentLength));
+        }
+    }
+
+    private void dispatch(final ContainerRequest containerRequest, final InMemoryResponseWriter responseWriter) {
+        try {
+            executor.execute(() -> {
+                try {
+                    appHandler.handle(containerRequest);
+                } catch (final Throwable t) {
+                    responseWriter.failure(t);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            throw new ProcessingException(LocalizationMessages.CONNECTOR_CLOSED(), e);
+        }
+    }
+
+    private static ClientResponse awaitResponse(final ClientRequest clientRequest,
+                                                final InMemoryResponseWriter responseWriter) {
+        final int readTimeout = clientRequest.resolveProperty(ClientProperties.READ_TIMEOUT, 0);
+        try {
+            return readTimeout > 0
+                    ? responseWriter.getResponse().get(readTimeout, TimeUnit.MILLISECONDS)
+                    : responseWriter.getResponse().get();
+        } catch (final ExecutionException e) {
+            throw toProcessingException(e.getCause());
+        } catch (final TimeoutException e) {
+            throw new ProcessingException(LocalizationMessages.RESPONSE_TIMEOUT(readTimeout), e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        }
+    }
+
+    private static ProcessingException toProcessingException(final Throwable cause) {
+        return cause instanceof ProcessingException
+                ? (ProcessingException) cause
+                : new ProcessingException(LocalizationMessages.SERVER_PROCESSING_FAILED(), cause);
+    }
+
+    private static boolean isRedirect(final int status) {
+        return status == 301 || status == 302 || status == 303 || status == 307 || status == 308;
+    }
+
+    @Override
+    public String getName() {
+        return "Jersey InMemory Connector";
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        writerExecutor.shutdownNow();
+        callbackExecutor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+}
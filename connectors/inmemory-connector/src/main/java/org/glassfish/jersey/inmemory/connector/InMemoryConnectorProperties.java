@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.inmemory.connector;
+
+import org.glassfish.jersey.internal.util.PropertiesClass;
+
+/**
+ * Configuration options specific to the Client API that utilizes {@link InMemoryConnectorProvider}.
+ *
+ * @since 2.41
+ */
+@PropertiesClass
+public final class InMemoryConnectorProperties {
+
+    /**
+     * Size in bytes of the buffers connecting the client with the server application. The request entity and the response
+     * entity are streamed through the buffers; a producer that gets ahead of the consumer by more than the buffer size is
+     * blocked until the consumer catches up.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * </p>
+     * <p>
+     * The default value is {@value #DEFAULT_BUFFER_SIZE}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String BUFFER_SIZE = "jersey.config.client.inmemory.bufferSize";
+
+    /**
+     * Default size in bytes of the in-memory buffers.
+     *
+     * @see #BUFFER_SIZE
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * Maximum number of connector threads invoking the application. The same number of connector threads at most is used
+     * to write request entities. Requests exceeding the limit wait for a thread to become available.
+     * <p>
+     * Asynchronous client requests are executed by the client {@link org.glassfish.jersey.client.ClientAsyncExecutor async
+     * executor}, not by the connector threads.
+     * </p>
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * </p>
+     * <p>
+     * The default value is {@value #DEFAULT_WORKER_POOL_SIZE}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String WORKER_POOL_SIZE = "jersey.config.client.inmemory.workerPoolSize";
+
+    /**
+     * Default maximum number of connector threads invoking the application.
+     *
+     * @see #WORKER_POOL_SIZE
+     */
+    public static final int DEFAULT_WORKER_POOL_SIZE = 64;
+
+    private InMemoryConnectorProperties() {
+        // prevents instantiation
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.inmemory.connector;
+
+import java.net.URI;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.glassfish.jersey.server.ApplicationHandler;
+
+/**
+ * Provider of Jersey {@link Connector connectors} invoking a Jersey server application running in the same JVM directly,
+ * without any network transport.
+ * <p>
+ * Requests are passed to the {@link ApplicationHandler} of the application; request and response entities are streamed
+ * between the client and the application through bounded in-memory buffers (see
+ * {@link InMemoryConnectorProperties#BUFFER_SIZE}). The application is invoked in a connector worker thread, so both
+ * synchronous and asynchronous client invocations, {@link javax.ws.rs.container.Suspended suspended} server-side
+ * responses, {@link org.glassfish.jersey.server.ChunkedOutput chunked output} and Server-Sent Events are supported.
+ * </p>
+ * <p>
+ * The following connector configuration properties are supported:
+ * <ul>
+ * <li>{@link org.glassfish.jersey.client.ClientProperties#READ_TIMEOUT}</li>
+ * <li>{@link org.glassfish.jersey.client.ClientProperties#FOLLOW_REDIRECTS}</li>
+ * <li>{@link InMemoryConnectorProperties#BUFFER_SIZE}</li>
+ * </ul>
+ * </p>
+ * <p>
+ * If a {@link org.glassfish.jersey.client.ClientResponse} is obtained and an entity is not read from the response then
+ * {@link org.glassfish.jersey.client.ClientResponse#close()} MUST be called after processing the response to let
+ * the application finish writing the response.
+ * </p>
+ * <p>
+ * The lifecycle of the application handler is managed by the caller.
+ * </p>
+ *
+ * @since 2.41
+ */
+public class InMemoryConnectorProvider implements ConnectorProvider {
+
+    private final URI baseUri;
+    private final ApplicationHandler applicationHandler;
+
+    /**
+     * Create new in-memory connector provider.
+     *
+     * @param baseUri            base URI of the application; request URIs are resolved against it on the server side.
+     * @param applicationHandler handler of the application to be invoked.
+     */
+    public InMemoryConnectorProvider(final URI baseUri, final ApplicationHandler applicationHandler) {
+        this.baseUri = baseUri;
+        this.applicationHandler = applicationHandler;
+    }
+
+    @Override
+    public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+        return new InMemoryConnector(baseUri, applicationHandler, runtimeConfig);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.inmemory.connector;
+
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.HttpHeaders;
+
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
+
+/**
+ * Container response writer streaming the server-side response to the client through a {@link PipedBuffer}.
+ * <p>
+ * The client response is {@link #getResponse() completed} as soon as the response status and headers are written;
+ * the entity is then read by the client while it is being written by the application.
+ * </p>
+ */
+final class InMemoryResponseWriter implements ContainerResponseWriter {
+
+    private final ClientRequest clientRequest;
+    private final PipedBuffer responseBuffer;
+    private final ScheduledExecutorService scheduler;
+    private final CompletableFuture<ClientResponse> response = new CompletableFuture<>();
+
+    private volatile Runnable completionCallback = () -> { };
+    private TimeoutHandler timeoutHandler;
+    private ScheduledFuture<?> timeoutTask;
+
+    /**
+     * Create new response writer.
+     *
+     * @param clientRequest client request the response is written for.
+     * @param bufferSize    size of the response entity buffer.
+     * @param scheduler     scheduler of the suspend timeouts.
+     */
+    InMemoryResponseWriter(final ClientRequest clientRequest, final int bufferSize, final ScheduledExecutorService scheduler) {
+        this.clientRequest = clientRequest;
+        this.responseBuffer = new PipedBuffer(bufferSize);
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Get the client response. The future completes once the response status and headers have been written
+     * or the server-side processing has failed.
+     *
+     * @return client response future.
+     */
+    CompletableFuture<ClientResponse> getResponse() {
+        return response;
+    }
+
+    /**
+     * Set the callback invoked once the server-side processing of the request has finished.
+     *
+     * @param completionCallback completion callback.
+     */
+    void onComplete(final Runnable completionCallback) {
+        this.completionCallback = completionCallback;
+    }
+
+    /**
+     * Abandon the response, e.g. if the client-side processing failed before the response has been obtained.
+     * Any further attempt of the application to write the response entity fails.
+     */
+    void cancel() {
+        responseBuffer.closeReader();
+    }
+
+    @Override
+    public OutputStream writeResponseStatusAndHeaders(final long contentLength, final ContainerResponse responseContext) {
+        if (contentLength >= 0) {
+            responseContext.getHeaders().putSingle(HttpHeaders.CONTENT_LENGTH, String.valueOf(contentLength));
+        }
+
+        final ClientResponse clientResponse = new ClientResponse(responseContext.getStatusInfo(), clientRequest);
+        clientResponse.getHeaders().putAll(responseContext.getStringHeaders());
+        clientResponse.setEntityStream(responseBuffer.getInputStream());
+        response.complete(clientResponse);
+
+        return responseBuffer.getOutputStream();
+    }
+
+    @Override
+    public synchronized boolean suspend(final long timeOut, final TimeUnit timeUnit, final TimeoutHandler timeoutHandler) {
+        if (this.timeoutHandler != null) {
+            return false;
+        }
+        this.timeoutHandler = timeoutHandler;
+        scheduleTimeout(timeOut, timeUnit);
+        return true;
+    }
+
+    @Override
+    public synchronized void setSuspendTimeout(final long timeOut, final TimeUnit timeUnit) throws IllegalStateException {
+        if (timeoutHandler == null) {
+            throw new IllegalStateException(LocalizationMessages.RESPONSE_NOT_SUSPENDED());
+        }
+        cancelTimeout();
+        scheduleTimeout(timeOut, timeUnit);
+    }
+
+    private void scheduleTimeout(final long timeOut, final TimeUnit timeUnit) {
+        if (timeOut > 0) {
+            final TimeoutHandler handler = timeoutHandler;
+            timeoutTask = scheduler.schedule(() -> handler.onTimeout(this), timeOut, timeUnit);
+        }
+    }
+
+    private synchronized void cancelTimeout() {
+        if (timeoutTask != null) {
+            timeoutTask.cancel(false);
+            timeoutTask = null;
+        }
+    }
+
+    @Override
+    public void commit() {
+        cancelTimeout();
+        completionCallback.run();
+        responseBuffer.closeWriter();
+        response.completeExceptionally(new ProcessingException(LocalizationMessages.SERVER_PROCESSING_FAILED()));
+    }
+
+    @Override
+    public void failure(final Throwable error) {
+        cancelTimeout();
+        completionCallback.run();
+        if (!response.completeExceptionally(new ProcessingException(LocalizationMessages.SERVER_PROCESSING_FAILED(), error))) {
+            // the client has already received the status and headers, let it fail while reading the entity
+            responseBuffer.fail(error);
+        }
+    }
+
+    @Override
+    public boolean enableResponseBuffering() {
+        return true;
+    }
+}
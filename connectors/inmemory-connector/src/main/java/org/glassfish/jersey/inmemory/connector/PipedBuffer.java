@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.inmemory.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+
+/**
+ * Bounded in-memory pipe connecting a producer of an entity with its consumer running in a different thread.
+ * <p>
+ * The writing side blocks while the buffer is full, the reading side blocks while the buffer is empty. Closing the
+ * {@link #getOutputStream() output stream} signals the end of the stream to the reader, {@link #fail(Throwable) failing}
+ * the pipe propagates the error to the reader. Closing the {@link #getInputStream() input stream} makes any further
+ * writes fail with an {@link IOException} so that the producer is able to detect the consumer has gone away, unless
+ * the remaining data are {@link #discard() discarded}.
+ * </p>
+ */
+final class PipedBuffer {
+
+    private final byte[] buffer;
+    private int readPosition = 0;
+    private int count = 0;
+
+    private boolean writerClosed = false;
+    private boolean readerClosed = false;
+    private boolean discard = false;
+    private Throwable failure;
+
+    private final InputStream inputStream = new PipedInputStream();
+    private final OutputStream outputStream = new PipedOutputStream();
+
+    /**
+     * Create new pipe.
+     *
+     * @param capacity maximum number of bytes written, but not yet read.
+     */
+    PipedBuffer(final int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    /**
+     * Get the reading side of the pipe.
+     *
+     * @return pipe input stream.
+     */
+    InputStream getInputStream() {
+        return inputStream;
+    }
+
+    /**
+     * Get the writing side of the pipe.
+     *
+     * @return pipe output stream.
+     */
+    OutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    /**
+     * Terminate the pipe with an error. The reader receives an {@link IOException} caused by the error once it has read
+     * the buffered data.
+     *
+     * @param error error to be propagated to the reader.
+     */
+    synchronized void fail(final Throwable error) {
+        if (!writerClosed) {
+            failure = error;
+            writerClosed = true;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Silently drop all the data written to the pipe from now on. Used once the consumer is no longer interested in
+     * the rest of the stream, but the producer should be allowed to finish normally.
+     */
+    synchronized void discard() {
+        discard = true;
+        readerClosed = true;
+        count = 0;
+        notifyAll();
+    }
+
+    private synchronized int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (count == 0) {
+            if (readerClosed) {
+                throw new IOException(LocalizationMessages.BUFFER_CLOSED());
+            }
+            if (writerClosed) {
+                if (failure != null) {
+                    throw new IOException(failure);
+                }
+                return -1;
+            }
+            await();
+        }
+        final int n = Math.min(len, Math.min(count, buffer.length - readPosition));
+        System.arraycopy(buffer, readPosition, b, off, n);
+        readPosition = (readPosition + n) % buffer.length;
+        count -= n;
+        notifyAll();
+        return n;
+    }
+
+    private synchronized int available() {
+        return count;
+    }
+
+    /**
+     * Close the reading end of the buffer. Any data not read yet are dropped.
+     */
+    synchronized void closeReader() {
+        readerClosed = true;
+        count = 0;
+        notifyAll();
+    }
+
+    private synchronized void write(final byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (writerClosed) {
+                throw new IOException(LocalizationMessages.BUFFER_CLOSED());
+            }
+            if (readerClosed) {
+                if (discard) {
+                    return;
+                }
+                throw new IOException(LocalizationMessages.BUFFER_CLOSED());
+            }
+            if (count == buffer.length) {
+                await();
+                continue;
+            }
+            final int writePosition = (readPosition + count) % buffer.length;
+            final int n = Math.min(len, Math.min(buffer.length - count, buffer.length - writePosition));
+            System.arraycopy(b, off, buffer, writePosition, n);
+            count += n;
+            off += n;
+            len -= n;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Close the writing end of the buffer. The reader receives the end of the stream once all the data are read.
+     */
+    synchronized void closeWriter() {
+        writerClosed = true;
+        notifyAll();
+    }
+
+    private void await() throws InterruptedIOException {
+        try {
+            wait();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException ioe = new InterruptedIOException();
+            ioe.initCause(e);
+            throw ioe;
+        }
+    }
+
+    private final class PipedInputStream extends InputStream {
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return PipedBuffer.this.read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            return PipedBuffer.this.read(b, off, len);
+        }
+
+        @Override
+        public int available() {
+            return PipedBuffer.this.available();
+        }
+
+        @Override
+        public void close() {
+            closeReader();
+        }
+    }
+
+    private final class PipedOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) throws IOException {
+            PipedBuffer.this.write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            PipedBuffer.this.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            closeWriter();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.inmemory.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.glassfish.jersey.client.ChunkedInput;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ChunkedOutput;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link InMemoryConnectorProvider}.
+ */
+public class InMemoryConnectorTest {
+
+    private static final URI BASE_URI = URI.create("http://localhost/");
+    private static volatile CountDownLatch firstChunkRead;
+    private static volatile CountDownLatch cancelled;
+    private static volatile CountDownLatch writeFailed;
+
+    private ApplicationHandler handler;
+    private Client client;
+
+    @Path("test")
+    public static class TestResource {
+
+        @GET
+        public String get() {
+            return "GET";
+        }
+
+        @POST
+        @Path("echo")
+        public StreamingOutput echo(final InputStream entity) {
+            return output -> {
+                final byte[] buffer = new byte[1024];
+                int read;
+                while ((read = entity.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                }
+            };
+        }
+
+        @GET
+        @Path("moved")
+        public Response moved() {
+            return Response.status(301).location(URI.create("test")).build();
+        }
+
+        @POST
+        @Path("see-other")
+        public Response seeOther(final String entity) {
+            return Response.seeOther(URI.create("test")).build();
+        }
+
+        @POST
+        @Path("permanent")
+        public Response permanent(final String entity) {
+            return Response.status(308).location(URI.create("test/echo")).build();
+        }
+
+        @GET
+        @Path("async")
+        public void async(@Suspended final AsyncResponse asyncResponse) {
+            new Thread(() -> asyncResponse.resume("async")).start();
+        }
+
+        @GET
+        @Path("timeout")
+        public void timeout(@Suspended final AsyncResponse asyncResponse) {
+            asyncResponse.setTimeout(100, TimeUnit.MILLISECONDS);
+        }
+
+        @GET
+        @Path("cancelled")
+        public StreamingOutput cancelled() {
+            return output -> {
+                try {
+                    assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+                    // exceeds the response buffer, the status and headers are written
+                    output.write(new byte[64 * 1024]);
+                } catch (final IOException e) {
+                    writeFailed.countDown();
+                    throw e;
+                } catch (final InterruptedException e) {
+                    throw new IOException(e);
+                }
+            };
+        }
+
+        @GET
+        @Path("chunked")
+        public ChunkedOutput<String> chunked() {
+            final ChunkedOutput<String> output = new ChunkedOutput<>(String.class, "\n");
+            new Thread(() -> {
+                try {
+                    output.write("first");
+                    // the client must be able to read the first chunk before the rest of the response is written
+                    assertTrue(firstChunkRead.await(10, TimeUnit.SECONDS));
+                    output.write("second");
+                    output.close();
+                } catch (final Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }).start();
+            return output;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        firstChunkRead = new CountDownLatch(1);
+        cancelled = new CountDownLatch(1);
+        writeFailed = new CountDownLatch(1);
+        handler = new ApplicationHandler(new ResourceConfig(TestResource.class));
+        client = ClientBuilder.newClient(new ClientConfig()
+                .property(InMemoryConnectorProperties.BUFFER_SIZE, 512)
+                .connectorProvider(new InMemoryConnectorProvider(BASE_URI, handler)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        client.close();
+    }
+
+    private WebTarget target(final String path) {
+        return client.target(BASE_URI).path(path);
+    }
+
+    @Test
+    public void testGet() {
+        assertEquals("GET", target("test").request().get(String.class));
+    }
+
+    @Test
+    public void testLargeEntityIsStreamed() {
+        final byte[] entity = new byte[1024 * 1024];
+        Arrays.fill(entity, (byte) 'a');
+        final byte[] response = target("test/echo").request()
+                .post(Entity.entity(entity, MediaType.APPLICATION_OCTET_STREAM), byte[].class);
+        assertArrayEquals(entity, response);
+    }
+
+    @Test
+    public void testMovedPermanentlyIsFollowed() {
+        assertEquals("GET", target("test/moved").request().get(String.class));
+    }
+
+    @Test
+    public void testSeeOtherIsFollowedWithGet() {
+        assertEquals("GET", target("test/see-other").request().post(Entity.text("entity"), String.class));
+    }
+
+    @Test
+    public void testRedirectIsNotFollowedWithConsumedEntity() {
+        final Response response = target("test/permanent").request().post(Entity.text("entity"));
+        assertEquals(308, response.getStatus());
+        assertTrue(response.getLocation().toString().endsWith("test/echo"));
+    }
+
+    @Test
+    public void testAsyncClientAndServer() throws Exception {
+        final Future<String> response = target("test/async").request().async().get(String.class);
+        assertEquals("async", response.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSuspendTimeout() {
+        assertEquals(503, target("test/timeout").request().get().getStatus());
+    }
+
+    @Test
+    public void testChunkedOutput() {
+        final Response response = target("test/chunked").request().get();
+        final ChunkedInput<String> input = response.readEntity(new GenericType<ChunkedInput<String>>() {
+        });
+        input.setParser(ChunkedInput.createParser("\n"));
+
+        assertEquals("first", input.read());
+        firstChunkRead.countDown();
+        assertEquals("second", input.read());
+        assertNull(input.read());
+    }
+
+    @Test
+    public void testAsyncRedirectIsFollowed() throws Exception {
+        final Future<String> response = target("test/moved").request().async().get(String.class);
+        assertEquals("GET", response.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCancelledAsyncRequestClosesResponse() throws Exception {
+        // the client runtime prepares the request, which is then sent by the connector directly
+        final CompletableFuture<ClientRequest> prepared = new CompletableFuture<>();
+        target("test/cancelled").register((ClientRequestFilter) requestContext -> {
+            prepared.complete((ClientRequest) requestContext);
+            requestContext.abortWith(Response.noContent().build());
+        }).request().get().close();
+
+        final CompletableFuture<Object> notified = new CompletableFuture<>();
+        final Connector connector = new InMemoryConnectorProvider(BASE_URI, handler)
+                .getConnector(client, client.getConfiguration());
+        try {
+            final Future<?> response = connector.apply(prepared.get(), new AsyncConnectorCallback() {
+                @Override
+                public void response(final ClientResponse response) {
+                    notified.complete(response);
+                }
+
+                @Override
+                public void failure(final Throwable failure) {
+                    notified.complete(failure);
+                }
+            });
+            assertFalse(response.isDone());
+            assertTrue(response.cancel(true));
+
+            // the application fails to write the response nobody is going to read
+            cancelled.countDown();
+            assertTrue(writeFailed.await(10, TimeUnit.SECONDS));
+            assertFalse(notified.isDone());
+        } finally {
+            connector.close();
+        }
+    }
+}
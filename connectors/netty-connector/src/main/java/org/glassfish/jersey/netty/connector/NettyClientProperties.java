@@ -121,6 +121,110 @@ public class NettyClientProperties {
     public static final String
             EXPECT_100_CONTINUE_TIMEOUT = "jersey.config.client.request.expect.100.continue.timeout";
 
+    /**
+     * <p>
+     *     Netty transport used by the connector: {@code nio}, {@code epoll} (Linux native transport), {@code io_uring}
+     *     (requires the {@code netty-incubator-transport-native-io_uring} module) or {@code auto} (the best transport
+     *     available on the platform). A native transport that is not available falls back to {@code nio}.
+     * </p>
+     * <p>
+     *     The default value is {@code nio}.
+     * </p>
+     * <p>
+     *     The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     * @since 2.41
+     */
+    public static final String TRANSPORT = "jersey.config.client.netty.transport";
+
+    /**
+     * <p>
+     *     Value of the {@code TCP_NODELAY} socket option of the connections. If not set, the Netty default ({@code true})
+     *     is used.
+     * </p>
+     * <p>
+     *     The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     * @since 2.41
+     */
+    public static final String TCP_NO_DELAY = "jersey.config.client.netty.tcpNoDelay";
+
+    /**
+     * <p>
+     *     Low water mark in bytes of the write buffer of the connections; a connection that has become unwritable
+     *     because of reaching the {@link #WRITE_BUFFER_HIGH_WATER_MARK high water mark} becomes writable again once the
+     *     buffer drops below it. If not set, the Netty default is used.
+     * </p>
+     * <p>
+     *     The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     * @since 2.41
+     */
+    public static final String WRITE_BUFFER_LOW_WATER_MARK = "jersey.config.client.netty.writeBufferLowWaterMark";
+
+    /**
+     * <p>
+     *     High water mark in bytes of the write buffer of the connections. If not set, the Netty default is used.
+     * </p>
+     * <p>
+     *     The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     * @since 2.41
+     * @see #WRITE_BUFFER_LOW_WATER_MARK
+     */
+    public static final String WRITE_BUFFER_HIGH_WATER_MARK = "jersey.config.client.netty.writeBufferHighWaterMark";
+
+    /**
+     * <p>
+     *     Number of heap arenas of the pooled buffer allocator of the connector. Setting any of the
+     *     {@code jersey.config.client.netty.allocator.*} properties gives the connector its own
+     *     {@link io.netty.buffer.PooledByteBufAllocator pooled allocator}; the parameters that are not set take the Netty
+     *     defaults.
+     * </p>
+     * <p>
+     *     The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     * @since 2.41
+     */
+    public static final String ALLOCATOR_HEAP_ARENAS = "jersey.config.client.netty.allocator.heapArenas";
+
+    /**
+     * <p>
+     *     Number of direct arenas of the pooled buffer allocator of the connector.
+     * </p>
+     * <p>
+     *     The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     * @since 2.41
+     * @see #ALLOCATOR_HEAP_ARENAS
+     */
+    public static final String ALLOCATOR_DIRECT_ARENAS = "jersey.config.client.netty.allocator.directArenas";
+
+    /**
+     * <p>
+     *     Page size in bytes of the pooled buffer allocator of the connector.
+     * </p>
+     * <p>
+     *     The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     * @since 2.41
+     * @see #ALLOCATOR_HEAP_ARENAS
+     */
+    public static final String ALLOCATOR_PAGE_SIZE = "jersey.config.client.netty.allocator.pageSize";
+
+    /**
+     * <p>
+     *     Maximum order of the pooled buffer allocator of the connector; the chunk size is the page size shifted left by
+     *     the maximum order.
+     * </p>
+     * <p>
+     *     The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     * @since 2.41
+     * @see #ALLOCATOR_HEAP_ARENAS
+     */
+    public static final String ALLOCATOR_MAX_ORDER = "jersey.config.client.netty.allocator.maxOrder";
+
     /**
      * The default value of EXPECT_100_CONTINUE_TIMEOUT.
      *
@@ -45,6 +45,7 @@ import javax.ws.rs.client.Client;
 import javax.ws.rs.core.Configuration;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelFuture;
@@ -53,9 +54,8 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.DefaultHttpRequest;
@@ -90,6 +90,7 @@ import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
 import org.glassfish.jersey.client.spi.Connector;
 import org.glassfish.jersey.message.internal.OutboundMessageContext;
 import org.glassfish.jersey.netty.connector.internal.NettyEntityWriter;
+import org.glassfish.jersey.netty.connector.internal.NettyTransport;
 
 /**
  * Netty connector implementation.
@@ -100,6 +101,10 @@ class NettyConnector implements Connector {
 
     final ExecutorService executorService;
     final EventLoopGroup group;
+    private final NettyTransport transport;
+    private final ByteBufAllocator allocator;
+    private final Boolean tcpNoDelay;
+    private final WriteBufferWaterMark writeBufferWaterMark;
     final Client client;
     final HashMap<String, ArrayList<Channel>> connections = new HashMap<>();
 
@@ -132,14 +137,26 @@ class NettyConnector implements Connector {
         final Map<String, Object> properties = client.getConfiguration().getProperties();
         final Object threadPoolSize = properties.get(ClientProperties.ASYNC_THREADPOOL_SIZE);
 
+        this.transport = NettyTransport.select(
+                ClientProperties.getValue(properties, NettyClientProperties.TRANSPORT, String.class));
         if (threadPoolSize != null && threadPoolSize instanceof Integer && (Integer) threadPoolSize > 0) {
             executorService = Executors.newFixedThreadPool((Integer) threadPoolSize);
-            this.group = new NioEventLoopGroup((Integer) threadPoolSize);
+            this.group = transport.createEventLoopGroup((Integer) threadPoolSize);
         } else {
             executorService = Executors.newCachedThreadPool();
-            this.group = new NioEventLoopGroup();
+            this.group = transport.createEventLoopGroup(0);
         }
 
+        this.allocator = NettyTransport.createAllocator(
+                ClientProperties.getValue(properties, NettyClientProperties.ALLOCATOR_HEAP_ARENAS, Integer.class),
+                ClientProperties.getValue(properties, NettyClientProperties.ALLOCATOR_DIRECT_ARENAS, Integer.class),
+                ClientProperties.getValue(properties, NettyClientProperties.ALLOCATOR_PAGE_SIZE, Integer.class),
+                ClientProperties.getValue(properties, NettyClientProperties.ALLOCATOR_MAX_ORDER, Integer.class));
+        this.tcpNoDelay = ClientProperties.getValue(properties, NettyClientProperties.TCP_NO_DELAY, Boolean.class);
+        this.writeBufferWaterMark = NettyTransport.createWriteBufferWaterMark(
+                ClientProperties.getValue(properties, NettyClientProperties.WRITE_BUFFER_LOW_WATER_MARK, Integer.class),
+                ClientProperties.getValue(properties, NettyClientProperties.WRITE_BUFFER_HIGH_WATER_MARK, Integer.class));
+
         this.client = client;
 
         final Object maxPoolSizeTotalProperty = properties.get(NettyClientProperties.MAX_CONNECTIONS_TOTAL);
@@ -255,7 +272,7 @@ class NettyConnector implements Connector {
                final Optional<ClientProxy> handlerProxy = proxy;
 
                b.group(group)
-                .channel(NioSocketChannel.class)
+                .channel(transport.getSocketChannelClass())
                 .handler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel ch) throws Exception {
@@ -313,6 +330,17 @@ class NettyConnector implements Connector {
                    b.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout);
                }
 
+               // socket options
+               if (tcpNoDelay != null) {
+                   b.option(ChannelOption.TCP_NODELAY, tcpNoDelay);
+               }
+               if (writeBufferWaterMark != null) {
+                   b.option(ChannelOption.WRITE_BUFFER_WATER_MARK, writeBufferWaterMark);
+               }
+               if (allocator != null) {
+                   b.option(ChannelOption.ALLOCATOR, allocator);
+               }
+
                // Make the connection attempt.
                chan = b.connect(host, port).sync().channel();
             }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -119,9 +119,21 @@ public class NettyInputStream extends InputStream {
        }
 
        current = isList.poll();
+       if (isList.isEmpty() && !end) {
+          demand();
+       }
        return current.nioBuffer().asReadOnlyBuffer();
     }
 
+    /**
+     * Invoked when the last published buffer has been handed over to the reader and the stream is not complete yet.
+     * <p>
+     * Sources that do not read automatically can override this method to request more data; it is a no-op by default.
+     * </p>
+     */
+    protected void demand() {
+    }
+
     public void complete(Throwable cause) {
        this.cause = cause;
        cleanup(cause != null);
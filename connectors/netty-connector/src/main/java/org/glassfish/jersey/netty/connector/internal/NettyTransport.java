@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.netty.connector.internal;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.glassfish.jersey.netty.connector.LocalizationMessages;
+
+/**
+ * Netty transport, i.e. the event loops and channels used by the Netty connector and the Netty container.
+ * <p>
+ * Besides the portable NIO transport, the Linux native {@code epoll} transport (part of Netty) and the {@code io_uring}
+ * transport (the {@code netty-incubator-transport-native-io_uring} module, if present on the class path) are supported.
+ * A native transport that is not available on the platform falls back to NIO.
+ * </p>
+ *
+ * @since 2.41
+ */
+public abstract class NettyTransport {
+
+    /**
+     * The best transport available on the platform, i.e. {@code epoll} on Linux and {@code nio} elsewhere.
+     */
+    public static final String AUTO = "auto";
+    /**
+     * The NIO transport.
+     */
+    public static final String NIO = "nio";
+    /**
+     * The Linux native {@code epoll} transport.
+     */
+    public static final String EPOLL = "epoll";
+    /**
+     * The Linux {@code io_uring} transport.
+     */
+    public static final String IO_URING = "io_uring";
+
+    private static final Logger LOGGER = Logger.getLogger(NettyTransport.class.getName());
+
+    private static final NettyTransport NIO_TRANSPORT = new NioTransport();
+
+    NettyTransport() {
+    }
+
+    /**
+     * Get the transport of the given name, falling back to NIO if the transport is not available.
+     *
+     * @param name transport name ({@value #AUTO}, {@value #NIO}, {@value #EPOLL} or {@value #IO_URING}), {@code null} means
+     *             {@value #NIO}.
+     * @return selected transport.
+     * @throws IllegalArgumentException if the name is not a known transport name.
+     */
+    public static NettyTransport select(final String name) {
+        final String transport = name == null ? NIO : name.trim().toLowerCase(Locale.ROOT);
+        switch (transport) {
+            case NIO:
+                return NIO_TRANSPORT;
+            case AUTO:
+                return isEpollAvailable() ? new EpollTransport() : NIO_TRANSPORT;
+            case EPOLL:
+                if (isEpollAvailable()) {
+                    return new EpollTransport();
+                }
+                break;
+            case IO_URING:
+                final NettyTransport ioUring = IoUringTransport.create();
+                if (ioUring != null) {
+                    return ioUring;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(LocalizationMessages.TRANSPORT_UNKNOWN(name));
+        }
+        LOGGER.config(LocalizationMessages.TRANSPORT_UNAVAILABLE(transport, NIO));
+        return NIO_TRANSPORT;
+    }
+
+    private static boolean isEpollAvailable() {
+        try {
+            return Epoll.isAvailable();
+        } catch (final LinkageError e) {
+            // the epoll classes are not on the class path
+            return false;
+        }
+    }
+
+    /**
+     * Create a pooled buffer allocator tuned by the given parameters; the parameters that are {@code null} take the
+     * default values of {@link PooledByteBufAllocator#DEFAULT}.
+     *
+     * @param heapArenas   number of heap arenas.
+     * @param directArenas number of direct arenas.
+     * @param pageSize     page size in bytes.
+     * @param maxOrder     maximum order of a chunk, the chunk size is {@code pageSize << maxOrder}.
+     * @return new allocator or {@code null} if no parameter is set.
+     */
+    public static PooledByteBufAllocator createAllocator(final Integer heapArenas,
+                                                         final Integer directArenas,
+                                                         final Integer pageSize,
+                                                         final Integer maxOrder) {
+        if (heapArenas == null && directArenas == null && pageSize == null && maxOrder == null) {
+            return null;
+        }
+        return new PooledByteBufAllocator(PooledByteBufAllocator.defaultPreferDirect(),
+                heapArenas != null ? heapArenas : PooledByteBufAllocator.defaultNumHeapArena(),
+                directArenas != null ? directArenas : PooledByteBufAllocator.defaultNumDirectArena(),
+                pageSize != null ? pageSize : PooledByteBufAllocator.defaultPageSize(),
+                maxOrder != null ? maxOrder : PooledByteBufAllocator.defaultMaxOrder(),
+                PooledByteBufAllocator.defaultSmallCacheSize(),
+                PooledByteBufAllocator.defaultNormalCacheSize(),
+                PooledByteBufAllocator.defaultUseCacheForAllThreads());
+    }
+
+    /**
+     * Create write buffer water marks; a mark that is {@code null} takes the value of {@link WriteBufferWaterMark#DEFAULT},
+     * bounded by the other mark so that the low mark never exceeds the high one.
+     *
+     * @param low  low water mark in bytes.
+     * @param high high water mark in bytes.
+     * @return new water marks or {@code null} if neither mark is set.
+     */
+    public static WriteBufferWaterMark createWriteBufferWaterMark(final Integer low, final Integer high) {
+        if (low == null && high == null) {
+            return null;
+        }
+        return new WriteBufferWaterMark(low != null ? low : Math.min(WriteBufferWaterMark.DEFAULT.low(), high),
+                high != null ? high : Math.max(WriteBufferWaterMark.DEFAULT.high(), low));
+    }
+
+    /**
+     * Get the name of the transport.
+     *
+     * @return transport name.
+     */
+    public abstract String getName();
+
+    /**
+     * Create an event loop group of the transport.
+     *
+     * @param threads number of event loops, {@code 0} means the Netty default.
+     * @return new event loop group.
+     */
+    public abstract EventLoopGroup createEventLoopGroup(int threads);
+
+    /**
+     * Get the client socket channel class of the transport.
+     *
+     * @return socket channel class.
+     */
+    public abstract Class<? extends SocketChannel> getSocketChannelClass();
+
+    /**
+     * Get the server socket channel class of the transport.
+     *
+     * @return server socket channel class.
+     */
+    public abstract Class<? extends ServerSocketChannel> getServerSocketChannelClass();
+
+    /**
+     * Get the {@code SO_REUSEPORT} option allowing more server channels to be bound to the same port, each with its own
+     * accept loop.
+     *
+     * @return {@code SO_REUSEPORT} option or {@code null} if the transport does not support it.
+     */
+    public abstract ChannelOption<Boolean> getReusePortOption();
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+
+    /**
+     * NIO transport.
+     */
+    private static final class NioTransport extends NettyTransport {
+
+        @Override
+        public String getName() {
+            return NIO;
+        }
+
+        @Override
+        public EventLoopGroup createEventLoopGroup(final int threads) {
+            return new NioEventLoopGroup(threads);
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getSocketChannelClass() {
+            return NioSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> getServerSocketChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+
+        @Override
+        public ChannelOption<Boolean> getReusePortOption() {
+            return null;
+        }
+    }
+
+    /**
+     * Linux native epoll transport.
+     */
+    private static final class EpollTransport extends NettyTransport {
+
+        @Override
+        public String getName() {
+            return EPOLL;
+        }
+
+        @Override
+        public EventLoopGroup createEventLoopGroup(final int threads) {
+            return new EpollEventLoopGroup(threads);
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getSocketChannelClass() {
+            return EpollSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> getServerSocketChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+
+        @Override
+        public ChannelOption<Boolean> getReusePortOption() {
+            return EpollChannelOption.SO_REUSEPORT;
+        }
+    }
+
+    /**
+     * Linux io_uring transport, accessed reflectively since the incubator module is an optional dependency.
+     */
+    private static final class IoUringTransport extends NettyTransport {
+
+        private static final String PACKAGE = "io.netty.incubator.channel.uring.";
+
+        private final Constructor<? extends EventLoopGroup> eventLoopGroup;
+        private final Class<? extends SocketChannel> socketChannel;
+        private final Class<? extends ServerSocketChannel> serverSocketChannel;
+        private final ChannelOption<Boolean> reusePort;
+
+        @SuppressWarnings("unchecked")
+        private IoUringTransport(final ClassLoader loader) throws ReflectiveOperationException {
+            this.eventLoopGroup = Class.forName(PACKAGE + "IOUringEventLoopGroup", true, loader)
+                    .asSubclass(EventLoopGroup.class).getConstructor(int.class);
+            this.socketChannel = Class.forName(PACKAGE + "IOUringSocketChannel", true, loader)
+                    .asSubclass(SocketChannel.class);
+            this.serverSocketChannel = Class.forName(PACKAGE + "IOUringServerSocketChannel", true, loader)
+                    .asSubclass(ServerSocketChannel.class);
+            this.reusePort = (ChannelOption<Boolean>) Class.forName(PACKAGE + "IOUringChannelOption", true, loader)
+                    .getField("SO_REUSEPORT").get(null);
+        }
+
+        private static NettyTransport create() {
+            try {
+                final ClassLoader loader = NettyTransport.class.getClassLoader();
+                final Method isAvailable = Class.forName(PACKAGE + "IOUring", true, loader).getMethod("isAvailable");
+                return (Boolean) isAvailable.invoke(null) ? new IoUringTransport(loader) : null;
+            } catch (final ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String getName() {
+            return IO_URING;
+        }
+
+        @Override
+        public EventLoopGroup createEventLoopGroup(final int threads) {
+            try {
+                return eventLoopGroup.newInstance(threads);
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getSocketChannelClass() {
+            return socketChannel;
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> getServerSocketChannelClass() {
+            return serverSocketChannel;
+        }
+
+        @Override
+        public ChannelOption<Boolean> getReusePortOption() {
+            return reusePort;
+        }
+    }
+}
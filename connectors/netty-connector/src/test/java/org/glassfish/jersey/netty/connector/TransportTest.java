@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.netty.connector;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Application;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.netty.connector.internal.NettyTransport;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+import io.netty.channel.WriteBufferWaterMark;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the Netty connector configured with the {@link NettyClientProperties#TRANSPORT transport}, socket options and
+ * allocator properties.
+ */
+public class TransportTest extends JerseyTest {
+
+    @Path("/test")
+    public static class TransportResource {
+        @GET
+        public String get() {
+            return "transport";
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(TransportResource.class);
+    }
+
+    @Override
+    protected void configureClient(ClientConfig config) {
+        config.connectorProvider(new NettyConnectorProvider())
+                .property(NettyClientProperties.TRANSPORT, NettyTransport.AUTO)
+                .property(NettyClientProperties.TCP_NO_DELAY, true)
+                .property(NettyClientProperties.WRITE_BUFFER_LOW_WATER_MARK, 16 * 1024)
+                .property(NettyClientProperties.WRITE_BUFFER_HIGH_WATER_MARK, 128 * 1024)
+                .property(NettyClientProperties.ALLOCATOR_DIRECT_ARENAS, 2)
+                .property(NettyClientProperties.ALLOCATOR_HEAP_ARENAS, 0);
+    }
+
+    @Test
+    public void testGet() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals("transport", target("test").request().get(String.class));
+        }
+    }
+
+    @Test
+    public void testSelect() {
+        assertEquals(NettyTransport.NIO, NettyTransport.select(null).getName());
+        assertEquals(NettyTransport.NIO, NettyTransport.select(NettyTransport.NIO).getName());
+        assertNotNull(NettyTransport.select(NettyTransport.AUTO).getServerSocketChannelClass());
+        // unavailable native transports fall back to NIO
+        assertNotNull(NettyTransport.select(NettyTransport.IO_URING).getSocketChannelClass());
+        assertThrows(IllegalArgumentException.class, () -> NettyTransport.select("kqueue"));
+    }
+
+    @Test
+    public void testWriteBufferWaterMark() {
+        assertNull(NettyTransport.createWriteBufferWaterMark(null, null));
+        // an unset mark is bounded by the one that is set
+        final WriteBufferWaterMark onlyHigh = NettyTransport.createWriteBufferWaterMark(null, 1024);
+        assertEquals(1024, onlyHigh.low());
+        assertEquals(1024, onlyHigh.high());
+        final WriteBufferWaterMark onlyLow = NettyTransport.createWriteBufferWaterMark(128 * 1024, null);
+        assertEquals(128 * 1024, onlyLow.low());
+        assertEquals(128 * 1024, onlyLow.high());
+    }
+}
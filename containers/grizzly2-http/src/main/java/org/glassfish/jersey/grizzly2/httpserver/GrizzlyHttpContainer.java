@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -273,6 +273,13 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
                                 LocalizationMessages.EXCEPTION_SENDING_ERROR_RESPONSE(500, "Request failed."),
                                 ex);
                     }
+                } else {
+                    // the status has been sent already, the connection is closed so that the partially written
+                    // response is not taken for a complete one
+                    grizzlyResponse.getRequest().getContext().getConnection().closeSilently();
+                    if (grizzlyResponse.isSuspended()) {
+                        grizzlyResponse.cancel();
+                    }
                 }
             } finally {
                 logger.debugLog("{0} - failure(...) called", name);
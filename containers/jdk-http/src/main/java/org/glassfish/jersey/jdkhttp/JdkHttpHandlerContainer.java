@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -30,6 +30,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.ws.rs.core.Application;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
@@ -42,6 +43,7 @@ import org.glassfish.jersey.server.ContainerException;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.admission.AdmissionController;
 import org.glassfish.jersey.server.spi.Container;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 
@@ -61,7 +63,13 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
 
     private static final Logger LOGGER = Logger.getLogger(JdkHttpHandlerContainer.class.getName());
 
+    /**
+     * Set while an exchange rejected by the worker executor is being run to respond with {@code 503 Service Unavailable}.
+     */
+    private static final ThreadLocal<Boolean> REJECTING = new ThreadLocal<>();
+
     private volatile ApplicationHandler appHandler;
+    private volatile AdmissionController admissionController;
 
     /**
      * Create new lightweight Java SE HTTP server container.
@@ -70,6 +78,7 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
      */
     JdkHttpHandlerContainer(final Application application) {
         this.appHandler = new ApplicationHandler(application);
+        this.admissionController = AdmissionController.create(appHandler.getConfiguration());
     }
 
     /**
@@ -80,10 +89,32 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
      */
     JdkHttpHandlerContainer(final Application application, final Object parentContext) {
         this.appHandler = new ApplicationHandler(application, null, parentContext);
+        this.admissionController = AdmissionController.create(appHandler.getConfiguration());
+    }
+
+    /**
+     * Run the exchange task rejected by the worker executor so that it responds with {@code 503 Service Unavailable}
+     * without passing the request to the application.
+     *
+     * @param exchangeTask exchange task of the {@link HttpServer} rejected by the worker executor.
+     */
+    void reject(final Runnable exchangeTask) {
+        REJECTING.set(Boolean.TRUE);
+        try {
+            exchangeTask.run();
+        } finally {
+            REJECTING.remove();
+        }
     }
 
     @Override
     public void handle(final HttpExchange exchange) throws IOException {
+        if (REJECTING.get() != null) {
+            final AdmissionController admission = admissionController;
+            reject(exchange, admission == null ? 1 : admission.getRetryAfter());
+            return;
+        }
+
         /**
          * This is a URI that contains the path, query and fragment components.
          */
@@ -128,6 +159,14 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
         final ContainerRequest requestContext = new ContainerRequest(baseUri, requestUri,
                 exchange.getRequestMethod(), getSecurityContext(exchange.getPrincipal(), isSecure),
                 new MapPropertiesDelegate(), appHandler.getConfiguration());
+
+        final AdmissionController admission = admissionController;
+        final AdmissionController.Permit permit = admission == null ? null : admission.acquire(requestContext.getPath(true));
+        if (admission != null && permit == null) {
+            reject(exchange, admission.getRetryAfter());
+            return;
+        }
+
         requestContext.setEntityStream(exchange.getRequestBody());
         requestContext.getHeaders().putAll(exchange.getRequestHeaders());
         requestContext.setWriter(responseWriter);
@@ -137,6 +176,21 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
             // if the response was not committed yet by the JerseyApplication
             // then commit it and log warning
             responseWriter.closeAndLogWarning();
+            if (permit != null) {
+                permit.release(responseWriter.isServerError());
+            }
+        }
+    }
+
+    /**
+     * Reject the request not admitted by the admission controller without reading its entity.
+     */
+    private static void reject(final HttpExchange exchange, final int retryAfter) throws IOException {
+        try {
+            exchange.getResponseHeaders().add(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            exchange.sendResponseHeaders(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), -1);
+        } finally {
+            exchange.close();
         }
     }
 
@@ -209,6 +263,7 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
         appHandler.onShutdown(this);
 
         appHandler = new ApplicationHandler(configuration);
+        admissionController = AdmissionController.create(appHandler.getConfiguration());
         appHandler.onReload(this);
         appHandler.onStartup(this);
     }
@@ -240,6 +295,7 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
 
         private final HttpExchange exchange;
         private final AtomicBoolean closed;
+        private volatile boolean serverError;
 
         /**
          * Creates a new ResponseWriter for given {@link HttpExchange HTTP Exchange}.
@@ -254,6 +310,7 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
         @Override
         public OutputStream writeResponseStatusAndHeaders(final long contentLength, final ContainerResponse context)
                 throws ContainerException {
+            serverError = context.getStatus() >= 500;
             final MultivaluedMap<String, String> responseHeaders = context.getStringHeaders();
             final Headers serverHeaders = exchange.getResponseHeaders();
             for (final Map.Entry<String, List<String>> e : responseHeaders.entrySet()) {
@@ -300,6 +357,7 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
 
         @Override
         public void failure(final Throwable error) {
+            serverError = true;
             try {
                 exchange.sendResponseHeaders(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(), getResponseLength(0));
             } catch (final IOException e) {
@@ -335,6 +393,15 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
             }
         }
 
+        /**
+         * Check whether the request processing has failed or resulted in a server error response.
+         *
+         * @return {@code true} if a server error has occurred.
+         */
+        private boolean isServerError() {
+            return serverError;
+        }
+
         /**
          * Commits the response and logs a warning message.
          *
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -19,8 +19,19 @@ package org.glassfish.jersey.jdkhttp;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
 import javax.ws.rs.ProcessingException;
@@ -31,6 +42,7 @@ import org.glassfish.jersey.internal.guava.ThreadFactoryBuilder;
 import org.glassfish.jersey.jdkhttp.internal.LocalizationMessages;
 import org.glassfish.jersey.process.JerseyProcessingUncaughtExceptionHandler;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.spi.Container;
 
 import com.sun.net.httpserver.HttpContext;
@@ -240,10 +252,7 @@ public final class JdkHttpServerFactory {
             ((HttpsServer) server).setHttpsConfigurator(httpsConfigurator);
         }
 
-        server.setExecutor(Executors.newCachedThreadPool(new ThreadFactoryBuilder()
-                .setNameFormat("jdk-http-server-%d")
-                .setUncaughtExceptionHandler(new JerseyProcessingUncaughtExceptionHandler())
-                .build()));
+        server.setExecutor(createExecutor(handler));
         server.createContext(path, handler);
 
         final HttpServer wrapper = isHttp
@@ -257,6 +266,103 @@ public final class JdkHttpServerFactory {
         return wrapper;
     }
 
+    /**
+     * Create the server worker executor as configured by {@link JdkHttpServerProperties}.
+     */
+    private static ExecutorService createExecutor(final JdkHttpHandlerContainer handler) {
+        final ResourceConfig configuration = handler.getConfiguration();
+        final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat("jdk-http-server-%d")
+                .setUncaughtExceptionHandler(new JerseyProcessingUncaughtExceptionHandler())
+                .build();
+
+        final Map<String, Object> properties = configuration.getProperties();
+        final Integer maxThreads = ServerProperties.getValue(properties,
+                JdkHttpServerProperties.MAX_WORKER_THREADS, Integer.class);
+        if (maxThreads == null) {
+            return Executors.newCachedThreadPool(threadFactory);
+        }
+        if (maxThreads <= 0) {
+            throw new IllegalArgumentException(LocalizationMessages.ERROR_CONTAINER_MAX_WORKER_THREADS(maxThreads));
+        }
+        final int queueSize = ServerProperties.getValue(properties,
+                JdkHttpServerProperties.WORKER_QUEUE_SIZE, maxThreads, Integer.class);
+
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads,
+                60L, TimeUnit.SECONDS,
+                queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new SynchronousQueue<>(),
+                threadFactory,
+                new RejectionHandler(handler));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Handler of the exchanges rejected by the worker executor.
+     * <p>
+     * A rejected exchange is answered with {@code 503 Service Unavailable} by a small bounded pool, never by the server
+     * dispatcher thread, which would otherwise read the request headers (or perform the TLS handshake) of a slow client
+     * while no other connection is served. An exchange not answered in time is interrupted, which closes its connection.
+     * If the pool is busy as well, the exchange is rejected and the server closes the connection without a response.
+     * </p>
+     */
+    private static final class RejectionHandler implements RejectedExecutionHandler {
+
+        private static final int MAX_THREADS = 2;
+        private static final long TIMEOUT = 1000;
+
+        private final JdkHttpHandlerContainer handler;
+        private final ThreadPoolExecutor executor;
+        private final ScheduledThreadPoolExecutor scheduler;
+
+        private RejectionHandler(final JdkHttpHandlerContainer handler) {
+            this.handler = handler;
+            this.executor = new ThreadPoolExecutor(0, MAX_THREADS, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                    threadFactory("jdk-http-server-rejection-%d"));
+            this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory("jdk-http-server-rejection-timeout-%d"));
+            scheduler.setKeepAliveTime(60L, TimeUnit.SECONDS);
+            scheduler.allowCoreThreadTimeOut(true);
+            scheduler.setRemoveOnCancelPolicy(true);
+        }
+
+        private static ThreadFactory threadFactory(final String nameFormat) {
+            return new ThreadFactoryBuilder()
+                    .setNameFormat(nameFormat)
+                    .setDaemon(true)
+                    .setUncaughtExceptionHandler(new JerseyProcessingUncaughtExceptionHandler())
+                    .build();
+        }
+
+        @Override
+        public void rejectedExecution(final Runnable exchange, final ThreadPoolExecutor workers) {
+            // a RejectedExecutionException makes the server close the connection
+            executor.execute(() -> reject(exchange));
+        }
+
+        private void reject(final Runnable exchange) {
+            final Thread thread = Thread.currentThread();
+            final AtomicBoolean done = new AtomicBoolean(false);
+            final ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+                synchronized (done) {
+                    if (!done.get()) {
+                        // the blocked read of the server socket channel is interrupted and the channel closed
+                        thread.interrupt();
+                    }
+                }
+            }, TIMEOUT, TimeUnit.MILLISECONDS);
+            try {
+                handler.reject(exchange);
+            } finally {
+                timeout.cancel(false);
+                synchronized (done) {
+                    done.set(true);
+                }
+                // clear the interrupt of an exchange that has timed out
+                Thread.interrupted();
+            }
+        }
+    }
+
     private static HttpServer createHttpsServerWrapper(final HttpsServer delegate, final JdkHttpHandlerContainer handler) {
         return new HttpsServer() {
 
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jdkhttp;
+
+import org.glassfish.jersey.internal.util.PropertiesClass;
+
+/**
+ * Configuration options specific to the JDK HTTP server created by {@link JdkHttpServerFactory}.
+ * <p>
+ * Admission control of the {@link JdkHttpHandlerContainer container} is configured by the generic
+ * {@link org.glassfish.jersey.server.ServerProperties#ADMISSION_CONTROL_LIMIT admission control properties}.
+ * </p>
+ *
+ * @since 2.41
+ */
+@PropertiesClass
+public final class JdkHttpServerProperties {
+
+    /**
+     * Maximum number of worker threads processing requests.
+     * <p>
+     * If set, the server uses a bounded thread pool with a bounded task queue (see {@link #WORKER_QUEUE_SIZE}). Requests
+     * that do not fit into the queue are rejected with {@code 503 Service Unavailable} and a {@code Retry-After} header
+     * without being passed to the application. The rejections are answered by a small bounded pool of threads, never by
+     * the server dispatcher thread; if the pool is busy too, or a client does not send its request in time, the
+     * connection is closed without a response.
+     * </p>
+     * <p>
+     * A positive integer value is expected. If not set, an unbounded cached thread pool is used.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String MAX_WORKER_THREADS = "jersey.config.jdkhttp.server.maxWorkerThreads";
+
+    /**
+     * Maximum number of requests waiting for a worker thread if the number of worker threads is
+     * {@link #MAX_WORKER_THREADS bounded}.
+     * <p>
+     * A non-negative integer value is expected. The default value is the maximum number of worker threads.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String WORKER_QUEUE_SIZE = "jersey.config.jdkhttp.server.workerQueueSize";
+
+    private JdkHttpServerProperties() {
+        // prevents instantiation
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jdkhttp;
+
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Admission control and bounded worker pool test.
+ */
+public class AdmissionControlTest extends AbstractJdkHttpServerTester {
+
+    private static volatile CountDownLatch entered;
+    private static volatile CountDownLatch release;
+
+    @Path("/slow")
+    public static class SlowResource {
+        @GET
+        public String get() throws InterruptedException {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "slow";
+        }
+    }
+
+    @Path("/health")
+    public static class HealthResource {
+        @GET
+        public String get() {
+            return "up";
+        }
+    }
+
+    @Test
+    public void testRequestsOverLimitAreRejected() throws Exception {
+        entered = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+
+        startServer(new ResourceConfig(SlowResource.class, HealthResource.class)
+                .property(ServerProperties.ADMISSION_CONTROL_LIMIT, 1)
+                .property(ServerProperties.ADMISSION_CONTROL_RETRY_AFTER, 5)
+                .property(ServerProperties.ADMISSION_CONTROL_BYPASS_PATHS, "health")
+                .property(JdkHttpServerProperties.MAX_WORKER_THREADS, 4));
+
+        final WebTarget target = ClientBuilder.newClient().target(getUri().path("/").build());
+
+        final Future<String> admitted = target.path("slow").request().async().get(String.class);
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+        final Response rejected = target.path("slow").request().get();
+        assertEquals(503, rejected.getStatus());
+        assertEquals("5", rejected.getHeaderString(HttpHeaders.RETRY_AFTER));
+
+        assertEquals("up", target.path("health").request().get(String.class));
+
+        release.countDown();
+        assertEquals("slow", admitted.get(10, TimeUnit.SECONDS));
+
+        entered = new CountDownLatch(1);
+        assertEquals("slow", target.path("slow").request().get(String.class));
+    }
+
+    @Test
+    public void testRequestsOverWorkerQueueAreRejected() throws Exception {
+        entered = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+
+        startServer(new ResourceConfig(SlowResource.class, HealthResource.class)
+                .property(JdkHttpServerProperties.MAX_WORKER_THREADS, 1)
+                .property(JdkHttpServerProperties.WORKER_QUEUE_SIZE, 0));
+
+        final WebTarget target = ClientBuilder.newClient().target(getUri().path("/").build());
+
+        final Future<String> admitted = target.path("slow").request().async().get(String.class);
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+        // the only worker is busy, the request is rejected instead of being processed by another thread
+        final Response rejected = target.path("health").request().get();
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeaderString(HttpHeaders.RETRY_AFTER));
+
+        release.countDown();
+        assertEquals("slow", admitted.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSlowClientOverWorkerQueueDoesNotStallServer() throws Exception {
+        entered = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+
+        startServer(new ResourceConfig(SlowResource.class, HealthResource.class)
+                .property(JdkHttpServerProperties.MAX_WORKER_THREADS, 1)
+                .property(JdkHttpServerProperties.WORKER_QUEUE_SIZE, 0));
+
+        final WebTarget target = ClientBuilder.newClient().target(getUri().path("/").build());
+
+        final Future<String> admitted = target.path("slow").request().async().get(String.class);
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+        try (Socket slow = new Socket(getUri().build().getHost(), getPort())) {
+            slow.setSoTimeout(10_000);
+            // the request headers are never completed
+            slow.getOutputStream().write("GET /health HTTP/1.1\r\n".getBytes(StandardCharsets.US_ASCII));
+            slow.getOutputStream().flush();
+
+            // the request headers of the slow client are not awaited by the server dispatcher thread
+            final Response rejected = target.path("health").request().get();
+            assertEquals(503, rejected.getStatus());
+
+            // the slow client is disconnected once the rejection times out
+            assertEquals(-1, slow.getInputStream().read());
+        }
+
+        release.countDown();
+        assertEquals("slow", admitted.get(10, TimeUnit.SECONDS));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -27,35 +27,54 @@ import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.core.SecurityContext;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
-import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http2.Http2DataFrame;
 import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.handler.codec.http2.Http2MultiplexCodec;
+import io.netty.handler.codec.http2.Http2MultiplexCodecBuilder;
+import io.netty.handler.codec.http2.Http2Settings;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 import org.glassfish.jersey.internal.PropertiesDelegate;
 import org.glassfish.jersey.netty.connector.internal.NettyInputStream;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.ContainerUtils;
 
 /**
  * Jersey Netty HTTP/2 handler.
  * <p>
+ * A new handler is created for every HTTP/2 stream (see {@link #createCodec(URI, NettyHttpContainer, ResourceConfig)}).
+ * The stream channel does not read automatically: request entity data are read (and the flow-control window of the
+ * stream is updated) only when the application consumes the entity stream, and response data are written only while
+ * the stream window allows it.
+ * <p>
  * Note that this implementation cannot be more experimental. Any contributions / feedback is welcomed.
  *
  * @author Pavel Bucek
  */
-@ChannelHandler.Sharable
 class JerseyHttp2ServerHandler extends ChannelDuplexHandler {
 
     private final URI baseUri;
-    private final NettyInputStream nettyInputStream = new NettyInputStream();
     private final NettyHttpContainer container;
     private final ResourceConfig resourceConfig;
 
+    private volatile ChannelHandlerContext ctx;
+    private volatile NettyHttp2ResponseWriter responseWriter;
+    private volatile boolean responseComplete;
+
+    private final NettyInputStream nettyInputStream = new NettyInputStream() {
+        @Override
+        protected void demand() {
+            ctx.read();
+        }
+    };
+
     /**
      * Constructor.
      *
@@ -69,6 +88,64 @@ class JerseyHttp2ServerHandler extends ChannelDuplexHandler {
         this.resourceConfig = resourceConfig;
     }
 
+    /**
+     * Create HTTP/2 codec creating a new handler for each stream and announcing the HTTP/2 settings configured by
+     * {@link NettyHttpServerProperties}.
+     *
+     * @param baseUri         base {@link URI} of the container (includes context path, if any).
+     * @param container       Netty container implementation.
+     * @param resourceConfig  the application {@link ResourceConfig}
+     * @return new HTTP/2 codec.
+     */
+    static Http2MultiplexCodec createCodec(final URI baseUri, final NettyHttpContainer container,
+                                           final ResourceConfig resourceConfig) {
+        final Map<String, Object> properties = resourceConfig.getProperties();
+        final Http2Settings settings = Http2Settings.defaultSettings();
+
+        final Integer maxConcurrentStreams = ServerProperties.getValue(properties,
+                NettyHttpServerProperties.HTTP2_MAX_CONCURRENT_STREAMS, Integer.class);
+        if (maxConcurrentStreams != null) {
+            settings.maxConcurrentStreams(maxConcurrentStreams);
+        }
+        final Integer initialWindowSize = ServerProperties.getValue(properties,
+                NettyHttpServerProperties.HTTP2_INITIAL_WINDOW_SIZE, Integer.class);
+        if (initialWindowSize != null) {
+            settings.initialWindowSize(initialWindowSize);
+        }
+
+        return Http2MultiplexCodecBuilder.forServer(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                ch.pipeline().addLast(new JerseyHttp2ServerHandler(baseUri, container, resourceConfig));
+            }
+        }).initialSettings(settings).build();
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+        ctx.channel().config().setAutoRead(false);
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        // read the request headers
+        ctx.read();
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        notifyWriter();
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        notifyWriter();
+        super.channelWritabilityChanged(ctx);
+    }
+
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
         ctx.close();
@@ -89,6 +166,11 @@ class JerseyHttp2ServerHandler extends ChannelDuplexHandler {
      * Process incoming data.
      */
     private void onDataRead(ChannelHandlerContext ctx, Http2DataFrame data) throws Exception {
+        if (responseComplete) {
+            // nobody is going to read the rest of the request entity
+            data.release();
+            return;
+        }
         nettyInputStream.publish(data.content());
         if (data.isEndStream()) {
             nettyInputStream.complete(null);
@@ -99,10 +181,28 @@ class JerseyHttp2ServerHandler extends ChannelDuplexHandler {
      * Process incoming request (just a headers in this case, entity is processed separately).
      */
     private void onHeadersRead(ChannelHandlerContext ctx, Http2HeadersFrame headers) throws Exception {
+        if (responseWriter != null) {
+            // trailers
+            if (headers.isEndStream()) {
+                nettyInputStream.complete(null);
+            }
+            return;
+        }
 
         final ContainerRequest requestContext = createContainerRequest(ctx, headers);
 
-        requestContext.setWriter(new NettyHttp2ResponseWriter(ctx, headers, container));
+        responseWriter = new NettyHttp2ResponseWriter(ctx, headers, container, new Runnable() {
+            @Override
+            public void run() {
+                onResponseComplete();
+            }
+        });
+        requestContext.setWriter(responseWriter);
+
+        if (!headers.isEndStream()) {
+            // prefetch the beginning of the request entity
+            ctx.read();
+        }
 
         // must be like this, since there is a blocking read from Jersey
         container.getExecutorService().execute(new Runnable() {
@@ -113,6 +213,23 @@ class JerseyHttp2ServerHandler extends ChannelDuplexHandler {
         });
     }
 
+    /**
+     * Discard the rest of the request entity once the response has been written, so that the stream can be closed and the
+     * connection flow-control window does not remain occupied by unread data.
+     */
+    private void onResponseComplete() {
+        responseComplete = true;
+        nettyInputStream.close();
+        ctx.channel().config().setAutoRead(true);
+    }
+
+    private void notifyWriter() {
+        final NettyHttp2ResponseWriter writer = responseWriter;
+        if (writer != null) {
+            writer.onWritabilityChanged();
+        }
+    }
+
     /**
      * Create Jersey {@link ContainerRequest} based on Netty {@link HttpRequest}.
      *
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -17,6 +17,7 @@
 package org.glassfish.jersey.netty.httpserver;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.util.List;
 import java.util.Locale;
@@ -50,14 +51,51 @@ class NettyHttp2ResponseWriter implements ContainerResponseWriter {
     private final ChannelHandlerContext ctx;
     private final Http2HeadersFrame headersFrame;
     private final NettyHttpContainer container;
+    private final Runnable onComplete;
+    private final Object writabilityLock = new Object();
 
     private volatile ScheduledFuture<?> suspendTimeoutFuture;
     private volatile Runnable suspendTimeoutHandler;
 
-    NettyHttp2ResponseWriter(ChannelHandlerContext ctx, Http2HeadersFrame headersFrame, NettyHttpContainer container) {
+    NettyHttp2ResponseWriter(ChannelHandlerContext ctx, Http2HeadersFrame headersFrame, NettyHttpContainer container,
+                             Runnable onComplete) {
         this.ctx = ctx;
         this.headersFrame = headersFrame;
         this.container = container;
+        this.onComplete = onComplete;
+    }
+
+    /**
+     * Wake up the writer waiting for the stream to become writable.
+     */
+    void onWritabilityChanged() {
+        synchronized (writabilityLock) {
+            writabilityLock.notifyAll();
+        }
+    }
+
+    /**
+     * Block until the flow-control window of the stream allows more data to be written, so that the response entity is
+     * not buffered in memory when the client does not keep up.
+     */
+    private void awaitWritable() throws IOException {
+        if (ctx.executor().inEventLoop()) {
+            // cannot block the event loop, the write is queued by the flow controller
+            return;
+        }
+        synchronized (writabilityLock) {
+            while (!ctx.channel().isWritable()) {
+                if (!ctx.channel().isActive()) {
+                    throw new IOException("HTTP/2 stream has been closed.");
+                }
+                try {
+                    writabilityLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+        }
     }
 
     @Override
@@ -98,6 +136,7 @@ class NettyHttp2ResponseWriter implements ContainerResponseWriter {
 
                 @Override
                 public void write(byte[] b, int off, int len) throws IOException {
+                    awaitWritable();
 
                     ByteBuf buffer = ctx.alloc().buffer(len);
                     buffer.writeBytes(b, off, len);
@@ -113,11 +152,13 @@ class NettyHttp2ResponseWriter implements ContainerResponseWriter {
                 @Override
                 public void close() throws IOException {
                     ctx.write(new DefaultHttp2DataFrame(true)).addListener(NettyResponseWriter.FLUSH_FUTURE);
+                    onComplete.run();
                 }
             };
 
         } else {
             ctx.writeAndFlush(new DefaultHttp2DataFrame(true));
+            onComplete.run();
             return null;
         }
     }
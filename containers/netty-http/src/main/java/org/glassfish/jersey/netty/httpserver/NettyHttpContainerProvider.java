@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -17,21 +17,26 @@
 package org.glassfish.jersey.netty.httpserver;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.Application;
 
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.handler.ssl.SslContext;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 import org.glassfish.jersey.Beta;
+import org.glassfish.jersey.netty.connector.internal.NettyTransport;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.spi.ContainerProvider;
 
 /**
@@ -70,41 +75,16 @@ public class NettyHttpContainerProvider implements ContainerProvider {
                                        final boolean block)
             throws ProcessingException {
 
-        // Configure the server.
-        final EventLoopGroup bossGroup = new NioEventLoopGroup(1);
-        final EventLoopGroup workerGroup = new NioEventLoopGroup();
-        final NettyHttpContainer container = new NettyHttpContainer(configuration);
-
-        try {
-            ServerBootstrap b = new ServerBootstrap();
-            b.option(ChannelOption.SO_BACKLOG, 1024);
-            b.group(bossGroup, workerGroup)
-             .channel(NioServerSocketChannel.class)
-             .childHandler(new JerseyServerInitializer(baseUri, sslContext, container, configuration));
-
-            int port = getPort(baseUri);
-
-            Channel ch = b.bind(port).sync().channel();
+        final Channel ch = startServer(baseUri, configuration, sslContext, false);
 
-            ch.closeFuture().addListener(new GenericFutureListener<Future<? super Void>>() {
-                @Override
-                public void operationComplete(Future<? super Void> future) throws Exception {
-                    container.getApplicationHandler().onShutdown(container);
-
-                    bossGroup.shutdownGracefully();
-                    workerGroup.shutdownGracefully();
-                }
-            });
-
-            if (block) {
+        if (block) {
+            try {
                 ch.closeFuture().sync();
-                return ch;
-            } else {
-                return ch;
+            } catch (InterruptedException e) {
+                throw new ProcessingException(e);
             }
-        } catch (InterruptedException e) {
-            throw new ProcessingException(e);
         }
+        return ch;
     }
 
     /**
@@ -140,24 +120,56 @@ public class NettyHttpContainerProvider implements ContainerProvider {
     public static Channel createHttp2Server(final URI baseUri, final ResourceConfig configuration, SslContext sslContext) throws
             ProcessingException {
 
-        final EventLoopGroup bossGroup = new NioEventLoopGroup(1);
-        final EventLoopGroup workerGroup = new NioEventLoopGroup();
+        return startServer(baseUri, configuration, sslContext, true);
+    }
+
+    /**
+     * Configure and bind the server according to {@link NettyHttpServerProperties}.
+     * <p>
+     * When more than one accept loop is configured and the transport supports {@code SO_REUSEPORT}, one listening channel
+     * is bound per accept loop. The first channel is returned; closing it closes the other ones as well.
+     */
+    private static Channel startServer(final URI baseUri, final ResourceConfig configuration, final SslContext sslContext,
+                                       final boolean http2) throws ProcessingException {
+
+        final Map<String, Object> properties = configuration.getProperties();
+        final NettyTransport transport = NettyTransport.select(
+                ServerProperties.getValue(properties, NettyHttpServerProperties.TRANSPORT, String.class));
+        final ChannelOption<Boolean> reusePort = transport.getReusePortOption();
+        final int acceptThreads = reusePort == null ? 1
+                : Math.max(1, ServerProperties.getValue(properties, NettyHttpServerProperties.ACCEPT_THREADS, 1, Integer.class));
+        final int workerThreads = Math.max(0,
+                ServerProperties.getValue(properties, NettyHttpServerProperties.WORKER_THREADS, 0, Integer.class));
+
+        final EventLoopGroup bossGroup = transport.createEventLoopGroup(acceptThreads);
+        final EventLoopGroup workerGroup = transport.createEventLoopGroup(workerThreads);
         final NettyHttpContainer container = new NettyHttpContainer(configuration);
 
         try {
             ServerBootstrap b = new ServerBootstrap();
             b.option(ChannelOption.SO_BACKLOG, 1024);
             b.group(bossGroup, workerGroup)
-             .channel(NioServerSocketChannel.class)
-             .childHandler(new JerseyServerInitializer(baseUri, sslContext, container, configuration, true));
+             .channel(transport.getServerSocketChannelClass())
+             .childHandler(new JerseyServerInitializer(baseUri, sslContext, container, configuration, http2));
+            configureOptions(b, properties);
+            if (acceptThreads > 1) {
+                b.option(reusePort, true);
+            }
 
             int port = getPort(baseUri);
 
-            Channel ch = b.bind(port).sync().channel();
+            final Channel ch = b.bind(port).sync().channel();
+            final List<Channel> acceptors = new ArrayList<>(acceptThreads - 1);
+            for (int i = 1; i < acceptThreads; i++) {
+                acceptors.add(b.bind(port).sync().channel());
+            }
 
             ch.closeFuture().addListener(new GenericFutureListener<Future<? super Void>>() {
                 @Override
                 public void operationComplete(Future<? super Void> future) throws Exception {
+                    for (final Channel acceptor : acceptors) {
+                        acceptor.close();
+                    }
                     container.getApplicationHandler().onShutdown(container);
 
                     bossGroup.shutdownGracefully();
@@ -172,6 +184,30 @@ public class NettyHttpContainerProvider implements ContainerProvider {
         }
     }
 
+    private static void configureOptions(final ServerBootstrap b, final Map<String, Object> properties) {
+        final Boolean tcpNoDelay = ServerProperties.getValue(properties, NettyHttpServerProperties.TCP_NO_DELAY, Boolean.class);
+        if (tcpNoDelay != null) {
+            b.childOption(ChannelOption.TCP_NODELAY, tcpNoDelay);
+        }
+
+        final WriteBufferWaterMark waterMark = NettyTransport.createWriteBufferWaterMark(
+                ServerProperties.getValue(properties, NettyHttpServerProperties.WRITE_BUFFER_LOW_WATER_MARK, Integer.class),
+                ServerProperties.getValue(properties, NettyHttpServerProperties.WRITE_BUFFER_HIGH_WATER_MARK, Integer.class));
+        if (waterMark != null) {
+            b.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, waterMark);
+        }
+
+        final ByteBufAllocator allocator = NettyTransport.createAllocator(
+                ServerProperties.getValue(properties, NettyHttpServerProperties.ALLOCATOR_HEAP_ARENAS, Integer.class),
+                ServerProperties.getValue(properties, NettyHttpServerProperties.ALLOCATOR_DIRECT_ARENAS, Integer.class),
+                ServerProperties.getValue(properties, NettyHttpServerProperties.ALLOCATOR_PAGE_SIZE, Integer.class),
+                ServerProperties.getValue(properties, NettyHttpServerProperties.ALLOCATOR_MAX_ORDER, Integer.class));
+        if (allocator != null) {
+            b.option(ChannelOption.ALLOCATOR, allocator);
+            b.childOption(ChannelOption.ALLOCATOR, allocator);
+        }
+    }
+
     private static int getPort(URI uri) {
         if (uri.getPort() == -1) {
             if ("http".equalsIgnoreCase(uri.getScheme())) {
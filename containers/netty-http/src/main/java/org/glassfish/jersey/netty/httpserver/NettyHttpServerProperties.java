@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.netty.httpserver;
+
+import org.glassfish.jersey.internal.util.PropertiesClass;
+
+/**
+ * Configuration options specific to the Netty server created by {@link NettyHttpContainerProvider}.
+ *
+ * @since 2.41
+ */
+@PropertiesClass
+public final class NettyHttpServerProperties {
+
+    /**
+     * Netty transport used by the server.
+     * <p>
+     * Supported values are {@code "nio"}, {@code "epoll"}, {@code "io_uring"} and {@code "auto"}. The native transports
+     * require the corresponding Netty native libraries on the class-path ({@code io_uring} is provided by the Netty
+     * incubator module); if the requested transport is not available, the server falls back to {@code "nio"}.
+     * {@code "auto"} selects {@code "epoll"} when available.
+     * </p>
+     * <p>
+     * The default value is {@code "nio"}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String TRANSPORT = "jersey.config.netty.server.transport";
+
+    /**
+     * Number of event loops accepting new connections.
+     * <p>
+     * If greater than one and the {@link #TRANSPORT transport} supports {@code SO_REUSEPORT} (native transports), the
+     * server binds one listening socket per accept loop and the kernel distributes incoming connections among them.
+     * Otherwise a single accept loop is used.
+     * </p>
+     * <p>
+     * A positive integer value is expected. The default value is {@code 1}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String ACCEPT_THREADS = "jersey.config.netty.server.acceptThreads";
+
+    /**
+     * Number of event loops processing I/O of accepted connections.
+     * <p>
+     * A positive integer value is expected. If not set, Netty default (twice the number of available processors) is used.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String WORKER_THREADS = "jersey.config.netty.server.workerThreads";
+
+    /**
+     * Value of the {@code TCP_NODELAY} option of accepted connections.
+     * <p>
+     * A boolean value is expected. If not set, the transport default is used.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String TCP_NO_DELAY = "jersey.config.netty.server.tcpNoDelay";
+
+    /**
+     * Low water mark of the write buffer of accepted connections in bytes.
+     * <p>
+     * When the number of bytes queued in the write buffer drops below this mark after exceeding the
+     * {@link #WRITE_BUFFER_HIGH_WATER_MARK high water mark}, the connection becomes writable again.
+     * </p>
+     * <p>
+     * A positive integer value is expected. If not set, Netty default ({@code 32 KiB}) is used.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String WRITE_BUFFER_LOW_WATER_MARK = "jersey.config.netty.server.writeBufferLowWaterMark";
+
+    /**
+     * High water mark of the write buffer of accepted connections in bytes.
+     * <p>
+     * When the number of bytes queued in the write buffer exceeds this mark, the connection stops being writable and
+     * the response writer waits for the buffer to drain.
+     * </p>
+     * <p>
+     * A positive integer value is expected. If not set, Netty default ({@code 64 KiB}) is used.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String WRITE_BUFFER_HIGH_WATER_MARK = "jersey.config.netty.server.writeBufferHighWaterMark";
+
+    /**
+     * Number of heap arenas of the pooled buffer allocator used by the server.
+     * <p>
+     * If any of the allocator properties is set, the server uses its own {@code PooledByteBufAllocator}; the properties
+     * that are not set take the Netty defaults. Otherwise the Netty default allocator is used.
+     * </p>
+     * <p>
+     * A non-negative integer value is expected.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String ALLOCATOR_HEAP_ARENAS = "jersey.config.netty.server.allocator.heapArenas";
+
+    /**
+     * Number of direct arenas of the pooled buffer allocator used by the server.
+     * <p>
+     * A non-negative integer value is expected. See {@link #ALLOCATOR_HEAP_ARENAS}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String ALLOCATOR_DIRECT_ARENAS = "jersey.config.netty.server.allocator.directArenas";
+
+    /**
+     * Page size of the pooled buffer allocator used by the server in bytes.
+     * <p>
+     * A power of two is expected. See {@link #ALLOCATOR_HEAP_ARENAS}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String ALLOCATOR_PAGE_SIZE = "jersey.config.netty.server.allocator.pageSize";
+
+    /**
+     * Maximum order of the pooled buffer allocator used by the server; the chunk size is {@code pageSize << maxOrder}.
+     * <p>
+     * A non-negative integer value is expected. See {@link #ALLOCATOR_HEAP_ARENAS}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String ALLOCATOR_MAX_ORDER = "jersey.config.netty.server.allocator.maxOrder";
+
+    /**
+     * Maximum number of concurrent HTTP/2 streams a client may open on a single connection
+     * ({@code SETTINGS_MAX_CONCURRENT_STREAMS}).
+     * <p>
+     * A non-negative integer value is expected. If not set, the number of concurrent streams is not limited.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String HTTP2_MAX_CONCURRENT_STREAMS = "jersey.config.netty.server.http2.maxConcurrentStreams";
+
+    /**
+     * Initial HTTP/2 flow-control window of the request streams in bytes ({@code SETTINGS_INITIAL_WINDOW_SIZE}).
+     * <p>
+     * A client cannot send more request entity bytes on a stream than the window allows until the application has read
+     * them; the connection window is expanded to the same size. Larger windows improve throughput of uploads over links
+     * with high latency at the cost of more buffered data per stream.
+     * </p>
+     * <p>
+     * A positive integer value is expected. If not set, the HTTP/2 default ({@code 65535}) is used.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String HTTP2_INITIAL_WINDOW_SIZE = "jersey.config.netty.server.http2.initialWindowSize";
+
+    private NettyHttpServerProperties() {
+        // prevents instantiation
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.netty.httpserver;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.AdaptiveRecvByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests the HTTP/2 flow control of {@link JerseyHttp2ServerHandler} and {@link NettyHttp2ResponseWriter}.
+ * <p>
+ * The handler is installed on a local channel standing for an HTTP/2 stream channel: the test client sends and receives
+ * HTTP/2 frames and the writability of the server channel, driven by the stream flow-control window in a real HTTP/2
+ * connection, is changed explicitly.
+ */
+public class JerseyHttp2ServerHandlerTest {
+
+    private static final URI BASE_URI = URI.create("http://localhost/");
+    private static final int CHUNK = 16 * 1024;
+    private static final int CHUNKS = 8;
+    private static final int FRAMES = 32;
+
+    private static volatile CountDownLatch reading;
+
+    private EventLoopGroup group;
+    private NettyHttpContainer container;
+    private Channel server;
+    private Channel client;
+    private final AtomicInteger serverReads = new AtomicInteger();
+    private final BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+
+    @Path("/")
+    public static class Http2Resource {
+
+        @GET
+        @Path("stream")
+        public StreamingOutput stream() {
+            return output -> {
+                final byte[] chunk = new byte[CHUNK];
+                for (int i = 0; i < CHUNKS; i++) {
+                    output.write(chunk);
+                }
+            };
+        }
+
+        @POST
+        @Path("upload")
+        public String upload(final InputStream entity) throws Exception {
+            reading.await(10, TimeUnit.SECONDS);
+            final byte[] buffer = new byte[1024];
+            long length = 0;
+            int read;
+            while ((read = entity.read(buffer)) != -1) {
+                length += read;
+            }
+            return Long.toString(length);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        reading = new CountDownLatch(1);
+        group = new DefaultEventLoopGroup(2);
+        container = new NettyHttpContainer(new ResourceConfig(Http2Resource.class));
+
+        final CompletableFuture<Channel> accepted = new CompletableFuture<>();
+        final Channel acceptor = new ServerBootstrap()
+                .group(group)
+                .channel(LocalServerChannel.class)
+                // every read delivers a single frame, like a read of the stream channel
+                .childOption(ChannelOption.RCVBUF_ALLOCATOR, new AdaptiveRecvByteBufAllocator().maxMessagesPerRead(1))
+                .childHandler(new ChannelInitializer<LocalChannel>() {
+                    @Override
+                    protected void initChannel(final LocalChannel ch) {
+                        ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+                            @Override
+                            public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+                                serverReads.incrementAndGet();
+                                ctx.fireChannelRead(msg);
+                            }
+                        });
+                        ch.pipeline().addLast(new JerseyHttp2ServerHandler(BASE_URI, container, container.getConfiguration()));
+                        accepted.complete(ch);
+                    }
+                })
+                .bind(new LocalAddress(JerseyHttp2ServerHandlerTest.class)).sync().channel();
+
+        client = new Bootstrap()
+                .group(group)
+                .channel(LocalChannel.class)
+                .handler(new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+                        received.add(msg);
+                    }
+                })
+                .connect(acceptor.localAddress()).sync().channel();
+        server = accepted.get(10, TimeUnit.SECONDS);
+        acceptor.close();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        reading.countDown();
+        client.close().sync();
+        group.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+        container.getApplicationHandler().onShutdown(container);
+        received.forEach(ReferenceCountUtil::release);
+    }
+
+    @Test
+    public void testResponseWriterWaitsForWindowUpdate() throws Exception {
+        setWritable(false);
+        client.writeAndFlush(new DefaultHttp2HeadersFrame(new DefaultHttp2Headers().method("GET").path("/stream"), true));
+
+        assertEquals("200", nextHeaders().headers().status().toString());
+        // the writer waits for the window of the stream to be updated
+        assertNull(received.poll(500, TimeUnit.MILLISECONDS));
+
+        setWritable(true);
+        assertEquals(CHUNK * CHUNKS, readEntity().length);
+    }
+
+    @Test
+    public void testResponseWriterDoesNotBlockEventLoop() throws Exception {
+        final ContainerRequest request = new ContainerRequest(BASE_URI, BASE_URI.resolve("stream"), "GET", null,
+                new MapPropertiesDelegate(), container.getConfiguration());
+        final NettyHttp2ResponseWriter writer = new NettyHttp2ResponseWriter(server.pipeline().firstContext(),
+                new DefaultHttp2HeadersFrame(new DefaultHttp2Headers().method("GET").path("/stream"), true), container, () -> {
+                });
+        setWritable(false);
+
+        server.eventLoop().submit(() -> {
+            final OutputStream entity = writer.writeResponseStatusAndHeaders(-1,
+                    new ContainerResponse(request, Response.ok().build()));
+            entity.write(new byte[CHUNK]);
+            entity.close();
+            writer.commit();
+            return null;
+        }).get(10, TimeUnit.SECONDS);
+
+        // the data is queued by the flow controller instead
+        assertEquals("200", nextHeaders().headers().status().toString());
+        assertEquals(CHUNK, readEntity().length);
+    }
+
+    @Test
+    public void testRequestEntityIsReadOnDemand() throws Exception {
+        client.write(new DefaultHttp2HeadersFrame(new DefaultHttp2Headers().method("POST").path("/upload"), false));
+        for (int i = 0; i < FRAMES; i++) {
+            client.write(new DefaultHttp2DataFrame(Unpooled.wrappedBuffer(new byte[1024]), i == FRAMES - 1));
+        }
+        client.flush();
+
+        Thread.sleep(500);
+        // the headers and the prefetched data frame, the rest is left in the stream window until the entity is read
+        assertEquals(2, serverReads.get());
+
+        reading.countDown();
+        assertEquals("200", nextHeaders().headers().status().toString());
+        assertEquals(Integer.toString(FRAMES * 1024), new String(readEntity(), StandardCharsets.US_ASCII));
+        assertEquals(FRAMES + 1, serverReads.get());
+    }
+
+    private void setWritable(final boolean writable) throws Exception {
+        // fires the writability change the same way the HTTP/2 codec does on window updates of the stream
+        server.eventLoop().submit(() -> server.unsafe().outboundBuffer().setUserDefinedWritability(1, writable))
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    private Http2HeadersFrame nextHeaders() throws InterruptedException {
+        final Object frame = received.poll(10, TimeUnit.SECONDS);
+        return assertInstanceOf(Http2HeadersFrame.class, frame);
+    }
+
+    private byte[] readEntity() throws InterruptedException {
+        final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+        while (true) {
+            final Http2DataFrame frame = assertInstanceOf(Http2DataFrame.class, received.poll(10, TimeUnit.SECONDS));
+            final byte[] bytes = new byte[frame.content().readableBytes()];
+            frame.content().readBytes(bytes);
+            frame.release();
+            entity.write(bytes, 0, bytes.length);
+            if (frame.isEndStream()) {
+                return entity.toByteArray();
+            }
+        }
+    }
+}
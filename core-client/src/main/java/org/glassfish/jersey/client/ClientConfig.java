@@ -17,9 +17,11 @@
 
 package org.glassfish.jersey.client;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -114,6 +116,17 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         private volatile ScheduledExecutorService scheduledExecutorService;
 
         private final LazyValue<ClientRuntime> runtime = Values.lazy((Value<ClientRuntime>) this::initRuntime);
+        /**
+         * Shared state this state differs from only in properties, or {@code null} if the registered components,
+         * the connector provider or the executors differ.
+         */
+        private volatile State runtimeParent;
+        /**
+         * {@code true} if the runtime of the {@link #runtimeParent} is reused by this state.
+         */
+        private volatile boolean propertyOverlay;
+        private final LazyValue<ClientConfig> runtimeConfiguration =
+                Values.lazy((Value<ClientConfig>) this::initRuntimeConfiguration);
 
         /**
          * Configuration state change strategy.
@@ -163,6 +176,10 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
             this.connectorProvider = original.connectorProvider;
             this.executorService = original.executorService;
             this.scheduledExecutorService = original.scheduledExecutorService;
+            if (client == original.client && original.strategy == COPY_ON_CHANGE) {
+                // the original state is shared and hence will never be mutated in place
+                this.runtimeParent = original.runtimeParent != null ? original.runtimeParent : original;
+            }
         }
 
         /**
@@ -190,6 +207,18 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
             strategy = COPY_ON_CHANGE;
         }
 
+        /**
+         * Get the state to be mutated by a change of the registered components, connector provider or executors.
+         * Such a state can no longer reuse the runtime of its {@link #runtimeParent}.
+         *
+         * @return state instance to be mutated.
+         */
+        private State onComponentChange() {
+            final State state = strategy.onChange(this);
+            state.runtimeParent = null;
+            return state;
+        }
+
         State preInitialize() {
             final State state = strategy.onChange(this);
             state.strategy = COPY_ON_CHANGE;
@@ -206,63 +235,63 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         }
 
         public State loadFrom(final Configuration config) {
-            final State state = strategy.onChange(this);
+            final State state = onComponentChange();
             state.commonConfig.loadFrom(config);
             return state;
         }
 
         @Override
         public State register(final Class<?> providerClass) {
-            final State state = strategy.onChange(this);
+            final State state = onComponentChange();
             state.commonConfig.register(providerClass);
             return state;
         }
 
         @Override
         public State register(final Object provider) {
-            final State state = strategy.onChange(this);
+            final State state = onComponentChange();
             state.commonConfig.register(provider);
             return state;
         }
 
         @Override
         public State register(final Class<?> providerClass, final int bindingPriority) {
-            final State state = strategy.onChange(this);
+            final State state = onComponentChange();
             state.commonConfig.register(providerClass, bindingPriority);
             return state;
         }
 
         @Override
         public State register(final Class<?> providerClass, final Class<?>... contracts) {
-            final State state = strategy.onChange(this);
+            final State state = onComponentChange();
             state.commonConfig.register(providerClass, contracts);
             return state;
         }
 
         @Override
         public State register(final Class<?> providerClass, final Map<Class<?>, Integer> contracts) {
-            final State state = strategy.onChange(this);
+            final State state = onComponentChange();
             state.commonConfig.register(providerClass, contracts);
             return state;
         }
 
         @Override
         public State register(final Object provider, final int bindingPriority) {
-            final State state = strategy.onChange(this);
+            final State state = onComponentChange();
             state.commonConfig.register(provider, bindingPriority);
             return state;
         }
 
         @Override
         public State register(final Object provider, final Class<?>... contracts) {
-            final State state = strategy.onChange(this);
+            final State state = onComponentChange();
             state.commonConfig.register(provider, contracts);
             return state;
         }
 
         @Override
         public State register(final Object provider, final Map<Class<?>, Integer> contracts) {
-            final State state = strategy.onChange(this);
+            final State state = onComponentChange();
             state.commonConfig.register(provider, contracts);
             return state;
         }
@@ -271,7 +300,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
             if (provider == null) {
                 throw new NullPointerException(LocalizationMessages.NULL_CONNECTOR_PROVIDER());
             }
-            final State state = strategy.onChange(this);
+            final State state = onComponentChange();
             state.connectorProvider = provider;
             return state;
         }
@@ -280,7 +309,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
             if (executorService == null) {
                 throw new NullPointerException(LocalizationMessages.NULL_EXECUTOR_SERVICE());
             }
-            final State state = strategy.onChange(this);
+            final State state = onComponentChange();
             state.executorService = executorService;
             return state;
         }
@@ -289,7 +318,7 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
             if (scheduledExecutorService == null) {
                 throw new NullPointerException(LocalizationMessages.NULL_SCHEDULED_EXECUTOR_SERVICE());
             }
-            final State state = strategy.onChange(this);
+            final State state = onComponentChange();
             state.scheduledExecutorService = scheduledExecutorService;
             return state;
         }
@@ -398,7 +427,13 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         }
 
         /**
-         * Initialize the newly constructed client instance.
+         * Get the client runtime for this configuration state.
+         * <p>
+         * A state that differs from its parent state only in properties reuses the runtime (and the connector)
+         * of the parent if {@link ClientProperties#RUNTIME_PROPERTY_OVERLAY} is enabled. Otherwise, if
+         * {@link ClientProperties#RUNTIME_CACHE_SIZE} is set, runtimes of the same client are shared among states with the same
+         * {@link RuntimeFingerprint fingerprint}.
+         * </p>
          */
         @SuppressWarnings("MethodOnlyUsedFromInnerClass")
         private ClientRuntime initRuntime() {
@@ -408,8 +443,52 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
              */
             markAsShared();
 
+            final State parent = runtimeParent;
+            if (parent != null && ClientProperties.getValue(getProperties(),
+                    ClientProperties.RUNTIME_PROPERTY_OVERLAY, Boolean.FALSE, Boolean.class)) {
+                propertyOverlay = true;
+                return parent.runtime.get();
+            }
+
+            final int cacheSize = ClientProperties.getValue(getProperties(),
+                    ClientProperties.RUNTIME_CACHE_SIZE, 0, Integer.class);
+            return cacheSize > 0
+                    ? client.getRuntime(new RuntimeFingerprint(this), this::createRuntime, cacheSize)
+                    : createRuntime();
+        }
+
+        /**
+         * Get the runtime configuration as seen by the requests using this configuration state.
+         * <p>
+         * If the runtime of the parent state is reused, the runtime configuration of the parent is overlaid
+         * with the properties of this state.
+         * </p>
+         */
+        private ClientConfig initRuntimeConfiguration() {
+            final ClientConfig runtimeConfig = runtime.get().getConfig();
+            if (!propertyOverlay) {
+                return runtimeConfig;
+            }
+
+            final ClientConfig overlay = runtimeConfig.snapshot();
+            for (final String name : runtimeParent.getPropertyNames()) {
+                if (getProperty(name) == null) {
+                    overlay.property(name, null);
+                }
+            }
+            for (final Map.Entry<String, Object> property : getProperties().entrySet()) {
+                overlay.property(property.getKey(), property.getValue());
+            }
+            return overlay;
+        }
+
+        /**
+         * Initialize the newly constructed client instance.
+         */
+        private ClientRuntime createRuntime() {
             final State runtimeCfgState = this.copy();
             runtimeCfgState.markAsShared();
+            runtimeCfgState.runtimeParent = null;
 
             final InjectionManager injectionManager = findInjectionManager();
             injectionManager.register(new ClientBinder(runtimeCfgState.getProperties()));
@@ -510,6 +589,83 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         }
     }
 
+    /**
+     * Fingerprint of a configuration state used as a key of the {@link JerseyClient#getRuntime client runtime cache}.
+     * <p>
+     * Two configuration states with equal fingerprints produce equivalent client runtimes: they have equal properties,
+     * the same component classes with the same contracts and priorities, the same component instances (compared by
+     * identity) with the same contracts and priorities, the same connector provider and the same executors.
+     * </p>
+     */
+    private static final class RuntimeFingerprint {
+
+        private final Map<String, Object> properties;
+        private final Map<Class<?>, Map<Class<?>, Integer>> classes;
+        private final Object[] instances;
+        private final List<Map<Class<?>, Integer>> instanceContracts;
+        private final ConnectorProvider connectorProvider;
+        private final ExecutorService executorService;
+        private final ScheduledExecutorService scheduledExecutorService;
+        private final int hashCode;
+
+        private RuntimeFingerprint(final State state) {
+            this.properties = new HashMap<>(state.getProperties());
+            this.classes = new HashMap<>();
+            for (final Class<?> componentClass : state.getClasses()) {
+                classes.put(componentClass, state.getContracts(componentClass));
+            }
+            this.instances = state.getInstances().toArray();
+            this.instanceContracts = new ArrayList<>(instances.length);
+            for (final Object instance : instances) {
+                instanceContracts.add(state.getContracts(instance.getClass()));
+            }
+            this.connectorProvider = state.connectorProvider;
+            this.executorService = state.executorService;
+            this.scheduledExecutorService = state.scheduledExecutorService;
+
+            int hash = properties.hashCode();
+            hash = 31 * hash + classes.hashCode();
+            for (final Object instance : instances) {
+                hash = 31 * hash + System.identityHashCode(instance);
+            }
+            hash = 31 * hash + System.identityHashCode(connectorProvider);
+            hash = 31 * hash + System.identityHashCode(executorService);
+            hash = 31 * hash + System.identityHashCode(scheduledExecutorService);
+            this.hashCode = hash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RuntimeFingerprint)) {
+                return false;
+            }
+            final RuntimeFingerprint that = (RuntimeFingerprint) o;
+            if (hashCode != that.hashCode
+                    || connectorProvider != that.connectorProvider
+                    || executorService != that.executorService
+                    || scheduledExecutorService != that.scheduledExecutorService
+                    || instances.length != that.instances.length) {
+                return false;
+            }
+            for (int i = 0; i < instances.length; i++) {
+                if (instances[i] != that.instances[i]) {
+                    return false;
+                }
+            }
+            return instanceContracts.equals(that.instanceContracts)
+                    && classes.equals(that.classes)
+                    && properties.equals(that.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     /**
      * Construct a new Jersey configuration instance with the default features
      * and property values.
@@ -829,6 +985,16 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         return state.runtime.get();
     }
 
+    /**
+     * Get the configuration of the configured runtime overlaid with the properties of this configuration
+     * if the runtime is shared with the configuration this one has been derived from.
+     *
+     * @return runtime configuration.
+     */
+    Configuration getRuntimeConfiguration() {
+        return state.runtimeConfiguration.get();
+    }
+
     public ClientExecutor getClientExecutor() {
         return state.runtime.get();
     }
@@ -492,6 +492,244 @@ public final class ClientProperties {
      */
     public static final String SSL_CONTEXT_SUPPLIER = "jersey.config.client.ssl.context.supplier";
 
+    /**
+     * If {@code true}, concurrent identical idempotent requests ({@code GET} and {@code HEAD} requests without an entity
+     * targeting the same URI with the same {@code Accept*}, {@code Authorization} and {@code Cookie} headers) are coalesced
+     * into a single request by the {@link org.glassfish.jersey.client.filter.RequestCoalescingFeature}; the callers waiting
+     * for the in-flight request share its buffered response.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Boolean}.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String REQUEST_COALESCING = "jersey.config.client.request.coalescing";
+
+    /**
+     * Maximum time in milliseconds a coalesced request waits for the response of the in-flight request it has been
+     * coalesced with. When the time elapses, the request is sent on its own.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * </p>
+     * <p>
+     * The default value is {@code 10000}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #REQUEST_COALESCING
+     * @since 2.41
+     */
+    public static final String REQUEST_COALESCING_TIMEOUT = "jersey.config.client.request.coalescing.timeout";
+
+    /**
+     * If {@code true}, a {@link javax.ws.rs.client.WebTarget web target} or an {@link javax.ws.rs.client.Invocation.Builder
+     * invocation builder} whose configuration differs from the configuration it has been derived from only in properties
+     * reuses the client runtime (including the {@link org.glassfish.jersey.client.spi.Connector connector}) of the parent
+     * configuration instead of bootstrapping a new one. Properties set on the request are still visible to the filters,
+     * interceptors and the connector through the request configuration; properties that are only read while the runtime is
+     * being bootstrapped (e.g. properties enabling features) take the value of the parent configuration.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Boolean}.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String RUNTIME_PROPERTY_OVERLAY = "jersey.config.client.runtime.propertyOverlay";
+
+    /**
+     * Maximum number of client runtimes a client remembers for reuse. If set to a positive value, a
+     * {@link javax.ws.rs.client.WebTarget web target} or an {@link javax.ws.rs.client.Invocation.Builder invocation builder}
+     * whose configuration is equivalent to a configuration a runtime has recently been created for (same properties,
+     * providers, features, connector provider and executors) reuses that runtime instead of bootstrapping a new one. The
+     * least recently used runtimes are forgotten once the limit is exceeded; they are still closed with the client.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * </p>
+     * <p>
+     * The default value is {@code 0}, i.e. runtimes are not reused.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String RUNTIME_CACHE_SIZE = "jersey.config.client.runtime.cacheSize";
+
+    /**
+     * Maximum number of requests the client sends concurrently to a single destination host (identified by scheme, host
+     * and port). Requests exceeding the limit wait in a bounded queue of the host's
+     * {@link org.glassfish.jersey.client.bulkhead.BulkheadFeature bulkhead} compartment, so that a slow destination cannot
+     * take all the threads and connections of the client from the healthy ones.
+     * <p>
+     * Setting the property registers the {@link org.glassfish.jersey.client.bulkhead.BulkheadFeature}.
+     * </p>
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}. A value lower than {@code 1} means that the
+     * destination hosts are not limited.
+     * </p>
+     * <p>
+     * There is no default value.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String BULKHEAD_MAX_CONCURRENT_REQUESTS = "jersey.config.client.bulkhead.maxConcurrentRequests";
+
+    /**
+     * Maximum number of requests waiting for a destination host whose
+     * {@link #BULKHEAD_MAX_CONCURRENT_REQUESTS concurrency limit} has been reached. Requests exceeding the queue are
+     * rejected with a {@link org.glassfish.jersey.client.bulkhead.BulkheadRejectedException}. Queued asynchronous requests
+     * do not occupy a thread of the client's asynchronous executor.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * </p>
+     * <p>
+     * The default value is {@value org.glassfish.jersey.client.bulkhead.BulkheadFeature#DEFAULT_MAX_QUEUED_REQUESTS}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String BULKHEAD_MAX_QUEUED_REQUESTS = "jersey.config.client.bulkhead.maxQueuedRequests";
+
+    /**
+     * Maximum time in milliseconds a request waits in the bulkhead queue before it is rejected with a
+     * {@link org.glassfish.jersey.client.bulkhead.BulkheadRejectedException}. A value lower than {@code 1} means that the
+     * requests wait until they are admitted.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Long}.
+     * </p>
+     * <p>
+     * The default value is {@value org.glassfish.jersey.client.bulkhead.BulkheadFeature#DEFAULT_QUEUE_TIMEOUT}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #BULKHEAD_MAX_CONCURRENT_REQUESTS
+     * @since 2.41
+     */
+    public static final String BULKHEAD_QUEUE_TIMEOUT = "jersey.config.client.bulkhead.queueTimeout";
+
+    /**
+     * Maximum number of attempts (including the first one) to send an idempotent request without an entity before its
+     * failure is reported. Requests failing with a {@link javax.ws.rs.ProcessingException} or with a {@code 502},
+     * {@code 503} or {@code 504} response are retried by the {@link org.glassfish.jersey.client.retry.RetryFeature} after a
+     * {@link #RETRY_BACKOFF jittered backoff}, as long as the {@link #RETRY_BUDGET retry budget} is not exhausted.
+     * <p>
+     * Setting the property registers the {@link org.glassfish.jersey.client.retry.RetryFeature}.
+     * </p>
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * </p>
+     * <p>
+     * The default value is {@code 1}, i.e. the requests are not retried.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String RETRY_MAX_ATTEMPTS = "jersey.config.client.retry.maxAttempts";
+
+    /**
+     * Base backoff in milliseconds between two attempts to send a request. The actual backoff is chosen randomly between
+     * zero and the base backoff doubled with every retry (capped at 32 times the base backoff).
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Long}.
+     * </p>
+     * <p>
+     * The default value is {@value org.glassfish.jersey.client.retry.RetryFeature#DEFAULT_BACKOFF}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #RETRY_MAX_ATTEMPTS
+     * @since 2.41
+     */
+    public static final String RETRY_BACKOFF = "jersey.config.client.retry.backoff";
+
+    /**
+     * Ratio of retried and hedged requests to the requests sent by the application. Every request adds the ratio to
+     * the retry budget and every retry or hedged request consumes one from it; when the budget is exhausted, failures are
+     * reported without retries and no requests are hedged. The budget prevents retry storms when a destination is down.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Double}.
+     * </p>
+     * <p>
+     * The default value is {@value org.glassfish.jersey.client.retry.RetryFeature#DEFAULT_BUDGET}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #RETRY_MAX_ATTEMPTS
+     * @see #HEDGING_PERCENTILE
+     * @since 2.41
+     */
+    public static final String RETRY_BUDGET = "jersey.config.client.retry.budget";
+
+    /**
+     * Percentile of the observed response latency of a destination host after which a second, hedged, copy of an
+     * idempotent request without an entity is sent if the request has not completed yet. The first response is used,
+     * the other attempt is cancelled. For example, {@code 95} hedges the slowest 5% of the requests.
+     * <p>
+     * Setting the property registers the {@link org.glassfish.jersey.client.retry.RetryFeature}.
+     * </p>
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Double}, between {@code 0} and {@code 100}.
+     * </p>
+     * <p>
+     * There is no default value, the requests are not hedged.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #RETRY_BUDGET
+     * @since 2.41
+     */
+    public static final String HEDGING_PERCENTILE = "jersey.config.client.hedging.percentile";
+
+    /**
+     * Minimum delay in milliseconds before a hedged request is sent, regardless of the observed latency.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Long}.
+     * </p>
+     * <p>
+     * The default value is {@value org.glassfish.jersey.client.retry.RetryFeature#DEFAULT_HEDGING_MIN_DELAY}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #HEDGING_PERCENTILE
+     * @since 2.41
+     */
+    public static final String HEDGING_MIN_DELAY = "jersey.config.client.hedging.minDelay";
+
     private ClientProperties() {
         // prevents instantiation
     }
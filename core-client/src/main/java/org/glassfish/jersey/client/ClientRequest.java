@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -25,6 +25,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -74,6 +75,8 @@ public class ClientRequest extends OutboundMessageContext
     private String httpMethod;
     // Request filter chain execution aborting response
     private Response abortResponse;
+    // Request filter chain execution aborting response that becomes available later
+    private CompletionStage<Response> deferredAbortResponse;
     // Entity providers
     private MessageBodyWorkers workers;
     // Flag indicating whether the request is asynchronous
@@ -215,9 +218,36 @@ public class ClientRequest extends OutboundMessageContext
         return abortResponse;
     }
 
+    /**
+     * Abort the request with a response that becomes available later.
+     * <p>
+     * Unlike {@link #abortWith(Response)}, the request filter chain execution continues. Once the filter chain has been
+     * executed, the request is not sent until the stage completes. If the stage completes with a response, the request is
+     * aborted with the response; if the stage completes with {@code null} or exceptionally, the request is sent. An
+     * asynchronous request does not occupy any thread while the stage is pending.
+     * </p>
+     *
+     * @param response stage completing with the aborting response or {@code null}.
+     * @since 2.41
+     */
+    public void deferAbortWith(final CompletionStage<Response> response) {
+        this.deferredAbortResponse = response;
+    }
+
+    /**
+     * Get the request filter chain aborting response that becomes available later if set, or {@code null} otherwise.
+     *
+     * @return stage completing with the request filter chain aborting response, or {@code null} if not set.
+     * @see #deferAbortWith(CompletionStage)
+     * @since 2.41
+     */
+    public CompletionStage<Response> getDeferredAbortResponse() {
+        return deferredAbortResponse;
+    }
+
     @Override
     public Configuration getConfiguration() {
-        return clientConfig.getRuntime().getConfig();
+        return clientConfig.getRuntimeConfiguration();
     }
 
     /**
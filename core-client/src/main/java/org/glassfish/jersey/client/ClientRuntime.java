@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -17,7 +17,11 @@
 package org.glassfish.jersey.client;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
@@ -31,11 +35,14 @@ import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
 
 import javax.inject.Provider;
 
+import org.glassfish.jersey.client.bulkhead.Bulkhead;
 import org.glassfish.jersey.client.internal.ClientResponseProcessingException;
 import org.glassfish.jersey.client.internal.LocalizationMessages;
+import org.glassfish.jersey.client.retry.RetryPolicy;
 import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
 import org.glassfish.jersey.client.spi.Connector;
 import org.glassfish.jersey.internal.BootstrapBag;
@@ -72,6 +79,8 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
     private final RequestScope requestScope;
     private final LazyValue<ExecutorService> asyncRequestExecutor;
     private final LazyValue<ScheduledExecutorService> backgroundScheduler;
+    private final Bulkhead bulkhead;
+    private final RetryPolicy retryPolicy;
 
     private final Iterable<ClientLifecycleListener> lifecycleListeners;
 
@@ -129,6 +138,11 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
                         ? injectionManager.getInstance(ScheduledExecutorService.class, ClientBackgroundSchedulerLiteral.INSTANCE)
                         : config.getScheduledExecutorService());
 
+        final List<Bulkhead> bulkheads = injectionManager.getAllInstances(Bulkhead.class);
+        this.bulkhead = bulkheads.isEmpty() ? null : bulkheads.get(0);
+        final List<RetryPolicy> retryPolicies = injectionManager.getAllInstances(RetryPolicy.class);
+        this.retryPolicy = retryPolicies.isEmpty() ? null : retryPolicies.get(0);
+
         this.injectionManager = injectionManager;
         this.lifecycleListeners = Providers.getAllProviders(injectionManager, ClientLifecycleListener.class);
 
@@ -182,13 +196,75 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
                     }
                 };
 
-                connector.apply(processedRequest, connectorCallback);
+                final CompletionStage<Response> deferredAbort = processedRequest.getDeferredAbortResponse();
+                if (deferredAbort == null) {
+                    send(processedRequest, connectorCallback);
+                    return;
+                }
+
+                // abort or send once the aborting response is known, the current thread is not held in the meantime
+                final ClientRequest deferredRequest = processedRequest;
+                deferredAbort.whenComplete((abortResponse, failure) -> submit(() -> requestScope.runInScope(() -> {
+                    try {
+                        if (abortResponse != null) {
+                            processResponse(request, new ClientResponse(deferredRequest, abortResponse), callback);
+                        } else {
+                            send(deferredRequest, connectorCallback);
+                        }
+                    } catch (final Throwable throwable) {
+                        processFailure(request, throwable, callback);
+                    }
+                })));
             } catch (final Throwable throwable) {
                 processFailure(request, throwable, callback);
             }
         });
     }
 
+    /**
+     * Send the processed request. A request limited by the {@link Bulkhead bulkhead} is sent once the bulkhead admits
+     * it, the bulkhead permit is released when the response entity is closed (or when the request fails). A request
+     * rejected by the bulkhead fails with a {@link org.glassfish.jersey.client.bulkhead.BulkheadRejectedException}.
+     */
+    private void send(final ClientRequest request, final AsyncConnectorCallback connectorCallback) {
+        final Bulkhead.Compartment compartment = bulkhead == null ? null : bulkhead.getCompartment(request.getUri());
+        if (compartment == null) {
+            send(request, null, connectorCallback);
+            return;
+        }
+
+        final AsyncConnectorCallback releasingCallback = new AsyncConnectorCallback() {
+            @Override
+            public void response(final ClientResponse response) {
+                connectorCallback.response(compartment.releaseOnClose(response));
+            }
+
+            @Override
+            public void failure(final Throwable failure) {
+                compartment.release();
+                connectorCallback.failure(failure);
+            }
+        };
+        compartment.execute(request.getUri(), () -> requestScope.runInScope(() -> {
+            try {
+                send(request, compartment, releasingCallback);
+            } catch (final Throwable throwable) {
+                releasingCallback.failure(throwable);
+            }
+        }), connectorCallback::failure, asyncRequestExecutor.get()::submit, backgroundScheduler.get());
+    }
+
+    private void send(final ClientRequest request,
+                      final Bulkhead.Compartment compartment,
+                      final AsyncConnectorCallback connectorCallback) {
+        if (retryPolicy != null && retryPolicy.isApplicable(request)) {
+            retryPolicy.apply(connector, request, connectorCallback, compartment,
+                    asyncRequestExecutor.get(), backgroundScheduler.get());
+        } else {
+            connector.apply(request, connectorCallback);
+        }
+    }
+
     @Override
     public <T> Future<T> submit(Callable<T> task) {
         return asyncRequestExecutor.get().submit(task);
@@ -297,7 +373,12 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
             preInvocationInterceptorStage.beforeRequest(request);
 
             try {
-                response = connector.apply(addUserAgent(Stages.process(request, requestProcessingRoot), connector.getName()));
+                final ClientRequest processedRequest =
+                        addUserAgent(Stages.process(request, requestProcessingRoot), connector.getName());
+                final Response abortResponse = awaitDeferredAbort(processedRequest);
+                response = abortResponse == null
+                        ? apply(processedRequest)
+                        : new ClientResponse(processedRequest, abortResponse);
             } catch (final AbortException aborted) {
                 response = aborted.getAbortResponse();
             }
@@ -316,6 +397,83 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
         }
     }
 
+    /**
+     * Apply the processed request. A request limited by the {@link Bulkhead bulkhead} waits until the bulkhead admits
+     * it, the bulkhead permit is then held until the response entity is closed.
+     */
+    private ClientResponse apply(final ClientRequest request) {
+        final Bulkhead.Compartment compartment = bulkhead == null ? null : bulkhead.getCompartment(request.getUri());
+        if (compartment == null) {
+            return apply(request, null);
+        }
+
+        compartment.acquire(request.getUri(), backgroundScheduler.get());
+        final ClientResponse response;
+        try {
+            response = apply(request, compartment);
+        } catch (final Throwable t) {
+            compartment.release();
+            throw t;
+        }
+        return compartment.releaseOnClose(response);
+    }
+
+    private static Response awaitDeferredAbort(final ClientRequest request) {
+        final CompletionStage<Response> deferredAbort = request.getDeferredAbortResponse();
+        if (deferredAbort == null) {
+            return null;
+        }
+        final CompletableFuture<Response> abortResponse = deferredAbort.toCompletableFuture();
+        try {
+            return abortResponse.get();
+        } catch (final InterruptedException e) {
+            abortResponse.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        } catch (final ExecutionException e) {
+            // no aborting response, the request is sent
+            return null;
+        }
+    }
+
+    private ClientResponse apply(final ClientRequest request, final Bulkhead.Compartment compartment) {
+        if (retryPolicy == null || !retryPolicy.isApplicable(request)) {
+            return connector.apply(request);
+        }
+
+        final CompletableFuture<ClientResponse> response = new CompletableFuture<>();
+        final Future<?> execution = retryPolicy.apply(connector, request, new AsyncConnectorCallback() {
+            @Override
+            public void response(final ClientResponse clientResponse) {
+                if (!response.complete(clientResponse)) {
+                    // the waiting thread has been interrupted
+                    clientResponse.close();
+                }
+            }
+
+            @Override
+            public void failure(final Throwable failure) {
+                response.completeExceptionally(failure);
+            }
+        }, compartment, asyncRequestExecutor.get(), backgroundScheduler.get());
+
+        try {
+            return response.get();
+        } catch (final InterruptedException e) {
+            execution.cancel(true);
+            // close the response if it has been received in the meantime
+            response.cancel(false);
+            response.thenAccept(ClientResponse::close);
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof ProcessingException) {
+                throw (ProcessingException) e.getCause();
+            }
+            throw new ProcessingException(e.getCause());
+        }
+    }
+
     /**
      * Get the request scope instance configured for the runtime.
      *
@@ -20,6 +20,8 @@ import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -69,6 +71,10 @@ public class JerseyClient implements javax.ws.rs.client.Client, Initializable<Je
     private final LinkedBlockingDeque<WeakReference<JerseyClient.ShutdownHook>> shutdownHooks =
                                         new LinkedBlockingDeque<WeakReference<JerseyClient.ShutdownHook>>();
     private final ReferenceQueue<JerseyClient.ShutdownHook> shReferenceQueue = new ReferenceQueue<JerseyClient.ShutdownHook>();
+    /**
+     * Recently created client runtimes keyed by the fingerprint of the configuration they have been created for.
+     */
+    private final Map<Object, ClientRuntime> runtimes = new LinkedHashMap<>(16, 0.75f, true);
 
     /**
      * Client instance shutdown hook.
@@ -182,6 +188,9 @@ public class JerseyClient implements javax.ws.rs.client.Client, Initializable<Je
     }
 
     private void release() {
+        synchronized (runtimes) {
+            runtimes.clear();
+        }
         Reference<ShutdownHook> listenerRef;
         while ((listenerRef = shutdownHooks.pollFirst()) != null) {
             JerseyClient.ShutdownHook listener = listenerRef.get();
@@ -195,6 +204,45 @@ public class JerseyClient implements javax.ws.rs.client.Client, Initializable<Je
         }
     }
 
+    /**
+     * Get a client runtime for a configuration with the given fingerprint.
+     * <p>
+     * A runtime recently created for a configuration with an equal fingerprint is reused. Otherwise a new runtime
+     * is created using the supplied factory and remembered for subsequent lookups; the least recently used runtimes
+     * are forgotten once there are more than {@code cacheSize} of them.
+     * </p>
+     *
+     * @param fingerprint fingerprint of the configuration the runtime is requested for.
+     * @param factory     client runtime factory.
+     * @param cacheSize   maximum number of remembered runtimes.
+     * @return client runtime for the configuration.
+     */
+    /* package */ ClientRuntime getRuntime(final Object fingerprint, final Supplier<ClientRuntime> factory, final int cacheSize) {
+        synchronized (runtimes) {
+            final ClientRuntime runtime = runtimes.get(fingerprint);
+            if (runtime != null) {
+                return runtime;
+            }
+        }
+        // create the runtime outside of the lock, runtime initialization may be expensive
+        final ClientRuntime created = factory.get();
+        final ClientRuntime runtime;
+        synchronized (runtimes) {
+            final ClientRuntime concurrent = runtimes.putIfAbsent(fingerprint, created);
+            runtime = concurrent == null ? created : concurrent;
+            final Iterator<ClientRuntime> eldest = runtimes.values().iterator();
+            while (runtimes.size() > cacheSize && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        if (runtime != created) {
+            // an equivalent runtime has been created concurrently, do not leak the duplicate one
+            created.onShutdown();
+        }
+        return runtime;
+    }
+
     /**
      * Register a new client shutdown hook.
      *
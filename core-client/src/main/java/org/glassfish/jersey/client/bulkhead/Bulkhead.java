@@ -0,0 +1,475 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.bulkhead;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.ProcessingException;
+
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+
+/**
+ * Set of {@link Compartment compartments} limiting the number of concurrent requests the client sends to a destination.
+ * <p>
+ * A request belongs to the compartment of the longest {@link BulkheadFeature#compartment(String, int, int) URI prefix}
+ * it matches or, if there is none, to the compartment of its destination host. Each compartment admits a limited number
+ * of requests at a time; further requests wait in the compartment's bounded queue and are rejected with a
+ * {@link BulkheadRejectedException} once the queue is full or the queue timeout elapses. Since the asynchronous requests
+ * are queued before they are handed over to the client's asynchronous executor, the requests to a slow destination
+ * cannot take the executor threads (and the connections) from the requests to the other destinations.
+ * </p>
+ * <p>
+ * The bulkhead is consulted by the client runtime, it is created and registered by the {@link BulkheadFeature}.
+ * </p>
+ *
+ * @since 2.41
+ */
+public final class Bulkhead {
+
+    /**
+     * Number of destination host compartments above which the idle host compartments are dropped.
+     */
+    static final int MAX_HOST_COMPARTMENTS = 256;
+
+    private final int maxConcurrentRequestsPerHost;
+    private final int maxQueuedRequestsPerHost;
+    private final long queueTimeout;
+    private final List<Compartment> prefixCompartments;
+    private final ConcurrentHashMap<String, Compartment> hostCompartments = new ConcurrentHashMap<>();
+
+    Bulkhead(final int maxConcurrentRequestsPerHost,
+             final int maxQueuedRequestsPerHost,
+             final long queueTimeout,
+             final List<Compartment> prefixCompartments) {
+        this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+        this.maxQueuedRequestsPerHost = maxQueuedRequestsPerHost;
+        this.queueTimeout = queueTimeout;
+
+        final List<Compartment> sorted = new ArrayList<>(prefixCompartments);
+        // longest prefix first
+        sorted.sort(Comparator.comparingInt((Compartment compartment) -> compartment.getName().length()).reversed());
+        this.prefixCompartments = sorted;
+    }
+
+    /**
+     * Get the compartment the request to the given URI belongs to.
+     *
+     * @param uri request URI.
+     * @return compartment of the request or {@code null} if the request is not limited.
+     */
+    public Compartment getCompartment(final URI uri) {
+        if (!prefixCompartments.isEmpty()) {
+            final String target = uri.toString();
+            for (final Compartment compartment : prefixCompartments) {
+                if (target.startsWith(compartment.getName())) {
+                    return compartment;
+                }
+            }
+        }
+        if (maxConcurrentRequestsPerHost < 1 || uri.getHost() == null) {
+            return null;
+        }
+        final String host = host(uri);
+        final Compartment compartment = hostCompartments.get(host);
+        if (compartment != null && !compartment.retired) {
+            return compartment;
+        }
+
+        final boolean[] created = new boolean[1];
+        final Compartment current = hostCompartments.compute(host, (name, existing) -> {
+            if (existing != null && !existing.retired) {
+                return existing;
+            }
+            created[0] = true;
+            return new Compartment(name, maxConcurrentRequestsPerHost, maxQueuedRequestsPerHost, queueTimeout);
+        });
+        if (created[0] && hostCompartments.size() > MAX_HOST_COMPARTMENTS) {
+            dropIdleHostCompartments();
+        }
+        return current;
+    }
+
+    /**
+     * Drop the compartments of the destination hosts with no requests in flight, so that the compartments of the hosts
+     * requests are no longer sent to do not accumulate.
+     */
+    private void dropIdleHostCompartments() {
+        for (final Map.Entry<String, Compartment> entry : hostCompartments.entrySet()) {
+            if (entry.getValue().retireIfIdle()) {
+                hostCompartments.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Get all the compartments of the bulkhead, i.e. the URI prefix compartments and the compartments of the destination
+     * hosts requests have been sent to so far. Once there are more than {@value #MAX_HOST_COMPARTMENTS} destination host
+     * compartments, the idle ones are dropped.
+     *
+     * @return unmodifiable map of compartments by their name.
+     */
+    public Map<String, Compartment> getCompartments() {
+        final Map<String, Compartment> compartments = new LinkedHashMap<>();
+        for (final Compartment compartment : prefixCompartments) {
+            compartments.put(compartment.getName(), compartment);
+        }
+        compartments.putAll(hostCompartments);
+        return Collections.unmodifiableMap(compartments);
+    }
+
+    private static String host(final URI uri) {
+        final String scheme = uri.getScheme() == null ? "http" : uri.getScheme().toLowerCase(Locale.ROOT);
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equals(scheme) ? 443 : 80;
+        }
+        return scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT) + ':' + port;
+    }
+
+    /**
+     * Compartment of a bulkhead admitting a limited number of concurrent requests.
+     */
+    public static final class Compartment {
+
+        private final String name;
+        private final int maxConcurrentRequests;
+        private final int maxQueuedRequests;
+        private final long queueTimeout;
+
+        private final ArrayDeque<Waiter> queue = new ArrayDeque<>();
+        private final AtomicLong rejected = new AtomicLong();
+        private int inFlight;
+        // set while holding the lock once an idle compartment of a destination host is dropped by the bulkhead; a request
+        // that has obtained the compartment just before is still admitted by it
+        private volatile boolean retired;
+
+        Compartment(final String name, final int maxConcurrentRequests, final int maxQueuedRequests, final long queueTimeout) {
+            this.name = name;
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            this.maxQueuedRequests = maxQueuedRequests;
+            this.queueTimeout = queueTimeout;
+        }
+
+        /**
+         * Execute the request task using the given executor as soon as the compartment admits it. The task is either
+         * executed right away, queued or, if the queue is full, rejected. Once executed, the task holds a permit of the
+         * compartment that MUST be {@link #release() released} when the request completes.
+         *
+         * @param uri       request URI.
+         * @param task      task sending the request.
+         * @param rejection callback invoked if the request is rejected.
+         * @param executor  executor to execute the task with.
+         * @param scheduler scheduler used to time out the queued requests.
+         * @throws RejectedExecutionException if the task is admitted but rejected by the executor.
+         */
+        public void execute(final URI uri,
+                            final Runnable task,
+                            final Consumer<BulkheadRejectedException> rejection,
+                            final Executor executor,
+                            final ScheduledExecutorService scheduler) {
+            final boolean admitted;
+            synchronized (this) {
+                if (inFlight < maxConcurrentRequests) {
+                    inFlight++;
+                    admitted = true;
+                } else if (queue.size() < maxQueuedRequests) {
+                    final Waiter waiter = new Waiter(uri, task, rejection, executor);
+                    queue.add(waiter);
+                    if (queueTimeout > 0) {
+                        waiter.timeout = scheduler.schedule(() -> expire(waiter), queueTimeout, TimeUnit.MILLISECONDS);
+                    }
+                    return;
+                } else {
+                    rejected.incrementAndGet();
+                    admitted = false;
+                }
+            }
+
+            if (!admitted) {
+                rejection.accept(new BulkheadRejectedException(name,
+                        LocalizationMessages.BULKHEAD_COMPARTMENT_FULL(uri, name, maxConcurrentRequests)));
+                return;
+            }
+
+            try {
+                executor.execute(task);
+            } catch (final RejectedExecutionException e) {
+                release();
+                throw e;
+            }
+        }
+
+        /**
+         * Block until the compartment admits the request. The caller MUST {@link #release() release} the permit when the
+         * request completes.
+         *
+         * @param uri       request URI.
+         * @param scheduler scheduler used to time out the queued requests.
+         * @throws BulkheadRejectedException if the request has been rejected.
+         * @throws ProcessingException       if the thread has been interrupted while waiting for the admission.
+         */
+        public void acquire(final URI uri, final ScheduledExecutorService scheduler) {
+            final CompletableFuture<Void> admission = new CompletableFuture<>();
+            execute(uri, () -> {
+                if (!admission.complete(null)) {
+                    // the waiting thread has been interrupted, the permit is handed over
+                    release();
+                }
+            }, admission::completeExceptionally, Runnable::run, scheduler);
+            try {
+                admission.get();
+            } catch (final InterruptedException e) {
+                if (!admission.cancel(false)) {
+                    // admitted in the meantime
+                    release();
+                }
+                Thread.currentThread().interrupt();
+                throw new ProcessingException(e);
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof ProcessingException) {
+                    throw (ProcessingException) e.getCause();
+                }
+                throw new ProcessingException(e.getCause());
+            }
+        }
+
+        /**
+         * Take a permit of the compartment if one is available right away, i.e. without queueing. The caller MUST
+         * {@link #release() release} the permit when done. A permit not available is not counted as a rejection.
+         *
+         * @return {@code true} if the permit has been taken.
+         */
+        public synchronized boolean tryAcquire() {
+            if (inFlight < maxConcurrentRequests && queue.isEmpty()) {
+                inFlight++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Release a permit of the compartment. The permit is handed over to the first queued request, if any.
+         */
+        public void release() {
+            while (true) {
+                final Waiter next;
+                synchronized (this) {
+                    next = queue.poll();
+                    if (next == null) {
+                        inFlight--;
+                        return;
+                    }
+                }
+                if (next.admit()) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Release a permit of the compartment once the entity of the response is closed, i.e. once the connection is not
+         * used by the request anymore, or right away if the response has no entity.
+         *
+         * @param response response of a request holding a permit of the compartment, may be {@code null}.
+         * @return the response.
+         */
+        public ClientResponse releaseOnClose(final ClientResponse response) {
+            if (response == null || !mayHaveEntity(response)) {
+                release();
+                return response;
+            }
+            final InputStream entityStream;
+            try {
+                entityStream = response.getEntityStream();
+            } catch (final IllegalStateException closed) {
+                release();
+                return response;
+            }
+            if (entityStream == null) {
+                release();
+                return response;
+            }
+            final AtomicBoolean released = new AtomicBoolean(false);
+            response.setEntityStream(new FilterInputStream(entityStream) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            release();
+                        }
+                    }
+                }
+            });
+            return response;
+        }
+
+        private static boolean mayHaveEntity(final ClientResponse response) {
+            final int status = response.getStatus();
+            return status >= 200 && status != 204 && status != 304
+                    && !HttpMethod.HEAD.equals(response.getRequestContext().getMethod())
+                    && response.getLength() != 0;
+        }
+
+        private synchronized boolean retireIfIdle() {
+            if (inFlight == 0 && queue.isEmpty()) {
+                retired = true;
+            }
+            return retired;
+        }
+
+        private void expire(final Waiter waiter) {
+            synchronized (this) {
+                if (!queue.remove(waiter)) {
+                    // admitted in the meantime
+                    return;
+                }
+            }
+            rejected.incrementAndGet();
+            waiter.rejection.accept(new BulkheadRejectedException(name,
+                    LocalizationMessages.BULKHEAD_QUEUE_TIMEOUT(waiter.uri, name, queueTimeout)));
+        }
+
+        /**
+         * Get the name of the compartment, i.e. the URI prefix or the destination host ({@code scheme://host:port}).
+         *
+         * @return compartment name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the maximum number of requests admitted concurrently.
+         *
+         * @return concurrency limit of the compartment.
+         */
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        /**
+         * Get the maximum number of requests waiting for admission.
+         *
+         * @return queue size limit of the compartment.
+         */
+        public int getMaxQueuedRequests() {
+            return maxQueuedRequests;
+        }
+
+        /**
+         * Get the number of admitted requests that have not completed yet.
+         *
+         * @return number of in-flight requests.
+         */
+        public synchronized int getInFlightCount() {
+            return inFlight;
+        }
+
+        /**
+         * Get the number of requests waiting for admission.
+         *
+         * @return number of queued requests.
+         */
+        public synchronized int getQueuedCount() {
+            return queue.size();
+        }
+
+        /**
+         * Get the number of requests rejected because the queue was full or because they have not been admitted within
+         * the queue timeout.
+         *
+         * @return number of rejected requests.
+         */
+        public long getRejectedCount() {
+            return rejected.get();
+        }
+
+        @Override
+        public String toString() {
+            return "Compartment{name=" + name + ", inFlight=" + getInFlightCount() + ", queued=" + getQueuedCount()
+                    + ", rejected=" + rejected + '}';
+        }
+
+        /**
+         * Queued request.
+         */
+        private final class Waiter {
+
+            private final URI uri;
+            private final Runnable task;
+            private final Consumer<BulkheadRejectedException> rejection;
+            private final Executor executor;
+            private volatile ScheduledFuture<?> timeout;
+
+            private Waiter(final URI uri,
+                           final Runnable task,
+                           final Consumer<BulkheadRejectedException> rejection,
+                           final Executor executor) {
+                this.uri = uri;
+                this.task = task;
+                this.rejection = rejection;
+                this.executor = executor;
+            }
+
+            /**
+             * Execute the task holding the permit handed over by a completed request.
+             *
+             * @return {@code false} if the executor has not accepted the task and the permit is still to be handed over.
+             */
+            private boolean admit() {
+                final ScheduledFuture<?> timeout = this.timeout;
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+                try {
+                    executor.execute(task);
+                    return true;
+                } catch (final RejectedExecutionException e) {
+                    rejection.accept(new BulkheadRejectedException(name, e.getMessage()));
+                    return false;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.bulkhead;
+
+import javax.annotation.Priority;
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.internal.spi.AutoDiscoverable;
+
+/**
+ * Auto-discoverable class that registers {@link BulkheadFeature} if {@link ClientProperties#BULKHEAD_MAX_CONCURRENT_REQUESTS}
+ * is set.
+ * <p>
+ * The registration does not occur if the feature is already registered or auto-discoverable mechanism is disabled.
+ *
+ * @since 2.41
+ */
+@ConstrainedTo(RuntimeType.CLIENT)
+@Priority(AutoDiscoverable.DEFAULT_PRIORITY)
+public final class BulkheadAutoDiscoverable implements AutoDiscoverable {
+
+    @Override
+    public void configure(final FeatureContext context) {
+        if (context.getConfiguration().getRuntimeType() == RuntimeType.CLIENT
+                && !context.getConfiguration().isRegistered(BulkheadFeature.class)
+                && context.getConfiguration().getProperty(ClientProperties.BULKHEAD_MAX_CONCURRENT_REQUESTS) != null) {
+            context.register(BulkheadFeature.class);
+        }
+    }
+}
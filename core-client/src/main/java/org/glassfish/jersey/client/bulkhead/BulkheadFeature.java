@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.bulkhead;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.internal.inject.AbstractBinder;
+
+/**
+ * Feature isolating the destinations of the client from each other by limiting the number of concurrent requests per
+ * destination.
+ * <p>
+ * Requests to a destination host are limited by {@link ClientProperties#BULKHEAD_MAX_CONCURRENT_REQUESTS}, the queue of
+ * the waiting requests is bounded by {@link ClientProperties#BULKHEAD_MAX_QUEUED_REQUESTS} and
+ * {@link ClientProperties#BULKHEAD_QUEUE_TIMEOUT}. Web targets that need their own limits, e.g. a slow endpoint of an
+ * otherwise fast service, are given a separate {@link #compartment(String, int, int) URI prefix compartment}. Requests
+ * rejected by the bulkhead fail with a {@link BulkheadRejectedException} without being sent.
+ * </p>
+ * <p>
+ * A request is admitted once the request filters have been applied, so that the compartment is chosen by the final
+ * request URI. Requests aborted by a filter, e.g. answered from a cache, are not limited by the bulkhead.
+ * </p>
+ * <p>
+ * The limits apply to synchronous, asynchronous and reactive invocations. Asynchronous requests waiting for admission are
+ * not handed over to the client's asynchronous executor, so they do not occupy its threads. The host limit should not
+ * exceed the maximum number of connections per route of the connector's connection pool, otherwise the admitted requests
+ * may still wait for a connection.
+ * </p>
+ * <p>
+ * A feature instance creates a single {@link Bulkhead} on its first registration, which is shared by all the clients the
+ * instance is registered in; its limits are read from the configuration of the first client.
+ * </p>
+ *
+ * @since 2.41
+ */
+@ConstrainedTo(RuntimeType.CLIENT)
+public class BulkheadFeature implements Feature {
+
+    /**
+     * Default maximum number of requests waiting for admission per compartment.
+     */
+    public static final int DEFAULT_MAX_QUEUED_REQUESTS = 100;
+    /**
+     * Default maximum time in milliseconds a request waits for admission.
+     */
+    public static final long DEFAULT_QUEUE_TIMEOUT = 1000;
+
+    private final List<Prefix> prefixes = new ArrayList<>();
+    private volatile Bulkhead bulkhead;
+
+    /**
+     * Add a compartment for the requests whose URI starts with the given prefix. Such requests are not counted against
+     * the limit of their destination host; if more prefixes match a request URI, the longest one applies.
+     * <p>
+     * Compartments must be added before the feature is registered.
+     * </p>
+     *
+     * @param uriPrefix             URI prefix, e.g. the URI of a {@link javax.ws.rs.client.WebTarget web target}.
+     * @param maxConcurrentRequests maximum number of requests admitted concurrently.
+     * @param maxQueuedRequests     maximum number of requests waiting for admission.
+     * @return updated feature.
+     */
+    public BulkheadFeature compartment(final String uriPrefix, final int maxConcurrentRequests, final int maxQueuedRequests) {
+        if (uriPrefix == null || maxConcurrentRequests < 1 || maxQueuedRequests < 0) {
+            throw new IllegalArgumentException();
+        }
+        prefixes.add(new Prefix(uriPrefix, maxConcurrentRequests, maxQueuedRequests));
+        return this;
+    }
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        final Bulkhead bulkhead = getOrCreateBulkhead(context.getConfiguration().getProperties());
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(bulkhead).to(Bulkhead.class);
+            }
+        });
+        return true;
+    }
+
+    private synchronized Bulkhead getOrCreateBulkhead(final Map<String, Object> properties) {
+        if (bulkhead == null) {
+            final int maxConcurrentRequests = ClientProperties.getValue(properties,
+                    ClientProperties.BULKHEAD_MAX_CONCURRENT_REQUESTS, 0, Integer.class);
+            final int maxQueuedRequests = ClientProperties.getValue(properties,
+                    ClientProperties.BULKHEAD_MAX_QUEUED_REQUESTS, DEFAULT_MAX_QUEUED_REQUESTS, Integer.class);
+            final long queueTimeout = ClientProperties.getValue(properties,
+                    ClientProperties.BULKHEAD_QUEUE_TIMEOUT, DEFAULT_QUEUE_TIMEOUT, Long.class);
+
+            final List<Bulkhead.Compartment> compartments = new ArrayList<>();
+            for (final Prefix prefix : prefixes) {
+                compartments.add(new Bulkhead.Compartment(prefix.uriPrefix, prefix.maxConcurrentRequests,
+                        prefix.maxQueuedRequests, queueTimeout));
+            }
+            bulkhead = new Bulkhead(maxConcurrentRequests, maxQueuedRequests, queueTimeout, compartments);
+        }
+        return bulkhead;
+    }
+
+    /**
+     * Get the compartments of the bulkhead, e.g. to monitor the number of in-flight, queued and rejected requests.
+     *
+     * @return unmodifiable map of compartments by their name, empty if the feature has not been registered yet.
+     * @see Bulkhead#getCompartments()
+     */
+    public Map<String, Bulkhead.Compartment> getCompartments() {
+        final Bulkhead bulkhead = this.bulkhead;
+        return bulkhead == null ? Collections.emptyMap() : bulkhead.getCompartments();
+    }
+
+    /**
+     * URI prefix compartment definition.
+     */
+    private static final class Prefix {
+
+        private final String uriPrefix;
+        private final int maxConcurrentRequests;
+        private final int maxQueuedRequests;
+
+        private Prefix(final String uriPrefix, final int maxConcurrentRequests, final int maxQueuedRequests) {
+            this.uriPrefix = uriPrefix;
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            this.maxQueuedRequests = maxQueuedRequests;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.bulkhead;
+
+import javax.ws.rs.ProcessingException;
+
+/**
+ * Thrown when a request is rejected by a {@link Bulkhead.Compartment bulkhead compartment}, i.e. when the compartment's
+ * queue is full or when the request has not been admitted within the queue timeout. The request has not been sent.
+ *
+ * @since 2.41
+ */
+public class BulkheadRejectedException extends ProcessingException {
+
+    private static final long serialVersionUID = -2950738140236487135L;
+
+    private final String compartment;
+
+    BulkheadRejectedException(final String compartment, final String message) {
+        super(message);
+        this.compartment = compartment;
+    }
+
+    /**
+     * Get the name of the compartment that has rejected the request.
+     *
+     * @return compartment name.
+     */
+    public String getCompartment() {
+        return compartment;
+    }
+}
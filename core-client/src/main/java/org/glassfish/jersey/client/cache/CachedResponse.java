@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.cache;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.glassfish.jersey.message.internal.CacheControlProvider;
+import org.glassfish.jersey.message.internal.HeaderUtils;
+import org.glassfish.jersey.message.internal.HttpDateFormat;
+
+/**
+ * Immutable snapshot of a response stored by the {@link ClientCacheFeature client cache}.
+ * <p>
+ * Besides the response status, headers and entity, the snapshot keeps the request and response timestamps and the values of
+ * the request headers nominated by the {@code Vary} response header, which are needed to compute the freshness of the
+ * response and to select it for subsequent requests as defined by RFC 9111.
+ * </p>
+ *
+ * @since 2.41
+ */
+public final class CachedResponse {
+
+    private static final CacheControlProvider CACHE_CONTROL_PROVIDER = new CacheControlProvider();
+    private static final String AGE = "Age";
+    private static final String EXPIRES = "Expires";
+
+    private final int status;
+    private final MultivaluedMap<String, String> headers;
+    private final byte[] entity;
+    private final Map<String, List<String>> varyingRequestHeaders;
+    private final long requestTime;
+    private final long responseTime;
+
+    private final CacheControl cacheControl;
+    private final long freshnessLifetime;
+    private final long correctedInitialAge;
+
+    /**
+     * Create new cached response snapshot.
+     *
+     * @param status                response status code.
+     * @param headers               response headers.
+     * @param entity                response entity bytes.
+     * @param varyingRequestHeaders values of the request headers nominated by the {@code Vary} response header,
+     *                              keyed by lower-case header name.
+     * @param requestTime           time the request was sent in milliseconds since the epoch.
+     * @param responseTime          time the response was received in milliseconds since the epoch.
+     */
+    public CachedResponse(final int status,
+                          final MultivaluedMap<String, String> headers,
+                          final byte[] entity,
+                          final Map<String, List<String>> varyingRequestHeaders,
+                          final long requestTime,
+                          final long responseTime) {
+        this.status = status;
+        this.headers = HeaderUtils.createInbound();
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            this.headers.put(header.getKey(), Collections.unmodifiableList(new ArrayList<>(header.getValue())));
+        }
+        this.entity = entity;
+        this.varyingRequestHeaders = Collections.unmodifiableMap(new HashMap<>(varyingRequestHeaders));
+        this.requestTime = requestTime;
+        this.responseTime = responseTime;
+
+        this.cacheControl = parseCacheControl(joined(this.headers, HttpHeaders.CACHE_CONTROL));
+
+        final long date = parseDate(this.headers.getFirst(HttpHeaders.DATE), responseTime);
+        this.freshnessLifetime = freshnessLifetime(date);
+
+        final long apparentAge = Math.max(0, responseTime - date);
+        final long correctedAgeValue = parseSeconds(this.headers.getFirst(AGE)) * 1000 + (responseTime - requestTime);
+        this.correctedInitialAge = Math.max(apparentAge, correctedAgeValue);
+    }
+
+    /**
+     * Get the response status code.
+     *
+     * @return response status code.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Get the response headers.
+     *
+     * @return read-only response headers.
+     */
+    public MultivaluedMap<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get the response entity bytes.
+     *
+     * @return response entity; must not be modified.
+     */
+    public byte[] getEntity() {
+        return entity;
+    }
+
+    /**
+     * Get the values of the request headers nominated by the {@code Vary} response header.
+     *
+     * @return request header values keyed by lower-case header name.
+     */
+    public Map<String, List<String>> getVaryingRequestHeaders() {
+        return varyingRequestHeaders;
+    }
+
+    /**
+     * Get the time the request was sent.
+     *
+     * @return request time in milliseconds since the epoch.
+     */
+    public long getRequestTime() {
+        return requestTime;
+    }
+
+    /**
+     * Get the time the response was received.
+     *
+     * @return response time in milliseconds since the epoch.
+     */
+    public long getResponseTime() {
+        return responseTime;
+    }
+
+    /**
+     * Get the current age of the response (RFC 9111, section 4.2.3).
+     *
+     * @param now current time in milliseconds since the epoch.
+     * @return current age in milliseconds.
+     */
+    public long getCurrentAge(final long now) {
+        return correctedInitialAge + Math.max(0, now - responseTime);
+    }
+
+    /**
+     * Get the freshness lifetime of the response (RFC 9111, section 4.2.1).
+     *
+     * @return freshness lifetime in milliseconds.
+     */
+    public long getFreshnessLifetime() {
+        return freshnessLifetime;
+    }
+
+    /**
+     * Check whether the response can be used without revalidation.
+     *
+     * @param now current time in milliseconds since the epoch.
+     * @return {@code true} if the response is fresh.
+     */
+    public boolean isFresh(final long now) {
+        return (cacheControl == null || !cacheControl.isNoCache()) && freshnessLifetime > getCurrentAge(now);
+    }
+
+    /**
+     * Check whether the response carries a validator usable for conditional revalidation.
+     *
+     * @return {@code true} if the response has an {@code ETag} or a {@code Last-Modified} header.
+     */
+    public boolean hasValidators() {
+        return headers.containsKey(HttpHeaders.ETAG) || headers.containsKey(HttpHeaders.LAST_MODIFIED);
+    }
+
+    /**
+     * Create a snapshot updated by the headers of a {@code 304 Not Modified} response (RFC 9111, section 4.3.4).
+     *
+     * @param notModifiedHeaders headers of the {@code 304} response.
+     * @param requestTime        time the revalidation request was sent.
+     * @param responseTime       time the {@code 304} response was received.
+     * @return updated snapshot.
+     */
+    public CachedResponse revalidated(final MultivaluedMap<String, String> notModifiedHeaders,
+                                      final long requestTime,
+                                      final long responseTime) {
+        final MultivaluedMap<String, String> updated = HeaderUtils.createInbound();
+        updated.putAll(headers);
+        for (final Map.Entry<String, List<String>> header : notModifiedHeaders.entrySet()) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header.getKey())) {
+                updated.put(header.getKey(), header.getValue());
+            }
+        }
+        return new CachedResponse(status, updated, entity, varyingRequestHeaders, requestTime, responseTime);
+    }
+
+    /**
+     * Check whether the response was selected by request headers matching the given ones.
+     *
+     * @param requestHeaders headers of the new request.
+     * @return {@code true} if the response may be used for the request.
+     */
+    boolean matches(final MultivaluedMap<String, String> requestHeaders) {
+        for (final Map.Entry<String, List<String>> varying : varyingRequestHeaders.entrySet()) {
+            final List<String> values = requestHeaders.get(varying.getKey());
+            final List<String> expected = varying.getValue();
+            if (values == null ? !expected.isEmpty() : !values.equals(expected)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    CacheControl getCacheControl() {
+        return cacheControl;
+    }
+
+    private long freshnessLifetime(final long date) {
+        if (cacheControl != null && cacheControl.getMaxAge() >= 0) {
+            return cacheControl.getMaxAge() * 1000L;
+        }
+
+        final String expires = headers.getFirst(EXPIRES);
+        if (expires != null) {
+            // invalid Expires value means "already expired"
+            return Math.max(0, parseDate(expires, date) - date);
+        }
+
+        final String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (lastModified != null) {
+            // heuristic freshness: 10% of the time since the last modification
+            return Math.max(0, (date - parseDate(lastModified, date)) / 10);
+        }
+        return 0;
+    }
+
+    static CacheControl parseCacheControl(final String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return CACHE_CONTROL_PROVIDER.fromString(value);
+        } catch (final IllegalArgumentException e) {
+            // invalid directives are ignored
+            return null;
+        }
+    }
+
+    static String joined(final MultivaluedMap<String, String> headers, final String name) {
+        final List<String> values = headers.get(name);
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        return values.size() == 1 ? values.get(0) : String.join(",", values);
+    }
+
+    private static long parseDate(final String value, final long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            final Date date = HttpDateFormat.readDate(value);
+            return date.getTime();
+        } catch (final ParseException e) {
+            return defaultValue;
+        }
+    }
+
+    private static long parseSeconds(final String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (final NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CachedResponse{status=" + status + ", size=" + entity.length + ", headers=" + headers + '}';
+    }
+}
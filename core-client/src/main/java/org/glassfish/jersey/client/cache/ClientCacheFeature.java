@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.cache;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+
+/**
+ * Feature that enables a private HTTP response cache on the client.
+ * <p>
+ * The cache follows the freshness and validation model of RFC 9111: {@code GET} responses that are explicitly fresh
+ * ({@code Cache-Control: max-age}, {@code Expires}) or that carry a validator ({@code ETag}, {@code Last-Modified}) are
+ * stored; fresh responses are returned without contacting the server, stale ones are revalidated with a conditional
+ * request and a {@code 304 Not Modified} answer is transparently replaced by the stored response. {@code Cache-Control}
+ * directives of both the request and the response ({@code no-store}, {@code no-cache}, {@code max-age}) and the
+ * {@code Vary} response header are honored; successful unsafe requests invalidate the stored response of their URI.
+ * </p>
+ * <p>
+ * Responses are kept in a {@link ClientCacheStore}, by default a bounded {@link InMemoryClientCacheStore}. Entities larger
+ * than the configured maximum entity size are streamed through and never cached.
+ * </p>
+ * <pre>
+ * Client client = ClientBuilder.newClient().register(new ClientCacheFeature());
+ * </pre>
+ *
+ * @since 2.41
+ */
+public class ClientCacheFeature implements Feature {
+
+    /**
+     * Default maximum size in bytes of a single cached entity (1 MB).
+     */
+    public static final int DEFAULT_MAX_ENTITY_SIZE = 1024 * 1024;
+
+    private final ClientCacheStore store;
+    private final int maxEntitySize;
+
+    /**
+     * Create new client cache feature backed by an {@link InMemoryClientCacheStore} with default bounds.
+     */
+    public ClientCacheFeature() {
+        this(new InMemoryClientCacheStore());
+    }
+
+    /**
+     * Create new client cache feature backed by a custom store.
+     *
+     * @param store response store. Must not be {@code null}.
+     */
+    public ClientCacheFeature(final ClientCacheStore store) {
+        this(store, DEFAULT_MAX_ENTITY_SIZE);
+    }
+
+    /**
+     * Create new client cache feature backed by a custom store and with a custom maximum entity size.
+     *
+     * @param store         response store. Must not be {@code null}.
+     * @param maxEntitySize maximum size in bytes of a single cached entity.
+     */
+    public ClientCacheFeature(final ClientCacheStore store, final int maxEntitySize) {
+        if (store == null) {
+            throw new NullPointerException(LocalizationMessages.CLIENT_CACHE_STORE_NULL());
+        }
+        this.store = store;
+        this.maxEntitySize = maxEntitySize;
+    }
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        context.register(new ClientCacheFilter(store, maxEntitySize));
+        return true;
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Priority;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.message.internal.ReaderWriter;
+
+/**
+ * Client filter implementing a private HTTP cache (RFC 9111).
+ * <p>
+ * On request, a fresh stored response aborts the request and is returned without contacting the server; a stale response
+ * with validators turns the request into a conditional one. On response, a {@code 304 Not Modified} answer to such
+ * conditional request is replaced by the stored response, storable {@code GET} responses are stored and successful
+ * responses to unsafe methods invalidate the stored response of the request URI.
+ * </p>
+ * <p>
+ * The request filter runs after the user request filters so that all the request headers nominated by {@code Vary} are
+ * already set, the response filter runs before the user response filters.
+ * </p>
+ *
+ * @see ClientCacheFeature
+ */
+@Priority(Priorities.USER + 1000)
+final class ClientCacheFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final String HIT_PROPERTY = ClientCacheFilter.class.getName() + ".hit";
+    private static final String REVALIDATED_PROPERTY = ClientCacheFilter.class.getName() + ".revalidated";
+    private static final String REQUEST_TIME_PROPERTY = ClientCacheFilter.class.getName() + ".requestTime";
+
+    private static final String AGE = "Age";
+    private static final String PRAGMA = "Pragma";
+    private static final String VARY = "Vary";
+
+    /**
+     * Status codes cacheable by default (RFC 9110, section 15.1).
+     */
+    private static final Set<Integer> STORABLE_STATUSES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList(200, 203, 204, 300, 301, 308, 404, 405, 410, 414, 501)));
+    private static final Set<String> SAFE_METHODS =
+            Collections.unmodifiableSet(new HashSet<>(
+                    Arrays.asList(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, "TRACE")));
+
+    private final ClientCacheStore store;
+    private final int maxEntitySize;
+
+    ClientCacheFilter(final ClientCacheStore store, final int maxEntitySize) {
+        this.store = store;
+        this.maxEntitySize = maxEntitySize;
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request) throws IOException {
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return;
+        }
+
+        final CacheControl requestCacheControl = CachedResponse.parseCacheControl(
+                request.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        if (requestCacheControl != null && requestCacheControl.isNoStore()) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        request.setProperty(REQUEST_TIME_PROPERTY, now);
+
+        final CachedResponse cached = store.get(key(request.getUri()));
+        if (cached == null || !cached.matches(request.getStringHeaders())) {
+            return;
+        }
+
+        if (cached.isFresh(now) && !requiresValidation(request, requestCacheControl, cached, now)) {
+            request.setProperty(HIT_PROPERTY, cached);
+            request.abortWith(toResponse(cached, now));
+            return;
+        }
+
+        if (cached.hasValidators()
+                && !request.getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)
+                && !request.getHeaders().containsKey(HttpHeaders.IF_MODIFIED_SINCE)) {
+            final String entityTag = cached.getHeaders().getFirst(HttpHeaders.ETAG);
+            if (entityTag != null) {
+                request.getHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, entityTag);
+            }
+            final String lastModified = cached.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+            if (lastModified != null) {
+                request.getHeaders().putSingle(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            }
+            request.setProperty(REVALIDATED_PROPERTY, cached);
+        }
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request, final ClientResponseContext response) throws IOException {
+        final CachedResponse hit = (CachedResponse) request.getProperty(HIT_PROPERTY);
+        if (hit != null) {
+            response.setEntityStream(new ByteArrayInputStream(hit.getEntity()));
+            return;
+        }
+
+        final String method = request.getMethod();
+        if (!HttpMethod.GET.equals(method)) {
+            if (!SAFE_METHODS.contains(method) && response.getStatus() < 400) {
+                // RFC 9111, section 4.4
+                store.remove(key(request.getUri()));
+            }
+            return;
+        }
+
+        final Long requestTime = (Long) request.getProperty(REQUEST_TIME_PROPERTY);
+        if (requestTime == null) {
+            // the request bypasses the cache
+            return;
+        }
+        final long responseTime = System.currentTimeMillis();
+        final String key = key(request.getUri());
+
+        final CachedResponse revalidated = (CachedResponse) request.getProperty(REVALIDATED_PROPERTY);
+        if (revalidated != null && response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+            final CachedResponse updated = revalidated.revalidated(response.getHeaders(), requestTime, responseTime);
+            store.put(key, updated);
+
+            response.setStatus(updated.getStatus());
+            final MultivaluedMap<String, String> headers = response.getHeaders();
+            headers.clear();
+            for (final Map.Entry<String, List<String>> header : updated.getHeaders().entrySet()) {
+                headers.put(header.getKey(), new ArrayList<>(header.getValue()));
+            }
+            response.setEntityStream(new ByteArrayInputStream(updated.getEntity()));
+            return;
+        }
+
+        if (response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+            // answer to a conditional request of the caller, the 304 is passed on but freshens the stored response
+            // (RFC 9111, section 4.3.4)
+            final CachedResponse stored = store.get(key);
+            if (stored != null && stored.matches(request.getStringHeaders()) && isSelectedBy(response, stored)) {
+                store.put(key, stored.revalidated(response.getHeaders(), requestTime, responseTime));
+            }
+            return;
+        }
+
+        if (!isStorable(response)) {
+            if (response.getStatus() < 400) {
+                store.remove(key);
+            }
+            return;
+        }
+
+        final byte[] entity;
+        if (response.hasEntity()) {
+            final InputStream entityStream = response.getEntityStream();
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            if (!ReaderWriter.readAtMost(entityStream, buffer, maxEntitySize)) {
+                // too large to be cached, hand the already read part and the rest of the stream over
+                response.setEntityStream(new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), entityStream));
+                return;
+            }
+            entityStream.close();
+            entity = buffer.toByteArray();
+            response.setEntityStream(new ByteArrayInputStream(entity));
+        } else {
+            entity = new byte[0];
+        }
+
+        store.put(key, new CachedResponse(response.getStatus(), response.getHeaders(), entity,
+                varyingRequestHeaders(request, response), requestTime, responseTime));
+    }
+
+    private static boolean requiresValidation(final ClientRequestContext request,
+                                              final CacheControl requestCacheControl,
+                                              final CachedResponse cached,
+                                              final long now) {
+        if (requestCacheControl == null) {
+            return "no-cache".equalsIgnoreCase(request.getHeaderString(PRAGMA));
+        }
+        return requestCacheControl.isNoCache()
+                || (requestCacheControl.getMaxAge() >= 0 && cached.getCurrentAge(now) > requestCacheControl.getMaxAge() * 1000L);
+    }
+
+    /**
+     * Check whether the stored response is selected for update by the {@code 304} response (RFC 9111, section 4.3.4).
+     */
+    private static boolean isSelectedBy(final ClientResponseContext notModified, final CachedResponse stored) {
+        final String entityTag = notModified.getHeaderString(HttpHeaders.ETAG);
+        if (entityTag != null) {
+            return !entityTag.startsWith("W/") && entityTag.equals(stored.getHeaders().getFirst(HttpHeaders.ETAG));
+        }
+        final String lastModified = notModified.getHeaderString(HttpHeaders.LAST_MODIFIED);
+        if (lastModified != null) {
+            return lastModified.equals(stored.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+        }
+        return !stored.hasValidators();
+    }
+
+    private static boolean isStorable(final ClientResponseContext response) {
+        if (!STORABLE_STATUSES.contains(response.getStatus())) {
+            return false;
+        }
+
+        final MultivaluedMap<String, String> headers = response.getHeaders();
+        final String vary = CachedResponse.joined(headers, VARY);
+        if (vary != null && vary.contains("*")) {
+            return false;
+        }
+
+        final CacheControl cacheControl = CachedResponse.parseCacheControl(
+                CachedResponse.joined(headers, HttpHeaders.CACHE_CONTROL));
+        if (cacheControl != null && cacheControl.isNoStore()) {
+            return false;
+        }
+        return (cacheControl != null && cacheControl.getMaxAge() >= 0)
+                || headers.containsKey(HttpHeaders.EXPIRES)
+                || headers.containsKey(HttpHeaders.ETAG)
+                || headers.containsKey(HttpHeaders.LAST_MODIFIED);
+    }
+
+    private static Map<String, List<String>> varyingRequestHeaders(final ClientRequestContext request,
+                                                                   final ClientResponseContext response) {
+        final String vary = CachedResponse.joined(response.getHeaders(), VARY);
+        if (vary == null) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, List<String>> varying = new HashMap<>();
+        final MultivaluedMap<String, String> requestHeaders = request.getStringHeaders();
+        for (final String name : vary.split(",")) {
+            final String headerName = name.trim().toLowerCase(Locale.ROOT);
+            if (!headerName.isEmpty()) {
+                final List<String> values = requestHeaders.get(headerName);
+                varying.put(headerName, values == null ? Collections.<String>emptyList() : new ArrayList<>(values));
+            }
+        }
+        return varying;
+    }
+
+    private static Response toResponse(final CachedResponse cached, final long now) {
+        final Response.ResponseBuilder builder = Response.status(cached.getStatus());
+        for (final Map.Entry<String, List<String>> header : cached.getHeaders().entrySet()) {
+            if (!AGE.equalsIgnoreCase(header.getKey())) {
+                for (final String value : header.getValue()) {
+                    builder.header(header.getKey(), value);
+                }
+            }
+        }
+        return builder.header(AGE, cached.getCurrentAge(now) / 1000).build();
+    }
+
+    private static String key(final URI uri) {
+        return uri.toString();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.cache;
+
+/**
+ * Storage of responses cached by the {@link ClientCacheFeature client cache}.
+ * <p>
+ * Implementations must be thread-safe. A store is free to drop any entry at any time; the cache then simply sends the next
+ * request over the wire.
+ * </p>
+ *
+ * @since 2.41
+ */
+public interface ClientCacheStore {
+
+    /**
+     * Get the response stored under the key.
+     *
+     * @param key cache key.
+     * @return stored response or {@code null} if there is no response stored under the key.
+     */
+    CachedResponse get(String key);
+
+    /**
+     * Store a response under the key, replacing any previously stored response.
+     *
+     * @param key      cache key.
+     * @param response response to be stored.
+     */
+    void put(String key, CachedResponse response);
+
+    /**
+     * Remove the response stored under the key, if any.
+     *
+     * @param key cache key.
+     */
+    void remove(String key);
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+
+/**
+ * Bounded in-memory {@link ClientCacheStore} evicting the least recently used responses.
+ * <p>
+ * The store is bounded both by the number of entries and by the total size of the cached entities.
+ * </p>
+ *
+ * @since 2.41
+ */
+public class InMemoryClientCacheStore implements ClientCacheStore {
+
+    /**
+     * Default maximum number of cached responses.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    /**
+     * Default maximum total size of the cached entities in bytes (16 MB).
+     */
+    public static final long DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+
+    private final int maxEntries;
+    private final long maxBytes;
+
+    // guarded by this
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes = 0;
+
+    /**
+     * Create new store with the default bounds.
+     */
+    public InMemoryClientCacheStore() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Create new store with custom bounds.
+     *
+     * @param maxEntries maximum number of cached responses. Must be positive.
+     * @param maxBytes   maximum total size of the cached entities in bytes. Must be positive.
+     */
+    public InMemoryClientCacheStore(final int maxEntries, final long maxBytes) {
+        if (maxEntries <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException(LocalizationMessages.CLIENT_CACHE_BOUNDS_NOT_POSITIVE());
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public synchronized CachedResponse get(final String key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public synchronized void put(final String key, final CachedResponse response) {
+        final int size = response.getEntity().length;
+        if (size > maxBytes) {
+            remove(key);
+            return;
+        }
+
+        final CachedResponse previous = entries.put(key, response);
+        if (previous != null) {
+            bytes -= previous.getEntity().length;
+        }
+        bytes += size;
+
+        // evict least recently used entries (the iteration order of an access-ordered map)
+        while (entries.size() > maxEntries || bytes > maxBytes) {
+            final Map.Entry<String, CachedResponse> eldest = entries.entrySet().iterator().next();
+            bytes -= eldest.getValue().getEntity().length;
+            entries.remove(eldest.getKey());
+        }
+    }
+
+    @Override
+    public synchronized void remove(final String key) {
+        final CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.getEntity().length;
+        }
+    }
+
+    /**
+     * Get the number of currently cached responses.
+     *
+     * @return number of cached responses.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
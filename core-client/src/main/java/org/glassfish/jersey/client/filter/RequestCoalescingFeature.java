@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.filter;
+
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.client.ClientProperties;
+
+/**
+ * Feature that coalesces concurrent identical idempotent requests into a single request.
+ * <p>
+ * While a {@code GET} or {@code HEAD} request without an entity is in flight, subsequent requests for the same URI with
+ * exactly the same request headers wait for its response instead of going over the wire. The waiting requests do not hold
+ * any thread. The response entity of the in-flight request is buffered and every
+ * waiting request receives its own copy, provided the request headers nominated by the {@code Vary} response header match.
+ * Requests waiting longer than {@link ClientProperties#REQUEST_COALESCING_TIMEOUT}, requests whose in-flight request failed
+ * and requests whose response entity is too large to be buffered are sent on their own.
+ * </p>
+ * <p>
+ * The coalescing works at the client filter level and therefore applies to synchronous, asynchronous and reactive
+ * invocations alike. The feature is registered automatically when the {@link ClientProperties#REQUEST_COALESCING} property
+ * is set to {@code true}; register an instance explicitly to access its {@link #getStatistics() statistics}.
+ * </p>
+ *
+ * @since 2.41
+ */
+@ConstrainedTo(RuntimeType.CLIENT)
+public class RequestCoalescingFeature implements Feature {
+
+    /**
+     * Default maximum time in milliseconds a coalesced request waits for the in-flight request.
+     */
+    public static final int DEFAULT_TIMEOUT = 10_000;
+    /**
+     * Maximum size in bytes of a response entity shared between coalesced requests (1 MB).
+     */
+    public static final int MAX_ENTITY_SIZE = 1024 * 1024;
+
+    private final RequestCoalescingStatistics statistics = new RequestCoalescingStatistics();
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        final int timeout = ClientProperties.getValue(context.getConfiguration().getProperties(),
+                ClientProperties.REQUEST_COALESCING_TIMEOUT, DEFAULT_TIMEOUT, Integer.class);
+        context.register(new RequestCoalescingFilter(statistics, timeout, MAX_ENTITY_SIZE));
+        return true;
+    }
+
+    /**
+     * Get the coalescing statistics of the clients this feature instance has been registered in.
+     *
+     * @return coalescing statistics.
+     */
+    public RequestCoalescingStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Priority;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientBackgroundSchedulerLiteral;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.InjectionManagerClientProvider;
+import org.glassfish.jersey.client.spi.PostInvocationInterceptor;
+import org.glassfish.jersey.message.internal.HeaderUtils;
+import org.glassfish.jersey.message.internal.ReaderWriter;
+
+/**
+ * Filter coalescing concurrent identical idempotent requests.
+ * <p>
+ * The key of a request consists of its method, URI and all its headers. The first request for a key becomes the leader of
+ * an in-flight "flight" and goes over the wire; the requests with the same key arriving while the flight is in progress
+ * {@link ClientRequest#deferAbortWith(java.util.concurrent.CompletionStage) defer} their abort until the leader's response
+ * has been buffered and then abort with a copy of it, without holding any thread in the meantime. Failures of the leader
+ * are observed through the {@link PostInvocationInterceptor} contract, in which case the waiting requests are sent on their
+ * own.
+ * </p>
+ *
+ * @see RequestCoalescingFeature
+ */
+@Priority(Priorities.USER + 2000)
+final class RequestCoalescingFilter implements ClientRequestFilter, ClientResponseFilter, PostInvocationInterceptor {
+
+    private static final String LEADER_PROPERTY = RequestCoalescingFilter.class.getName() + ".leader";
+    private static final String FOLLOWER_PROPERTY = RequestCoalescingFilter.class.getName() + ".follower";
+
+    private static final String VARY = "Vary";
+
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final RequestCoalescingStatistics statistics;
+    private final long timeout;
+    private final int maxEntitySize;
+
+    RequestCoalescingFilter(final RequestCoalescingStatistics statistics, final long timeout, final int maxEntitySize) {
+        this.statistics = statistics;
+        this.timeout = timeout;
+        this.maxEntitySize = maxEntitySize;
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request) throws IOException {
+        final String method = request.getMethod();
+        if (!(HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method)) || request.hasEntity()
+                || !(request instanceof ClientRequest)) {
+            return;
+        }
+
+        final String key = key(request);
+        final Flight flight = new Flight(key);
+        final Flight inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight == null) {
+            request.setProperty(LEADER_PROPERTY, flight);
+            statistics.sent();
+            return;
+        }
+        ((ClientRequest) request).deferAbortWith(follow(request, inFlight));
+    }
+
+    /**
+     * Get the stage completing with the aborting response of a request following the in-flight request, or with
+     * {@code null} if the request has to be sent on its own.
+     */
+    private CompletableFuture<Response> follow(final ClientRequestContext request, final Flight inFlight) {
+        final CompletableFuture<Response> abortResponse = new CompletableFuture<>();
+        final ScheduledExecutorService scheduler = InjectionManagerClientProvider.getInjectionManager(request)
+                .getInstance(ScheduledExecutorService.class, ClientBackgroundSchedulerLiteral.INSTANCE);
+        final ScheduledFuture<?> timeoutTask = scheduler.schedule(() -> {
+            if (abortResponse.complete(null)) {
+                // the leader may have been cancelled without any notification, do not let it hold further requests
+                flights.remove(inFlight.key, inFlight);
+                statistics.timedOut();
+                statistics.sent();
+            }
+        }, timeout, TimeUnit.MILLISECONDS);
+
+        inFlight.response.whenComplete((shared, failure) -> {
+            timeoutTask.cancel(false);
+            if (shared != null && shared.matches(request.getStringHeaders())) {
+                request.setProperty(FOLLOWER_PROPERTY, shared);
+                if (abortResponse.complete(shared.toResponse())) {
+                    statistics.coalesced();
+                    return;
+                }
+                request.removeProperty(FOLLOWER_PROPERTY);
+            } else if (abortResponse.complete(null)) {
+                statistics.sent();
+            }
+        });
+        return abortResponse;
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request, final ClientResponseContext response) throws IOException {
+        final SharedResponse shared = (SharedResponse) request.getProperty(FOLLOWER_PROPERTY);
+        if (shared != null) {
+            response.setEntityStream(new ByteArrayInputStream(shared.entity));
+            return;
+        }
+
+        final Flight flight = (Flight) request.getProperty(LEADER_PROPERTY);
+        if (flight == null) {
+            return;
+        }
+        request.removeProperty(LEADER_PROPERTY);
+
+        try {
+            byte[] entity = new byte[0];
+            if (response.hasEntity()) {
+                final InputStream entityStream = response.getEntityStream();
+                final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                if (!ReaderWriter.readAtMost(entityStream, buffer, maxEntitySize)) {
+                    // too large to be shared, the leader streams it and the followers are on their own
+                    response.setEntityStream(
+                            new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), entityStream));
+                    land(flight, null);
+                    return;
+                }
+                entityStream.close();
+                entity = buffer.toByteArray();
+                response.setEntityStream(new ByteArrayInputStream(entity));
+            }
+            land(flight, new SharedResponse(response.getStatus(), response.getHeaders(), entity,
+                    varyingRequestHeaders(request, response)));
+        } catch (final IOException | RuntimeException e) {
+            land(flight, null);
+            throw e;
+        }
+    }
+
+    @Override
+    public void afterRequest(final ClientRequestContext request, final ClientResponseContext response) {
+        // the response filter has not been reached (e.g. aborted by another filter), do not keep the followers waiting
+        final Flight flight = (Flight) request.getProperty(LEADER_PROPERTY);
+        if (flight != null) {
+            request.removeProperty(LEADER_PROPERTY);
+            land(flight, null);
+        }
+    }
+
+    @Override
+    public void onException(final ClientRequestContext request, final ExceptionContext exceptionContext) {
+        final Flight flight = (Flight) request.getProperty(LEADER_PROPERTY);
+        if (flight != null) {
+            request.removeProperty(LEADER_PROPERTY);
+            land(flight, null);
+        }
+    }
+
+    private void land(final Flight flight, final SharedResponse response) {
+        // remove first so that the requests arriving from now on start a new flight
+        flights.remove(flight.key, flight);
+        flight.response.complete(response);
+    }
+
+    private static String key(final ClientRequestContext request) {
+        // all the headers, any header may carry caller specific data (credentials, tenant, tracing, ...)
+        final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.getStringHeaders());
+        final StringBuilder key = new StringBuilder(request.getMethod()).append(' ').append(request.getUri());
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            key.append('\n').append(header.getKey().toLowerCase(Locale.ROOT)).append(':').append(header.getValue());
+        }
+        return key.toString();
+    }
+
+    private static Map<String, List<String>> varyingRequestHeaders(final ClientRequestContext request,
+                                                                   final ClientResponseContext response) {
+        final List<String> vary = response.getHeaders().get(VARY);
+        if (vary == null) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, List<String>> varying = new HashMap<>();
+        final MultivaluedMap<String, String> requestHeaders = request.getStringHeaders();
+        for (final String value : vary) {
+            for (final String name : value.split(",")) {
+                final String headerName = name.trim().toLowerCase(Locale.ROOT);
+                if (!headerName.isEmpty()) {
+                    final List<String> values = requestHeaders.get(headerName);
+                    varying.put(headerName, values == null ? Collections.<String>emptyList() : new ArrayList<>(values));
+                }
+            }
+        }
+        return varying;
+    }
+
+    /**
+     * In-flight leader request.
+     */
+    private static final class Flight {
+
+        private final String key;
+        private final CompletableFuture<SharedResponse> response = new CompletableFuture<>();
+
+        private Flight(final String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Buffered response of a leader request.
+     */
+    private static final class SharedResponse {
+
+        private final int status;
+        private final MultivaluedMap<String, String> headers;
+        private final byte[] entity;
+        private final Map<String, List<String>> varyingRequestHeaders;
+
+        private SharedResponse(final int status,
+                               final MultivaluedMap<String, String> headers,
+                               final byte[] entity,
+                               final Map<String, List<String>> varyingRequestHeaders) {
+            this.status = status;
+            this.headers = HeaderUtils.createInbound();
+            for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+                this.headers.put(header.getKey(), new ArrayList<>(header.getValue()));
+            }
+            this.entity = entity;
+            this.varyingRequestHeaders = varyingRequestHeaders;
+        }
+
+        private boolean matches(final MultivaluedMap<String, String> requestHeaders) {
+            if (varyingRequestHeaders.containsKey("*")) {
+                return false;
+            }
+            for (final Map.Entry<String, List<String>> varying : varyingRequestHeaders.entrySet()) {
+                final List<String> values = requestHeaders.get(varying.getKey());
+                if (values == null ? !varying.getValue().isEmpty() : !values.equals(varying.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Response toResponse() {
+            final Response.ResponseBuilder builder = Response.status(status);
+            for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+                for (final String value : header.getValue()) {
+                    builder.header(header.getKey(), value);
+                }
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the {@link RequestCoalescingFeature request coalescing}.
+ *
+ * @since 2.41
+ */
+public final class RequestCoalescingStatistics {
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    RequestCoalescingStatistics() {
+    }
+
+    /**
+     * Get the number of coalescable requests that have been sent over the wire.
+     *
+     * @return number of sent requests.
+     */
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    /**
+     * Get the number of requests that have been answered by the response of a concurrent identical request.
+     *
+     * @return number of coalesced requests.
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Get the number of requests that have given up waiting for a concurrent identical request and have been sent on
+     * their own.
+     *
+     * @return number of timed out requests.
+     */
+    public long getTimedOutCount() {
+        return timedOut.get();
+    }
+
+    void sent() {
+        sent.incrementAndGet();
+    }
+
+    void coalesced() {
+        coalesced.incrementAndGet();
+    }
+
+    void timedOut() {
+        timedOut.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "RequestCoalescingStatistics{sent=" + sent + ", coalesced=" + coalesced + ", timedOut=" + timedOut + '}';
+    }
+}
@@ -185,7 +185,8 @@ public final class NonInjectionManager implements InjectionManager {
 
         <T> T getInstance(TYPE clazz, Annotation[] annotations) {
             List<T> i = getInstances(clazz, annotations);
-            if (i != null) {
+            // e.g. the background scheduler is an ExecutorService created with a different qualifier
+            if (i != null && !i.isEmpty()) {
                 checkUnique(i);
                 return i.get(0);
             }
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.retry;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of the recent response latencies of a destination.
+ * <p>
+ * The requested percentile is recomputed from the window once per {@value #RECOMPUTE_INTERVAL} samples, so that the
+ * per-request cost stays constant.
+ * </p>
+ */
+final class LatencyTracker {
+
+    /**
+     * Minimum number of samples before the percentile is available.
+     */
+    static final int MIN_SAMPLES = 20;
+
+    private static final int WINDOW = 256;
+    private static final int RECOMPUTE_INTERVAL = 16;
+
+    private final double percentile;
+    private final long[] samples = new long[WINDOW];
+    private long count;
+    private volatile long value = -1;
+
+    /**
+     * Create new latency tracker.
+     *
+     * @param percentile tracked percentile, between {@code 0} and {@code 100}.
+     */
+    LatencyTracker(final double percentile) {
+        this.percentile = percentile;
+    }
+
+    /**
+     * Record the latency of a response.
+     *
+     * @param nanos latency in nanoseconds.
+     */
+    synchronized void record(final long nanos) {
+        samples[(int) (count % WINDOW)] = nanos;
+        count++;
+        if (count >= MIN_SAMPLES && (count % RECOMPUTE_INTERVAL == 0 || value == -1)) {
+            final int size = (int) Math.min(count, WINDOW);
+            final long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            final int index = (int) Math.ceil(percentile / 100 * size) - 1;
+            value = sorted[Math.max(0, Math.min(size - 1, index))];
+        }
+    }
+
+    /**
+     * Get the tracked percentile of the recorded latencies.
+     *
+     * @return latency in nanoseconds or {@code -1} if not enough latencies have been recorded.
+     */
+    long getPercentile() {
+        return value;
+    }
+}
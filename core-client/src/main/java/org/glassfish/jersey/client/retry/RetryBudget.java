@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket limiting the ratio of retried and hedged requests to the requests sent by the application.
+ */
+final class RetryBudget {
+
+    private static final long TOKEN = 1000;
+    private static final long MAX_BALANCE = 10 * TOKEN;
+
+    private final long deposit;
+    private final AtomicLong balance = new AtomicLong(MAX_BALANCE);
+
+    /**
+     * Create new retry budget.
+     *
+     * @param ratio number of retries allowed per request.
+     */
+    RetryBudget(final double ratio) {
+        this.deposit = (long) (ratio * TOKEN);
+    }
+
+    /**
+     * Record a request sent by the application.
+     */
+    void deposit() {
+        if (balance.get() < MAX_BALANCE) {
+            balance.accumulateAndGet(deposit, (current, amount) -> Math.min(MAX_BALANCE, current + amount));
+        }
+    }
+
+    /**
+     * Try to withdraw a retry from the budget.
+     *
+     * @return {@code true} if the retry (or hedged request) may be sent.
+     */
+    boolean tryWithdraw() {
+        while (true) {
+            final long current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+}
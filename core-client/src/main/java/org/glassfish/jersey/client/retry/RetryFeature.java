@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.retry;
+
+import java.util.Map;
+
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.internal.inject.AbstractBinder;
+
+/**
+ * Feature retrying failed idempotent requests and hedging the slow ones.
+ * <p>
+ * Idempotent requests ({@code GET}, {@code HEAD}, {@code OPTIONS}, {@code PUT}, {@code DELETE} and {@code TRACE})
+ * without an entity are
+ * <ul>
+ * <li>retried up to {@link ClientProperties#RETRY_MAX_ATTEMPTS} times with a {@link ClientProperties#RETRY_BACKOFF
+ * jittered exponential backoff} if they fail or if the server responds with {@code 502}, {@code 503} or {@code 504},</li>
+ * <li>hedged, if {@link ClientProperties#HEDGING_PERCENTILE} is set: when a request has not completed within the given
+ * percentile of the latencies recently observed for its destination host, a second copy is sent and the first response
+ * wins, the other request is cancelled.</li>
+ * </ul>
+ * Retries and hedged requests are limited by the {@link ClientProperties#RETRY_BUDGET retry budget}, so that they do not
+ * multiply the load of a destination that is down. The filters and interceptors are executed once per request, only the
+ * connector is invoked for every attempt.
+ * </p>
+ *
+ * @since 2.41
+ */
+@ConstrainedTo(RuntimeType.CLIENT)
+public class RetryFeature implements Feature {
+
+    /**
+     * Default base backoff in milliseconds between two attempts.
+     */
+    public static final long DEFAULT_BACKOFF = 100;
+    /**
+     * Default ratio of retried and hedged requests to the requests sent by the application.
+     */
+    public static final double DEFAULT_BUDGET = 0.1;
+    /**
+     * Default minimum delay in milliseconds before a request is hedged.
+     */
+    public static final long DEFAULT_HEDGING_MIN_DELAY = 5;
+
+    private final RetryStatistics statistics = new RetryStatistics();
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        final Map<String, Object> properties = context.getConfiguration().getProperties();
+        final int maxAttempts = ClientProperties.getValue(properties, ClientProperties.RETRY_MAX_ATTEMPTS, 1, Integer.class);
+        final double percentile = getDouble(properties, ClientProperties.HEDGING_PERCENTILE, 0);
+        if (maxAttempts < 2 && percentile <= 0) {
+            return false;
+        }
+
+        final RetryPolicy policy = new RetryPolicy(maxAttempts,
+                ClientProperties.getValue(properties, ClientProperties.RETRY_BACKOFF, DEFAULT_BACKOFF, Long.class),
+                getDouble(properties, ClientProperties.RETRY_BUDGET, DEFAULT_BUDGET),
+                Math.min(100, percentile),
+                ClientProperties.getValue(properties, ClientProperties.HEDGING_MIN_DELAY, DEFAULT_HEDGING_MIN_DELAY, Long.class),
+                statistics);
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(policy).to(RetryPolicy.class);
+            }
+        });
+        return true;
+    }
+
+    private static double getDouble(final Map<String, Object> properties, final String name, final double defaultValue) {
+        final Object value = properties.get(name);
+        // integral values (e.g. a percentile of 99) are not converted to Double by the properties helper
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        return ClientProperties.getValue(properties, name, defaultValue, Double.class);
+    }
+
+    /**
+     * Get the retry statistics of the clients this feature instance has been registered in.
+     *
+     * @return retry statistics.
+     */
+    public RetryStatistics getStatistics() {
+        return statistics;
+    }
+}
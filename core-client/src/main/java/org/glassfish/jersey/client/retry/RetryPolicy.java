@@ -0,0 +1,491 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.retry;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.ProcessingException;
+
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.bulkhead.Bulkhead;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+
+/**
+ * Policy retrying and hedging idempotent requests without an entity.
+ * <p>
+ * Every attempt to send a request is dispatched to the client's asynchronous executor through the asynchronous
+ * {@link Connector} contract, so that a hedged attempt can be sent while the first one is still in progress, whatever
+ * the connector. The first successful response completes the request, the other attempts are cancelled and their late
+ * responses closed. A request failing with a {@link ProcessingException} or a {@code 502}, {@code 503} or {@code 504}
+ * response is retried after a jittered exponential backoff, provided the maximum number of attempts has not been reached
+ * and the {@link RetryBudget retry budget} allows it.
+ * </p>
+ * <p>
+ * If the request is limited by a {@link Bulkhead bulkhead}, a hedged attempt is only sent if it can take an additional
+ * permit of the request compartment right away. The permit is held until the entity of the hedged response is closed.
+ * A {@code 502}, {@code 503} or {@code 504} response kept in case no other attempt succeeds is buffered, so that its
+ * connection is released before the request is retried.
+ * </p>
+ * <p>
+ * The policy is consulted by the client runtime, it is created and registered by the {@link RetryFeature}.
+ * </p>
+ *
+ * @since 2.41
+ */
+public final class RetryPolicy {
+
+    private static final Set<String> IDEMPOTENT_METHODS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE, "TRACE")));
+    private static final Set<Integer> RETRYABLE_STATUSES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            502, 503, 504)));
+    private static final int MAX_BACKOFF_MULTIPLIER = 32;
+    private static final int MAX_TRACKED_HOSTS = 1024;
+
+    private final int maxAttempts;
+    private final long backoff;
+    private final double hedgingPercentile;
+    private final long hedgingMinDelay;
+    private final RetryBudget budget;
+    private final RetryStatistics statistics;
+    private final ConcurrentHashMap<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+
+    RetryPolicy(final int maxAttempts,
+                final long backoff,
+                final double budget,
+                final double hedgingPercentile,
+                final long hedgingMinDelay,
+                final RetryStatistics statistics) {
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.hedgingPercentile = hedgingPercentile;
+        this.hedgingMinDelay = hedgingMinDelay;
+        this.budget = new RetryBudget(budget);
+        this.statistics = statistics;
+    }
+
+    /**
+     * Check whether the request can be retried or hedged, i.e. whether it is an idempotent request without an entity.
+     *
+     * @param request client request.
+     * @return {@code true} if the request is to be sent using {@link #apply}.
+     */
+    public boolean isApplicable(final ClientRequest request) {
+        return IDEMPOTENT_METHODS.contains(request.getMethod()) && !request.hasEntity();
+    }
+
+    /**
+     * Send the request, retrying and hedging it according to the policy.
+     *
+     * @param connector connector sending the attempts.
+     * @param request   client request.
+     * @param callback    callback notified of the response of the winning attempt or of the final failure.
+     * @param compartment bulkhead compartment admitting the request, {@code null} if the request is not limited.
+     * @param executor    executor the attempts are dispatched to.
+     * @param scheduler   scheduler of the backoffs and the hedged attempts.
+     * @return future completed once the callback is about to be notified. Cancelling it cancels the attempts in progress,
+     * closes their late responses and the callback is not notified anymore.
+     */
+    public Future<?> apply(final Connector connector,
+                           final ClientRequest request,
+                           final AsyncConnectorCallback callback,
+                           final Bulkhead.Compartment compartment,
+                           final ExecutorService executor,
+                           final ScheduledExecutorService scheduler) {
+        budget.deposit();
+        final Execution execution = new Execution(connector, request, callback, compartment, executor, scheduler);
+        execution.start();
+        return execution.completion;
+    }
+
+    private LatencyTracker latencyTracker(final URI uri) {
+        final String host = uri.getScheme() + "://" + String.valueOf(uri.getHost()).toLowerCase(Locale.ROOT)
+                + ':' + uri.getPort();
+        LatencyTracker tracker = latencies.get(host);
+        if (tracker == null) {
+            if (latencies.size() >= MAX_TRACKED_HOSTS) {
+                latencies.clear();
+            }
+            tracker = latencies.computeIfAbsent(host, key -> new LatencyTracker(hedgingPercentile));
+        }
+        return tracker;
+    }
+
+    private long backoff(final int retry) {
+        final long max = backoff * Math.min(MAX_BACKOFF_MULTIPLIER, 1L << Math.min(retry - 1, 30));
+        return max <= 0 ? 0 : ThreadLocalRandom.current().nextLong(max + 1);
+    }
+
+    /**
+     * Execution of a single request, i.e. all the attempts to send it.
+     */
+    private final class Execution {
+
+        private final Connector connector;
+        private final ClientRequest request;
+        private final AsyncConnectorCallback callback;
+        private final Bulkhead.Compartment compartment;
+        private final ExecutorService executor;
+        private final ScheduledExecutorService scheduler;
+        private final LatencyTracker latency;
+        private final CompletableFuture<Void> completion = new CompletableFuture<Void>() {
+            @Override
+            public boolean cancel(final boolean mayInterruptIfRunning) {
+                final boolean cancelled = super.cancel(mayInterruptIfRunning);
+                if (cancelled) {
+                    abort();
+                }
+                return cancelled;
+            }
+        };
+
+        private final List<Attempt> inFlight = new ArrayList<>(2);
+        private int attempts;
+        private boolean done;
+        private ClientResponse fallback;
+        private ScheduledFuture<?> hedge;
+
+        private Execution(final Connector connector,
+                          final ClientRequest request,
+                          final AsyncConnectorCallback callback,
+                          final Bulkhead.Compartment compartment,
+                          final ExecutorService executor,
+                          final ScheduledExecutorService scheduler) {
+            this.connector = connector;
+            this.request = request;
+            this.callback = callback;
+            this.compartment = compartment;
+            this.executor = executor;
+            this.scheduler = scheduler;
+            this.latency = hedgingPercentile > 0 ? latencyTracker(request.getUri()) : null;
+        }
+
+        private void start() {
+            send(false, null);
+        }
+
+        private void send(final boolean hedged, final Bulkhead.Compartment permit) {
+            final Attempt attempt;
+            synchronized (this) {
+                if (done) {
+                    if (permit != null) {
+                        permit.release();
+                    }
+                    return;
+                }
+                // the first attempt sends the original request, the others send copies of it
+                attempt = new Attempt(attempts == 0 && !hedged ? request : new ClientRequest(request), hedged, permit);
+                if (!hedged) {
+                    attempts++;
+                }
+                inFlight.add(attempt);
+            }
+
+            try {
+                attempt.task = executor.submit(attempt);
+            } catch (final RejectedExecutionException e) {
+                attempt.failure(e);
+                return;
+            }
+            if (!hedged) {
+                scheduleHedge();
+            }
+        }
+
+        private void scheduleHedge() {
+            final long percentile = latency == null ? -1 : latency.getPercentile();
+            if (percentile < 0) {
+                return;
+            }
+            final long delay = Math.max(TimeUnit.MILLISECONDS.toNanos(hedgingMinDelay), percentile);
+            synchronized (this) {
+                if (hedge != null) {
+                    hedge.cancel(false);
+                }
+                if (!done) {
+                    hedge = scheduler.schedule(this::hedge, delay, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        private void hedge() {
+            synchronized (this) {
+                if (done || inFlight.size() != 1) {
+                    return;
+                }
+            }
+            // the hedged attempt is an additional request to the host, it is not sent if the bulkhead is saturated
+            if (compartment != null && !compartment.tryAcquire()) {
+                return;
+            }
+            if (!budget.tryWithdraw()) {
+                if (compartment != null) {
+                    compartment.release();
+                }
+                statistics.budgetExhausted();
+                return;
+            }
+            statistics.hedged();
+            send(true, compartment);
+        }
+
+        private void completed(final Attempt attempt, final ClientResponse response) {
+            ClientResponse result = null;
+            ClientResponse discarded = null;
+            boolean retry = false;
+            List<Attempt> losers = Collections.emptyList();
+            synchronized (this) {
+                inFlight.remove(attempt);
+                if (done) {
+                    discarded = response;
+                } else if (!RETRYABLE_STATUSES.contains(response.getStatus())) {
+                    discarded = fallback;
+                    fallback = null;
+                    result = response;
+                    losers = finish();
+                } else {
+                    // keep the response in case no other attempt succeeds
+                    discarded = fallback;
+                    fallback = response;
+                    if (inFlight.isEmpty()) {
+                        retry = mayRetry();
+                        if (!retry) {
+                            result = fallback;
+                            fallback = null;
+                            losers = finish();
+                        }
+                    }
+                }
+            }
+
+            close(discarded);
+            if (result != null) {
+                cancel(losers);
+                if (attempt.hedged) {
+                    statistics.hedgeWon();
+                }
+                callback.response(result);
+            } else if (retry) {
+                retry();
+            }
+        }
+
+        private void failed(final Attempt attempt, final Throwable failure) {
+            final boolean retry;
+            ClientResponse response = null;
+            synchronized (this) {
+                inFlight.remove(attempt);
+                if (done || !inFlight.isEmpty()) {
+                    // either completed already or another attempt is still in progress and may succeed
+                    return;
+                }
+                retry = mayRetry();
+                if (!retry) {
+                    response = fallback;
+                    fallback = null;
+                    finish();
+                }
+            }
+
+            if (retry) {
+                retry();
+            } else if (response != null) {
+                callback.response(response);
+            } else {
+                callback.failure(failure);
+            }
+        }
+
+        private boolean mayRetry() {
+            if (attempts >= maxAttempts) {
+                return false;
+            }
+            if (!budget.tryWithdraw()) {
+                statistics.budgetExhausted();
+                return false;
+            }
+            return true;
+        }
+
+        private void retry() {
+            statistics.retried();
+            try {
+                scheduler.schedule(() -> send(false, null), backoff(attempts), TimeUnit.MILLISECONDS);
+            } catch (final RejectedExecutionException e) {
+                final ClientResponse response;
+                synchronized (this) {
+                    response = fallback;
+                    fallback = null;
+                    finish();
+                }
+                if (response != null) {
+                    callback.response(response);
+                } else {
+                    callback.failure(new ProcessingException(e));
+                }
+            }
+        }
+
+        private void abort() {
+            final ClientResponse discarded;
+            final List<Attempt> losers;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                discarded = fallback;
+                fallback = null;
+                losers = finish();
+            }
+            cancel(losers);
+            close(discarded);
+        }
+
+        private List<Attempt> finish() {
+            done = true;
+            completion.complete(null);
+            if (hedge != null) {
+                hedge.cancel(false);
+            }
+            final List<Attempt> losers = new ArrayList<>(inFlight);
+            inFlight.clear();
+            return losers;
+        }
+
+        private void cancel(final List<Attempt> losers) {
+            for (final Attempt loser : losers) {
+                loser.cancel();
+            }
+        }
+
+        private void close(final ClientResponse response) {
+            if (response != null) {
+                try {
+                    response.close();
+                } catch (final RuntimeException e) {
+                    // ignore, the response is not used
+                }
+            }
+        }
+
+        /**
+         * Single attempt to send the request.
+         */
+        private final class Attempt implements Runnable, AsyncConnectorCallback {
+
+            private final ClientRequest request;
+            private final boolean hedged;
+            private final Bulkhead.Compartment permit;
+            private final long start = System.nanoTime();
+            private final AtomicBoolean ended = new AtomicBoolean(false);
+            private volatile Future<?> task;
+            private volatile Future<?> connection;
+
+            private Attempt(final ClientRequest request, final boolean hedged, final Bulkhead.Compartment permit) {
+                this.request = request;
+                this.hedged = hedged;
+                this.permit = permit;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    connection = connector.apply(request, this);
+                } catch (final Throwable t) {
+                    failure(t);
+                }
+            }
+
+            @Override
+            public void response(final ClientResponse clientResponse) {
+                if (!end()) {
+                    // cancelled or already failed
+                    close(clientResponse);
+                    return;
+                }
+                if (latency != null) {
+                    latency.record(System.nanoTime() - start);
+                }
+                // the permit of a hedged attempt is held as long as its connection is used
+                final ClientResponse response = permit == null ? clientResponse : permit.releaseOnClose(clientResponse);
+                if (RETRYABLE_STATUSES.contains(response.getStatus())) {
+                    try {
+                        // the response may be kept while the request is retried, its connection is released right away
+                        response.bufferEntity();
+                    } catch (final ProcessingException e) {
+                        close(response);
+                        failed(this, e);
+                        return;
+                    }
+                }
+                completed(this, response);
+            }
+
+            @Override
+            public void failure(final Throwable failure) {
+                if (end()) {
+                    release();
+                    failed(this, failure);
+                }
+            }
+
+            private boolean end() {
+                return ended.compareAndSet(false, true);
+            }
+
+            private void release() {
+                if (permit != null) {
+                    permit.release();
+                }
+            }
+
+            private void cancel() {
+                if (end()) {
+                    release();
+                }
+                final Future<?> task = this.task;
+                if (task != null) {
+                    task.cancel(false);
+                }
+                final Future<?> connection = this.connection;
+                if (connection != null) {
+                    connection.cancel(true);
+                }
+            }
+        }
+    }
+}
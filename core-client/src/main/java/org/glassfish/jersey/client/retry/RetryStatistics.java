@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of the requests retried and hedged by the {@link RetryFeature}.
+ *
+ * @since 2.41
+ */
+public final class RetryStatistics {
+
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong budgetExhausted = new AtomicLong();
+
+    RetryStatistics() {
+    }
+
+    /**
+     * Get the number of requests that have been sent again after a failure.
+     *
+     * @return number of retries.
+     */
+    public long getRetryCount() {
+        return retried.get();
+    }
+
+    /**
+     * Get the number of hedged requests, i.e. the second copies of requests that have not completed in time.
+     *
+     * @return number of hedged requests.
+     */
+    public long getHedgedCount() {
+        return hedged.get();
+    }
+
+    /**
+     * Get the number of hedged requests whose response has been used instead of the response of the original request.
+     *
+     * @return number of hedged requests completed first.
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.get();
+    }
+
+    /**
+     * Get the number of retries and hedged requests that have not been sent because the retry budget was exhausted.
+     *
+     * @return number of requests denied by the retry budget.
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhausted.get();
+    }
+
+    void retried() {
+        retried.incrementAndGet();
+    }
+
+    void hedged() {
+        hedged.incrementAndGet();
+    }
+
+    void hedgeWon() {
+        hedgeWins.incrementAndGet();
+    }
+
+    void budgetExhausted() {
+        budgetExhausted.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "RetryStatistics{retried=" + retried + ", hedged=" + hedged + ", hedgeWins=" + hedgeWins
+                + ", budgetExhausted=" + budgetExhausted + '}';
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.client.bulkhead;
+
+import java.net.URI;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link Bulkhead} compartments of the destination hosts.
+ */
+public class BulkheadTest {
+
+    @Test
+    public void testIdleHostCompartmentsAreDropped() {
+        final Bulkhead bulkhead = new Bulkhead(1, 0, 0, Collections.emptyList());
+
+        final URI busyUri = URI.create("http://busy.example.org/");
+        final Bulkhead.Compartment busy = bulkhead.getCompartment(busyUri);
+        busy.execute(busyUri, () -> { }, rejection -> { }, Runnable::run, null);
+
+        final Bulkhead.Compartment idle = bulkhead.getCompartment(URI.create("http://idle.example.org/"));
+        for (int i = 0; i < 2 * Bulkhead.MAX_HOST_COMPARTMENTS; i++) {
+            bulkhead.getCompartment(URI.create("http://host" + i + ".example.org/"));
+        }
+
+        assertTrue(bulkhead.getCompartments().size() <= Bulkhead.MAX_HOST_COMPARTMENTS + 1);
+        // the compartment with a request in flight is kept
+        assertSame(busy, bulkhead.getCompartment(busyUri));
+        assertNotSame(idle, bulkhead.getCompartment(URI.create("http://idle.example.org/")));
+
+        busy.release();
+    }
+}
@@ -193,6 +193,10 @@ public final class CacheBuilder<K, V> {
         return this;
     }
 
+    long getMaximumWeight() {
+        return maximumSize;
+    }
+
     /**
      * Specifies that each entry should be automatically removed from the cache once a fixed duration
      * has elapsed after the entry's creation, the most recent replacement of its value, or its last
@@ -277,7 +277,7 @@ class LocalCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V>
         keyEquivalence = keyStrength.defaultEquivalence();
         valueEquivalence = valueStrength.defaultEquivalence();
 
-        maxWeight = CacheBuilder.UNSET_INT;
+        maxWeight = builder.getMaximumWeight();
         expireAfterAccessNanos = builder.getExpireAfterAccessNanos();
         expireAfterWriteNanos = CacheBuilder.DEFAULT_EXPIRATION_NANOS;
         refreshNanos = CacheBuilder.DEFAULT_REFRESH_NANOS;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2016, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2016, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -49,6 +49,7 @@ import javax.ws.rs.ext.WriterInterceptorContext;
 import org.glassfish.jersey.internal.guava.Predicates;
 import org.glassfish.jersey.logging.LoggingFeature.Verbosity;
 import org.glassfish.jersey.message.MessageUtils;
+import org.glassfish.jersey.message.internal.ByteArrayPool;
 
 /**
  * An interceptor that logs an entity if configured so and provides a common logic for {@link ClientLoggingFilter}
@@ -217,18 +218,23 @@ abstract class LoggingInterceptor implements WriterInterceptor {
             stream = new BufferedInputStream(stream);
         }
         stream.mark(maxEntitySize + 1);
-        final byte[] entity = new byte[maxEntitySize + 1];
+        final ByteArrayPool pool = ByteArrayPool.getDefault();
+        final byte[] entity = pool.acquire(maxEntitySize + 1);
 
         int entitySize = 0;
-        while (entitySize < entity.length) {
-            int readBytes = stream.read(entity, entitySize, entity.length - entitySize);
-            if (readBytes < 0) {
-                break;
+        try {
+            while (entitySize < maxEntitySize + 1) {
+                int readBytes = stream.read(entity, entitySize, maxEntitySize + 1 - entitySize);
+                if (readBytes < 0) {
+                    break;
+                }
+                entitySize += readBytes;
             }
-            entitySize += readBytes;
-        }
 
-        b.append(new String(entity, 0, Math.min(entitySize, maxEntitySize), charset));
+            b.append(new String(entity, 0, Math.min(entitySize, maxEntitySize), charset));
+        } finally {
+            pool.release(entity);
+        }
         if (entitySize > maxEntitySize) {
             b.append("...more...");
         }
@@ -91,6 +91,27 @@ public final class MessageProperties {
      */
     public static final int IO_DEFAULT_BUFFER_SIZE = 8192;
 
+    /**
+     * Maximum total size in bytes of the idle byte arrays kept for reuse by the I/O operations on byte streams, such as
+     * copying of entity streams or buffering of outbound entities. The arrays are shared by all the applications in the
+     * JVM, so the value can only be set using a system property. The property value is expected to be a non-negative
+     * integer otherwise it will be ignored; {@code 0} disables the pooling.
+     * <p />
+     * The default value is <code>{@value #IO_DEFAULT_BUFFER_POOL_SIZE}</code>.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     *
+     * @since 2.41
+     */
+    public static final String IO_BUFFER_POOL_SIZE = "jersey.config.io.bufferPool.size";
+
+    /**
+     * The default maximum total size ({@value}) of the idle byte arrays kept for reuse by I/O operations.
+     *
+     * @since 2.41
+     */
+    public static final int IO_DEFAULT_BUFFER_POOL_SIZE = 16 * 1024 * 1024;
+
     /**
      * <p>
      *     Integer value used to override maximum number of string length during the JSON processing the JSON provider accepts.
@@ -123,6 +144,26 @@ public final class MessageProperties {
      */
     public static final String LEGACY_WORKERS_ORDERING = "jersey.config.workers.legacyOrdering";
 
+    /**
+     * Maximum number of entries kept in each of the caches of the {@link javax.ws.rs.ext.MessageBodyReader} and
+     * {@link javax.ws.rs.ext.MessageBodyWriter} lookups. When a cache is full, entries that have not been used recently
+     * are evicted. The property value is expected to be a positive integer otherwise it will be ignored.
+     * <p />
+     * The default value is <code>{@value #WORKERS_LOOKUP_CACHE_DEFAULT_SIZE}</code>.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     *
+     * @since 2.41
+     */
+    public static final String WORKERS_LOOKUP_CACHE_SIZE = "jersey.config.workers.lookupCache.size";
+
+    /**
+     * The default maximum number ({@value}) of entries kept in each of the message body worker lookup caches.
+     *
+     * @since 2.41
+     */
+    public static final int WORKERS_LOOKUP_CACHE_DEFAULT_SIZE = 1024;
+
     /**
      * Prevents instantiation.
      */
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.message.internal;
+
+import java.security.AccessController;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.message.MessageProperties;
+
+/**
+ * Thread-safe pool of reusable byte arrays used for copying and buffering of entity streams.
+ * <p>
+ * The arrays are kept in size classes of powers of two from {@value #MIN_SIZE} bytes to {@value #MAX_SIZE} bytes; requests
+ * for larger arrays are not pooled. The total size of the idle arrays kept by the pool is limited, arrays
+ * {@link #release(byte[]) released} over the limit are left to the garbage collector. Arrays that are never released back
+ * to the pool are not a leak, they are only not reused.
+ * </p>
+ * <p>
+ * A released array must not be used by the caller anymore. The default pool is sized by the
+ * {@value org.glassfish.jersey.message.MessageProperties#IO_BUFFER_POOL_SIZE} system property.
+ * </p>
+ */
+public final class ByteArrayPool {
+
+    private static final Logger LOGGER = Logger.getLogger(ByteArrayPool.class.getName());
+
+    /**
+     * Size of the smallest pooled array.
+     */
+    static final int MIN_SIZE = 1024;
+    /**
+     * Size of the largest pooled array.
+     */
+    static final int MAX_SIZE = 1024 * 1024;
+
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_SIZE);
+    private static final int MAX_SHIFT = Integer.numberOfTrailingZeros(MAX_SIZE);
+
+    private static final ByteArrayPool DEFAULT = new ByteArrayPool(getPoolSize());
+
+    private final long maxIdleBytes;
+    private final AtomicLong idleBytes = new AtomicLong();
+    private final Deque<byte[]>[] classes;
+
+    /**
+     * Create new pool.
+     *
+     * @param maxIdleBytes maximum total size of the idle arrays kept by the pool, {@code 0} disables the pooling.
+     */
+    @SuppressWarnings("unchecked")
+    ByteArrayPool(final long maxIdleBytes) {
+        this.maxIdleBytes = maxIdleBytes;
+        this.classes = new Deque[MAX_SHIFT - MIN_SHIFT + 1];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = new ConcurrentLinkedDeque<>();
+        }
+    }
+
+    /**
+     * Get the pool shared by the whole JVM.
+     *
+     * @return default byte array pool.
+     */
+    public static ByteArrayPool getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get an array of at least the requested size. The returned array may be larger and its content is undefined.
+     *
+     * @param minSize minimal size of the array.
+     * @return pooled or newly allocated array.
+     */
+    public byte[] acquire(final int minSize) {
+        final int index = classIndex(minSize);
+        if (index < 0) {
+            return new byte[minSize];
+        }
+        final byte[] array = classes[index].pollFirst();
+        if (array == null) {
+            return new byte[MIN_SIZE << index];
+        }
+        idleBytes.addAndGet(-array.length);
+        return array;
+    }
+
+    /**
+     * Return an array to the pool. Arrays that do not fit any size class or would exceed the pool size are dropped.
+     *
+     * @param array array not used by the caller anymore, may be {@code null}.
+     */
+    public void release(final byte[] array) {
+        if (array == null) {
+            return;
+        }
+        final int index = classIndex(array.length);
+        if (index < 0 || (MIN_SIZE << index) != array.length) {
+            return;
+        }
+        if (idleBytes.addAndGet(array.length) > maxIdleBytes) {
+            idleBytes.addAndGet(-array.length);
+            return;
+        }
+        classes[index].offerFirst(array);
+    }
+
+    /**
+     * Get the total size of the idle arrays in the pool.
+     *
+     * @return size of the pooled arrays in bytes.
+     */
+    long getIdleBytes() {
+        return idleBytes.get();
+    }
+
+    private static int classIndex(final int size) {
+        if (size > MAX_SIZE) {
+            return -1;
+        }
+        if (size <= MIN_SIZE) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SHIFT;
+    }
+
+    private static long getPoolSize() {
+        final String value = AccessController.doPrivileged(
+                PropertiesHelper.getSystemProperty(MessageProperties.IO_BUFFER_POOL_SIZE));
+        if (value != null) {
+            try {
+                final long size = Long.parseLong(value);
+                if (size < 0) {
+                    throw new NumberFormatException("Value negative.");
+                }
+                return size;
+            } catch (NumberFormatException e) {
+                LOGGER.log(Level.CONFIG,
+                        "Value of " + MessageProperties.IO_BUFFER_POOL_SIZE
+                                + " property is not a valid non-negative integer [" + value + "]."
+                                + " Reverting to default [" + MessageProperties.IO_DEFAULT_BUFFER_POOL_SIZE + "].",
+                        e);
+            }
+        }
+        return MessageProperties.IO_DEFAULT_BUFFER_POOL_SIZE;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,7 +16,6 @@
 
 package org.glassfish.jersey.message.internal;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Objects;
@@ -80,9 +79,13 @@ public final class CommittingOutputStream extends OutputStream {
      */
     private int bufferSize = 0;
     /**
-     * Entity buffer.
+     * Entity buffer, acquired from the {@link ByteArrayPool#getDefault() byte array pool} on the first buffered write.
      */
-    private ByteArrayOutputStream buffer;
+    private byte[] buffer;
+    /**
+     * Number of bytes in the entity buffer.
+     */
+    private int count;
     /**
      * When {@code true}, the data are written directly to output stream and not to the buffer.
      */
@@ -133,16 +136,10 @@ public final class CommittingOutputStream extends OutputStream {
      *                   {@link org.glassfish.jersey.message.internal.OutboundMessageContext.StreamProvider#getOutputStream(int) callback}.
      */
     public void enableBuffering(int bufferSize) {
-        Preconditions.checkState(!isCommitted && (this.buffer == null || this.buffer.size() == 0),
-                                 COMMITTING_STREAM_BUFFERING_ILLEGAL_STATE);
+        Preconditions.checkState(!isCommitted && count == 0, COMMITTING_STREAM_BUFFERING_ILLEGAL_STATE);
         this.bufferSize = bufferSize;
-        if (bufferSize <= 0) {
-            this.directWrite = true;
-            this.buffer = null;
-        } else {
-            directWrite = false;
-            buffer = new ByteArrayOutputStream(bufferSize);
-        }
+        releaseBuffer();
+        directWrite = bufferSize <= 0;
     }
 
     /**
@@ -180,17 +177,7 @@ public final class CommittingOutputStream extends OutputStream {
 
     @Override
     public void write(byte b[]) throws IOException {
-        if (directWrite) {
-            commitStream();
-            adaptedOutput.write(b);
-        } else {
-            if (b.length + buffer.size() > bufferSize) {
-                flushBuffer(false);
-                adaptedOutput.write(b);
-            } else {
-                buffer.write(b);
-            }
-        }
+        write(b, 0, b.length);
     }
 
     @Override
@@ -199,11 +186,13 @@ public final class CommittingOutputStream extends OutputStream {
             commitStream();
             adaptedOutput.write(b, off, len);
         } else {
-            if (len + buffer.size() > bufferSize) {
+            if (len + count > bufferSize) {
                 flushBuffer(false);
                 adaptedOutput.write(b, off, len);
             } else {
-                buffer.write(b, off, len);
+                ensureBuffer();
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
             }
         }
     }
@@ -214,15 +203,30 @@ public final class CommittingOutputStream extends OutputStream {
             commitStream();
             adaptedOutput.write(b);
         } else {
-            if (buffer.size() + 1 > bufferSize) {
+            if (count + 1 > bufferSize) {
                 flushBuffer(false);
                 adaptedOutput.write(b);
             } else {
-                buffer.write(b);
+                ensureBuffer();
+                buffer[count++] = (byte) b;
             }
         }
     }
 
+    private void ensureBuffer() {
+        if (buffer == null) {
+            buffer = ByteArrayPool.getDefault().acquire(bufferSize);
+        }
+    }
+
+    private void releaseBuffer() {
+        if (buffer != null) {
+            ByteArrayPool.getDefault().release(buffer);
+            buffer = null;
+        }
+        count = 0;
+    }
+
     /**
      * Commit the output stream.
      *
@@ -268,14 +272,18 @@ public final class CommittingOutputStream extends OutputStream {
         if (!directWrite) {
             int currentSize;
             if (endOfStream) {
-                currentSize = buffer == null ? 0 : buffer.size();
+                currentSize = count;
             } else {
                 currentSize = -1;
             }
 
             commitStream(currentSize);
-            if (buffer != null) {
-                buffer.writeTo(adaptedOutput);
+            try {
+                if (count > 0) {
+                    adaptedOutput.write(buffer, 0, count);
+                }
+            } finally {
+                releaseBuffer();
             }
         }
     }
@@ -0,0 +1,683 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.jsr166.Flow;
+import org.glassfish.jersey.internal.jsr166.JdkFlowAdapter;
+import org.glassfish.jersey.internal.util.ReflectionHelper;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.message.StreamingMediaType;
+
+/**
+ * Provider for entities of {@link Flow.Publisher} type and, on JDK 9 and newer, of {@code java.util.concurrent.Flow.Publisher}
+ * type.
+ * <p>
+ * Each item of the publisher is (de)serialized by the message body worker selected for the item type. The framing of the
+ * items depends on the media type of the entity:
+ * <ul>
+ *     <li>{@value StreamingMediaType#APPLICATION_NDJSON} - every item is a JSON document terminated by a new line,</li>
+ *     <li>{@code text/event-stream} - every item is sent as a {@code data} field of an unnamed server-sent event,</li>
+ *     <li>any other media type - the items are written one after another without any delimiter; when read, the entity
+ *     is split into chunks if the item type is {@code byte[]}, otherwise the whole entity is read as a single item.</li>
+ * </ul>
+ * <p>
+ * The writer requests a single item at a time and requests the next one only after the previous item has been
+ * written and flushed to the entity stream, so the demand signalled to the publisher follows the speed at which the
+ * entity stream accepts the data. On the server, publisher entities are not written by this writer; the server runtime
+ * subscribes to the publisher without blocking the container thread and writes the items using
+ * {@link #writeItem(MessageBodyWorkers, Object, Type, Annotation[], MediaType, MultivaluedMap, OutputStream)}.
+ * The reader returns a lazy publisher that reads and deserializes the entity only on subscriber demand.
+ * </p>
+ *
+ * @since 2.41
+ */
+@Produces({StreamingMediaType.APPLICATION_NDJSON, "text/event-stream", "application/octet-stream", "*/*"})
+@Consumes({StreamingMediaType.APPLICATION_NDJSON, "text/event-stream", "application/octet-stream", "*/*"})
+@Singleton
+public final class FlowPublisherProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    private static final MediaType SERVER_SENT_EVENTS_TYPE = MediaType.valueOf("text/event-stream");
+    private static final byte[] DATA_LEAD = "data: ".getBytes(StandardCharsets.UTF_8);
+    private static final String DATA_FIELD = "data";
+    private static final byte EOL = '\n';
+    private static final byte CR = '\r';
+    private static final int RAW_CHUNK_SIZE = 8192;
+
+    private final Provider<MessageBodyWorkers> workersProvider;
+
+    /**
+     * Create new {@code Flow.Publisher} entity provider.
+     *
+     * @param workersProvider provider of message body workers used to (de)serialize the publisher items.
+     */
+    @Inject
+    public FlowPublisherProvider(@Context final Provider<MessageBodyWorkers> workersProvider) {
+        this.workersProvider = workersProvider;
+    }
+
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                               final MediaType mediaType) {
+        return isPublisher(type);
+    }
+
+    @Override
+    public long getSize(final Object publisher, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(final Object publisher,
+                        final Class<?> type,
+                        final Type genericType,
+                        final Annotation[] annotations,
+                        final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream) throws IOException, WebApplicationException {
+        final Type itemType = itemType(genericType);
+        final MessageBodyWorkers workers = workersProvider.get();
+
+        final BlockingSubscriber<Object> subscriber = new BlockingSubscriber<>();
+        FlowPublisherProvider.<Object>toFlowPublisher(publisher).subscribe(subscriber);
+        final Flow.Subscription subscription = subscriber.awaitSubscription();
+        try {
+            subscription.request(1);
+            Object item;
+            while ((item = subscriber.next()) != null) {
+                writeItem(workers, item, itemType, annotations, mediaType, httpHeaders, entityStream);
+                entityStream.flush();
+
+                // ask for more only once the previous item is out
+                subscription.request(1);
+            }
+        } catch (final IOException | RuntimeException e) {
+            subscription.cancel();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isReadable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                              final MediaType mediaType) {
+        return type == Flow.Publisher.class || type == JdkFlowAdapter.getJdkPublisherClass();
+    }
+
+    @Override
+    public Object readFrom(final Class<Object> type,
+                           final Type genericType,
+                           final Annotation[] annotations,
+                           final MediaType mediaType,
+                           final MultivaluedMap<String, String> httpHeaders,
+                           final InputStream entityStream) throws IOException, WebApplicationException {
+        final Type itemType = itemType(genericType);
+        final EntityPublisher<Object> publisher = new EntityPublisher<>(
+                itemType == Object.class ? byte[].class : itemType,
+                annotations, mediaType, httpHeaders, entityStream, workersProvider.get());
+        return (Class<?>) type == Flow.Publisher.class ? publisher : JdkFlowAdapter.toJdkPublisher(publisher);
+    }
+
+    /**
+     * Check whether the type is a publisher supported by this provider.
+     *
+     * @param type type to be checked.
+     * @return {@code true} if the type is a Jersey or a JDK {@code Flow.Publisher}.
+     */
+    public static boolean isPublisher(final Class<?> type) {
+        return Flow.Publisher.class.isAssignableFrom(type) || JdkFlowAdapter.isJdkPublisher(type);
+    }
+
+    /**
+     * Get the supported publisher as a Jersey {@link Flow.Publisher}.
+     *
+     * @param publisher Jersey or JDK publisher.
+     * @param <T>       item type.
+     * @return Jersey publisher.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Flow.Publisher<T> toFlowPublisher(final Object publisher) {
+        return publisher instanceof Flow.Publisher
+                ? (Flow.Publisher<T>) publisher
+                : JdkFlowAdapter.toFlowPublisher(publisher);
+    }
+
+    /**
+     * Get the item type of a publisher.
+     *
+     * @param genericType generic type of the publisher.
+     * @return item type or {@code Object.class} if the item type cannot be resolved.
+     */
+    public static Type itemType(final Type genericType) {
+        final Type itemType = ReflectionHelper.getTypeArgument(genericType, 0);
+        return itemType == null || ReflectionHelper.getRawClass(itemType) == null ? Object.class : itemType;
+    }
+
+    /**
+     * Serialize a single publisher item including its framing. The entity stream is not flushed.
+     *
+     * @param workers      message body workers used to serialize the item.
+     * @param item         item to be written.
+     * @param itemType     item type as returned by {@link #itemType(Type)}.
+     * @param annotations  annotations of the publisher entity.
+     * @param mediaType    media type of the publisher entity.
+     * @param httpHeaders  headers of the message.
+     * @param entityStream entity stream the item is written to; the stream is not closed by the item writer.
+     * @throws IOException if the item cannot be written.
+     */
+    @SuppressWarnings("unchecked")
+    public static void writeItem(final MessageBodyWorkers workers,
+                                 final Object item,
+                                 final Type itemType,
+                                 final Annotation[] annotations,
+                                 final MediaType mediaType,
+                                 final MultivaluedMap<String, Object> httpHeaders,
+                                 final OutputStream entityStream) throws IOException {
+        final Framing framing = Framing.of(mediaType);
+        final Class<?> itemClass = itemType == Object.class ? item.getClass() : ReflectionHelper.getRawClass(itemType);
+        final Type itemGenericType = itemType == Object.class ? itemClass : itemType;
+        final MediaType itemMediaType = framing.itemMediaType(mediaType, itemClass);
+
+        final MessageBodyWriter writer = workers.getMessageBodyWriter(itemClass, itemGenericType, annotations, itemMediaType);
+        if (writer == null) {
+            throw new MessageBodyProviderNotFoundException(
+                    LocalizationMessages.ERROR_NOTFOUND_MESSAGEBODYWRITER(itemMediaType, itemClass, itemGenericType));
+        }
+
+        framing.beforeItem(entityStream);
+        writer.writeTo(item, itemClass, itemGenericType, annotations, itemMediaType, httpHeaders,
+                framing.itemStream(new NonClosingOutputStream(entityStream)));
+        framing.afterItem(entityStream);
+    }
+
+    /**
+     * Item framing used for a particular entity media type.
+     */
+    private enum Framing {
+        NDJSON {
+            @Override
+            MediaType itemMediaType(final MediaType entityMediaType, final Class<?> itemClass) {
+                return MediaType.APPLICATION_JSON_TYPE;
+            }
+
+            @Override
+            void afterItem(final OutputStream entityStream) throws IOException {
+                entityStream.write(EOL);
+            }
+        },
+        SSE {
+            @Override
+            MediaType itemMediaType(final MediaType entityMediaType, final Class<?> itemClass) {
+                return itemClass == String.class ? MediaType.TEXT_PLAIN_TYPE : MediaType.APPLICATION_JSON_TYPE;
+            }
+
+            @Override
+            void beforeItem(final OutputStream entityStream) throws IOException {
+                entityStream.write(DATA_LEAD);
+            }
+
+            @Override
+            OutputStream itemStream(final OutputStream entityStream) {
+                return new FilterOutputStream(entityStream) {
+                    @Override
+                    public void write(final int b) throws IOException {
+                        out.write(b);
+                        if (b == EOL) {
+                            out.write(DATA_LEAD);
+                        }
+                    }
+                };
+            }
+
+            @Override
+            void afterItem(final OutputStream entityStream) throws IOException {
+                entityStream.write(EOL);
+                entityStream.write(EOL);
+            }
+        },
+        RAW;
+
+        static Framing of(final MediaType mediaType) {
+            if (StreamingMediaType.APPLICATION_NDJSON_TYPE.isCompatible(mediaType) && !mediaType.isWildcardType()) {
+                return NDJSON;
+            } else if (SERVER_SENT_EVENTS_TYPE.isCompatible(mediaType) && !mediaType.isWildcardType()) {
+                return SSE;
+            }
+            return RAW;
+        }
+
+        MediaType itemMediaType(final MediaType entityMediaType, final Class<?> itemClass) {
+            return entityMediaType;
+        }
+
+        void beforeItem(final OutputStream entityStream) throws IOException {
+        }
+
+        OutputStream itemStream(final OutputStream entityStream) {
+            return entityStream;
+        }
+
+        void afterItem(final OutputStream entityStream) throws IOException {
+        }
+    }
+
+    /**
+     * Subscriber handing the items over to the thread writing the entity.
+     * <p>
+     * The writing thread never requests more than one item, so the queue holds at most one item and a terminal signal.
+     * </p>
+     */
+    private static final class BlockingSubscriber<T> implements Flow.Subscriber<T> {
+
+        private static final Object COMPLETE = new Object();
+
+        private final CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+        private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            if (!this.subscription.complete(subscription)) {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(final T item) {
+            signals.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            subscription.complete(null);
+            signals.add(new Failure(throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            subscription.complete(null);
+            signals.add(COMPLETE);
+        }
+
+        Flow.Subscription awaitSubscription() throws IOException {
+            try {
+                final Flow.Subscription s = subscription.get();
+                return s == null ? NoopSubscription.INSTANCE : s;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } catch (final ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        T next() throws IOException {
+            final Object signal;
+            try {
+                signal = signals.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+
+            if (signal == COMPLETE) {
+                return null;
+            } else if (signal instanceof Failure) {
+                final Throwable cause = ((Failure) signal).cause;
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            }
+            return (T) signal;
+        }
+    }
+
+    private static final class Failure {
+
+        private final Throwable cause;
+
+        private Failure(final Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    private enum NoopSubscription implements Flow.Subscription {
+        INSTANCE;
+
+        @Override
+        public void request(final long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+
+    /**
+     * Publisher reading the items from an inbound entity stream on subscriber demand.
+     * <p>
+     * The items are read on the thread signalling the demand. The publisher supports a single subscriber and closes the
+     * entity stream once it is exhausted, the subscription is cancelled or the publisher is {@link #close() closed}.
+     * </p>
+     */
+    private static final class EntityPublisher<T> implements Flow.Publisher<T>, Closeable {
+
+        private final Type itemType;
+        private final Class<T> itemClass;
+        private final Annotation[] annotations;
+        private final MediaType mediaType;
+        private final MultivaluedMap<String, String> httpHeaders;
+        private final InputStream entityStream;
+        private final MessageBodyWorkers workers;
+        private final Framing framing;
+
+        private final AtomicBoolean subscribed = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        // accessed by the emitting thread only
+        private boolean exhausted = false;
+
+        @SuppressWarnings("unchecked")
+        private EntityPublisher(final Type itemType,
+                                final Annotation[] annotations,
+                                final MediaType mediaType,
+                                final MultivaluedMap<String, String> httpHeaders,
+                                final InputStream entityStream,
+                                final MessageBodyWorkers workers) {
+            this.itemType = itemType;
+            this.itemClass = (Class<T>) ReflectionHelper.getRawClass(itemType);
+            this.annotations = annotations;
+            this.mediaType = mediaType;
+            this.httpHeaders = httpHeaders;
+            this.entityStream = entityStream;
+            this.workers = workers;
+            this.framing = Framing.of(mediaType);
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+            if (!subscribed.compareAndSet(false, true)) {
+                subscriber.onSubscribe(NoopSubscription.INSTANCE);
+                subscriber.onError(new IllegalStateException(LocalizationMessages.FLOW_PUBLISHER_SINGLE_SUBSCRIBER()));
+                return;
+            }
+            subscriber.onSubscribe(new EntitySubscription(subscriber));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed.compareAndSet(false, true)) {
+                entityStream.close();
+            }
+        }
+
+        /**
+         * Read the next item.
+         *
+         * @return next item or {@code null} if the entity stream is exhausted.
+         */
+        @SuppressWarnings("unchecked")
+        private T read() throws IOException {
+            switch (framing) {
+                case NDJSON:
+                    byte[] line;
+                    do {
+                        line = readLine();
+                        if (line == null) {
+                            return null;
+                        }
+                    } while (line.length == 0);
+                    return readItem(new ByteArrayInputStream(line), MediaType.APPLICATION_JSON_TYPE);
+                case SSE:
+                    final byte[] data = readEventData();
+                    return data == null
+                            ? null
+                            : readItem(new ByteArrayInputStream(data), framing.itemMediaType(mediaType, itemClass));
+                default:
+                    if (itemClass == byte[].class) {
+                        final byte[] chunk = new byte[RAW_CHUNK_SIZE];
+                        final int read = entityStream.read(chunk);
+                        if (read < 0) {
+                            return null;
+                        }
+                        return (T) (read == RAW_CHUNK_SIZE ? chunk : Arrays.copyOf(chunk, read));
+                    }
+                    // items are not delimited, the whole entity is the only item
+                    if (exhausted) {
+                        return null;
+                    }
+                    exhausted = true;
+                    return readItem(entityStream, mediaType);
+            }
+        }
+
+        /**
+         * Read the {@code data} of the next server-sent event. Comments and other event fields are skipped.
+         *
+         * @return event data or {@code null} if the entity stream does not contain another complete event.
+         */
+        private byte[] readEventData() throws IOException {
+            final ByteArrayOutputStream data = new ByteArrayOutputStream();
+            boolean hasData = false;
+            byte[] line;
+            while ((line = readLine()) != null) {
+                final int length = line.length > 0 && line[line.length - 1] == CR ? line.length - 1 : line.length;
+                if (length == 0) {
+                    if (hasData) {
+                        return data.toByteArray();
+                    }
+                    continue;
+                }
+                final int colon = indexOf(line, length, (byte) ':');
+                final int nameLength = colon < 0 ? length : colon;
+                if (nameLength != DATA_FIELD.length()
+                        || !DATA_FIELD.equals(new String(line, 0, nameLength, StandardCharsets.US_ASCII))) {
+                    // comment or a field other than data
+                    continue;
+                }
+                if (hasData) {
+                    data.write(EOL);
+                }
+                hasData = true;
+                if (colon >= 0) {
+                    final int valueStart = colon + 1 < length && line[colon + 1] == ' ' ? colon + 2 : colon + 1;
+                    data.write(line, valueStart, length - valueStart);
+                }
+            }
+            // an incomplete event at the end of the stream is not dispatched
+            return null;
+        }
+
+        private int indexOf(final byte[] line, final int length, final byte b) {
+            for (int i = 0; i < length; i++) {
+                if (line[i] == b) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private byte[] readLine() throws IOException {
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = entityStream.read()) != -1) {
+                if (b == EOL) {
+                    return line.toByteArray();
+                }
+                line.write(b);
+            }
+            return line.size() == 0 ? null : line.toByteArray();
+        }
+
+        @SuppressWarnings("unchecked")
+        private T readItem(final InputStream itemStream, final MediaType itemMediaType) throws IOException {
+            final MessageBodyReader<T> reader = workers.getMessageBodyReader(itemClass, itemType, annotations, itemMediaType);
+            if (reader == null) {
+                throw new MessageBodyProviderNotFoundException(
+                        LocalizationMessages.ERROR_NOTFOUND_MESSAGEBODYREADER(itemMediaType, itemClass, itemType));
+            }
+            return reader.readFrom(itemClass, itemType, annotations, itemMediaType, httpHeaders, itemStream);
+        }
+
+        private final class EntitySubscription implements Flow.Subscription {
+
+            private final Flow.Subscriber<? super T> subscriber;
+            private final Object lock = new Object();
+            // guarded by lock
+            private long demand = 0;
+            private boolean emitting = false;
+            private boolean done = false;
+
+            private EntitySubscription(final Flow.Subscriber<? super T> subscriber) {
+                this.subscriber = subscriber;
+            }
+
+            @Override
+            public void request(final long n) {
+                synchronized (lock) {
+                    if (done) {
+                        return;
+                    }
+                    if (n <= 0) {
+                        done = true;
+                    } else {
+                        demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                        if (emitting) {
+                            // re-entrant call from onNext, the emitting loop picks the demand up
+                            return;
+                        }
+                        emitting = true;
+                    }
+                }
+                if (n <= 0) {
+                    terminate(new IllegalArgumentException(LocalizationMessages.FLOW_PUBLISHER_NON_POSITIVE_DEMAND(n)));
+                    return;
+                }
+                emit();
+            }
+
+            @Override
+            public void cancel() {
+                synchronized (lock) {
+                    done = true;
+                }
+                closeQuietly();
+            }
+
+            private void emit() {
+                while (true) {
+                    synchronized (lock) {
+                        if (done || demand == 0) {
+                            emitting = false;
+                            return;
+                        }
+                        demand--;
+                    }
+
+                    final T item;
+                    try {
+                        item = read();
+                    } catch (final IOException | RuntimeException e) {
+                        terminate(e);
+                        return;
+                    }
+
+                    if (item == null) {
+                        synchronized (lock) {
+                            done = true;
+                            emitting = false;
+                        }
+                        closeQuietly();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(item);
+                }
+            }
+
+            private void terminate(final Throwable cause) {
+                synchronized (lock) {
+                    done = true;
+                    emitting = false;
+                }
+                closeQuietly();
+                subscriber.onError(cause);
+            }
+
+            private void closeQuietly() {
+                try {
+                    close();
+                } catch (final IOException e) {
+                    // nothing to do, the subscription is over anyway
+                }
+            }
+        }
+    }
+
+    /**
+     * Prevents item writers from closing the entity stream.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        private NonClosingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
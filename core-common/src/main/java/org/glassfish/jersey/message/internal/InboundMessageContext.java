@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -92,6 +92,7 @@ public abstract class InboundMessageContext {
         }
     };
     private static final Annotation[] EMPTY_ANNOTATIONS = new Annotation[0];
+    private static final int MAX_INITIAL_BUFFER_CAPACITY = 1024 * 1024;
     private static final List<AcceptableMediaType> WILDCARD_ACCEPTABLE_TYPE_SINGLETON_LIST =
             Collections.singletonList(MediaTypes.WILDCARD_ACCEPTABLE_TYPE);
 
@@ -958,9 +959,9 @@ public abstract class InboundMessageContext {
             }
 
             final InputStream entityStream = entityContent.getWrappedStream();
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            final EntityBuffer buffer = new EntityBuffer(getBufferCapacity());
             try {
-                ReaderWriter.writeTo(entityStream, baos);
+                ReaderWriter.writeTo(entityStream, buffer);
             } finally {
                 // Workaround for JRFCAF-1344: the underlying stream close() implementation may be thread-unsafe
                 // and as such the close() may result in an IOException at the socket input stream level,
@@ -969,7 +970,7 @@ public abstract class InboundMessageContext {
                 ReaderWriter.safelyClose(entityStream);
             }
 
-            entityContent.setContent(new ByteArrayInputStream(baos.toByteArray()), true);
+            entityContent.setContent(buffer.toInputStream(), true);
 
             return true;
         } catch (IOException ex) {
@@ -977,6 +978,39 @@ public abstract class InboundMessageContext {
         }
     }
 
+    /**
+     * Get the initial capacity of the entity buffer; the declared Content-Length (up to a limit) so that the buffer does
+     * not have to grow while the entity is read.
+     */
+    private int getBufferCapacity() {
+        final String length = getHeaderString(HttpHeaders.CONTENT_LENGTH);
+        if (length != null) {
+            try {
+                final int size = Integer.parseInt(length.trim());
+                if (size >= 0) {
+                    return Math.min(size, MAX_INITIAL_BUFFER_CAPACITY);
+                }
+            } catch (NumberFormatException e) {
+                // ignore invalid Content-Length, the entity is read anyway
+            }
+        }
+        return ReaderWriter.BUFFER_SIZE;
+    }
+
+    /**
+     * Byte array output stream whose content can be read without copying the underlying array.
+     */
+    private static final class EntityBuffer extends ByteArrayOutputStream {
+
+        private EntityBuffer(final int size) {
+            super(size);
+        }
+
+        private InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+
     /**
      * Closes the underlying content stream.
      */
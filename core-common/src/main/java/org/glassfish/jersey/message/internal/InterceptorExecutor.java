@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -18,7 +18,10 @@ package org.glassfish.jersey.message.internal;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.InterceptorContext;
@@ -197,4 +200,26 @@ abstract class InterceptorExecutor<T> implements InterceptorContext, PropertiesD
         this.mediaType = mediaType;
     }
 
+    /**
+     * Get the given interceptors as a random access list so that the interceptor chain can be traversed by index.
+     * <p>
+     * Interceptor lists precomputed by the runtime (e.g. per resource method) are returned as they are, without copying,
+     * any other iterable is copied into a new list.
+     * </p>
+     *
+     * @param interceptors interceptors in the order of execution.
+     * @param <I>          interceptor type.
+     * @return random access list of interceptors.
+     */
+    @SuppressWarnings("unchecked")
+    static <I> List<I> toRandomAccessList(final Iterable<I> interceptors) {
+        if (interceptors instanceof List && interceptors instanceof RandomAccess) {
+            return (List<I>) interceptors;
+        }
+        final List<I> list = new ArrayList<>();
+        for (final I interceptor : interceptors) {
+            list.add(interceptor);
+        }
+        return list;
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -36,6 +36,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -69,7 +70,6 @@ import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.ReflectionHelper;
 import org.glassfish.jersey.internal.util.ReflectionHelper.DeclaringClassInterfacePair;
-import org.glassfish.jersey.internal.util.collection.DataStructures;
 import org.glassfish.jersey.internal.util.collection.KeyComparator;
 import org.glassfish.jersey.internal.util.collection.KeyComparatorHashMap;
 import org.glassfish.jersey.internal.util.collection.KeyComparatorLinkedHashMap;
@@ -180,22 +180,24 @@ public class MessageBodyFactory implements MessageBodyWorkers {
     private final Map<MediaType, List<MessageBodyReader>> readersCache = new KeyComparatorHashMap<>(MEDIA_TYPE_KEY_COMPARATOR);
     private final Map<MediaType, List<MessageBodyWriter>> writersCache = new KeyComparatorHashMap<>(MEDIA_TYPE_KEY_COMPARATOR);
 
-    private static final int LOOKUP_CACHE_INITIAL_CAPACITY = 32;
-    private static final float LOOKUP_CACHE_LOAD_FACTOR = 0.75f;
-    private final Map<Class<?>, List<ReaderModel>> mbrTypeLookupCache = new ConcurrentHashMap<>(
-            LOOKUP_CACHE_INITIAL_CAPACITY, LOOKUP_CACHE_LOAD_FACTOR, DataStructures.DEFAULT_CONCURENCY_LEVEL);
-    private final Map<Class<?>, List<WriterModel>> mbwTypeLookupCache = new ConcurrentHashMap<>(
-            LOOKUP_CACHE_INITIAL_CAPACITY, LOOKUP_CACHE_LOAD_FACTOR, DataStructures.DEFAULT_CONCURENCY_LEVEL);
+    /*
+     * Lookup caches bounded by MessageProperties.WORKERS_LOOKUP_CACHE_SIZE, not pinning the looked up entity classes.
+     */
+    private final WorkerLookupCache<List<ReaderModel>> mbrTypeLookupCache;
+    private final WorkerLookupCache<List<WriterModel>> mbwTypeLookupCache;
+
+    private final WorkerLookupCache<List<MediaType>> typeToMediaTypeReadersCache;
+    private final WorkerLookupCache<List<MediaType>> typeToMediaTypeWritersCache;
 
-    private final Map<Class<?>, List<MediaType>> typeToMediaTypeReadersCache = new ConcurrentHashMap<>(
-            LOOKUP_CACHE_INITIAL_CAPACITY, LOOKUP_CACHE_LOAD_FACTOR, DataStructures.DEFAULT_CONCURENCY_LEVEL);
-    private final Map<Class<?>, List<MediaType>> typeToMediaTypeWritersCache = new ConcurrentHashMap<>(
-            LOOKUP_CACHE_INITIAL_CAPACITY, LOOKUP_CACHE_LOAD_FACTOR, DataStructures.DEFAULT_CONCURENCY_LEVEL);
+    private final WorkerLookupCache<List<ReaderModel>> mbrLookupCache;
+    private final WorkerLookupCache<List<WriterModel>> mbwLookupCache;
 
-    private final Map<ModelLookupKey, List<ReaderModel>> mbrLookupCache = new ConcurrentHashMap<>(
-            LOOKUP_CACHE_INITIAL_CAPACITY, LOOKUP_CACHE_LOAD_FACTOR, DataStructures.DEFAULT_CONCURENCY_LEVEL);
-    private final Map<ModelLookupKey, List<WriterModel>> mbwLookupCache = new ConcurrentHashMap<>(
-            LOOKUP_CACHE_INITIAL_CAPACITY, LOOKUP_CACHE_LOAD_FACTOR, DataStructures.DEFAULT_CONCURENCY_LEVEL);
+    /*
+     * Workers selected ahead of time for the entity types known in advance, e.g. the declared entity types of the resource
+     * methods, keyed by the entity class. The selection is reused as long as the lookup matches the precomputed one exactly.
+     */
+    private final Map<Class<?>, PrecomputedSelection<ReaderModel>[]> precomputedReaders = new ConcurrentHashMap<>();
+    private final Map<Class<?>, PrecomputedSelection<WriterModel>[]> precomputedWriters = new ConcurrentHashMap<>();
 
     /**
      * Create a new message body factory.
@@ -205,6 +207,32 @@ public class MessageBodyFactory implements MessageBodyWorkers {
     public MessageBodyFactory(Configuration configuration) {
         this.legacyProviderOrdering = configuration != null
                 && PropertiesHelper.isProperty(configuration.getProperty(MessageProperties.LEGACY_WORKERS_ORDERING));
+
+        int lookupCacheSize = MessageProperties.WORKERS_LOOKUP_CACHE_DEFAULT_SIZE;
+        if (configuration != null) {
+            final Integer size = PropertiesHelper.getValue(configuration.getProperties(), configuration.getRuntimeType(),
+                    MessageProperties.WORKERS_LOOKUP_CACHE_SIZE, Integer.class, null);
+            if (size != null && size > 0) {
+                lookupCacheSize = size;
+            }
+        }
+        this.mbrTypeLookupCache = new WorkerLookupCache<>("readersByType", lookupCacheSize);
+        this.mbwTypeLookupCache = new WorkerLookupCache<>("writersByType", lookupCacheSize);
+        this.typeToMediaTypeReadersCache = new WorkerLookupCache<>("readerMediaTypesByType", lookupCacheSize);
+        this.typeToMediaTypeWritersCache = new WorkerLookupCache<>("writerMediaTypesByType", lookupCacheSize);
+        this.mbrLookupCache = new WorkerLookupCache<>("readers", lookupCacheSize);
+        this.mbwLookupCache = new WorkerLookupCache<>("writers", lookupCacheSize);
+    }
+
+    /**
+     * Get the caches of the message body worker lookups, e.g. to expose their statistics.
+     *
+     * @return lookup caches.
+     * @since 2.41
+     */
+    public List<WorkerLookupCache<?>> getLookupCaches() {
+        return Arrays.asList(mbrLookupCache, mbwLookupCache, mbrTypeLookupCache, mbwTypeLookupCache,
+                typeToMediaTypeReadersCache, typeToMediaTypeWritersCache);
     }
 
     /**
@@ -479,37 +507,82 @@ public class MessageBodyFactory implements MessageBodyWorkers {
         }
     }
 
-    private static class ModelLookupKey {
+    /**
+     * Worker selected ahead of time for an entity class. The lookup allocates nothing: the selections are looked up by
+     * the entity class and the few selections of the class are compared with the lookup arguments one by one.
+     */
+    private static final class PrecomputedSelection<M extends AbstractEntityProviderModel<?>> {
 
-        final Class<?> clazz;
-        final MediaType mediaType;
+        private final Type type;
+        private final Annotation[] annotations;
+        private final MediaType mediaType;
+        private final M model;
 
-        private ModelLookupKey(final Class<?> clazz, final MediaType mediaType) {
-            this.clazz = clazz;
+        private PrecomputedSelection(final Type type, final Annotation[] annotations, final MediaType mediaType, final M model) {
+            this.type = type;
+            this.annotations = annotations;
             this.mediaType = mediaType;
+            this.model = model;
         }
 
-        @Override
-        public boolean equals(final Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
+        private boolean matches(final Type type, final Annotation[] annotations, final MediaType mediaType) {
+            return Objects.equals(this.type, type)
+                    && (this.mediaType == mediaType || this.mediaType.equals(mediaType))
+                    && sameAnnotations(this.annotations, annotations);
+        }
+
+        private static boolean sameAnnotations(final Annotation[] precomputed, final Annotation[] annotations) {
+            if (precomputed.length != annotations.length) {
                 return false;
             }
+            for (int i = 0; i < precomputed.length; i++) {
+                // the annotations of the same declaration are the same instances, equals() of an annotation is expensive
+                if (precomputed[i] != annotations[i] && !precomputed[i].equals(annotations[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
 
-            final ModelLookupKey that = (ModelLookupKey) o;
+        private static <M extends AbstractEntityProviderModel<?>> M find(final PrecomputedSelection<M>[] selections,
+                                                                         final Type type,
+                                                                         final Annotation[] annotations,
+                                                                         final MediaType mediaType) {
+            if (selections != null) {
+                for (final PrecomputedSelection<M> selection : selections) {
+                    if (selection.matches(type, annotations, mediaType)) {
+                        return selection.model;
+                    }
+                }
+            }
+            return null;
+        }
 
-            return !(clazz != null ? !clazz.equals(that.clazz) : that.clazz != null)
-                    && !(mediaType != null ? !mediaType.equals(that.mediaType) : that.mediaType != null);
+        @SuppressWarnings("unchecked")
+        private static <M extends AbstractEntityProviderModel<?>> void add(
+                final Map<Class<?>, PrecomputedSelection<M>[]> precomputed, final Class<?> clazz,
+                final PrecomputedSelection<M> selection) {
+            precomputed.compute(clazz, (key, selections) -> {
+                if (selections == null) {
+                    return new PrecomputedSelection[] {selection};
+                }
+                if (find(selections, selection.type, selection.annotations, selection.mediaType) != null) {
+                    return selections;
+                }
+                final PrecomputedSelection<M>[] added = Arrays.copyOf(selections, selections.length + 1);
+                added[selections.length] = selection;
+                return added;
+            });
         }
+    }
 
-        @Override
-        public int hashCode() {
-            int result = clazz != null ? clazz.hashCode() : 0;
-            result = 31 * result + (mediaType != null ? mediaType.hashCode() : 0);
-            return result;
+    private static <M extends AbstractEntityProviderModel<?>> M findModel(final List<M> models, final Object provider) {
+        for (final M model : models) {
+            if (model.provider() == provider) {
+                return model;
+            }
         }
+        return null;
     }
 
     private static void addReaders(final List<ReaderModel> models, final Set<MessageBodyReader> readers, final boolean custom) {
@@ -577,6 +650,16 @@ public class MessageBodyFactory implements MessageBodyWorkers {
                                                          final MediaType mediaType,
                                                          final PropertiesDelegate propertiesDelegate) {
 
+        if (!precomputedReaders.isEmpty() && c != null && as != null && mediaType != null) {
+            final ReaderModel precomputed = PrecomputedSelection.find(precomputedReaders.get(c), t, as, mediaType);
+            // the readers provided by Jersey are readable regardless of the request, custom readers are asked again
+            if (precomputed != null
+                    && (!precomputed.isCustom() || precomputed.isReadable(c, t, as, mediaType))
+                    && !TracingLogger.getInstance(propertiesDelegate).isLogEnabled(MsgTraceEvent.MBR_SELECTED)) {
+                return (MessageBodyReader<T>) precomputed.provider();
+            }
+        }
+
         MessageBodyReader<T> p = null;
         if (legacyProviderOrdering) {
             if (mediaType != null) {
@@ -595,6 +678,67 @@ public class MessageBodyFactory implements MessageBodyWorkers {
         return p;
     }
 
+    /**
+     * Select the message body reader for the given entity type, annotations and media type ahead of time. Subsequent
+     * lookups of a reader for exactly the same entity type, annotations and media type return the selected reader
+     * without querying the readers again. A selected custom reader is still asked whether it is readable on each lookup; the
+     * readers are queried again if it is not.
+     * <p>
+     * The method is meant to be called during the application initialization for the entity types known in advance.
+     * It must not be used if the selection may depend on anything else than the lookup arguments, e.g. on a state of a
+     * request.
+     * </p>
+     *
+     * @param c         the class of object to be read.
+     * @param t         the type of object to be produced.
+     * @param as        an array of the annotations on the declaration of the artifact that will be initialized with
+     *                  the produced instance.
+     * @param mediaType the media type of the data that will be read, must not be {@code null}.
+     * @param <T>       type of the entity.
+     * @return selected message body reader or {@code null} if no reader is able to read the entity.
+     * @since 2.41
+     */
+    public <T> MessageBodyReader<T> precomputeMessageBodyReader(final Class<T> c, final Type t,
+                                                                final Annotation[] as,
+                                                                final MediaType mediaType) {
+        final MessageBodyReader<T> reader = getMessageBodyReader(c, t, as, mediaType, null);
+        final ReaderModel model = reader == null ? null : findModel(readers, reader);
+        if (model != null) {
+            PrecomputedSelection.add(precomputedReaders, c, new PrecomputedSelection<>(t, as.clone(), mediaType, model));
+        }
+        return reader;
+    }
+
+    /**
+     * Select the message body writer for the given entity type, annotations and media type ahead of time. Subsequent
+     * lookups of a writer for exactly the same entity type, annotations and media type return the selected writer
+     * without querying the writers again. A selected custom writer is still asked whether it is writeable on each lookup; the
+     * writers are queried again if it is not.
+     * <p>
+     * The method is meant to be called during the application initialization for the entity types known in advance.
+     * It must not be used if the selection may depend on anything else than the lookup arguments, e.g. on a state of a
+     * request.
+     * </p>
+     *
+     * @param c         the class of object that is to be written.
+     * @param t         the type of object to be written.
+     * @param as        an array of the annotations on the resource method that returns the object.
+     * @param mediaType the media type of the data that will be written, must not be {@code null}.
+     * @param <T>       type of the entity.
+     * @return selected message body writer or {@code null} if no writer is able to write the entity.
+     * @since 2.41
+     */
+    public <T> MessageBodyWriter<T> precomputeMessageBodyWriter(final Class<T> c, final Type t,
+                                                                final Annotation[] as,
+                                                                final MediaType mediaType) {
+        final MessageBodyWriter<T> writer = getMessageBodyWriter(c, t, as, mediaType, null);
+        final WriterModel model = writer == null ? null : findModel(writers, writer);
+        if (model != null) {
+            PrecomputedSelection.add(precomputedWriters, c, new PrecomputedSelection<>(t, as.clone(), mediaType, model));
+        }
+        return writer;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public List<MediaType> getMessageBodyReaderMediaTypes(final Class<?> type,
@@ -657,8 +801,7 @@ public class MessageBodyFactory implements MessageBodyWorkers {
                 ? mediaType
                 : new MediaType(mediaType.getType(), mediaType.getSubtype());
 
-        final ModelLookupKey lookupKey = new ModelLookupKey(c, lookupType);
-        List<ReaderModel> readers = mbrLookupCache.get(lookupKey);
+        List<ReaderModel> readers = mbrLookupCache.get(c, lookupType);
         if (readers == null) {
             readers = new ArrayList<>();
 
@@ -668,7 +811,7 @@ public class MessageBodyFactory implements MessageBodyWorkers {
                 }
             }
             readers.sort(new WorkerComparator<>(c, mediaType));
-            mbrLookupCache.put(lookupKey, readers);
+            mbrLookupCache.put(c, lookupType, readers);
         }
 
         if (readers.isEmpty()) {
@@ -745,6 +888,16 @@ public class MessageBodyFactory implements MessageBodyWorkers {
                                                          final Annotation[] as,
                                                          final MediaType mediaType,
                                                          final PropertiesDelegate propertiesDelegate) {
+        if (!precomputedWriters.isEmpty() && c != null && as != null && mediaType != null) {
+            final WriterModel precomputed = PrecomputedSelection.find(precomputedWriters.get(c), t, as, mediaType);
+            // the writers provided by Jersey are writeable regardless of the request, custom writers are asked again
+            if (precomputed != null
+                    && (!precomputed.isCustom() || precomputed.isWriteable(c, t, as, mediaType))
+                    && !TracingLogger.getInstance(propertiesDelegate).isLogEnabled(MsgTraceEvent.MBW_SELECTED)) {
+                return (MessageBodyWriter<T>) precomputed.provider();
+            }
+        }
+
         MessageBodyWriter<T> p = null;
 
         if (legacyProviderOrdering) {
@@ -776,8 +929,7 @@ public class MessageBodyFactory implements MessageBodyWorkers {
                 ? mediaType
                 : new MediaType(mediaType.getType(), mediaType.getSubtype());
 
-        final ModelLookupKey lookupKey = new ModelLookupKey(c, lookupType);
-        List<WriterModel> writers = mbwLookupCache.get(lookupKey);
+        List<WriterModel> writers = mbwLookupCache.get(c, lookupType);
         if (writers == null) {
 
             writers = new ArrayList<>();
@@ -788,7 +940,7 @@ public class MessageBodyFactory implements MessageBodyWorkers {
                 }
             }
             writers.sort(new WorkerComparator<>(c, mediaType));
-            mbwLookupCache.put(lookupKey, writers);
+            mbwLookupCache.put(c, lookupType, writers);
         }
 
         if (writers.isEmpty()) {
@@ -922,7 +1074,7 @@ public class MessageBodyFactory implements MessageBodyWorkers {
 
     @Override
     public List<WriterModel> getWritersModelsForType(final Class<?> type) {
-        final List<WriterModel> writerModels = mbwTypeLookupCache.get(type);
+        final List<WriterModel> writerModels = mbwTypeLookupCache.get(type, null);
         if (writerModels != null) {
             return writerModels;
         }
@@ -948,28 +1100,30 @@ public class MessageBodyFactory implements MessageBodyWorkers {
         }
         // Type -> Writer.
         suitableWriters.sort(WORKER_BY_TYPE_COMPARATOR);
-        mbwTypeLookupCache.put(clazz, suitableWriters);
+        mbwTypeLookupCache.put(clazz, null, suitableWriters);
 
         // Type -> MediaType.
-        typeToMediaTypeWritersCache.put(clazz, getMessageBodyWorkersMediaTypesByType(suitableWriters));
+        typeToMediaTypeWritersCache.put(clazz, null, getMessageBodyWorkersMediaTypesByType(suitableWriters));
 
         return suitableWriters;
     }
 
     @Override
     public List<MediaType> getMessageBodyWriterMediaTypesByType(final Class<?> type) {
-        if (!typeToMediaTypeWritersCache.containsKey(type)) {
-            processMessageBodyWritersForType(type);
+        final List<MediaType> mediaTypes = typeToMediaTypeWritersCache.get(type, null);
+        if (mediaTypes != null) {
+            return mediaTypes;
         }
-        return typeToMediaTypeWritersCache.get(type);
+        return getMessageBodyWorkersMediaTypesByType(processMessageBodyWritersForType(type));
     }
 
     @Override
     public List<MediaType> getMessageBodyReaderMediaTypesByType(final Class<?> type) {
-        if (!typeToMediaTypeReadersCache.containsKey(type)) {
-            processMessageBodyReadersForType(type);
+        final List<MediaType> mediaTypes = typeToMediaTypeReadersCache.get(type, null);
+        if (mediaTypes != null) {
+            return mediaTypes;
         }
-        return typeToMediaTypeReadersCache.get(type);
+        return getMessageBodyWorkersMediaTypesByType(processMessageBodyReadersForType(type));
     }
 
     @SuppressWarnings("unchecked")
@@ -995,11 +1149,11 @@ public class MessageBodyFactory implements MessageBodyWorkers {
 
     @Override
     public List<ReaderModel> getReaderModelsForType(final Class<?> type) {
-        if (!mbrTypeLookupCache.containsKey(type)) {
-            processMessageBodyReadersForType(type);
+        final List<ReaderModel> readerModels = mbrTypeLookupCache.get(type, null);
+        if (readerModels != null) {
+            return readerModels;
         }
-
-        return mbrTypeLookupCache.get(type);
+        return processMessageBodyReadersForType(type);
     }
 
     private List<ReaderModel> processMessageBodyReadersForType(final Class<?> clazz) {
@@ -1016,10 +1170,10 @@ public class MessageBodyFactory implements MessageBodyWorkers {
 
         // Type -> Writer.
         suitableReaders.sort(WORKER_BY_TYPE_COMPARATOR);
-        mbrTypeLookupCache.put(clazz, suitableReaders);
+        mbrTypeLookupCache.put(clazz, null, suitableReaders);
 
         // Type -> MediaType.
-        typeToMediaTypeReadersCache.put(clazz, getMessageBodyWorkersMediaTypesByType(suitableReaders));
+        typeToMediaTypeReadersCache.put(clazz, null, getMessageBodyWorkersMediaTypesByType(suitableReaders));
 
         return suitableReaders;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -176,12 +176,8 @@ public class OutboundJaxrsResponse extends javax.ws.rs.core.Response {
         }
         final InputStream in = InputStream.class.cast(context.getEntity());
         final ByteArrayOutputStream out = new ByteArrayOutputStream();
-        byte[] buffer = new byte[1024];
-        int len;
         try {
-            while ((len = in.read(buffer)) != -1) {
-                out.write(buffer, 0, len);
-            }
+            ReaderWriter.writeTo(in, out);
         } catch (IOException ex) {
             throw new ProcessingException(ex);
         } finally {
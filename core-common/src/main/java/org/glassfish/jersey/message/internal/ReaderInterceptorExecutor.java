@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -20,12 +20,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.ProcessingException;
@@ -59,7 +56,8 @@ public final class ReaderInterceptorExecutor extends InterceptorExecutor<ReaderI
     private static final Logger LOGGER = Logger.getLogger(ReaderInterceptorExecutor.class.getName());
 
     private final MultivaluedMap<String, String> headers;
-    private final Iterator<ReaderInterceptor> interceptors;
+    private final List<ReaderInterceptor> interceptors;
+    private int nextInterceptor;
     private final MessageBodyWorkers workers;
     private final boolean translateNce;
 
@@ -107,11 +105,8 @@ public final class ReaderInterceptorExecutor extends InterceptorExecutor<ReaderI
         this.translateNce = translateNce;
         this.injectionManager = injectionManager;
 
-        final List<ReaderInterceptor> effectiveInterceptors = StreamSupport.stream(readerInterceptors.spliterator(), false)
-                                                                           .collect(Collectors.toList());
-        effectiveInterceptors.add(new TerminalReaderInterceptor());
-
-        this.interceptors = effectiveInterceptors.iterator();
+        this.interceptors = toRandomAccessList(readerInterceptors);
+        this.nextInterceptor = 0;
         this.processedCount = 0;
     }
 
@@ -123,10 +118,16 @@ public final class ReaderInterceptorExecutor extends InterceptorExecutor<ReaderI
     @Override
     @SuppressWarnings("unchecked")
     public Object proceed() throws IOException {
-        if (!interceptors.hasNext()) {
+        final ReaderInterceptor interceptor;
+        if (nextInterceptor < interceptors.size()) {
+            interceptor = interceptors.get(nextInterceptor++);
+        } else if (nextInterceptor == interceptors.size()) {
+            // the message body reader is invoked at the end of the chain
+            nextInterceptor++;
+            interceptor = new TerminalReaderInterceptor();
+        } else {
             throw new ProcessingException(LocalizationMessages.ERROR_INTERCEPTOR_READER_PROCEED());
         }
-        final ReaderInterceptor interceptor = interceptors.next();
         traceBefore(interceptor, MsgTraceEvent.RI_BEFORE);
         try {
             return interceptor.aroundReadFrom(this);
@@ -45,7 +45,8 @@ import org.glassfish.jersey.message.MessageProperties;
  * If a byte or character array is utilized then the size of the array
  * is by default the value of {@value org.glassfish.jersey.message.MessageProperties#IO_DEFAULT_BUFFER_SIZE}.
  * This value can be set using the system property
- * {@value org.glassfish.jersey.message.MessageProperties#IO_BUFFER_SIZE}.
+ * {@value org.glassfish.jersey.message.MessageProperties#IO_BUFFER_SIZE}. Byte arrays used for copying of streams are
+ * reused from the {@link ByteArrayPool#getDefault() default byte array pool}.
  *
  * @author Paul Sandoz
  */
@@ -94,10 +95,48 @@ public final class ReaderWriter {
      */
     public static void writeTo(InputStream in, OutputStream out) throws IOException {
         int read;
-        final byte[] data = new byte[BUFFER_SIZE];
-        while ((read = in.read(data)) != -1) {
-            out.write(data, 0, read);
+        final ByteArrayPool pool = ByteArrayPool.getDefault();
+        final byte[] data = pool.acquire(BUFFER_SIZE);
+        try {
+            while ((read = in.read(data)) != -1) {
+                out.write(data, 0, read);
+            }
+        } finally {
+            pool.release(data);
+        }
+    }
+
+    /**
+     * Read bytes from an input stream and write them to an output stream unless the input stream is longer than the limit.
+     * <p>
+     * If the limit is exceeded, the method returns as soon as {@code limit + 1} bytes have been written, the rest of the
+     * input stream is left unread.
+     * </p>
+     *
+     * @param in    the input stream to read from.
+     * @param out   the output stream to write to.
+     * @param limit maximum number of bytes to be read.
+     * @return {@code true} if the whole input stream has been read, {@code false} if it is longer than the limit.
+     * @throws IOException if there is an error reading or writing bytes.
+     * @since 2.41
+     */
+    public static boolean readAtMost(InputStream in, OutputStream out, int limit) throws IOException {
+        long written = 0;
+        int read;
+        final ByteArrayPool pool = ByteArrayPool.getDefault();
+        final byte[] data = pool.acquire(BUFFER_SIZE);
+        try {
+            while ((read = in.read(data, 0, (int) Math.min(data.length, limit + 1L - written))) > 0) {
+                out.write(data, 0, read);
+                written += read;
+                if (written > limit) {
+                    return false;
+                }
+            }
+        } finally {
+            pool.release(data);
         }
+        return true;
     }
 
     /**
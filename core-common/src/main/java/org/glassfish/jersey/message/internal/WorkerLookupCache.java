@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.message.internal;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.internal.util.collection.DataStructures;
+
+/**
+ * Bounded cache of the message body worker lookup results keyed by the entity type and an optional media type.
+ * <p>
+ * The entity types are referenced weakly, so that the cache does not prevent the entity classes (and their class loaders)
+ * from being garbage collected. When the cache is full, an entry that has not been used since the last eviction
+ * round is evicted ("second chance" eviction). The cache counts the hits, misses and evictions.
+ * </p>
+ *
+ * @param <V> cached value type.
+ * @since 2.41
+ */
+public final class WorkerLookupCache<V> {
+
+    private final String name;
+    private final int maxSize;
+    private final Map<Object, Entry<V>> map;
+    private final ReferenceQueue<Class<?>> queue = new ReferenceQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    WorkerLookupCache(final String name, final int maxSize) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.map = new ConcurrentHashMap<>(Math.min(maxSize, 32), 0.75f, DataStructures.DEFAULT_CONCURENCY_LEVEL);
+    }
+
+    /**
+     * Get the cached value.
+     *
+     * @param type      entity type.
+     * @param mediaType media type or {@code null}.
+     * @return cached value or {@code null} if the value is not cached.
+     */
+    V get(final Class<?> type, final MediaType mediaType) {
+        final Entry<V> entry = map.get(new LookupKey(type, mediaType));
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        // avoid writing the shared flag on every hit
+        if (!entry.used) {
+            entry.used = true;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Cache the value, evicting another value if the cache is full.
+     *
+     * @param type      entity type.
+     * @param mediaType media type or {@code null}.
+     * @param value     value to be cached.
+     */
+    void put(final Class<?> type, final MediaType mediaType, final V value) {
+        expungeStaleEntries();
+        if (map.size() >= maxSize) {
+            evict();
+        }
+        map.put(new WeakKey(type, mediaType, queue), new Entry<>(value));
+    }
+
+    /**
+     * Remove all the cached values.
+     */
+    void clear() {
+        map.clear();
+        expungeStaleEntries();
+    }
+
+    private void expungeStaleEntries() {
+        Reference<? extends Class<?>> reference;
+        while ((reference = queue.poll()) != null) {
+            map.remove(reference);
+        }
+    }
+
+    private synchronized void evict() {
+        if (map.size() < maxSize) {
+            return;
+        }
+        // second chance: clear the used flags on the way to the first unused entry
+        final Iterator<Entry<V>> iterator = map.values().iterator();
+        Entry<V> victim = null;
+        while (iterator.hasNext()) {
+            final Entry<V> entry = iterator.next();
+            if (!entry.used) {
+                victim = entry;
+                break;
+            }
+            entry.used = false;
+        }
+        if (victim == null) {
+            // all the entries have been used, the entries may also have been removed concurrently
+            final Iterator<Entry<V>> first = map.values().iterator();
+            if (!first.hasNext()) {
+                return;
+            }
+            victim = first.next();
+        }
+        if (map.values().remove(victim)) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Get the name of the cache.
+     *
+     * @return cache name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the maximum number of the cached values.
+     *
+     * @return maximum cache size.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the current number of the cached values.
+     *
+     * @return cache size.
+     */
+    public int getSize() {
+        return map.size();
+    }
+
+    /**
+     * Get the number of lookups that found a cached value.
+     *
+     * @return hit count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of lookups that did not find a cached value.
+     *
+     * @return miss count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the number of values evicted because the cache was full.
+     *
+     * @return eviction count.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "WorkerLookupCache{name=" + name + ", size=" + getSize() + ", maxSize=" + maxSize
+                + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + '}';
+    }
+
+    private static int hash(final Class<?> type, final MediaType mediaType) {
+        return 31 * System.identityHashCode(type) + (mediaType != null ? mediaType.hashCode() : 0);
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private volatile boolean used;
+
+        private Entry(final V value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Key used for the lookups, references the entity type strongly.
+     */
+    private static final class LookupKey {
+
+        private final Class<?> type;
+        private final MediaType mediaType;
+        private final int hash;
+
+        private LookupKey(final Class<?> type, final MediaType mediaType) {
+            this.type = type;
+            this.mediaType = mediaType;
+            this.hash = hash(type, mediaType);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (o instanceof WeakKey) {
+                final WeakKey that = (WeakKey) o;
+                return hash == that.hash && type == that.get()
+                        && (mediaType == null ? that.mediaType == null : mediaType.equals(that.mediaType));
+            }
+            if (o instanceof LookupKey) {
+                final LookupKey that = (LookupKey) o;
+                return hash == that.hash && type == that.type
+                        && (mediaType == null ? that.mediaType == null : mediaType.equals(that.mediaType));
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Key stored in the cache, references the entity type weakly.
+     */
+    private static final class WeakKey extends WeakReference<Class<?>> {
+
+        private final MediaType mediaType;
+        private final int hash;
+
+        private WeakKey(final Class<?> type, final MediaType mediaType, final ReferenceQueue<Class<?>> queue) {
+            super(type, queue);
+            this.mediaType = mediaType;
+            this.hash = hash(type, mediaType);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o instanceof LookupKey) {
+                return o.equals(this);
+            }
+            if (o instanceof WeakKey) {
+                final WeakKey that = (WeakKey) o;
+                final Class<?> type = get();
+                return hash == that.hash && type != null && type == that.get()
+                        && (mediaType == null ? that.mediaType == null : mediaType.equals(that.mediaType));
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -21,12 +21,9 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.WebApplicationException;
@@ -60,7 +57,9 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor<WriterI
     private final MultivaluedMap<String, Object> headers;
     private Object entity;
 
-    private final Iterator<WriterInterceptor> iterator;
+    private final List<WriterInterceptor> interceptors;
+    private final MessageBodyWorkers workers;
+    private int nextInterceptor;
     private int processedCount;
 
     private final InjectionManager injectionManager;
@@ -104,11 +103,10 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor<WriterI
         this.outputStream = entityStream;
         this.injectionManager = injectionManager;
 
-        final List<WriterInterceptor> effectiveInterceptors = StreamSupport.stream(writerInterceptors.spliterator(), false)
-                                                                           .collect(Collectors.toList());
-        effectiveInterceptors.add(new TerminalWriterInterceptor(workers));
+        this.workers = workers;
 
-        this.iterator = effectiveInterceptors.iterator();
+        this.interceptors = toRandomAccessList(writerInterceptors);
+        this.nextInterceptor = 0;
         this.processedCount = 0;
     }
 
@@ -118,10 +116,14 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor<WriterI
      * @return Next interceptor.
      */
     private WriterInterceptor getNextInterceptor() {
-        if (!iterator.hasNext()) {
-            return null;
+        if (nextInterceptor < interceptors.size()) {
+            return interceptors.get(nextInterceptor++);
+        } else if (nextInterceptor == interceptors.size()) {
+            // the message body writer is invoked at the end of the chain
+            nextInterceptor++;
+            return new TerminalWriterInterceptor(workers);
         }
-        return iterator.next();
+        return null;
     }
 
     /**
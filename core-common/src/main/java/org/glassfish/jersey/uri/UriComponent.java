@@ -302,8 +302,8 @@ public class UriComponent {
                 }
 
                 if (sb == null) {
-                    sb = new StringBuilder();
-                    sb.append(s.substring(0, offset));
+                    sb = new StringBuilder(s.length() + 16);
+                    sb.append(s, 0, offset);
                 }
 
                 if (codePoint < 0x80) {
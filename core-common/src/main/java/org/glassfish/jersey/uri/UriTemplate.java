@@ -29,6 +29,8 @@ import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
+import org.glassfish.jersey.internal.guava.Cache;
+import org.glassfish.jersey.internal.guava.CacheBuilder;
 import org.glassfish.jersey.internal.guava.Preconditions;
 import org.glassfish.jersey.uri.internal.UriPart;
 import org.glassfish.jersey.uri.internal.UriTemplateParser;
@@ -43,6 +45,19 @@ import org.glassfish.jersey.uri.internal.UriTemplateParser;
 public class UriTemplate {
     private static final String[] EMPTY_VALUES = new String[0];
 
+    /**
+     * Maximum number of parsed URI component templates kept for URI expansion.
+     */
+    private static final int EXPANSION_CACHE_SIZE = 1024;
+
+    /**
+     * Parsed URI component templates used when building URIs. URI builders typically expand the same few templates
+     * (e.g. {@code /users/{id}/orders/{oid}}) over and over again, hence the templates are parsed only once.
+     */
+    private static final Cache<String, UriTemplate> EXPANSION_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(EXPANSION_CACHE_SIZE)
+            .build();
+
     /**
      * Order the templates according to JAX-RS specification.
      * <p>
@@ -922,9 +937,6 @@ public class UriTemplate {
             return valueOffset;
         }
 
-        // Find all template variables
-        UriTemplateParser templateParser = new UriTemplateParser(template);
-
         class ValuesFromArrayStrategy implements TemplateValueStrategy {
             private int offset = valueOffset;
 
@@ -944,12 +956,27 @@ public class UriTemplate {
             }
         }
         ValuesFromArrayStrategy cs = new ValuesFromArrayStrategy();
-        new UriTemplate(templateParser).resolveTemplate(b, cs);
+        getExpansionTemplate(template).resolveTemplate(b, cs);
 
         return cs.offset;
     }
 
 
+    /**
+     * Get the parsed URI template for the given URI component template, parsing the template only if it is not cached yet.
+     *
+     * @param template URI component template.
+     * @return parsed URI template.
+     */
+    private static UriTemplate getExpansionTemplate(final String template) {
+        UriTemplate uriTemplate = EXPANSION_CACHE.getIfPresent(template);
+        if (uriTemplate == null) {
+            uriTemplate = new UriTemplate(new UriTemplateParser(template));
+            EXPANSION_CACHE.put(template, uriTemplate);
+        }
+        return uriTemplate;
+    }
+
     /**
      * Resolves template variables in the given {@code template} from {@code _mapValues}. Resolves only these variables which are
      * defined in the {@code _mapValues} leaving other variables unchanged.
@@ -974,9 +1001,8 @@ public class UriTemplate {
 
         final Map<String, Object> mapValues = (Map<String, Object>) _mapValues;
 
-        StringBuilder sb = new StringBuilder();
-        // Find all template variables
-        new UriTemplate(new UriTemplateParser(template)).resolveTemplate(sb, new TemplateValueStrategy() {
+        final StringBuilder sb = new StringBuilder(template.length() + 16);
+        getExpansionTemplate(template).resolveTemplate(sb, new TemplateValueStrategy() {
             @Override
             public String valueFor(UriPart templateVariable, String matchedGroup) {
 
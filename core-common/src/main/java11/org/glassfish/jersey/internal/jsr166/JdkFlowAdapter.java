@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.internal.jsr166;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Adapter between {@code java.util.concurrent.Flow} publishers and Jersey {@link Flow} publishers.
+ */
+public final class JdkFlowAdapter {
+
+    private JdkFlowAdapter() {
+    }
+
+    /**
+     * Get {@code java.util.concurrent.Flow.Publisher} class.
+     *
+     * @return the JDK publisher class or {@code null} if the JDK does not provide {@code java.util.concurrent.Flow}.
+     */
+    public static Class<?> getJdkPublisherClass() {
+        return java.util.concurrent.Flow.Publisher.class;
+    }
+
+    /**
+     * Check whether the type is a {@code java.util.concurrent.Flow.Publisher}.
+     *
+     * @param type type to be checked.
+     * @return {@code true} if the type is a JDK publisher.
+     */
+    public static boolean isJdkPublisher(final Class<?> type) {
+        return java.util.concurrent.Flow.Publisher.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Adapt a {@code java.util.concurrent.Flow.Publisher} to Jersey {@link Flow.Publisher}.
+     *
+     * @param publisher JDK publisher.
+     * @param <T>       item type.
+     * @return Jersey publisher.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Flow.Publisher<T> toFlowPublisher(final Object publisher) {
+        final java.util.concurrent.Flow.Publisher<T> jdkPublisher = (java.util.concurrent.Flow.Publisher<T>) publisher;
+        return subscriber -> jdkPublisher.subscribe(new java.util.concurrent.Flow.Subscriber<T>() {
+            @Override
+            public void onSubscribe(final java.util.concurrent.Flow.Subscription subscription) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(final long n) {
+                        subscription.request(n);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        subscription.cancel();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(final T item) {
+                subscriber.onNext(item);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                subscriber.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        });
+    }
+
+    /**
+     * Adapt a Jersey {@link Flow.Publisher} to {@code java.util.concurrent.Flow.Publisher}. The returned publisher is
+     * {@link Closeable} and closes the adapted publisher if it is closeable too.
+     *
+     * @param publisher Jersey publisher.
+     * @param <T>       item type.
+     * @return JDK publisher.
+     */
+    public static <T> Object toJdkPublisher(final Flow.Publisher<T> publisher) {
+        return new JdkPublisher<>(publisher);
+    }
+
+    private static final class JdkPublisher<T> implements java.util.concurrent.Flow.Publisher<T>, Closeable {
+
+        private final Flow.Publisher<T> publisher;
+
+        private JdkPublisher(final Flow.Publisher<T> publisher) {
+            this.publisher = publisher;
+        }
+
+        @Override
+        public void subscribe(final java.util.concurrent.Flow.Subscriber<? super T> subscriber) {
+            publisher.subscribe(new Flow.Subscriber<T>() {
+                @Override
+                public void onSubscribe(final Flow.Subscription subscription) {
+                    subscriber.onSubscribe(new java.util.concurrent.Flow.Subscription() {
+                        @Override
+                        public void request(final long n) {
+                            subscription.request(n);
+                        }
+
+                        @Override
+                        public void cancel() {
+                            subscription.cancel();
+                        }
+                    });
+                }
+
+                @Override
+                public void onNext(final T item) {
+                    subscriber.onNext(item);
+                }
+
+                @Override
+                public void onError(final Throwable throwable) {
+                    subscriber.onError(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    subscriber.onComplete();
+                }
+            });
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (publisher instanceof Closeable) {
+                ((Closeable) publisher).close();
+            }
+        }
+    }
+}
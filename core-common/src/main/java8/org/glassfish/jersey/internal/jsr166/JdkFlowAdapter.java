@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.internal.jsr166;
+
+/**
+ * Adapter between {@code java.util.concurrent.Flow} publishers and Jersey {@link Flow} publishers.
+ * <p>
+ * JDK 8 does not provide {@code java.util.concurrent.Flow}, no type is recognized as a JDK publisher.
+ * </p>
+ */
+public final class JdkFlowAdapter {
+
+    private JdkFlowAdapter() {
+    }
+
+    /**
+     * Get {@code java.util.concurrent.Flow.Publisher} class.
+     *
+     * @return the JDK publisher class or {@code null} if the JDK does not provide {@code java.util.concurrent.Flow}.
+     */
+    public static Class<?> getJdkPublisherClass() {
+        return null;
+    }
+
+    /**
+     * Check whether the type is a {@code java.util.concurrent.Flow.Publisher}.
+     *
+     * @param type type to be checked.
+     * @return {@code true} if the type is a JDK publisher.
+     */
+    public static boolean isJdkPublisher(final Class<?> type) {
+        return false;
+    }
+
+    /**
+     * Adapt a {@code java.util.concurrent.Flow.Publisher} to Jersey {@link Flow.Publisher}.
+     *
+     * @param publisher JDK publisher.
+     * @param <T>       item type.
+     * @return Jersey publisher.
+     */
+    public static <T> Flow.Publisher<T> toFlowPublisher(final Object publisher) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Adapt a Jersey {@link Flow.Publisher} to {@code java.util.concurrent.Flow.Publisher}.
+     *
+     * @param publisher Jersey publisher.
+     * @param <T>       item type.
+     * @return JDK publisher.
+     */
+    public static <T> Object toJdkPublisher(final Flow.Publisher<T> publisher) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.internal.guava;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests size based eviction of caches built by {@link CacheBuilder}.
+ */
+public class CacheBuilderTest {
+
+    @Test
+    public void testMaximumSizeEvictsLeastRecentlyUsed() {
+        final Cache<Integer, String> cache = CacheBuilder.newBuilder().maximumSize(100).build();
+
+        cache.put(-1, "kept");
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, Integer.toString(i));
+            assertNotNull(cache.getIfPresent(-1));
+        }
+
+        int cached = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (cache.getIfPresent(i) != null) {
+                cached++;
+            }
+        }
+        assertEquals(99, cached);
+        assertNull(cache.getIfPresent(0));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.message.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests {@link ByteArrayPool} and its use in {@link CommittingOutputStream}.
+ */
+public class ByteArrayPoolTest {
+
+    @Test
+    public void testArraysAreReusedBySizeClass() {
+        final ByteArrayPool pool = new ByteArrayPool(1024 * 1024);
+        final byte[] small = pool.acquire(100);
+        final byte[] medium = pool.acquire(3000);
+        assertEquals(ByteArrayPool.MIN_SIZE, small.length);
+        assertEquals(4096, medium.length);
+
+        pool.release(small);
+        pool.release(medium);
+        assertEquals(ByteArrayPool.MIN_SIZE + 4096, pool.getIdleBytes());
+
+        assertSame(medium, pool.acquire(4096));
+        assertSame(small, pool.acquire(1));
+        assertEquals(0, pool.getIdleBytes());
+    }
+
+    @Test
+    public void testIdleBytesAreBounded() {
+        final ByteArrayPool pool = new ByteArrayPool(8192);
+        pool.release(new byte[4096]);
+        pool.release(new byte[4096]);
+        pool.release(new byte[4096]);
+        assertEquals(8192, pool.getIdleBytes());
+
+        // arrays out of the size classes are not pooled
+        pool.release(new byte[5000]);
+        pool.release(new byte[2 * ByteArrayPool.MAX_SIZE]);
+        assertEquals(8192, pool.getIdleBytes());
+
+        final byte[] large = pool.acquire(ByteArrayPool.MAX_SIZE + 1);
+        assertEquals(ByteArrayPool.MAX_SIZE + 1, large.length);
+    }
+
+    @Test
+    public void testDisabledPool() {
+        final ByteArrayPool pool = new ByteArrayPool(0);
+        final byte[] array = pool.acquire(2048);
+        pool.release(array);
+        assertEquals(0, pool.getIdleBytes());
+        assertNotSame(array, pool.acquire(2048));
+    }
+
+    @Test
+    public void testCommittingOutputStreamBuffersContentLength() throws IOException {
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        final int[] contentLength = new int[1];
+        final CommittingOutputStream stream = new CommittingOutputStream();
+        stream.setStreamProvider(length -> {
+            contentLength[0] = length;
+            return target;
+        });
+        stream.enableBuffering(100);
+
+        stream.write(new byte[] {1, 2, 3});
+        stream.write(4);
+        stream.write(new byte[] {0, 5, 6, 0}, 1, 2);
+        stream.close();
+
+        assertEquals(6, contentLength[0]);
+        assertArrayEquals(new byte[] {1, 2, 3, 4, 5, 6}, target.toByteArray());
+    }
+
+    @Test
+    public void testCommittingOutputStreamBufferOverflow() throws IOException {
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        final int[] contentLength = new int[1];
+        final CommittingOutputStream stream = new CommittingOutputStream();
+        stream.setStreamProvider(length -> {
+            contentLength[0] = length;
+            return target;
+        });
+        stream.enableBuffering(4);
+
+        stream.write(new byte[] {1, 2, 3});
+        stream.write(new byte[] {4, 5});
+        stream.write(6);
+        stream.close();
+
+        assertEquals(-1, contentLength[0]);
+        assertArrayEquals(new byte[] {1, 2, 3, 4, 5, 6}, target.toByteArray());
+    }
+}
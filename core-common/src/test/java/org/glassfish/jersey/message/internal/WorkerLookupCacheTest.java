@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.message.internal;
+
+import java.util.Date;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests {@link WorkerLookupCache}.
+ */
+public class WorkerLookupCacheTest {
+
+    @Test
+    public void testLookupByTypeAndMediaType() {
+        final WorkerLookupCache<String> cache = new WorkerLookupCache<>("test", 8);
+        cache.put(String.class, MediaType.TEXT_PLAIN_TYPE, "text");
+        cache.put(String.class, null, "any");
+
+        assertEquals("text", cache.get(String.class, new MediaType("text", "plain")));
+        assertEquals("any", cache.get(String.class, null));
+        assertNull(cache.get(String.class, MediaType.APPLICATION_JSON_TYPE));
+        assertNull(cache.get(Integer.class, null));
+
+        assertEquals(2, cache.getSize());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        final Class<?>[] types = {String.class, Integer.class, Long.class, Double.class, Date.class};
+        final WorkerLookupCache<Class<?>> cache = new WorkerLookupCache<>("test", 2);
+        for (final Class<?> type : types) {
+            cache.put(type, null, type);
+        }
+
+        assertEquals(2, cache.getSize());
+        assertEquals(3, cache.getEvictionCount());
+        assertEquals(2, cache.getMaxSize());
+    }
+
+    @Test
+    public void testUsedEntryGetsSecondChance() {
+        final WorkerLookupCache<String> cache = new WorkerLookupCache<>("test", 2);
+        cache.put(String.class, null, "string");
+        cache.put(Integer.class, null, "integer");
+        cache.get(String.class, null);
+        cache.get(Integer.class, null);
+
+        // both entries used - the flags get cleared and one of them is evicted
+        cache.put(Long.class, null, "long");
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals("long", cache.get(Long.class, null));
+
+        // the used long entry survives, the remaining unused one is evicted
+        cache.put(Double.class, null, "double");
+        assertEquals("long", cache.get(Long.class, null));
+        assertEquals("double", cache.get(Double.class, null));
+        assertEquals(2, cache.getEvictionCount());
+    }
+}
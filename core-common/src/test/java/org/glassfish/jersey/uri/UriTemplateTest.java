@@ -1017,6 +1017,19 @@ public class UriTemplateTest {
         Assertions.assertEquals(2, parser.getNames().size());
     }
 
+    @Test
+    public void testRepeatedExpansionOfSameTemplate() {
+        final String template = "/users/{id}/orders/{oid}";
+        for (int i = 0; i < 3; i++) {
+            assertEncodedPathTemplateExpansion("/users/" + i + "/orders/a%20" + i, template, i, "a " + i);
+
+            final Map<String, Object> values = new HashMap<>();
+            values.put("id", "u" + i);
+            assertEquals("/users/u" + i + "/orders/{oid}",
+                    UriTemplate.resolveTemplateValues(UriComponent.Type.PATH, template, true, values));
+        }
+    }
+
     void _assertMatchingThrowsIAE(String uri) {
         try {
             _testMatching(uri, "/uri/hello", "hello");
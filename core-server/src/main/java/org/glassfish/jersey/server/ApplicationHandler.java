@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2023 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 2018 Payara Foundation and/or its affiliates.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +17,10 @@
 
 package org.glassfish.jersey.server;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.security.Principal;
@@ -93,6 +97,8 @@ import org.glassfish.jersey.server.model.ComponentModelValidator;
 import org.glassfish.jersey.server.model.ModelProcessor;
 import org.glassfish.jersey.server.model.ModelValidationException;
 import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.server.model.ResourceValidationCache;
 import org.glassfish.jersey.server.model.internal.ModelErrors;
 import org.glassfish.jersey.server.model.internal.ResourceMethodInvokerConfigurator;
 import org.glassfish.jersey.server.monitoring.ApplicationEvent;
@@ -364,7 +370,7 @@ public final class ApplicationHandler implements ContainerLifecycleListener {
                         resourceBag.classes, resourceBag.instances, null));
             }
 
-            if (!disableValidation()) {
+            if (!disableValidation() && !isResourceModelValidationCached(bootstrapBag.getResourceModel())) {
                 ComponentModelValidator validator = new ComponentModelValidator(
                         bootstrapBag.getValueParamProviders(), bootstrapBag.getMessageBodyWorkers());
                     validator.validate(bootstrapBag.getResourceModel());
@@ -417,8 +423,14 @@ public final class ApplicationHandler implements ContainerLifecycleListener {
                 .to(resourceFilteringStage)
                 .build(Routing.matchedEndpointExtractor());
 
+        final CompiledRequestPipeline compiledPipeline = ServerProperties.getValue(runtimeConfig.getProperties(),
+                ServerProperties.COMPILED_PIPELINE_ENABLED, Boolean.FALSE, Boolean.class)
+                ? new CompiledRequestPipeline(referencesInitializer,
+                        preMatchRequestFilteringStage, routingStage, resourceFilteringStage)
+                : null;
+
         ServerRuntime serverRuntime = ServerRuntime.createServerRuntime(
-                injectionManager, bootstrapBag, rootStage, compositeListener, processingProviders);
+                injectionManager, bootstrapBag, rootStage, compiledPipeline, compositeListener, processingProviders);
 
         // Inject instances.
         ComponentBag componentBag = runtimeConfig.getComponentBag();
@@ -460,6 +472,50 @@ public final class ApplicationHandler implements ContainerLifecycleListener {
                 Boolean.class);
     }
 
+    /**
+     * Check whether the resource model matches the configured {@link ResourceValidationCache validation cache}, i.e.
+     * whether it has already been validated at build time.
+     */
+    private boolean isResourceModelValidationCached(final ResourceModel resourceModel) {
+        final String location = ServerProperties.getValue(runtimeConfig.getProperties(),
+                ServerProperties.RESOURCE_VALIDATION_CACHE, String.class);
+        if (location == null) {
+            return false;
+        }
+
+        final ResourceValidationCache cache;
+        try (InputStream inputStream = openResourceValidationCache(location)) {
+            if (inputStream == null) {
+                LOGGER.warning(LocalizationMessages.RESOURCE_VALIDATION_CACHE_NOT_FOUND(location));
+                return false;
+            }
+            cache = ResourceValidationCache.read(inputStream);
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.RESOURCE_VALIDATION_CACHE_READ_FAILED(location), e);
+            return false;
+        }
+
+        final long start = System.nanoTime();
+        final boolean matches = cache.matches(resourceModel, runtimeConfig);
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (!matches) {
+            LOGGER.info(LocalizationMessages.RESOURCE_VALIDATION_CACHE_OUTDATED(location, elapsedMillis));
+            return false;
+        }
+        LOGGER.config(LocalizationMessages.RESOURCE_VALIDATION_CACHE_USED(location, elapsedMillis));
+        return true;
+    }
+
+    private InputStream openResourceValidationCache(final String location) throws IOException {
+        final ClassLoader classLoader = runtimeConfig.getClassLoader();
+        final InputStream resource = classLoader != null ? classLoader.getResourceAsStream(location) : null;
+        if (resource != null) {
+            return resource;
+        }
+        final File file = new File(location);
+        return file.isFile() ? new FileInputStream(file) : null;
+    }
+
     private static void logApplicationInitConfiguration(final InjectionManager injectionManager,
                                                         final ResourceBag resourceBag,
                                                         final ProcessingProviders processingProviders) {
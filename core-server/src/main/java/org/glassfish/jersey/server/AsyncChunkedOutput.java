@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+
+/**
+ * {@link ChunkedOutput} that never serializes chunks on the thread calling {@link #write(Object)} or
+ * {@link #writeAsync(Object)}.
+ * <p>
+ * Chunks are serialized and flushed to the container on a dedicated {@link Executor executor}. Each call to
+ * {@link #writeAsync(Object)} returns a {@link CompletionStage} that completes once the chunk has been written. The output
+ * is additionally bounded by a pair of watermarks: once the number of chunks waiting to be written reaches the high
+ * watermark, the output becomes {@link #isWritable() non-writable} and the stages of the chunks written in the meantime
+ * are not completed until the number of waiting chunks drops to the low watermark. Producers that chain subsequent writes on
+ * the returned stage are therefore throttled to the speed of the client without pinning any thread.
+ * </p>
+ * <pre>
+ * &#64;GET
+ * public ChunkedOutput&lt;String&gt; stream() {
+ *     final AsyncChunkedOutput&lt;String&gt; output = new AsyncChunkedOutput&lt;&gt;(String.class, "\r\n", executor);
+ *     output.writeAsync("first").thenCompose(v -&gt; output.writeAsync("second")) ...
+ *     return output;
+ * }
+ * </pre>
+ *
+ * @param <T> chunk type.
+ * @since 2.41
+ */
+public class AsyncChunkedOutput<T> extends ChunkedOutput<T> {
+
+    /**
+     * Default number of waiting chunks at which a saturated output becomes writable again.
+     */
+    public static final int DEFAULT_LOW_WATERMARK = 16;
+    /**
+     * Default number of waiting chunks at which the output becomes saturated.
+     */
+    public static final int DEFAULT_HIGH_WATERMARK = 64;
+
+    private final Executor executor;
+    private final int lowWatermark;
+    private final int highWatermark;
+
+    private final Object pendingLock = new Object();
+    // the following fields are guarded by pendingLock
+    private final Deque<CompletableFuture<Void>> pending = new ArrayDeque<>();
+    private final List<CompletableFuture<Void>> held = new ArrayList<>();
+    private boolean saturated = false;
+    private boolean drainDeferred = false;
+
+    /**
+     * Create new {@code AsyncChunkedOutput} with default watermarks.
+     *
+     * @param chunkType chunk type. Must not be {code null}.
+     * @param executor  executor used to serialize and flush the chunks. Must not be {code null}.
+     */
+    public AsyncChunkedOutput(final Type chunkType, final Executor executor) {
+        this(chunkType, "", executor, DEFAULT_LOW_WATERMARK, DEFAULT_HIGH_WATERMARK);
+    }
+
+    /**
+     * Create new {@code AsyncChunkedOutput} with a custom chunk delimiter and default watermarks.
+     *
+     * @param chunkType      chunk type. Must not be {code null}.
+     * @param chunkDelimiter custom chunk delimiter string. Must not be {code null}.
+     * @param executor       executor used to serialize and flush the chunks. Must not be {code null}.
+     */
+    public AsyncChunkedOutput(final Type chunkType, final String chunkDelimiter, final Executor executor) {
+        this(chunkType, chunkDelimiter, executor, DEFAULT_LOW_WATERMARK, DEFAULT_HIGH_WATERMARK);
+    }
+
+    /**
+     * Create new {@code AsyncChunkedOutput} with a custom chunk delimiter and custom watermarks.
+     *
+     * @param chunkType      chunk type. Must not be {code null}.
+     * @param chunkDelimiter custom chunk delimiter string. Must not be {code null}.
+     * @param executor       executor used to serialize and flush the chunks. Must not be {code null}.
+     * @param lowWatermark   number of waiting chunks at which a saturated output becomes writable again.
+     * @param highWatermark  number of waiting chunks at which the output becomes saturated. Must be greater than
+     *                       {@code lowWatermark}.
+     * @throws IllegalArgumentException in case the watermarks are not valid.
+     */
+    public AsyncChunkedOutput(final Type chunkType,
+                              final String chunkDelimiter,
+                              final Executor executor,
+                              final int lowWatermark,
+                              final int highWatermark) {
+        super(chunkType, chunkDelimiter);
+        if (executor == null) {
+            throw new NullPointerException(LocalizationMessages.PARAM_NULL("executor"));
+        }
+        if (lowWatermark < 0 || highWatermark <= lowWatermark) {
+            throw new IllegalArgumentException(
+                    LocalizationMessages.CHUNKED_OUTPUT_INVALID_WATERMARKS(lowWatermark, highWatermark));
+        }
+        this.executor = executor;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+    }
+
+    /**
+     * Write a chunk asynchronously.
+     * <p>
+     * The chunk is queued and the method returns immediately. The returned stage completes once the chunk has been
+     * written and the output is not saturated, or completes exceptionally if the chunk could not be written.
+     * </p>
+     *
+     * @param chunk a chunk instance to be written. Must not be {code null}.
+     * @return completion stage of the write.
+     */
+    public CompletionStage<Void> writeAsync(final T chunk) {
+        final CompletableFuture<Void> written = new CompletableFuture<>();
+        try {
+            enqueue(chunk, written);
+        } catch (final IOException | RuntimeException e) {
+            written.completeExceptionally(e);
+        }
+        return written;
+    }
+
+    /**
+     * Write a chunk without waiting for it to be serialized.
+     *
+     * @param chunk a chunk instance to be written.
+     * @throws IOException if this response is closed.
+     * @see #writeAsync(Object)
+     */
+    @Override
+    public void write(final T chunk) throws IOException {
+        if (chunk == null) {
+            super.write(null);
+        } else {
+            enqueue(chunk, new CompletableFuture<>());
+        }
+    }
+
+    /**
+     * Check whether the number of chunks waiting to be written is below the watermarks.
+     *
+     * @return {@code true} if the output is open and not saturated, {@code false} otherwise.
+     */
+    public boolean isWritable() {
+        synchronized (pendingLock) {
+            return !saturated && !isClosed();
+        }
+    }
+
+    @Override
+    protected void flushQueue() throws IOException {
+        try {
+            executor.execute(this::drain);
+        } catch (final RejectedExecutionException e) {
+            // keep the chunks moving even if the executor is shutting down or overloaded, but never write while
+            // holding the pending lock - enqueue() drains once the lock has been released
+            if (Thread.holdsLock(pendingLock)) {
+                drainDeferred = true;
+            } else {
+                drain();
+            }
+        }
+    }
+
+    @Override
+    void onChunkWritten() {
+        final List<CompletableFuture<Void>> release;
+        synchronized (pendingLock) {
+            final CompletableFuture<Void> written = pending.pollFirst();
+            if (saturated) {
+                if (written != null) {
+                    held.add(written);
+                }
+                if (pending.size() > lowWatermark) {
+                    return;
+                }
+                saturated = false;
+                release = new ArrayList<>(held);
+                held.clear();
+            } else {
+                release = written == null
+                        ? Collections.<CompletableFuture<Void>>emptyList() : Collections.singletonList(written);
+            }
+        }
+        // complete outside of the lock - dependent actions may write further chunks
+        for (final CompletableFuture<Void> future : release) {
+            future.complete(null);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncChunkedOutput<" + getType() + ">";
+    }
+
+    private void enqueue(final T chunk, final CompletableFuture<Void> written) throws IOException {
+        if (chunk == null) {
+            throw new NullPointerException(LocalizationMessages.PARAM_NULL("chunk"));
+        }
+        final boolean drain;
+        synchronized (pendingLock) {
+            if (isClosed()) {
+                throw new IOException(LocalizationMessages.CHUNKED_OUTPUT_CLOSED());
+            }
+            pending.addLast(written);
+            if (pending.size() >= highWatermark) {
+                saturated = true;
+            }
+            // the chunk has to be queued while holding the lock to keep the futures in the order of the chunks
+            try {
+                super.write(chunk);
+            } catch (final IOException e) {
+                // closed concurrently
+                pending.pollLast();
+                throw e;
+            }
+            drain = drainDeferred;
+            drainDeferred = false;
+        }
+        if (drain) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        try {
+            super.flushQueue();
+        } catch (final IOException | RuntimeException e) {
+            failPending(e);
+        }
+    }
+
+    private void failPending(final Throwable cause) {
+        final List<CompletableFuture<Void>> failed;
+        synchronized (pendingLock) {
+            failed = new ArrayList<>(held.size() + pending.size());
+            failed.addAll(held);
+            failed.addAll(pending);
+            held.clear();
+            pending.clear();
+            saturated = false;
+        }
+        for (final CompletableFuture<Void> future : failed) {
+            future.completeExceptionally(cause);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -60,6 +60,7 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
     private boolean touchingEntityStream = false;
 
     private volatile boolean closed = false;
+    private volatile Throwable failure;
 
     private volatile AsyncContext asyncContext;
 
@@ -255,6 +256,8 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
                                 // if MBW replaced the stream, let's make sure to set it in the response context.
                                 responseContext.setEntityStream(writtenStream);
                             }
+
+                            onChunkWritten();
                         } catch (final IOException ioe) {
                             connectionCallback.onDisconnect(asyncContext);
                             throw ioe;
@@ -305,7 +308,7 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
                 try {
                     synchronized (lock) {
                         if (!touchingEntityStream) {
-                            responseContext.close();
+                            closeResponse();
                         } // else the next thread will close responseContext
                     }
                 } catch (final Exception e) {
@@ -338,6 +341,31 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         flushQueue();
     }
 
+    /**
+     * Close this response with an error. The chunks written so far are sent, the error is then propagated to the
+     * container instead of completing the response, so that the client does not take the response for a complete one.
+     *
+     * @param error error terminating the response.
+     * @throws IOException when encountered any problem during serializing or writing a chunk.
+     */
+    void close(final Throwable error) throws IOException {
+        failure = error;
+        close();
+    }
+
+    private void closeResponse() {
+        final Throwable error = failure;
+        if (error == null) {
+            responseContext.close();
+            return;
+        }
+        try {
+            requestContext.getResponseWriter().failure(error);
+        } catch (final RuntimeException e) {
+            // the container rethrows the error it has processed
+        }
+    }
+
     /**
      * Get state information.
      *
@@ -350,6 +378,15 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         return closed;
     }
 
+    /**
+     * Invoked by the flushing thread each time a queued chunk has been serialized and flushed to the entity stream.
+     * <p>
+     * The method is never invoked while holding the internal flushing lock.
+     * </p>
+     */
+    void onChunkWritten() {
+    }
+
     /**
      * Executed only in case of close being triggered by client.
      * @param e Exception causing the close
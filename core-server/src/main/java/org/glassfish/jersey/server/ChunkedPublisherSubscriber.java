@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.internal.jsr166.Flow;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.message.internal.FlowPublisherProvider;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+
+/**
+ * Subscriber writing the items of a {@code Flow.Publisher} response entity into an {@link AsyncChunkedOutput}.
+ * <p>
+ * Every item is serialized with its framing on the thread signalling it and handed over to the chunked output. The next
+ * item is requested only once the previous one has been written and the output is not saturated, so neither the container
+ * thread nor the executor thread is blocked waiting for the publisher or the client.
+ * </p>
+ */
+final class ChunkedPublisherSubscriber implements Flow.Subscriber<Object> {
+
+    private static final Logger LOGGER = Logger.getLogger(ChunkedPublisherSubscriber.class.getName());
+
+    private final AsyncChunkedOutput<byte[]> output;
+    private final ContainerResponse response;
+    private final MessageBodyWorkers workers;
+    private final Type itemType;
+
+    private volatile Flow.Subscription subscription;
+
+    private ChunkedPublisherSubscriber(final AsyncChunkedOutput<byte[]> output,
+                                       final ContainerResponse response,
+                                       final MessageBodyWorkers workers) {
+        this.output = output;
+        this.response = response;
+        this.workers = workers;
+        this.itemType = FlowPublisherProvider.itemType(response.getEntityType());
+    }
+
+    /**
+     * Replace the publisher entity of the response with a chunked output fed by the publisher.
+     *
+     * @param response response with a publisher entity.
+     * @param workers  message body workers used to serialize the publisher items.
+     * @param executor executor the chunks are written on.
+     */
+    static void subscribe(final ContainerResponse response, final MessageBodyWorkers workers, final Executor executor) {
+        final Flow.Publisher<Object> publisher = FlowPublisherProvider.toFlowPublisher(response.getEntity());
+        final AsyncChunkedOutput<byte[]> output = new AsyncChunkedOutput<>(byte[].class, executor);
+        final ChunkedPublisherSubscriber subscriber = new ChunkedPublisherSubscriber(output, response, workers);
+
+        response.setEntity(output, response.getEntityAnnotations());
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * Replace the publisher entity of the response with an empty chunked output without subscribing to the publisher,
+     * e.g. for a {@code HEAD} request.
+     *
+     * @param response response with a publisher entity.
+     */
+    static void skip(final ContainerResponse response) {
+        final ChunkedOutput<byte[]> output = new ChunkedOutput<>(byte[].class);
+        try {
+            output.close();
+        } catch (final IOException e) {
+            // not attached to the response yet, nothing is written
+        }
+        response.setEntity(output, response.getEntityAnnotations());
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(final Object item) {
+        final ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        try {
+            FlowPublisherProvider.writeItem(workers, item, itemType, response.getEntityAnnotations(),
+                    response.getMediaType(), response.getHeaders(), chunk);
+        } catch (final IOException | RuntimeException e) {
+            subscription.cancel();
+            onError(e);
+            return;
+        }
+
+        output.writeAsync(chunk.toByteArray()).whenComplete((written, failure) -> {
+            if (failure == null) {
+                subscription.request(1);
+            } else {
+                subscription.cancel();
+            }
+        });
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        LOGGER.log(Level.SEVERE, LocalizationMessages.ERROR_WRITING_RESPONSE_ENTITY(), throwable);
+        try {
+            // the items written so far are sent, the response is then aborted so that it is not taken for a complete one
+            output.close(throwable);
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, LocalizationMessages.ERROR_CLOSING_COMMIT_OUTPUT_STREAM(), e);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        try {
+            output.close();
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, LocalizationMessages.ERROR_CLOSING_COMMIT_OUTPUT_STREAM(), e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server;
+
+import java.util.function.Function;
+
+import org.glassfish.jersey.process.internal.Stage;
+import org.glassfish.jersey.process.internal.Stages;
+import org.glassfish.jersey.server.internal.process.Endpoint;
+import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
+
+/**
+ * Flattened request processing pipeline used instead of the linked stage chain when
+ * {@link ServerProperties#COMPILED_PIPELINE_ENABLED} is set.
+ * <p>
+ * The pipeline runs the request processing stages (pre-matching filtering, routing and post-matching filtering of the
+ * matched resource method) as a fixed sequence. Unlike {@link Stages#process(Object, Stage,
+ * org.glassfish.jersey.internal.util.collection.Ref)} it does not follow the stage continuations, it does not need
+ * a mutable reference to return the endpoint and it reads the matched endpoint directly from the routing context
+ * instead of wrapping it into a terminal stage.
+ * </p>
+ * <p>
+ * The stages are the same instances as used by the linked chain, i.e. they must have been chained already.
+ * A stage continuation without a next stage means that no endpoint has been matched and a continuation to an
+ * {@link org.glassfish.jersey.process.internal.Inflecting inflecting} stage means that a filter aborted the request.
+ * </p>
+ */
+final class CompiledRequestPipeline {
+
+    private final Function<RequestProcessingContext, RequestProcessingContext> initializer;
+    private final Stage<RequestProcessingContext>[] stages;
+
+    /**
+     * Create new compiled pipeline.
+     *
+     * @param initializer request processing context initializer invoked before the first stage.
+     * @param stages      chained request processing stages in the order of execution.
+     */
+    @SafeVarargs
+    CompiledRequestPipeline(final Function<RequestProcessingContext, RequestProcessingContext> initializer,
+                            final Stage<RequestProcessingContext>... stages) {
+        this.initializer = initializer;
+        this.stages = stages;
+    }
+
+    /**
+     * Run the request processing context through the pipeline.
+     * <p>
+     * The request processing stages update and return the request processing context passed in, so the same context
+     * is then used to invoke the returned endpoint.
+     * </p>
+     *
+     * @param context request processing context.
+     * @return endpoint the request should be handed to (either the matched resource method or an abort response endpoint)
+     * or {@code null} if no endpoint has been matched.
+     */
+    Endpoint apply(final RequestProcessingContext context) {
+        RequestProcessingContext data = initializer.apply(context);
+
+        for (final Stage<RequestProcessingContext> stage : stages) {
+            final Stage.Continuation<RequestProcessingContext> continuation = stage.apply(data);
+            data = continuation.result();
+
+            final Stage<RequestProcessingContext> next = continuation.next();
+            if (next == null) {
+                // not found
+                return null;
+            }
+
+            final Endpoint abortEndpoint = Stages.extractInflector(next);
+            if (abortEndpoint != null) {
+                // request processing aborted by a request filter
+                return abortEndpoint;
+            }
+        }
+
+        return data.routingContext().getEndpoint();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,7 +16,9 @@
 
 package org.glassfish.jersey.server;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import javax.ws.rs.container.ContainerRequestFilter;
 import javax.ws.rs.container.ContainerResponseFilter;
@@ -43,8 +45,8 @@ import org.glassfish.jersey.server.monitoring.RequestEvent;
  */
 class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingContext> {
 
-    private final Iterable<RankedProvider<ContainerRequestFilter>> requestFilters;
-    private final Iterable<RankedProvider<ContainerResponseFilter>> responseFilters;
+    private final List<ContainerRequestFilter> requestFilters;
+    private final List<ContainerResponseFilter> responseFilters;
 
     /**
      * Create a new container filtering stage specifying global request and response filters. This stage class
@@ -64,27 +66,28 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
             Iterable<RankedProvider<ContainerRequestFilter>> requestFilters,
             Iterable<RankedProvider<ContainerResponseFilter>> responseFilters) {
 
-        this.requestFilters = requestFilters;
-        this.responseFilters = responseFilters;
+        this.requestFilters = sort(new RankedComparator<>(), requestFilters);
+        this.responseFilters = responseFilters == null
+                ? null : sort(new RankedComparator<>(RankedComparator.Order.DESCENDING), responseFilters);
+    }
+
+    private static <T> List<T> sort(final RankedComparator<T> comparator, final Iterable<RankedProvider<T>> providers) {
+        return StreamSupport.stream(Providers.sortRankedProviders(comparator, providers).spliterator(), false)
+                .collect(Collectors.toList());
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Continuation<RequestProcessingContext> apply(RequestProcessingContext context) {
-        Iterable<ContainerRequestFilter> sortedRequestFilters;
+        final List<ContainerRequestFilter> sortedRequestFilters;
         final boolean postMatching = responseFilters == null;
 
         final ContainerRequest request = context.request();
 
         final TracingLogger tracingLogger = TracingLogger.getInstance(request);
         if (postMatching) {
-            // post-matching
-            final ArrayList<Iterable<RankedProvider<ContainerRequestFilter>>> rankedProviders =
-                    new ArrayList<>(2);
-            rankedProviders.add(requestFilters);
-            rankedProviders.add(request.getRequestFilters());
-            sortedRequestFilters = Providers.mergeAndSortRankedProviders(
-                    new RankedComparator<ContainerRequestFilter>(), rankedProviders);
+            // post-matching - the global and bound filters are already merged for the matched resource method
+            final List<ContainerRequestFilter> resourceMethodFilters = request.getSortedRequestFilters();
+            sortedRequestFilters = resourceMethodFilters != null ? resourceMethodFilters : requestFilters;
 
             context.monitoringEventBuilder().setContainerRequestFilters(sortedRequestFilters);
             context.triggerEvent(RequestEvent.Type.REQUEST_MATCHED);
@@ -93,7 +96,7 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
             // pre-matching (response filter stage is pushed in pre-matching phase, so that if pre-matching filter
             // throws exception, response filters get still invoked)
             context.push(new ResponseFilterStage(context, responseFilters, tracingLogger));
-            sortedRequestFilters = Providers.sortRankedProviders(new RankedComparator<ContainerRequestFilter>(), requestFilters);
+            sortedRequestFilters = requestFilters;
         }
 
         final TracingLogger.Event summaryEvent =
@@ -102,7 +105,8 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
         int processedCount = 0;
         try {
             final TracingLogger.Event filterEvent = (postMatching ? ServerTraceEvent.REQUEST_FILTER : ServerTraceEvent.PRE_MATCH);
-            for (ContainerRequestFilter filter : sortedRequestFilters) {
+            for (int i = 0; i < sortedRequestFilters.size(); i++) {
+                final ContainerRequestFilter filter = sortedRequestFilters.get(i);
                 final long filterTimestamp = tracingLogger.timestamp(filterEvent);
                 try {
                     filter.filter(request);
@@ -139,11 +143,11 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
     private static class ResponseFilterStage extends AbstractChainableStage<ContainerResponse> {
         // TODO remove the field - processing context should be made available on the response chain directly.
         private final RequestProcessingContext processingContext;
-        private final Iterable<RankedProvider<ContainerResponseFilter>> filters;
+        private final List<ContainerResponseFilter> filters;
         private final TracingLogger tracingLogger;
 
         private ResponseFilterStage(final RequestProcessingContext processingContext,
-                                    final Iterable<RankedProvider<ContainerResponseFilter>> filters,
+                                    final List<ContainerResponseFilter> filters,
                                     final TracingLogger tracingLogger) {
             this.processingContext = processingContext;
             this.filters = filters;
@@ -151,22 +155,20 @@ class ContainerFilteringStage extends AbstractChainableStage<RequestProcessingCo
         }
 
         @Override
-        @SuppressWarnings("unchecked")
         public Continuation<ContainerResponse> apply(ContainerResponse responseContext) {
-            final ArrayList<Iterable<RankedProvider<ContainerResponseFilter>>> rankedProviders = new ArrayList<>(2);
-            rankedProviders.add(filters);
-            rankedProviders.add(responseContext.getRequestContext().getResponseFilters());
-            Iterable<ContainerResponseFilter> sortedResponseFilters = Providers.mergeAndSortRankedProviders(
-                    new RankedComparator<ContainerResponseFilter>(RankedComparator.Order.DESCENDING), rankedProviders);
-
             final ContainerRequest request = responseContext.getRequestContext();
+            final List<ContainerResponseFilter> resourceMethodFilters = request.getSortedResponseFilters();
+            final List<ContainerResponseFilter> sortedResponseFilters =
+                    resourceMethodFilters != null ? resourceMethodFilters : filters;
+
             processingContext.monitoringEventBuilder().setContainerResponseFilters(sortedResponseFilters);
             processingContext.triggerEvent(RequestEvent.Type.RESP_FILTERS_START);
 
             final long timestamp = tracingLogger.timestamp(ServerTraceEvent.RESPONSE_FILTER_SUMMARY);
             int processedCount = 0;
             try {
-                for (ContainerResponseFilter filter : sortedResponseFilters) {
+                for (int i = 0; i < sortedResponseFilters.size(); i++) {
+                    final ContainerResponseFilter filter = sortedResponseFilters.get(i);
                     final long filterTimestamp = tracingLogger.timestamp(ServerTraceEvent.RESPONSE_FILTER);
                     try {
                         filter.filter(request, responseContext);
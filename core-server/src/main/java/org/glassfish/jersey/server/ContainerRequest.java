@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -22,7 +22,6 @@ import java.lang.reflect.Type;
 import java.net.URI;
 import java.text.ParseException;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
@@ -66,7 +65,6 @@ import org.glassfish.jersey.message.internal.TracingAwarePropertiesDelegate;
 import org.glassfish.jersey.message.internal.VariantSelector;
 import org.glassfish.jersey.model.internal.CommonConfig;
 import org.glassfish.jersey.model.internal.ComponentBag;
-import org.glassfish.jersey.model.internal.RankedProvider;
 import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
@@ -343,28 +341,27 @@ public class ContainerRequest extends InboundMessageContext
     }
 
     /**
-     * Get all bound request filters applicable to this request.
+     * Get the complete sorted chain of post-matching request filters precomputed for the matched resource method.
      *
-     * @return All bound (dynamically or by name) request filters applicable to the matched inflector (or an empty
-     * collection if no inflector matched yet).
+     * @return sorted global and bound request filters of the matched resource method or {@code null} if no resource
+     * method matched yet.
      */
-    Iterable<RankedProvider<ContainerRequestFilter>> getRequestFilters() {
+    List<ContainerRequestFilter> getSortedRequestFilters() {
         final Inflector<RequestProcessingContext, ContainerResponse> inflector = getInflector();
-        return emptyIfNull(inflector instanceof ResourceMethodInvoker
-                ? ((ResourceMethodInvoker) inflector).getRequestFilters() : null);
+        return inflector instanceof ResourceMethodInvoker
+                ? ((ResourceMethodInvoker) inflector).getSortedRequestFilters() : null;
     }
 
     /**
-     * Get all bound response filters applicable to this request.
-     * This is populated once the right resource method is matched.
+     * Get the complete sorted chain of response filters precomputed for the matched resource method.
      *
-     * @return All bound (dynamically or by name) response filters applicable to the matched inflector (or an empty
-     * collection if no inflector matched yet).
+     * @return sorted global and bound response filters of the matched resource method or {@code null} if no resource
+     * method matched yet.
      */
-    Iterable<RankedProvider<ContainerResponseFilter>> getResponseFilters() {
+    List<ContainerResponseFilter> getSortedResponseFilters() {
         final Inflector<RequestProcessingContext, ContainerResponse> inflector = getInflector();
-        return emptyIfNull(inflector instanceof ResourceMethodInvoker
-                ? ((ResourceMethodInvoker) inflector).getResponseFilters() : null);
+        return inflector instanceof ResourceMethodInvoker
+                ? ((ResourceMethodInvoker) inflector).getSortedResponseFilters() : null;
     }
 
     /**
@@ -399,10 +396,6 @@ public class ContainerRequest extends InboundMessageContext
         return uriRoutingContext.getEndpoint();
     }
 
-    private static <T> Iterable<T> emptyIfNull(final Iterable<T> iterable) {
-        return iterable == null ? Collections.<T>emptyList() : iterable;
-    }
-
     /**
      * Get base request URI.
      *
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -423,6 +423,23 @@ public final class ServerProperties {
      */
     public static final String RESOURCE_VALIDATION_DISABLE = "jersey.config.server.resource.validation.disable";
 
+    /**
+     * Location of the {@link org.glassfish.jersey.server.model.ResourceValidationCache resource validation cache} created
+     * at build time. If the cache matches the resource model of the application, the resource model validation is
+     * skipped on startup. Otherwise the resource model is validated as usual. The resource model is still built on startup,
+     * only its validation is skipped.
+     * <p>
+     * The value is the name of a class path resource or a file path. There is no default value, i.e. the resource model
+     * is always validated (unless disabled by {@link #RESOURCE_VALIDATION_DISABLE}).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String RESOURCE_VALIDATION_CACHE = "jersey.config.server.resource.validation.cache";
+
     /**
      * If {@code true} then validation of application resource models does not fail even in case of a fatal
      * validation errors. All resource model validation issues are still output to the log, unless the resource
@@ -741,6 +758,214 @@ public final class ServerProperties {
     public static final String UNWRAP_COMPLETION_STAGE_IN_WRITER_ENABLE =
             "jersey.config.server.unwrap.completion.stage.writer.enable";
 
+    /**
+     * If {@code true}, requests are processed by a flattened ("compiled") request processing pipeline instead of the
+     * linked chain of processing stages.
+     * <p>
+     * The compiled pipeline runs the pre-matching filters, the routing and the post-matching filters precomputed for
+     * the matched resource method as a fixed sequence and uses a single per-request holder for the responder and the
+     * lazily created asynchronous context. This reduces the number of objects allocated for each request. The observable
+     * request processing behaviour is the same in both modes.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String COMPILED_PIPELINE_ENABLED = "jersey.config.server.pipeline.compiled.enabled";
+
+    /**
+     * If {@code true}, the message body readers and writers for the entity types declared by the resource methods are
+     * selected ahead of time, during the application initialization.
+     * <p>
+     * For each resource method, the writer is selected for the declared return type and each concrete media type the
+     * method {@link javax.ws.rs.Produces produces} and the reader is selected for the declared entity parameter type
+     * and each concrete media type the method {@link javax.ws.rs.Consumes consumes}. At runtime, the selected provider
+     * is reused whenever the entity class, generic type, annotations and media type of the lookup exactly match the
+     * precomputed ones, otherwise the provider is selected as usual. Enable the property only if the
+     * {@code isReadable}/{@code isWriteable} decisions of the registered providers do not depend on the state of the
+     * processed request.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String ENTITY_PROVIDERS_PRECOMPUTED_ENABLED = "jersey.config.server.entityProviders.precomputed.enabled";
+
+    /**
+     * An integer value that defines the maximum size (in bytes) of a response entity for which
+     * {@link org.glassfish.jersey.server.filter.EntityTagFeature} computes a strong entity tag.
+     * <p>
+     * Entities up to this size are buffered while being hashed, so that the response can still be turned into
+     * {@code 304 Not Modified} once the tag is known. Larger entities are streamed without an entity tag.
+     * </p>
+     * <p>
+     * The default value is {@value #ENTITY_TAG_DEFAULT_BUFFER_SIZE}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String ENTITY_TAG_BUFFER_SIZE = "jersey.config.server.etag.bufferSize";
+
+    /**
+     * The default maximum size of a response entity for which an entity tag is computed, i.e. {@value}.
+     *
+     * @see #ENTITY_TAG_BUFFER_SIZE
+     * @since 2.41
+     */
+    public static final int ENTITY_TAG_DEFAULT_BUFFER_SIZE = 65536;
+
+    /**
+     * Maximum number of requests processed concurrently by a container supporting
+     * {@link org.glassfish.jersey.server.admission.AdmissionController admission control}. Requests exceeding the limit are
+     * queued (see {@link #ADMISSION_CONTROL_QUEUE_SIZE}) or rejected with {@code 503 Service Unavailable} and a
+     * {@code Retry-After} header before their entity is read. For the adaptive algorithms
+     * (see {@link #ADMISSION_CONTROL_ALGORITHM}) the value is the initial limit.
+     * <p>
+     * A positive integer value is expected. Admission control is disabled unless the property is set.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String ADMISSION_CONTROL_LIMIT = "jersey.config.server.admission.limit";
+
+    /**
+     * Upper bound of the concurrency limit adjusted by an adaptive admission control algorithm.
+     * <p>
+     * A positive integer value is expected. The default value is ten times the {@link #ADMISSION_CONTROL_LIMIT initial
+     * limit}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String ADMISSION_CONTROL_MAX_LIMIT = "jersey.config.server.admission.maxLimit";
+
+    /**
+     * Algorithm adjusting the admission control concurrency limit. Supported values are:
+     * <ul>
+     * <li>{@code fixed} - the limit is fixed to {@link #ADMISSION_CONTROL_LIMIT},</li>
+     * <li>{@code aimd} - additive increase, multiplicative decrease; the limit is increased while the requests succeed
+     * and decreased whenever a request fails,</li>
+     * <li>{@code vegas} - the limit follows the estimated queue length derived from the ratio between the minimal and
+     * the current request latency,</li>
+     * <li>{@code gradient} - the limit follows the gradient between the long-term average and the current request
+     * latency.</li>
+     * </ul>
+     * <p>
+     * The default value is {@code fixed}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String ADMISSION_CONTROL_ALGORITHM = "jersey.config.server.admission.algorithm";
+
+    /**
+     * Maximum number of requests waiting for admission once the concurrency limit is reached. Requests arriving when
+     * the queue is full are rejected immediately.
+     * <p>
+     * A non-negative integer value is expected. The default value is {@code 0}, i.e. requests exceeding the limit are
+     * rejected immediately.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String ADMISSION_CONTROL_QUEUE_SIZE = "jersey.config.server.admission.queueSize";
+
+    /**
+     * Maximum time in milliseconds a queued request waits for admission before it is rejected.
+     * <p>
+     * A non-negative integer value is expected. The default value is {@value #ADMISSION_CONTROL_DEFAULT_QUEUE_TIMEOUT}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String ADMISSION_CONTROL_QUEUE_TIMEOUT = "jersey.config.server.admission.queueTimeout";
+
+    /**
+     * The default admission queue timeout in milliseconds, i.e. {@value}.
+     *
+     * @see #ADMISSION_CONTROL_QUEUE_TIMEOUT
+     * @since 2.41
+     */
+    public static final int ADMISSION_CONTROL_DEFAULT_QUEUE_TIMEOUT = 1000;
+
+    /**
+     * Number of seconds sent in the {@code Retry-After} header of responses to requests rejected by admission control.
+     * <p>
+     * A positive integer value is expected. The default value is {@code 1}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String ADMISSION_CONTROL_RETRY_AFTER = "jersey.config.server.admission.retryAfter";
+
+    /**
+     * Request paths that bypass admission control, e.g. health checks. The paths are relative to the application base
+     * URI; a request is admitted unconditionally if its path equals any of the configured paths or is nested under it.
+     * <p>
+     * The value is a {@code String} of paths separated by a space, comma, semicolon or new line, or a {@code String[]}.
+     * There is no default value.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String ADMISSION_CONTROL_BYPASS_PATHS = "jersey.config.server.admission.bypassPaths";
+
+    /**
+     * Scope in which admission control limits the number of concurrently processed requests. Supported values are:
+     * <ul>
+     * <li>{@code container} - a supporting container enforces a single limit before the request entity is read,</li>
+     * <li>{@code application} - {@link org.glassfish.jersey.server.admission.OverloadProtectionFeature} enforces a single
+     * limit for all requests right after they are matched to a resource method,</li>
+     * <li>{@code method} - {@link org.glassfish.jersey.server.admission.OverloadProtectionFeature} enforces a separate
+     * limit for each resource method.</li>
+     * </ul>
+     * All the scopes are configured by the other {@code jersey.config.server.admission.*} properties.
+     * <p>
+     * The default value is {@code container}, or {@code application} if the
+     * {@link org.glassfish.jersey.server.admission.OverloadProtectionFeature} is registered.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.41
+     */
+    public static final String ADMISSION_CONTROL_SCOPE = "jersey.config.server.admission.scope";
+
     /**
      * JVM argument to define the value of
      * {@link org.glassfish.jersey.server.internal.monitoring.core.ReservoirConstants#COLLISION_BUFFER_POWER}.
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -64,6 +64,7 @@ import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.internal.util.collection.Refs;
 import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.message.internal.FlowPublisherProvider;
 import org.glassfish.jersey.message.internal.HeaderValueException;
 import org.glassfish.jersey.message.internal.MessageBodyProviderNotFoundException;
 import org.glassfish.jersey.message.internal.OutboundJaxrsResponse;
@@ -105,6 +106,7 @@ import static org.glassfish.jersey.server.AsyncContext.State.SUSPENDED;
 public class ServerRuntime {
 
     private final Stage<RequestProcessingContext> requestProcessingRoot;
+    private final CompiledRequestPipeline compiledPipeline;
     private final ProcessingProviders processingProviders;
 
     private final InjectionManager injectionManager;
@@ -132,6 +134,7 @@ public class ServerRuntime {
             InjectionManager injectionManager,
             ServerBootstrapBag bootstrapBag,
             Stage<RequestProcessingContext> processingRoot,
+            CompiledRequestPipeline compiledPipeline,
             ApplicationEventListener eventListener,
             ProcessingProviders processingProviders) {
 
@@ -143,6 +146,7 @@ public class ServerRuntime {
 
         return new ServerRuntime(
                 processingRoot,
+                compiledPipeline,
                 processingProviders,
                 injectionManager,
                 scheduledExecutorServiceSupplier,
@@ -155,6 +159,7 @@ public class ServerRuntime {
     }
 
     private ServerRuntime(final Stage<RequestProcessingContext> requestProcessingRoot,
+                          final CompiledRequestPipeline compiledPipeline,
                           final ProcessingProviders processingProviders,
                           final InjectionManager injectionManager,
                           final ScheduledExecutorService backgroundScheduler,
@@ -165,6 +170,7 @@ public class ServerRuntime {
                           final ExternalRequestScope externalScope,
                           final Configuration configuration) {
         this.requestProcessingRoot = requestProcessingRoot;
+        this.compiledPipeline = compiledPipeline;
         this.processingProviders = processingProviders;
         this.injectionManager = injectionManager;
 
@@ -223,6 +229,15 @@ public class ServerRuntime {
                 monitoringEventListener);
 
         request.checkState();
+        if (compiledPipeline != null) {
+            final CompiledRequestProcessor processor = new CompiledRequestProcessor(context, this,
+                    requestScope.createContext(), externalRequestScope.open(injectionManager));
+            context.initAsyncContext(processor);
+
+            runInScope(processor.requestContext, processor);
+            return;
+        }
+
         final Responder responder = new Responder(context, ServerRuntime.this);
         final RequestContext requestScopeInstance = requestScope.createContext();
 
@@ -231,44 +246,42 @@ public class ServerRuntime {
                         requestScopeInstance, externalRequestScope.open(injectionManager));
         context.initAsyncContext(asyncResponderHolder);
 
-        try {
-            requestScope.runInScope(requestScopeInstance, new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                        // set base URI into response builder thread-local variable
-                        // for later resolving of relative location URIs
-                        if (!disableLocationHeaderRelativeUriResolution) {
-                            final URI uriToUse =
-                                    rfc7231LocationHeaderRelativeUriResolution ? request.getRequestUri() : request.getBaseUri();
-                            OutboundJaxrsResponse.Builder.setBaseUri(uriToUse);
-                        }
+        runInScope(requestScopeInstance, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    initBaseUri(request);
 
-                        final Ref<Endpoint> endpointRef = Refs.emptyRef();
-                        final RequestProcessingContext data = Stages.process(context, requestProcessingRoot, endpointRef);
+                    final Ref<Endpoint> endpointRef = Refs.emptyRef();
+                    final RequestProcessingContext data = Stages.process(context, requestProcessingRoot, endpointRef);
 
-                        final Endpoint endpoint = endpointRef.get();
-                        if (endpoint == null) {
-                            // not found
-                            throw new NotFoundException();
-                        }
+                    final Endpoint endpoint = endpointRef.get();
+                    if (endpoint == null) {
+                        // not found
+                        throw new NotFoundException();
+                    }
 
-                        final ContainerResponse response = endpoint.apply(data);
+                    final ContainerResponse response = endpoint.apply(data);
 
-                        if (!asyncResponderHolder.isAsync()) {
-                            responder.process(response);
-                        } else {
-                            externalRequestScope.suspend(asyncResponderHolder.externalContext, injectionManager);
-                        }
-                    } catch (final Throwable throwable) {
-                        responder.process(throwable);
-                    } finally {
-                        asyncResponderHolder.release();
-                        // clear base URI from the thread
-                        OutboundJaxrsResponse.Builder.clearBaseUri();
+                    if (!asyncResponderHolder.isAsync()) {
+                        responder.process(response);
+                    } else {
+                        externalRequestScope.suspend(asyncResponderHolder.externalContext, injectionManager);
                     }
+                } catch (final Throwable throwable) {
+                    responder.process(throwable);
+                } finally {
+                    asyncResponderHolder.release();
+                    // clear base URI from the thread
+                    OutboundJaxrsResponse.Builder.clearBaseUri();
                 }
-            });
+            }
+        });
+    }
+
+    private void runInScope(final RequestContext requestScopeInstance, final Runnable task) {
+        try {
+            requestScope.runInScope(requestScopeInstance, task);
         } catch (RuntimeException illegalStateException) {
             if (!IllegalStateException.class.isInstance(illegalStateException.getCause()) || !injectionManager.isShutdown()) {
                 // consume the IllegalStateException: InjectionManager has been closed.
@@ -277,6 +290,19 @@ public class ServerRuntime {
         }
     }
 
+    /**
+     * Set base URI into response builder thread-local variable for later resolving of relative location URIs.
+     *
+     * @param request processed request.
+     */
+    private void initBaseUri(final ContainerRequest request) {
+        if (!disableLocationHeaderRelativeUriResolution) {
+            final URI uriToUse =
+                    rfc7231LocationHeaderRelativeUriResolution ? request.getRequestUri() : request.getBaseUri();
+            OutboundJaxrsResponse.Builder.setBaseUri(uriToUse);
+        }
+    }
+
     /**
      * Get the Jersey server runtime background scheduler.
      *
@@ -346,12 +372,74 @@ public class ServerRuntime {
         }
     }
 
+    /**
+     * Request processor used with the {@link CompiledRequestPipeline compiled request processing pipeline}.
+     * <p>
+     * A single per-request instance serves as the responder, as the task executed in the request scope and as the lazy
+     * {@link AsyncContext} supplier of the request. The {@link AsyncResponder} is created only if the request is
+     * suspended, i.e. if an {@code AsyncResponse} is injected or a {@code CompletionStage} is returned.
+     * </p>
+     */
+    private static final class CompiledRequestProcessor extends Responder implements Runnable, Value<AsyncContext> {
+
+        private final RequestContext requestContext;
+        private final ExternalRequestContext<?> externalContext;
+
+        private volatile AsyncResponder asyncResponder;
+
+        private CompiledRequestProcessor(final RequestProcessingContext processingContext,
+                                         final ServerRuntime runtime,
+                                         final RequestContext requestContext,
+                                         final ExternalRequestContext<?> externalContext) {
+            super(processingContext, runtime);
+            this.requestContext = requestContext;
+            this.externalContext = externalContext;
+        }
+
+        @Override
+        public AsyncContext get() {
+            final AsyncResponder ar = new AsyncResponder(this, requestContext, runtime.externalRequestScope, externalContext);
+            asyncResponder = ar;
+            return ar;
+        }
+
+        @Override
+        public void run() {
+            try {
+                runtime.initBaseUri(processingContext.request());
+
+                final Endpoint endpoint = runtime.compiledPipeline.apply(processingContext);
+                if (endpoint == null) {
+                    // not found
+                    throw new NotFoundException();
+                }
+
+                final ContainerResponse response = endpoint.apply(processingContext);
+
+                final AsyncResponder current = asyncResponder;
+                if (current == null || current.isRunning()) {
+                    process(response);
+                } else {
+                    runtime.externalRequestScope.suspend(externalContext, runtime.injectionManager);
+                }
+            } catch (final Throwable throwable) {
+                process(throwable);
+            } finally {
+                if (asyncResponder == null) {
+                    requestContext.release();
+                }
+                // clear base URI from the thread
+                OutboundJaxrsResponse.Builder.clearBaseUri();
+            }
+        }
+    }
+
     private static class Responder {
 
         private static final Logger LOGGER = Logger.getLogger(Responder.class.getName());
 
-        private final RequestProcessingContext processingContext;
-        private final ServerRuntime runtime;
+        final RequestProcessingContext processingContext;
+        final ServerRuntime runtime;
 
         private final CompletionCallbackRunner completionCallbackRunner = new CompletionCallbackRunner();
         private final ConnectionCallbackRunner connectionCallbackRunner = new ConnectionCallbackRunner();
@@ -623,11 +711,21 @@ public class ServerRuntime {
                 return response;
             }
 
+            final boolean isHead = request.getMethod().equals(HttpMethod.HEAD);
+
+            if (FlowPublisherProvider.isPublisher(response.getEntity().getClass())) {
+                if (isHead) {
+                    // the entity of a HEAD response is not sent, nothing is requested from the publisher
+                    ChunkedPublisherSubscriber.skip(response);
+                } else {
+                    // publisher items are written on demand as chunks, the container thread is not parked on the publisher
+                    ChunkedPublisherSubscriber.subscribe(response, request.getWorkers(), runtime.managedAsyncExecutor.get());
+                }
+            }
+
             final Object entity = response.getEntity();
             boolean skipFinally = false;
 
-            final boolean isHead = request.getMethod().equals(HttpMethod.HEAD);
-
             try {
                 response.setStreamProvider(new OutboundMessageContext.StreamProvider() {
                     @Override
@@ -0,0 +1,407 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.admission;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.internal.util.Tokenizer;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+
+/**
+ * Admission controller limiting the number of requests processed concurrently by a container.
+ * <p>
+ * A container {@link #acquire(String) acquires} a permit before it passes a request to the application and
+ * {@link Permit#release(boolean) releases} the permit once the response has been written. Requests exceeding the
+ * {@link ConcurrencyLimit concurrency limit} wait in a bounded queue for a limited time; requests that cannot be admitted
+ * should be rejected by the container with {@code 503 Service Unavailable} and a {@code Retry-After} header set to
+ * {@link #getRetryAfter()} before their entity is read.
+ * </p>
+ * <p>
+ * The controller is configured by the {@code jersey.config.server.admission.*} properties, see
+ * {@link ServerProperties#ADMISSION_CONTROL_LIMIT}. Besides containers, the controller is used by
+ * {@link OverloadProtectionFeature} to limit the concurrency within the application.
+ * </p>
+ *
+ * @since 2.41
+ */
+public final class AdmissionController {
+
+    /**
+     * Admission of a single request.
+     */
+    public interface Permit {
+
+        /**
+         * Release the permit once the request processing has finished. Subsequent invocations have no effect.
+         *
+         * @param dropped {@code true} if the request failed in a way indicating overload (e.g. server error).
+         */
+        void release(boolean dropped);
+    }
+
+    static final Permit BYPASS_PERMIT = dropped -> {
+        // not counted
+    };
+
+    private final ConcurrencyLimit limit;
+    private final int queueSize;
+    private final long queueTimeoutNanos;
+    private final int retryAfter;
+    private final String[] bypassPaths;
+
+    private final boolean adaptive;
+    // current value of limit.getLimit(), updated on release while holding the limit monitor
+    private volatile int currentLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    // the lock is only used by requests waiting in the admission queue and by releases signalling them
+    private final ReentrantLock queueLock = new ReentrantLock();
+    private final Condition admissionAvailable = queueLock.newCondition();
+    // modified while holding the queue lock
+    private volatile int queued = 0;
+
+    /**
+     * Create new admission controller.
+     *
+     * @param limit            concurrency limit.
+     * @param queueSize        maximum number of requests waiting for admission.
+     * @param queueTimeout     maximum time a request waits for admission.
+     * @param queueTimeoutUnit time unit of the queue timeout.
+     * @param retryAfter       number of seconds sent in the {@code Retry-After} header of rejected requests.
+     * @param bypassPaths      request paths relative to the application base URI that bypass admission control.
+     */
+    public AdmissionController(final ConcurrencyLimit limit,
+                               final int queueSize,
+                               final long queueTimeout,
+                               final TimeUnit queueTimeoutUnit,
+                               final int retryAfter,
+                               final String... bypassPaths) {
+        this.limit = limit;
+        this.adaptive = !(limit instanceof FixedConcurrencyLimit);
+        this.currentLimit = limit.getLimit();
+        this.queueSize = Math.max(0, queueSize);
+        this.queueTimeoutNanos = queueTimeoutUnit.toNanos(Math.max(0, queueTimeout));
+        this.retryAfter = retryAfter;
+        this.bypassPaths = new String[bypassPaths.length];
+        for (int i = 0; i < bypassPaths.length; i++) {
+            this.bypassPaths[i] = stripLeadingSlash(bypassPaths[i]);
+        }
+    }
+
+    /**
+     * Create admission controller configured by the {@code jersey.config.server.admission.*} properties of the given
+     * application configuration.
+     *
+     * @param configuration application configuration.
+     * @return admission controller or {@code null} if admission control is not enabled by
+     * {@link ServerProperties#ADMISSION_CONTROL_LIMIT} or if it is not enforced by the container, see
+     * {@link ServerProperties#ADMISSION_CONTROL_SCOPE}.
+     * @throws IllegalArgumentException if the configuration is not valid.
+     */
+    public static AdmissionController create(final Configuration configuration) {
+        final Map<String, Object> properties = configuration.getProperties();
+        if (getScope(properties, Scope.CONTAINER) != Scope.CONTAINER) {
+            return null;
+        }
+        return create(properties);
+    }
+
+    /**
+     * Create admission controller configured by the {@code jersey.config.server.admission.*} properties regardless of the
+     * configured {@link ServerProperties#ADMISSION_CONTROL_SCOPE scope}.
+     *
+     * @param properties configuration properties.
+     * @return admission controller or {@code null} if admission control is not enabled by
+     * {@link ServerProperties#ADMISSION_CONTROL_LIMIT}.
+     * @throws IllegalArgumentException if the configuration is not valid.
+     */
+    static AdmissionController create(final Map<String, Object> properties) {
+        final Integer initialLimit = ServerProperties.getValue(properties,
+                ServerProperties.ADMISSION_CONTROL_LIMIT, Integer.class);
+        if (initialLimit == null) {
+            return null;
+        }
+        if (initialLimit <= 0) {
+            throw new IllegalArgumentException(LocalizationMessages.ADMISSION_CONTROL_LIMIT_INVALID(initialLimit));
+        }
+        final int maxLimit = ServerProperties.getValue(properties,
+                ServerProperties.ADMISSION_CONTROL_MAX_LIMIT, 10 * initialLimit, Integer.class);
+
+        final String algorithm = ServerProperties.getValue(properties,
+                ServerProperties.ADMISSION_CONTROL_ALGORITHM, "fixed", String.class);
+        final ConcurrencyLimit limit;
+        switch (algorithm.toLowerCase(Locale.ROOT)) {
+            case "fixed":
+                limit = new FixedConcurrencyLimit(initialLimit);
+                break;
+            case "aimd":
+                limit = new AimdConcurrencyLimit(initialLimit, maxLimit);
+                break;
+            case "vegas":
+                limit = new VegasConcurrencyLimit(initialLimit, maxLimit);
+                break;
+            case "gradient":
+                limit = new GradientConcurrencyLimit(initialLimit, maxLimit);
+                break;
+            default:
+                throw new IllegalArgumentException(LocalizationMessages.ADMISSION_CONTROL_ALGORITHM_UNKNOWN(algorithm));
+        }
+
+        final Object bypass = properties.get(ServerProperties.ADMISSION_CONTROL_BYPASS_PATHS);
+        final String[] bypassPaths;
+        if (bypass instanceof String) {
+            bypassPaths = Tokenizer.tokenize((String) bypass);
+        } else if (bypass instanceof String[]) {
+            bypassPaths = Tokenizer.tokenize((String[]) bypass);
+        } else {
+            bypassPaths = new String[0];
+        }
+
+        return new AdmissionController(limit,
+                ServerProperties.getValue(properties, ServerProperties.ADMISSION_CONTROL_QUEUE_SIZE, 0, Integer.class),
+                ServerProperties.getValue(properties, ServerProperties.ADMISSION_CONTROL_QUEUE_TIMEOUT,
+                        ServerProperties.ADMISSION_CONTROL_DEFAULT_QUEUE_TIMEOUT, Integer.class),
+                TimeUnit.MILLISECONDS,
+                ServerProperties.getValue(properties, ServerProperties.ADMISSION_CONTROL_RETRY_AFTER, 1, Integer.class),
+                bypassPaths);
+    }
+
+    /**
+     * Get the configured {@link ServerProperties#ADMISSION_CONTROL_SCOPE admission control scope}.
+     *
+     * @param properties   configuration properties.
+     * @param defaultScope scope used if the property is not set.
+     * @return admission control scope.
+     * @throws IllegalArgumentException if the configured scope is not supported.
+     */
+    static Scope getScope(final Map<String, Object> properties, final Scope defaultScope) {
+        final String scope = ServerProperties.getValue(properties, ServerProperties.ADMISSION_CONTROL_SCOPE, String.class);
+        if (scope == null) {
+            return defaultScope;
+        }
+        switch (scope.toLowerCase(Locale.ROOT)) {
+            case "container":
+                return Scope.CONTAINER;
+            case "application":
+                return Scope.APPLICATION;
+            case "method":
+                return Scope.METHOD;
+            default:
+                throw new IllegalArgumentException(LocalizationMessages.ADMISSION_CONTROL_SCOPE_UNKNOWN(scope));
+        }
+    }
+
+    /**
+     * Supported {@link ServerProperties#ADMISSION_CONTROL_SCOPE admission control scopes}.
+     */
+    enum Scope {
+        CONTAINER, APPLICATION, METHOD
+    }
+
+    /**
+     * Acquire a permit to process a request, waiting in the admission queue if the concurrency limit has been reached.
+     *
+     * @param path request path relative to the application base URI, used to determine whether the request bypasses
+     *             admission control.
+     * @return permit to be released once the request has been processed or {@code null} if the request has been rejected.
+     */
+    public Permit acquire(final String path) {
+        return acquire(path, true);
+    }
+
+    /**
+     * Acquire a permit to process a request without waiting in the admission queue.
+     *
+     * @param path request path relative to the application base URI, used to determine whether the request bypasses
+     *             admission control.
+     * @return permit to be released once the request has been processed or {@code null} if the concurrency limit has been
+     * reached.
+     */
+    public Permit tryAcquire(final String path) {
+        return acquire(path, false);
+    }
+
+    private Permit acquire(final String path, final boolean wait) {
+        if (isBypassed(path)) {
+            return BYPASS_PERMIT;
+        }
+
+        // fast path: admit without locking unless other requests are already waiting in the queue
+        if (queued == 0 || !wait) {
+            final int admittedInFlight = tryAdmit();
+            if (admittedInFlight > 0) {
+                return permit(admittedInFlight);
+            }
+        }
+        if (!wait || queueSize == 0 || queueTimeoutNanos == 0) {
+            rejected.incrementAndGet();
+            return null;
+        }
+
+        queueLock.lock();
+        try {
+            if (queued >= queueSize) {
+                rejected.incrementAndGet();
+                return null;
+            }
+            queued++;
+            try {
+                long nanos = queueTimeoutNanos;
+                int admittedInFlight;
+                while ((admittedInFlight = tryAdmit()) == 0) {
+                    if (nanos <= 0) {
+                        rejected.incrementAndGet();
+                        return null;
+                    }
+                    nanos = admissionAvailable.awaitNanos(nanos);
+                }
+                return permit(admittedInFlight);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected.incrementAndGet();
+                return null;
+            } finally {
+                queued--;
+            }
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Increment the number of requests in flight unless the concurrency limit has been reached.
+     *
+     * @return number of requests in flight including the admitted one or {@code 0} if the request has not been admitted.
+     */
+    private int tryAdmit() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= currentLimit) {
+                return 0;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    private Permit permit(final int admittedInFlight) {
+        final long start = System.nanoTime();
+        final AtomicBoolean released = new AtomicBoolean();
+        return dropped -> {
+            if (released.compareAndSet(false, true)) {
+                release(System.nanoTime() - start, admittedInFlight, dropped);
+            }
+        };
+    }
+
+    private void release(final long rttNanos, final int admittedInFlight, final boolean dropped) {
+        if (adaptive) {
+            synchronized (limit) {
+                limit.onSample(rttNanos, admittedInFlight, dropped);
+                currentLimit = limit.getLimit();
+            }
+        }
+        inFlight.decrementAndGet();
+
+        if (queued > 0) {
+            // waiters check the limit while holding the lock, the signal cannot get lost
+            queueLock.lock();
+            try {
+                admissionAvailable.signalAll();
+            } finally {
+                queueLock.unlock();
+            }
+        }
+    }
+
+    private boolean isBypassed(final String path) {
+        if (bypassPaths.length == 0 || path == null) {
+            return false;
+        }
+        final String relativePath = stripLeadingSlash(path);
+        for (final String bypassPath : bypassPaths) {
+            if (relativePath.startsWith(bypassPath)
+                    && (relativePath.length() == bypassPath.length()
+                        || bypassPath.endsWith("/")
+                        || relativePath.charAt(bypassPath.length()) == '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripLeadingSlash(final String path) {
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    /**
+     * Get the number of seconds to be sent in the {@code Retry-After} header of rejected requests.
+     *
+     * @return retry-after delay in seconds.
+     */
+    public int getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Get the current concurrency limit.
+     *
+     * @return current concurrency limit.
+     */
+    public int getLimit() {
+        return currentLimit;
+    }
+
+    /**
+     * Get the number of requests currently being processed.
+     *
+     * @return number of admitted requests in flight.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Get the number of requests currently waiting for admission.
+     *
+     * @return number of queued requests.
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * Get the total number of rejected requests.
+     *
+     * @return number of rejected requests.
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Priority of the requests to the annotated resource method (or all resource methods of the annotated resource class)
+ * when {@link OverloadProtectionFeature overload protection} limits the number of concurrently processed requests.
+ * An annotation on the resource method takes precedence over an annotation on its resource class. Resource methods
+ * without the annotation have the {@link Level#NORMAL normal} priority.
+ *
+ * @since 2.41
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AdmissionPriority {
+
+    /**
+     * Priority of the requests.
+     *
+     * @return admission priority level.
+     */
+    Level value();
+
+    /**
+     * Admission priority levels.
+     */
+    enum Level {
+        /**
+         * Requests are always admitted and are not counted towards the concurrency limit, e.g. health checks or
+         * endpoints needed to recover the service.
+         */
+        CRITICAL,
+        /**
+         * Requests exceeding the concurrency limit wait in the admission queue, if configured, before they are rejected.
+         */
+        NORMAL,
+        /**
+         * Requests exceeding the concurrency limit are rejected immediately, leaving the admission queue to the requests
+         * of higher priority.
+         */
+        SHEDDABLE
+    }
+}
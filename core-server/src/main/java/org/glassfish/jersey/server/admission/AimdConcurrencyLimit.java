@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.admission;
+
+/**
+ * Additive increase, multiplicative decrease concurrency limit.
+ * <p>
+ * The limit grows by one for each successful request completed while at least half of the limit was in use and it is
+ * multiplied by the backoff ratio for each dropped request.
+ * </p>
+ *
+ * @since 2.41
+ */
+public final class AimdConcurrencyLimit implements ConcurrencyLimit {
+
+    /**
+     * Default ratio the limit is multiplied by when a request is dropped.
+     */
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private int limit;
+
+    /**
+     * Create new AIMD concurrency limit with the {@link #DEFAULT_BACKOFF_RATIO default backoff ratio}.
+     *
+     * @param initialLimit initial limit.
+     * @param maxLimit     upper bound of the limit.
+     */
+    public AimdConcurrencyLimit(final int initialLimit, final int maxLimit) {
+        this(initialLimit, 1, maxLimit, DEFAULT_BACKOFF_RATIO);
+    }
+
+    /**
+     * Create new AIMD concurrency limit.
+     *
+     * @param initialLimit initial limit.
+     * @param minLimit     lower bound of the limit.
+     * @param maxLimit     upper bound of the limit.
+     * @param backoffRatio ratio the limit is multiplied by when a request is dropped, between {@code 0} and {@code 1}.
+     */
+    public AimdConcurrencyLimit(final int initialLimit, final int minLimit, final int maxLimit, final double backoffRatio) {
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio");
+        }
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void onSample(final long rttNanos, final int inFlight, final boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AimdConcurrencyLimit{limit=" + limit + '}';
+    }
+}
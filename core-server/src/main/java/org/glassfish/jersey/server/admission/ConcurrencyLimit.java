@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.admission;
+
+/**
+ * Algorithm determining the maximum number of requests processed concurrently.
+ * <p>
+ * The limit is sampled and updated by {@link AdmissionController} while holding the monitor of the limit instance;
+ * implementations do not need to be thread-safe. Admission decisions use the limit value read after the last sample, so
+ * that admitting a request does not require any locking.
+ * </p>
+ *
+ * @since 2.41
+ */
+public interface ConcurrencyLimit {
+
+    /**
+     * Get the current concurrency limit.
+     *
+     * @return current limit, always positive.
+     */
+    int getLimit();
+
+    /**
+     * Update the limit with a completed request.
+     *
+     * @param rttNanos request processing time in nanoseconds.
+     * @param inFlight number of requests in flight when the completed request has been admitted, including the request.
+     * @param dropped  {@code true} if the request failed in a way indicating overload (e.g. server error).
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped);
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.admission;
+
+/**
+ * Concurrency limit that never changes.
+ *
+ * @since 2.41
+ */
+public final class FixedConcurrencyLimit implements ConcurrencyLimit {
+
+    private final int limit;
+
+    /**
+     * Create new fixed concurrency limit.
+     *
+     * @param limit maximum number of concurrently processed requests.
+     */
+    public FixedConcurrencyLimit(final int limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public void onSample(final long rttNanos, final int inFlight, final boolean dropped) {
+        // fixed
+    }
+
+    @Override
+    public String toString() {
+        return "FixedConcurrencyLimit{limit=" + limit + '}';
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.admission;
+
+/**
+ * Concurrency limit following the gradient between the long-term average latency and the latency of the latest request.
+ * <p>
+ * While the latest latency stays close to the long-term average the limit grows by the square root of the limit, which
+ * allows for a small queue. Once the latency rises above the tolerated multiple of the average, the limit is reduced
+ * proportionally to the gradient (but at most by half per sample). Changes of the limit are smoothed. The long-term
+ * average is pulled down whenever the latency drops well below it so that the limit recovers quickly after the
+ * application has become faster.
+ * </p>
+ *
+ * @since 2.41
+ */
+public final class GradientConcurrencyLimit implements ConcurrencyLimit {
+
+    /**
+     * Default multiple of the long-term average latency that is tolerated before the limit is reduced.
+     */
+    public static final double DEFAULT_TOLERANCE = 1.5;
+
+    private static final double SMOOTHING = 0.2;
+    private static final int LONG_WINDOW = 600;
+
+    private final int maxLimit;
+    private final double tolerance;
+    private double limit;
+    private double longRttNanos;
+    private int samples = 0;
+
+    /**
+     * Create new gradient concurrency limit with the {@link #DEFAULT_TOLERANCE default tolerance}.
+     *
+     * @param initialLimit initial limit.
+     * @param maxLimit     upper bound of the limit.
+     */
+    public GradientConcurrencyLimit(final int initialLimit, final int maxLimit) {
+        this(initialLimit, maxLimit, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Create new gradient concurrency limit.
+     *
+     * @param initialLimit initial limit.
+     * @param maxLimit     upper bound of the limit.
+     * @param tolerance    multiple of the long-term average latency that is tolerated before the limit is reduced,
+     *                     at least {@code 1}.
+     */
+    public GradientConcurrencyLimit(final int initialLimit, final int maxLimit, final double tolerance) {
+        if (tolerance < 1) {
+            throw new IllegalArgumentException("tolerance");
+        }
+        this.maxLimit = Math.max(1, maxLimit);
+        this.tolerance = tolerance;
+        this.limit = Math.min(this.maxLimit, Math.max(1, initialLimit));
+    }
+
+    @Override
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    @Override
+    public void onSample(final long rttNanos, final int inFlight, final boolean dropped) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (samples < LONG_WINDOW) {
+            samples++;
+        }
+        longRttNanos += (rttNanos - longRttNanos) / samples;
+        if (longRttNanos > 2 * rttNanos) {
+            // the application has become faster, do not let the stale average hold the limit back
+            longRttNanos *= 0.95;
+        }
+
+        if (!dropped && inFlight * 2 < limit) {
+            // the limit is not being used, there is nothing to learn from the sample
+            return;
+        }
+
+        final double gradient = dropped ? 0.5 : Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+        final double newLimit = limit * gradient + Math.sqrt(limit);
+        limit = Math.min(maxLimit, Math.max(1, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+    }
+
+    @Override
+    public String toString() {
+        return "GradientConcurrencyLimit{limit=" + getLimit() + ", longRtt=" + (long) longRttNanos + "ns}";
+    }
+}
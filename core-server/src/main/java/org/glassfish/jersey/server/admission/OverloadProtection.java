@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.admission;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.ResourceMethod;
+
+/**
+ * Admission controllers of the {@link OverloadProtectionFeature overload protection} of an application.
+ * <p>
+ * Depending on the configured {@link org.glassfish.jersey.server.ServerProperties#ADMISSION_CONTROL_SCOPE scope} the
+ * requests share a single {@link AdmissionController admission controller} or each resource method gets its own one.
+ * The controllers are created from the {@code jersey.config.server.admission.*} properties.
+ * </p>
+ *
+ * @since 2.41
+ */
+public final class OverloadProtection {
+
+    /**
+     * Name of the admission controller shared by all resource methods in the {@code application} scope.
+     */
+    public static final String APPLICATION_CONTROLLER = "Application";
+
+    private final Map<String, Object> properties;
+    private final int retryAfter;
+    private final AdmissionController applicationController;
+    private final ConcurrentMap<ResourceMethod, MethodAdmission> methods = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AdmissionController> controllers = new ConcurrentHashMap<>();
+
+    /**
+     * Create overload protection.
+     *
+     * @param properties configuration properties.
+     * @param perMethod  {@code true} if each resource method should get its own admission controller.
+     */
+    OverloadProtection(final Map<String, Object> properties, final boolean perMethod) {
+        this.properties = new HashMap<>(properties);
+        this.retryAfter = ServerProperties.getValue(properties,
+                ServerProperties.ADMISSION_CONTROL_RETRY_AFTER, 1, Integer.class);
+        if (perMethod) {
+            this.applicationController = null;
+        } else {
+            this.applicationController = AdmissionController.create(properties);
+            controllers.put(APPLICATION_CONTROLLER, applicationController);
+        }
+    }
+
+    /**
+     * Acquire a permit to process a request matched to the given resource method.
+     *
+     * @param resourceMethod matched resource method.
+     * @param path           request path relative to the application base URI.
+     * @return permit to be released once the request has been processed, {@code null} if the request has been rejected.
+     */
+    AdmissionController.Permit acquire(final ResourceMethod resourceMethod, final String path) {
+        final MethodAdmission admission = methods.computeIfAbsent(resourceMethod, this::createAdmission);
+        switch (admission.level) {
+            case CRITICAL:
+                return AdmissionController.BYPASS_PERMIT;
+            case SHEDDABLE:
+                return admission.controller.tryAcquire(path);
+            default:
+                return admission.controller.acquire(path);
+        }
+    }
+
+    /**
+     * Get the number of seconds to be sent in the {@code Retry-After} header of rejected requests.
+     *
+     * @return retry-after delay in seconds.
+     */
+    int getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Get the admission controllers created so far, keyed by their names. The controller shared by all resource
+     * methods is named {@value #APPLICATION_CONTROLLER}; the controllers of individual resource methods are named after
+     * the resource method and its HTTP method, e.g. {@code com.example.Orders.get[GET]}. Per-method controllers are
+     * created lazily when the resource method is requested for the first time.
+     *
+     * @return unmodifiable view of the admission controllers.
+     */
+    public Map<String, AdmissionController> getAdmissionControllers() {
+        return Collections.unmodifiableMap(controllers);
+    }
+
+    private MethodAdmission createAdmission(final ResourceMethod resourceMethod) {
+        final AdmissionPriority.Level level = getPriority(resourceMethod.getInvocable());
+        if (applicationController != null || level == AdmissionPriority.Level.CRITICAL) {
+            return new MethodAdmission(applicationController, level);
+        }
+
+        final AdmissionController controller = AdmissionController.create(properties);
+        final String name = getName(resourceMethod);
+        String uniqueName = name;
+        for (int i = 2; controllers.putIfAbsent(uniqueName, controller) != null; i++) {
+            uniqueName = name + '#' + i;
+        }
+        return new MethodAdmission(controller, level);
+    }
+
+    private static AdmissionPriority.Level getPriority(final Invocable invocable) {
+        AdmissionPriority priority = getAnnotation(invocable.getHandlingMethod());
+        if (priority == null) {
+            priority = getAnnotation(invocable.getDefinitionMethod());
+        }
+        if (priority == null) {
+            priority = invocable.getHandler().getHandlerClass().getAnnotation(AdmissionPriority.class);
+        }
+        return priority == null ? AdmissionPriority.Level.NORMAL : priority.value();
+    }
+
+    private static AdmissionPriority getAnnotation(final Method method) {
+        return method == null ? null : method.getAnnotation(AdmissionPriority.class);
+    }
+
+    private static String getName(final ResourceMethod resourceMethod) {
+        final Invocable invocable = resourceMethod.getInvocable();
+        final Method method = invocable.getDefinitionMethod();
+        return invocable.getHandler().getHandlerClass().getName()
+                + (method == null ? "" : '.' + method.getName())
+                + '[' + resourceMethod.getHttpMethod() + ']';
+    }
+
+    private static final class MethodAdmission {
+
+        private final AdmissionController controller;
+        private final AdmissionPriority.Level level;
+
+        private MethodAdmission(final AdmissionController controller, final AdmissionPriority.Level level) {
+            this.controller = controller;
+            this.level = level;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.admission;
+
+import java.util.Map;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.internal.inject.AbstractBinder;
+import org.glassfish.jersey.server.ServerProperties;
+
+/**
+ * Feature protecting the application from overload by limiting the number of concurrently processed requests.
+ * <p>
+ * Unlike container-level admission control, the limit is enforced by the application itself right after a request has
+ * been matched to a resource method, hence it works with any container. Depending on the
+ * {@link ServerProperties#ADMISSION_CONTROL_SCOPE scope} a single limit applies to all requests ({@code application},
+ * the default) or each resource method gets its own limit ({@code method}). The limits are configured by the
+ * {@code jersey.config.server.admission.*} properties, see {@link ServerProperties#ADMISSION_CONTROL_LIMIT}; adaptive
+ * algorithms adjust them to the observed latency and server errors. Requests exceeding the limit wait in the admission
+ * queue or are rejected with {@code 503 Service Unavailable} and a {@code Retry-After} header.
+ * </p>
+ * <p>
+ * Resource methods can be given a different {@link AdmissionPriority priority}, e.g. to always admit requests to
+ * critical endpoints. The state of the limits is available via {@link OverloadProtection} and, if JMX monitoring is
+ * enabled, exposed by the {@link org.glassfish.jersey.server.monitoring.AdmissionControlMXBean admission control MXBeans}.
+ * </p>
+ * <p>
+ * The feature is disabled unless {@link ServerProperties#ADMISSION_CONTROL_LIMIT} is set or if the scope is set to
+ * {@code container}.
+ * </p>
+ *
+ * @since 2.41
+ */
+public class OverloadProtectionFeature implements Feature {
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        final Map<String, Object> properties = context.getConfiguration().getProperties();
+        final AdmissionController.Scope scope = AdmissionController.getScope(properties, AdmissionController.Scope.APPLICATION);
+        if (scope == AdmissionController.Scope.CONTAINER
+                || ServerProperties.getValue(properties, ServerProperties.ADMISSION_CONTROL_LIMIT, Integer.class) == null) {
+            return false;
+        }
+        if (!properties.containsKey(ServerProperties.ADMISSION_CONTROL_SCOPE)) {
+            // the limit is enforced by the application, containers must not enforce it once more
+            context.property(ServerProperties.ADMISSION_CONTROL_SCOPE, "application");
+        }
+
+        final OverloadProtection protection = new OverloadProtection(properties, scope == AdmissionController.Scope.METHOD);
+        context.register(new OverloadProtectionFilter(protection));
+        context.register(new OverloadProtectionListener());
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(protection).to(OverloadProtection.class);
+            }
+        });
+        return true;
+    }
+}
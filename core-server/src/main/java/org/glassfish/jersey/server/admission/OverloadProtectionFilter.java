@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.admission;
+
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import javax.annotation.Priority;
+
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.model.ResourceMethod;
+
+/**
+ * Request filter admitting the matched requests by the {@link OverloadProtection overload protection}. Requests that are
+ * not admitted are aborted with {@code 503 Service Unavailable} before their entity is read.
+ * <p>
+ * The filter runs right after the request has been matched, as the first post-matching filter, so that the
+ * {@link AdmissionPriority priority} and, in the {@code method} scope, the admission controller of the matched resource
+ * method can be determined. The permit of an admitted request is released by {@link OverloadProtectionListener} once the
+ * request processing has finished.
+ * </p>
+ */
+@Priority(Priorities.AUTHENTICATION - 100)
+final class OverloadProtectionFilter implements ContainerRequestFilter {
+
+    /**
+     * Name of the request property holding the admission permit of the request.
+     */
+    static final String PERMIT_PROPERTY = OverloadProtectionFilter.class.getName() + ".permit";
+
+    private final OverloadProtection protection;
+
+    OverloadProtectionFilter(final OverloadProtection protection) {
+        this.protection = protection;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        final ContainerRequest request = (ContainerRequest) requestContext;
+        final ResourceMethod resourceMethod = request.getUriInfo().getMatchedResourceMethod();
+        if (resourceMethod == null) {
+            return;
+        }
+
+        final AdmissionController.Permit permit = protection.acquire(resourceMethod, request.getPath(true));
+        if (permit == null) {
+            requestContext.abortWith(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, protection.getRetryAfter())
+                    .build());
+        } else {
+            requestContext.setProperty(PERMIT_PROPERTY, permit);
+        }
+    }
+}
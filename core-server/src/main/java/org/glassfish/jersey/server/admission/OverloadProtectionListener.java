@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.admission;
+
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+/**
+ * Event listener releasing the admission permits acquired by {@link OverloadProtectionFilter} once the request processing
+ * has finished, including asynchronous and failed requests. The latency of the request and whether it failed with a
+ * server error is fed to the {@link ConcurrencyLimit concurrency limit} of the admission controller.
+ */
+final class OverloadProtectionListener implements ApplicationEventListener, RequestEventListener {
+
+    @Override
+    public void onEvent(final ApplicationEvent event) {
+        // not interested
+    }
+
+    @Override
+    public RequestEventListener onRequest(final RequestEvent requestEvent) {
+        return this;
+    }
+
+    @Override
+    public void onEvent(final RequestEvent event) {
+        if (event.getType() != RequestEvent.Type.FINISHED) {
+            return;
+        }
+        final Object permit = event.getContainerRequest().getProperty(OverloadProtectionFilter.PERMIT_PROPERTY);
+        if (permit instanceof AdmissionController.Permit) {
+            final ContainerResponse response = event.getContainerResponse();
+            ((AdmissionController.Permit) permit).release(response == null || response.getStatus() >= 500);
+        }
+    }
+}
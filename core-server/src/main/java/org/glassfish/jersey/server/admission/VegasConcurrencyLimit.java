@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.admission;
+
+/**
+ * Concurrency limit inspired by TCP Vegas congestion avoidance.
+ * <p>
+ * The number of queued requests is estimated as {@code limit * (1 - minRtt / rtt)}, where {@code minRtt} is the lowest
+ * latency observed (the latency without queueing). The limit grows while the estimated queue is short and shrinks once
+ * it gets long or when a request is dropped. The minimal latency is re-sampled periodically so that the limit follows
+ * permanent changes of the latency of the application.
+ * </p>
+ *
+ * @since 2.41
+ */
+public final class VegasConcurrencyLimit implements ConcurrencyLimit {
+
+    private static final int PROBE_INTERVAL = 1000;
+
+    private final int maxLimit;
+    private double limit;
+    private long minRttNanos = Long.MAX_VALUE;
+    private int samples = 0;
+
+    /**
+     * Create new Vegas concurrency limit.
+     *
+     * @param initialLimit initial limit.
+     * @param maxLimit     upper bound of the limit.
+     */
+    public VegasConcurrencyLimit(final int initialLimit, final int maxLimit) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(1, initialLimit));
+    }
+
+    @Override
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    @Override
+    public void onSample(final long rttNanos, final int inFlight, final boolean dropped) {
+        if (++samples >= PROBE_INTERVAL) {
+            // forget the minimal latency, the application may have become permanently slower
+            samples = 0;
+            minRttNanos = rttNanos;
+        }
+        if (rttNanos <= 0) {
+            return;
+        }
+        minRttNanos = Math.min(minRttNanos, rttNanos);
+
+        final double log = Math.max(1, Math.log10(limit));
+        if (dropped) {
+            limit = Math.max(1, limit - log);
+            return;
+        }
+        if (inFlight * 2 < limit) {
+            // the limit is not being used, there is nothing to learn from the sample
+            return;
+        }
+
+        final double queue = Math.ceil(limit * (1 - (double) minRttNanos / rttNanos));
+        if (queue <= log) {
+            limit += 6 * log;
+        } else if (queue < 3 * log) {
+            limit += log;
+        } else if (queue > 6 * log) {
+            limit -= log;
+        }
+        limit = Math.min(maxLimit, Math.max(1, limit));
+    }
+
+    @Override
+    public String toString() {
+        return "VegasConcurrencyLimit{limit=" + getLimit() + ", minRtt=" + minRttNanos + "ns}";
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.filter;
+
+import java.lang.reflect.Method;
+
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+
+/**
+ * Feature computing strong entity tags of responses and answering conditional {@code GET} and {@code HEAD}
+ * requests with {@code 304 Not Modified}.
+ * <p>
+ * The feature works on two levels:
+ * <ul>
+ * <li>Resource methods (or resource classes) annotated with {@link EntityVersion &#64;EntityVersion} declare a cheap
+ * {@link EntityVersionSupplier version supplier}. The supplier is consulted before the resource method is invoked and,
+ * if the computed entity tag matches the request preconditions, the request is answered right away without invoking
+ * the resource method or serializing the entity.</li>
+ * <li>For all other successful {@code GET} and {@code HEAD} responses that do not declare an {@code ETag} header already,
+ * the entity tag is computed as a hash of the serialized entity while it is being written. Entities of up to
+ * {@link ServerProperties#ENTITY_TAG_BUFFER_SIZE} bytes are held back until the tag is known, so that the response can
+ * still be turned into {@code 304 Not Modified} if the tag matches the {@code If-None-Match} request header. Larger
+ * entities are streamed to the client without an entity tag.</li>
+ * </ul>
+ * Responses with a {@code Content-Encoding} and {@link org.glassfish.jersey.server.ChunkedOutput chunked} responses
+ * are never hashed.
+ * </p>
+ *
+ * @since 2.41
+ */
+public class EntityTagFeature implements Feature {
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        final int bufferSize = ServerProperties.getValue(context.getConfiguration().getProperties(),
+                ServerProperties.ENTITY_TAG_BUFFER_SIZE, ServerProperties.ENTITY_TAG_DEFAULT_BUFFER_SIZE, Integer.class);
+
+        context.register(new EntityTagInterceptor(bufferSize));
+        context.register(new EntityVersionDynamicFeature());
+        return true;
+    }
+
+    /**
+     * Binds {@link EntityVersionFilter} to resource methods declaring an {@link EntityVersion}.
+     */
+    private static final class EntityVersionDynamicFeature implements DynamicFeature {
+
+        @Override
+        public void configure(final ResourceInfo resourceInfo, final FeatureContext context) {
+            final Method method = resourceInfo.getResourceMethod();
+            EntityVersion version = method.getAnnotation(EntityVersion.class);
+            if (version == null) {
+                version = resourceInfo.getResourceClass().getAnnotation(EntityVersion.class);
+            }
+            if (version == null) {
+                return;
+            }
+
+            final EntityVersionSupplier supplier;
+            try {
+                supplier = version.value().getConstructor().newInstance();
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalArgumentException(
+                        LocalizationMessages.ENTITY_VERSION_SUPPLIER_INSTANTIATION_FAILED(version.value().getName(), method), e);
+            }
+            context.register(new EntityVersionFilter(supplier));
+        }
+    }
+}
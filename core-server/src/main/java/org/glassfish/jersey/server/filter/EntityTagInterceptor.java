@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import javax.annotation.Priority;
+
+import org.glassfish.jersey.server.ContainerResponse;
+
+/**
+ * Computes strong entity tags of response entities as a hash of the serialized bytes.
+ * <p>
+ * The response filter part selects the candidate responses; the writer interceptor part hashes the entity while it
+ * is being written. As long as the entity fits into the configured buffer, its bytes are held back, the {@code ETag}
+ * header is added once the entity is complete and the response status is replaced with the result of the precondition
+ * evaluation (typically {@code 304 Not Modified}) in which case the entity is discarded. The response is not committed
+ * before that decision, as no bytes reach the underlying {@link org.glassfish.jersey.message.internal.CommittingOutputStream}.
+ * </p>
+ * <p>
+ * The interceptor is placed before the entity coding interceptors so that it sees the bytes actually sent to the client.
+ * </p>
+ *
+ * @see EntityTagFeature
+ */
+@Priority(Priorities.HEADER_DECORATOR)
+final class EntityTagInterceptor implements ContainerResponseFilter, WriterInterceptor {
+
+    private static final String RESPONSE_PROPERTY = EntityTagInterceptor.class.getName() + ".response";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final int bufferSize;
+
+    /**
+     * Create new interceptor.
+     *
+     * @param bufferSize maximum size of an entity (in bytes) for which the entity tag is computed.
+     */
+    EntityTagInterceptor(final int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext)
+            throws IOException {
+        if (bufferSize > 0
+                && responseContext instanceof ContainerResponse
+                && isConditional(requestContext.getMethod())
+                && responseContext.getStatus() == Response.Status.OK.getStatusCode()
+                && responseContext.hasEntity()
+                && !((ContainerResponse) responseContext).isChunked()
+                && !responseContext.getHeaders().containsKey(HttpHeaders.ETAG)) {
+            requestContext.setProperty(RESPONSE_PROPERTY, responseContext);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        final Object candidate = context.getProperty(RESPONSE_PROPERTY);
+        // headers may have been added by filters executed after the candidate has been selected
+        if (candidate == null
+                || context.getHeaders().containsKey(HttpHeaders.ETAG)
+                || context.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            context.proceed();
+            return;
+        }
+        context.removeProperty(RESPONSE_PROPERTY);
+
+        final ContainerResponse response = (ContainerResponse) candidate;
+        final OutputStream entityStream = context.getOutputStream();
+        final HashingOutputStream hashingStream = new HashingOutputStream(entityStream, createDigest(), bufferSize);
+
+        context.setOutputStream(hashingStream);
+        try {
+            context.proceed();
+        } finally {
+            context.setOutputStream(entityStream);
+        }
+
+        if (hashingStream.isBuffering()) {
+            final EntityTag entityTag = new EntityTag(hashingStream.digest());
+            context.getHeaders().putSingle(HttpHeaders.ETAG, entityTag);
+
+            final Response.ResponseBuilder precondition = response.getRequestContext().evaluatePreconditions(entityTag);
+            if (precondition != null) {
+                response.setStatus(precondition.build().getStatus());
+            } else {
+                hashingStream.writeBufferTo(entityStream);
+            }
+        }
+        if (hashingStream.isClosed()) {
+            entityStream.close();
+        }
+    }
+
+    private static boolean isConditional(final String method) {
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (final NoSuchAlgorithmException e) {
+            // every Java platform implementation is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Output stream hashing and buffering the written bytes until the buffer size is exceeded. Once exceeded, the
+     * buffered bytes are written to the underlying stream and all subsequent writes are passed through.
+     */
+    private static final class HashingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+        private final MessageDigest digest;
+        private final int bufferSize;
+
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private boolean closed = false;
+
+        private HashingOutputStream(final OutputStream delegate, final MessageDigest digest, final int bufferSize) {
+            this.delegate = delegate;
+            this.digest = digest;
+            this.bufferSize = bufferSize;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (buffer == null) {
+                delegate.write(b, off, len);
+            } else if (buffer.size() + len > bufferSize) {
+                buffer.writeTo(delegate);
+                buffer = null;
+                delegate.write(b, off, len);
+            } else {
+                digest.update(b, off, len);
+                buffer.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // flushing the buffered bytes would commit the response before the entity tag is known
+            if (buffer == null) {
+                delegate.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (buffer == null) {
+                delegate.close();
+            } else {
+                closed = true;
+            }
+        }
+
+        private boolean isBuffering() {
+            return buffer != null;
+        }
+
+        private boolean isClosed() {
+            return closed;
+        }
+
+        private String digest() {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        }
+
+        private void writeBufferTo(final OutputStream out) throws IOException {
+            buffer.writeTo(out);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.filter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the {@link EntityVersionSupplier} used to compute the entity tag of the representations produced by
+ * a resource method.
+ * <p>
+ * The annotation may be placed on a resource method or on a resource class, in which case it applies to all
+ * resource methods of the class that do not declare their own version supplier. The annotation is processed only
+ * if {@link EntityTagFeature} is registered.
+ * </p>
+ * <pre>
+ * &#64;GET
+ * &#64;EntityVersion(DocumentVersion.class)
+ * public Document getDocument(&#64;PathParam("id") String id) { ... }
+ * </pre>
+ *
+ * @since 2.41
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface EntityVersion {
+
+    /**
+     * Entity version supplier class.
+     *
+     * @return class of the entity version supplier.
+     */
+    Class<? extends EntityVersionSupplier> value();
+}
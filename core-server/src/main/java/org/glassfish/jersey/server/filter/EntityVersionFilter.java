@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.filter;
+
+import java.io.IOException;
+
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import javax.annotation.Priority;
+
+/**
+ * Filter evaluating request preconditions against the entity tag derived from an {@link EntityVersionSupplier}
+ * before the resource method is invoked.
+ * <p>
+ * If the preconditions do not hold, the request is aborted with the response provided by
+ * {@link javax.ws.rs.core.Request#evaluatePreconditions(EntityTag)} (typically {@code 304 Not Modified}). Otherwise the
+ * entity tag is added to the successful response of the resource method.
+ * </p>
+ *
+ * @see EntityTagFeature
+ */
+@Priority(Priorities.HEADER_DECORATOR)
+final class EntityVersionFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String ENTITY_TAG_PROPERTY = EntityVersionFilter.class.getName() + ".entityTag";
+
+    private final EntityVersionSupplier supplier;
+
+    /**
+     * Create new filter.
+     *
+     * @param supplier version supplier of the resource method the filter is bound to.
+     */
+    EntityVersionFilter(final EntityVersionSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) throws IOException {
+        final String version = supplier.getVersion(requestContext);
+        if (version == null) {
+            return;
+        }
+
+        final EntityTag entityTag = new EntityTag(version);
+        final Response.ResponseBuilder precondition = requestContext.getRequest().evaluatePreconditions(entityTag);
+        if (precondition != null) {
+            requestContext.abortWith(precondition.tag(entityTag).build());
+        } else {
+            requestContext.setProperty(ENTITY_TAG_PROPERTY, entityTag);
+        }
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext)
+            throws IOException {
+        final Object entityTag = requestContext.getProperty(ENTITY_TAG_PROPERTY);
+        if (entityTag != null
+                && responseContext.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL
+                && !responseContext.getHeaders().containsKey(HttpHeaders.ETAG)) {
+            responseContext.getHeaders().putSingle(HttpHeaders.ETAG, entityTag);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.filter;
+
+import javax.ws.rs.container.ContainerRequestContext;
+
+/**
+ * Supplier of a cheap representation version of the resource targeted by a request.
+ * <p>
+ * Implementations are referenced from the {@link EntityVersion} annotation and are invoked by
+ * {@link EntityTagFeature} after the request has been matched but before the resource method is invoked.
+ * The returned version is used as the value of a strong entity tag; if the tag matches the
+ * {@code If-None-Match} request header the request is answered with {@code 304 Not Modified} directly,
+ * without running the resource method or serializing the entity.
+ * </p>
+ * <p>
+ * Implementations must provide a public no-argument constructor and must be thread-safe, as a single instance
+ * is shared by all invocations of the annotated resource method.
+ * </p>
+ *
+ * @since 2.41
+ */
+public interface EntityVersionSupplier {
+
+    /**
+     * Get the current version of the representation the request targets.
+     *
+     * @param requestContext matched request context.
+     * @return opaque version of the representation (e.g. a revision number or a last update timestamp) or {@code null}
+     * if the version is not known and the resource method should be invoked as usual.
+     */
+    String getVersion(ContainerRequestContext requestContext);
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.internal.monitoring.jmx;
+
+import org.glassfish.jersey.server.admission.AdmissionController;
+import org.glassfish.jersey.server.monitoring.AdmissionControlMXBean;
+
+/**
+ * MXBean implementing the {@link AdmissionControlMXBean} MXBean interface. The state is read from the exposed admission
+ * controller on each request.
+ */
+public class AdmissionControlMXBeanImpl implements AdmissionControlMXBean {
+
+    private final String name;
+    private final AdmissionController controller;
+
+    /**
+     * Create a new admission control MXBean and register it to the mbean server using {@code mBeanExposer}.
+     *
+     * @param name         Name of the admission controller.
+     * @param controller   Admission controller which should be exposed.
+     * @param mBeanExposer MBean exposer.
+     * @param parentName   {@link javax.management.ObjectName Object name} prefix of parent mbeans.
+     */
+    public AdmissionControlMXBeanImpl(final String name, final AdmissionController controller,
+                                      final MBeanExposer mBeanExposer, final String parentName) {
+        this.name = name;
+        this.controller = controller;
+        mBeanExposer.registerMBean(this, parentName + ",controller=" + MBeanExposer.convertToObjectName(name, true));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getLimit() {
+        return controller.getLimit();
+    }
+
+    @Override
+    public int getInFlight() {
+        return controller.getInFlight();
+    }
+
+    @Override
+    public int getQueued() {
+        return controller.getQueued();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return controller.getRejectedCount();
+    }
+}
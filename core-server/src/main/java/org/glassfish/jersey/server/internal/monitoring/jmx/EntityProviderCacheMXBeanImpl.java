@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.internal.monitoring.jmx;
+
+import org.glassfish.jersey.message.internal.WorkerLookupCache;
+import org.glassfish.jersey.server.monitoring.EntityProviderCacheMXBean;
+
+/**
+ * MXBean implementing the {@link EntityProviderCacheMXBean} MXBean interface. The statistics are read from
+ * the exposed cache on each request.
+ */
+public class EntityProviderCacheMXBeanImpl implements EntityProviderCacheMXBean {
+
+    private final WorkerLookupCache<?> cache;
+
+    /**
+     * Create a new entity provider cache MXBean and register it to the mbean server using {@code mBeanExposer}.
+     *
+     * @param cache        Cache which should be exposed.
+     * @param mBeanExposer MBean exposer.
+     * @param parentName   {@link javax.management.ObjectName Object name} prefix of parent mbeans.
+     */
+    public EntityProviderCacheMXBeanImpl(final WorkerLookupCache<?> cache, final MBeanExposer mBeanExposer,
+                                         final String parentName) {
+        this.cache = cache;
+        mBeanExposer.registerMBean(this, parentName + ",cache=" + cache.getName());
+    }
+
+    @Override
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    public int getSize() {
+        return cache.getSize();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return cache.getMaxSize();
+    }
+
+    @Override
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -18,8 +18,10 @@ package org.glassfish.jersey.server.internal.monitoring.jmx;
 
 import java.lang.management.ManagementFactory;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -32,6 +34,12 @@ import javax.management.JMException;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 
+import org.glassfish.jersey.internal.inject.InjectionManager;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.message.internal.MessageBodyFactory;
+import org.glassfish.jersey.message.internal.WorkerLookupCache;
+import org.glassfish.jersey.server.admission.AdmissionController;
+import org.glassfish.jersey.server.admission.OverloadProtection;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.monitoring.ApplicationInfo;
 import org.glassfish.jersey.server.monitoring.MonitoringStatistics;
@@ -59,6 +67,7 @@ public class MBeanExposer extends AbstractContainerLifecycleListener implements
     private volatile ResourcesMBeanGroup uriStatsGroup;
     private volatile ResourcesMBeanGroup resourceClassStatsGroup;
     private volatile ExceptionMapperMXBeanImpl exceptionMapperMXBean;
+    private final Set<String> exposedAdmissionControllers = ConcurrentHashMap.newKeySet();
     private final AtomicBoolean destroyed = new AtomicBoolean(false);
     private final Object LOCK = new Object();
 
@@ -72,6 +81,12 @@ public class MBeanExposer extends AbstractContainerLifecycleListener implements
     @Inject
     private Provider<ApplicationInfo> applicationInfoProvider;
 
+    @Inject
+    private Provider<MessageBodyWorkers> messageBodyWorkersProvider;
+
+    @Inject
+    private InjectionManager injectionManager;
+
 
     private Map<String, ResourceStatistics> transformToStringKeys(Map<Class<?>, ResourceStatistics> stats) {
         Map<String, ResourceStatistics> newMap = new HashMap<>();
@@ -180,8 +195,17 @@ public class MBeanExposer extends AbstractContainerLifecycleListener implements
                     globalSubType);
 
             new ApplicationMXBeanImpl(appStats, this, globalSubType);
+
+            final MessageBodyWorkers workers = messageBodyWorkersProvider.get();
+            if (workers instanceof MessageBodyFactory) {
+                for (final WorkerLookupCache<?> cache : ((MessageBodyFactory) workers).getLookupCaches()) {
+                    new EntityProviderCacheMXBeanImpl(cache, this, globalSubType + ",global=EntityProviderCaches");
+                }
+            }
         }
 
+        exposeAdmissionControllers();
+
         requestMBean.updateExecutionStatistics(statistics.getRequestStatistics());
         uriStatsGroup.updateResourcesStatistics(statistics.getUriStatistics());
         responseMXBean.updateResponseStatistics(statistics.getResponseStatistics());
@@ -189,6 +213,22 @@ public class MBeanExposer extends AbstractContainerLifecycleListener implements
         this.resourceClassStatsGroup.updateResourcesStatistics(transformToStringKeys(statistics.getResourceClassStatistics()));
     }
 
+    /**
+     * Register MXBeans of the admission controllers of the overload protection, if enabled. Admission controllers of
+     * individual resource methods are created lazily, hence the method registers the controllers not exposed yet.
+     */
+    private void exposeAdmissionControllers() {
+        final List<OverloadProtection> protections = injectionManager.getAllInstances(OverloadProtection.class);
+        for (final OverloadProtection protection : protections) {
+            for (final Map.Entry<String, AdmissionController> entry : protection.getAdmissionControllers().entrySet()) {
+                if (exposedAdmissionControllers.add(entry.getKey())) {
+                    new AdmissionControlMXBeanImpl(entry.getKey(), entry.getValue(), this,
+                            ",subType=" + PROPERTY_SUBTYPE_GLOBAL + ",global=AdmissionControl");
+                }
+            }
+        }
+    }
+
     @Override
     public void onShutdown(Container container) {
         unregisterJerseyMBeans(true);
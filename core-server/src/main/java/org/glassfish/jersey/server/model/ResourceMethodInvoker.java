@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2022 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -41,6 +41,7 @@ import javax.ws.rs.container.ContainerResponseFilter;
 import javax.ws.rs.container.DynamicFeature;
 import javax.ws.rs.container.ResourceInfo;
 import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
@@ -51,6 +52,8 @@ import org.glassfish.jersey.internal.inject.AbstractBinder;
 import org.glassfish.jersey.internal.inject.InjectionManager;
 import org.glassfish.jersey.internal.inject.Injections;
 import org.glassfish.jersey.internal.inject.Providers;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.message.internal.MessageBodyFactory;
 import org.glassfish.jersey.model.ContractProvider;
 import org.glassfish.jersey.model.NameBound;
 import org.glassfish.jersey.model.internal.ComponentBag;
@@ -92,8 +95,10 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
     private final Class<?> resourceClass;
     private final List<RankedProvider<ContainerRequestFilter>> requestFilters = new ArrayList<>();
     private final List<RankedProvider<ContainerResponseFilter>> responseFilters = new ArrayList<>();
-    private final Iterable<ReaderInterceptor> readerInterceptors;
-    private final Iterable<WriterInterceptor> writerInterceptors;
+    private final List<ContainerRequestFilter> sortedRequestFilters;
+    private final List<ContainerResponseFilter> sortedResponseFilters;
+    private final List<ReaderInterceptor> readerInterceptors;
+    private final List<WriterInterceptor> writerInterceptors;
 
     /**
      * Resource method invoker helper.
@@ -295,13 +300,17 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
                     method);
         }
 
-        this.readerInterceptors = Collections.unmodifiableList(StreamSupport.stream(Providers.sortRankedProviders(
-                new RankedComparator<>(), _readerInterceptors).spliterator(), false).collect(Collectors.toList()));
-        this.writerInterceptors = Collections.unmodifiableList(StreamSupport.stream(Providers.sortRankedProviders(
-                new RankedComparator<>(), _writerInterceptors).spliterator(), false).collect(Collectors.toList()));
+        this.readerInterceptors = mergeAndSort(new RankedComparator<>(), _readerInterceptors);
+        this.writerInterceptors = mergeAndSort(new RankedComparator<>(), _writerInterceptors);
         this.requestFilters.addAll(_requestFilters);
         this.responseFilters.addAll(_responseFilters);
 
+        // pre-compute the complete post-matching filter chains, so that they don't need to be merged on each request
+        this.sortedRequestFilters = mergeAndSort(new RankedComparator<>(),
+                processingProviders.getGlobalRequestFilters(), _requestFilters);
+        this.sortedResponseFilters = mergeAndSort(new RankedComparator<>(RankedComparator.Order.DESCENDING),
+                processingProviders.getGlobalResponseFilters(), _responseFilters);
+
         // pre-compute & cache invocation properties
         this.methodAnnotations = invocable.getHandlingMethod().getDeclaredAnnotations();
         this.invocableResponseType = invocable.getResponseType();
@@ -316,6 +325,50 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
                 isCompletionStageResponseType ? ((ParameterizedType) invocableResponseType).getActualTypeArguments()[0] : null;
         this.isCompletionStageResponseResponseType = Class.class.isInstance(completionStageResponseType)
                 && Response.class.isAssignableFrom((Class<?>) completionStageResponseType);
+
+        if (ServerProperties.getValue(globalConfig.getProperties(),
+                ServerProperties.ENTITY_PROVIDERS_PRECOMPUTED_ENABLED, Boolean.FALSE, Boolean.class)) {
+            precomputeEntityProviders(injectionManager.getInstance(MessageBodyWorkers.class), invocable);
+        }
+    }
+
+    /**
+     * Select the message body readers and writers for the declared entity types of the resource method ahead of time.
+     */
+    private void precomputeEntityProviders(final MessageBodyWorkers workers, final Invocable invocable) {
+        if (!(workers instanceof MessageBodyFactory)) {
+            return;
+        }
+        final MessageBodyFactory factory = (MessageBodyFactory) workers;
+
+        // the runtime class of the returned entity is commonly the declared class, never a declared generic type
+        if (canUseInvocableResponseType && invocableResponseType instanceof Class) {
+            final Class<?> responseClass = (Class<?>) invocableResponseType;
+            for (final MediaType mediaType : method.getProducedTypes()) {
+                if (!mediaType.isWildcardType() && !mediaType.isWildcardSubtype()) {
+                    factory.precomputeMessageBodyWriter(responseClass, responseClass, methodAnnotations, mediaType);
+                }
+            }
+        }
+
+        for (final Parameter parameter : invocable.getParameters()) {
+            if (Parameter.Source.ENTITY != parameter.getSource()) {
+                continue;
+            }
+            for (final MediaType mediaType : method.getConsumedTypes()) {
+                if (!mediaType.isWildcardType() && !mediaType.isWildcardSubtype()) {
+                    factory.precomputeMessageBodyReader(parameter.getRawType(), parameter.getType(),
+                            parameter.getAnnotations(), mediaType);
+                }
+            }
+        }
+    }
+
+    @SafeVarargs
+    private static <T> List<T> mergeAndSort(final RankedComparator<T> comparator,
+                                            final Iterable<RankedProvider<T>>... rankedProviders) {
+        final Iterable<T> sorted = Providers.mergeAndSortRankedProviders(comparator, Arrays.asList(rankedProviders));
+        return Collections.unmodifiableList(StreamSupport.stream(sorted.spliterator(), false).collect(Collectors.toList()));
     }
 
     private <T> void addNameBoundProviders(
@@ -517,6 +570,34 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
         return responseFilters;
     }
 
+    /**
+     * Get the sorted chain of all post-matching request filters applicable to the {@link #getResourceMethod() resource
+     * method} wrapped by this invoker, i.e. the global post-matching request filters merged with the bound ones.
+     * <p>
+     * The chain is computed once, when the invoker is created.
+     * </p>
+     *
+     * @return sorted unmodifiable random access list of request filters.
+     * @since 2.41
+     */
+    public List<ContainerRequestFilter> getSortedRequestFilters() {
+        return sortedRequestFilters;
+    }
+
+    /**
+     * Get the sorted chain of all response filters applicable to the {@link #getResourceMethod() resource method}
+     * wrapped by this invoker, i.e. the global response filters merged with the bound ones.
+     * <p>
+     * The chain is computed once, when the invoker is created.
+     * </p>
+     *
+     * @return sorted unmodifiable random access list of response filters.
+     * @since 2.41
+     */
+    public List<ContainerResponseFilter> getSortedResponseFilters() {
+        return sortedResponseFilters;
+    }
+
     /**
      * Get all reader interceptors applicable to the {@link #getResourceMethod() resource method}
      * wrapped by this invoker.
@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.model;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.zip.CRC32;
+
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ExtendedResourceContext;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+
+/**
+ * Cached result of a successful validation of an application {@link ResourceModel resource model}.
+ * <p>
+ * The cache is created at build time, once the resource model of the application has been successfully validated,
+ * and stored together with the application (see {@link #main(String[])}). When the cache location is configured
+ * by {@link ServerProperties#RESOURCE_VALIDATION_CACHE}, the application compares the cache with its resource model
+ * on startup and skips the resource model validation if they match. The cache matches as long as the structure of
+ * the resource model, the registered components and their contracts, and the class files of the resource classes,
+ * of the bean parameters and of the registered components (including their super classes and interfaces) are the same
+ * as when the cache was created. A class without a class file (e.g. a generated class) never matches.
+ * </p>
+ * <p>
+ * Only the validation itself is skipped. The resource classes are still introspected and the runtime resource model is
+ * still built on startup, and the comparison digests the resource model and the class files. The startup time is reduced
+ * only if the validation of the resource model is more expensive than the comparison, which is not the case for small
+ * applications; use the {@code StartupBenchmark} of the Jersey performance tests to measure the effect on a particular
+ * resource model.
+ * </p>
+ * <p>
+ * The class files are compared by their size and CRC-32 checksum. The checksum of a class packaged in a JAR file is read
+ * from the JAR file directory, only class files in directories are read on startup.
+ * </p>
+ * <p>
+ * The cache is stored in the {@link Properties} format. Jersey does not provide a build plugin to create
+ * the cache, {@link #main(String[])} is the only entry point.
+ * </p>
+ *
+ * @since 2.41
+ */
+public final class ResourceValidationCache {
+
+    private static final String VERSION = "2";
+    private static final String VERSION_KEY = "validation.version";
+    private static final String MODEL_KEY = "validation.model";
+    private static final String CLASS_KEY_PREFIX = "class.";
+
+    private final String modelDigest;
+    private final Map<String, String> classDigests;
+
+    private ResourceValidationCache(final String modelDigest, final Map<String, String> classDigests) {
+        this.modelDigest = modelDigest;
+        this.classDigests = classDigests;
+    }
+
+    /**
+     * Create the validation cache of a resource model.
+     *
+     * @param resourceModel resource model of the application, it is expected to be validated.
+     * @param configuration runtime configuration of the application.
+     * @return resource validation cache.
+     */
+    public static ResourceValidationCache create(final ResourceModel resourceModel, final Configuration configuration) {
+        return new ResourceValidationCache(digestModel(resourceModel, configuration),
+                digestClasses(resourceModel, configuration));
+    }
+
+    /**
+     * Read a cache previously {@link #write(OutputStream) written} to the stream.
+     *
+     * @param inputStream stream to read the cache from.
+     * @return resource validation cache.
+     * @throws IOException in case the cache cannot be read or has not been written by this version of the cache.
+     */
+    public static ResourceValidationCache read(final InputStream inputStream) throws IOException {
+        final Properties properties = new Properties();
+        properties.load(inputStream);
+
+        final String modelDigest = properties.getProperty(MODEL_KEY);
+        if (!VERSION.equals(properties.getProperty(VERSION_KEY)) || modelDigest == null) {
+            throw new IOException(LocalizationMessages.RESOURCE_VALIDATION_CACHE_UNSUPPORTED());
+        }
+        final Map<String, String> classDigests = new TreeMap<>();
+        for (final String key : properties.stringPropertyNames()) {
+            if (key.startsWith(CLASS_KEY_PREFIX)) {
+                classDigests.put(key.substring(CLASS_KEY_PREFIX.length()), properties.getProperty(key));
+            }
+        }
+        return new ResourceValidationCache(modelDigest, classDigests);
+    }
+
+    /**
+     * Write the cache to the stream.
+     *
+     * @param outputStream stream to write the cache to.
+     * @throws IOException in case of an I/O error.
+     */
+    public void write(final OutputStream outputStream) throws IOException {
+        final Properties properties = new Properties();
+        properties.setProperty(VERSION_KEY, VERSION);
+        properties.setProperty(MODEL_KEY, modelDigest);
+        for (final Map.Entry<String, String> classDigest : classDigests.entrySet()) {
+            // a class without a class file is recorded with an empty digest that never matches
+            final String digest = classDigest.getValue();
+            properties.setProperty(CLASS_KEY_PREFIX + classDigest.getKey(), digest == null ? "" : digest);
+        }
+        properties.store(outputStream, "Jersey resource validation cache");
+    }
+
+    /**
+     * Check whether the cache describes the given resource model.
+     *
+     * @param resourceModel resource model of the application.
+     * @param configuration runtime configuration of the application.
+     * @return {@code true} if the resource model, the registered components and the classes they consist of are the same
+     * as when the cache was created.
+     */
+    public boolean matches(final ResourceModel resourceModel, final Configuration configuration) {
+        if (!modelDigest.equals(digestModel(resourceModel, configuration))) {
+            return false;
+        }
+        final Map<String, String> currentDigests = digestClasses(resourceModel, configuration);
+        return !currentDigests.containsValue(null) && classDigests.equals(currentDigests);
+    }
+
+    /**
+     * Create the resource validation cache of an application.
+     * <p>
+     * The method is the only way to create the cache. It is intended to be run as a part of the application build with
+     * the compiled application and its dependencies on the class path, e.g. by the {@code java} goal of the
+     * {@code exec-maven-plugin} bound to the {@code prepare-package} phase:
+     * </p>
+     * <pre>
+     * &lt;plugin&gt;
+     *     &lt;groupId&gt;org.codehaus.mojo&lt;/groupId&gt;
+     *     &lt;artifactId&gt;exec-maven-plugin&lt;/artifactId&gt;
+     *     &lt;executions&gt;
+     *         &lt;execution&gt;
+     *             &lt;id&gt;jersey-resource-validation-cache&lt;/id&gt;
+     *             &lt;phase&gt;prepare-package&lt;/phase&gt;
+     *             &lt;goals&gt;&lt;goal&gt;java&lt;/goal&gt;&lt;/goals&gt;
+     *             &lt;configuration&gt;
+     *                 &lt;mainClass&gt;org.glassfish.jersey.server.model.ResourceValidationCache&lt;/mainClass&gt;
+     *                 &lt;arguments&gt;
+     *                     &lt;argument&gt;com.example.MyApplication&lt;/argument&gt;
+     *                     &lt;argument&gt;${project.build.outputDirectory}/jersey-validation.properties&lt;/argument&gt;
+     *                 &lt;/arguments&gt;
+     *             &lt;/configuration&gt;
+     *         &lt;/execution&gt;
+     *     &lt;/executions&gt;
+     * &lt;/plugin&gt;
+     * </pre>
+     * <p>
+     * The application is initialized, but not deployed, and the validation cache of its validated resource model is
+     * written to the output file. The cache is then configured by {@link ServerProperties#RESOURCE_VALIDATION_CACHE}, e.g.
+     * as the {@code jersey-validation.properties} class path resource.
+     * </p>
+     * <p>
+     * Arguments: the name of the {@link Application} class and the path of the output file.
+     * </p>
+     *
+     * @param args command line arguments.
+     * @throws Exception in case the application cannot be initialized, its resource model is not valid or the cache
+     *                   cannot be written.
+     */
+    public static void main(final String[] args) throws Exception {
+        if (args.length != 2) {
+            throw new IllegalArgumentException(LocalizationMessages.RESOURCE_VALIDATION_CACHE_USAGE());
+        }
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final Class<? extends Application> applicationClass =
+                Class.forName(args[0], true, classLoader).asSubclass(Application.class);
+
+        final ApplicationHandler handler = new ApplicationHandler(applicationClass);
+        final Configuration configuration = handler.getConfiguration();
+        if (ServerProperties.getValue(configuration.getProperties(),
+                ServerProperties.RESOURCE_VALIDATION_DISABLE, Boolean.FALSE, Boolean.class)
+                || ServerProperties.getValue(configuration.getProperties(),
+                ServerProperties.RESOURCE_VALIDATION_IGNORE_ERRORS, Boolean.FALSE, Boolean.class)) {
+            throw new IllegalStateException(LocalizationMessages.RESOURCE_VALIDATION_CACHE_NOT_VALIDATED(args[0]));
+        }
+
+        final ResourceModel resourceModel =
+                handler.getInjectionManager().getInstance(ExtendedResourceContext.class).getResourceModel();
+        try (OutputStream outputStream = new FileOutputStream(args[1])) {
+            create(resourceModel, configuration).write(outputStream);
+        }
+    }
+
+    private static String digestModel(final ResourceModel resourceModel, final Configuration configuration) {
+        final List<String> lines = new ArrayList<>();
+        for (final Resource resource : resourceModel.getRootResources()) {
+            describe(resource, "", lines);
+        }
+        for (final Class<?> componentClass : componentClasses(configuration)) {
+            lines.add("component " + componentClass.getName() + " " + new TreeMap<>(contracts(configuration, componentClass)));
+        }
+        // the order of the resources depends on the order of the registrations which is not stable
+        Collections.sort(lines);
+
+        final MessageDigest digest = newDigest();
+        for (final String line : lines) {
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return toHex(digest.digest());
+    }
+
+    private static void describe(final Resource resource, final String parentPath, final List<String> lines) {
+        final String path = parentPath + "/" + resource.getPath();
+        lines.add("resource " + path + " " + resource.getNames());
+        for (final ResourceMethod method : resource.getAllMethods()) {
+            lines.add("method " + path + " " + describe(method));
+        }
+        for (final Resource child : resource.getChildResources()) {
+            describe(child, path, lines);
+        }
+    }
+
+    private static String describe(final ResourceMethod method) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(method.getType()).append(' ').append(method.getHttpMethod());
+        appendTypes(sb.append(" consumes "), method.getConsumedTypes());
+        appendTypes(sb.append(" produces "), method.getProducedTypes());
+        sb.append(" suspended=").append(method.isSuspendDeclared())
+                .append(" sse=").append(method.isSse())
+                .append(" managedAsync=").append(method.isManagedAsyncDeclared());
+
+        final Invocable invocable = method.getInvocable();
+        sb.append(" handler ").append(invocable.getHandler().getHandlerClass().getName())
+                .append(' ').append(invocable.getDefinitionMethod().toGenericString())
+                .append(' ').append(invocable.getHandlingMethod().toGenericString());
+        return sb.toString();
+    }
+
+    private static void appendTypes(final StringBuilder sb, final List<MediaType> types) {
+        for (final MediaType type : types) {
+            sb.append(type).append(',');
+        }
+    }
+
+    private static Set<Class<?>> componentClasses(final Configuration configuration) {
+        final Set<Class<?>> componentClasses = new LinkedHashSet<>(configuration.getClasses());
+        for (final Object component : configuration.getInstances()) {
+            componentClasses.add(component.getClass());
+        }
+        return componentClasses;
+    }
+
+    private static Map<String, Integer> contracts(final Configuration configuration, final Class<?> componentClass) {
+        final Map<String, Integer> contracts = new TreeMap<>();
+        for (final Map.Entry<Class<?>, Integer> contract : configuration.getContracts(componentClass).entrySet()) {
+            contracts.put(contract.getKey().getName(), contract.getValue());
+        }
+        return contracts;
+    }
+
+    private static Map<String, String> digestClasses(final ResourceModel resourceModel, final Configuration configuration) {
+        final Set<Class<?>> classes = new LinkedHashSet<>();
+        for (final Resource resource : resourceModel.getRootResources()) {
+            collectClasses(resource, classes);
+        }
+        for (final Class<?> componentClass : componentClasses(configuration)) {
+            collectHierarchy(componentClass, classes);
+        }
+        final Map<String, String> digests = new TreeMap<>();
+        final byte[] buffer = new byte[8192];
+        for (final Class<?> clazz : classes) {
+            digests.put(clazz.getName(), digestClass(clazz, buffer));
+        }
+        return digests;
+    }
+
+    private static void collectClasses(final Resource resource, final Set<Class<?>> classes) {
+        for (final Class<?> handlerClass : resource.getHandlerClasses()) {
+            collectHierarchy(handlerClass, classes);
+        }
+        for (final Object handlerInstance : resource.getHandlerInstances()) {
+            collectHierarchy(handlerInstance.getClass(), classes);
+        }
+        for (final ResourceMethod method : resource.getAllMethods()) {
+            final Invocable invocable = method.getInvocable();
+            collectHierarchy(invocable.getHandler().getHandlerClass(), classes);
+            collectHierarchy(invocable.getDefinitionMethod().getDeclaringClass(), classes);
+            for (final Parameter parameter : invocable.getParameters()) {
+                if (parameter.getSource() == Parameter.Source.BEAN_PARAM) {
+                    collectHierarchy(parameter.getRawType(), classes);
+                }
+            }
+        }
+        for (final Resource child : resource.getChildResources()) {
+            collectClasses(child, classes);
+        }
+    }
+
+    private static void collectHierarchy(final Class<?> clazz, final Set<Class<?>> classes) {
+        // the platform classes do not change with the application
+        if (clazz == null || clazz.getClassLoader() == null || !classes.add(clazz)) {
+            return;
+        }
+        collectHierarchy(clazz.getSuperclass(), classes);
+        for (final Class<?> iface : clazz.getInterfaces()) {
+            collectHierarchy(iface, classes);
+        }
+    }
+
+    /**
+     * Get the size and CRC-32 checksum of the class file or {@code null} if the class file cannot be read.
+     */
+    private static String digestClass(final Class<?> clazz, final byte[] buffer) {
+        final URL classFile = clazz.getClassLoader().getResource(clazz.getName().replace('.', '/') + ".class");
+        if (classFile == null) {
+            // e.g. a generated class
+            return null;
+        }
+        try {
+            final URLConnection connection = classFile.openConnection();
+            if (connection instanceof JarURLConnection) {
+                // the checksum is stored in the JAR file directory, there is no need to read the class file
+                final JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+                if (entry != null && entry.getCrc() != -1 && entry.getSize() != -1) {
+                    return entry.getSize() + ":" + Long.toHexString(entry.getCrc());
+                }
+            }
+            try (InputStream inputStream = connection.getInputStream()) {
+                final CRC32 crc = new CRC32();
+                long size = 0;
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    crc.update(buffer, 0, read);
+                    size += read;
+                }
+                return size + ":" + Long.toHexString(crc.getValue());
+            }
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            // every Java platform implementation is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -19,9 +19,13 @@ package org.glassfish.jersey.server.model;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import javax.ws.rs.HttpMethod;
+
 import org.glassfish.jersey.uri.PathPattern;
 
 /**
@@ -150,6 +154,7 @@ public class RuntimeResource implements ResourceModelComponent {
 
     private final RuntimeResource parent;
     private final PathPattern pathPattern;
+    private final Set<String> allowedMethods;
 
 
     private RuntimeResource(List<Resource> resources,
@@ -178,6 +183,19 @@ public class RuntimeResource implements ResourceModelComponent {
                 this.resourceLocators.add(resourceLocator);
             }
         }
+        this.allowedMethods = Collections.unmodifiableSet(computeAllowedMethods(resourceMethods));
+    }
+
+    private static Set<String> computeAllowedMethods(final List<ResourceMethod> resourceMethods) {
+        final Set<String> allowedMethods = new HashSet<>();
+        for (final ResourceMethod resourceMethod : resourceMethods) {
+            allowedMethods.add(resourceMethod.getHttpMethod());
+        }
+        allowedMethods.add(HttpMethod.OPTIONS);
+        if (allowedMethods.contains(HttpMethod.GET)) {
+            allowedMethods.add(HttpMethod.HEAD);
+        }
+        return allowedMethods;
     }
 
     /**
@@ -207,6 +225,20 @@ public class RuntimeResource implements ResourceModelComponent {
         return resourceMethods;
     }
 
+    /**
+     * Get HTTP methods that can be invoked on this runtime resource. OPTIONS is always part of the result and HEAD
+     * is included whenever a GET resource method is present.
+     * <p/>
+     * The set is computed once when the runtime resource is built and is therefore suitable for answering
+     * OPTIONS requests without walking the resource methods again.
+     *
+     * @return Unmodifiable set of allowed HTTP methods.
+     * @since 2.41
+     */
+    public Set<String> getAllowedMethods() {
+        return allowedMethods;
+    }
+
     /**
      * Get resource locators of all {@link Resource resources} of this runtime resource.
      * <p/>
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -52,20 +52,7 @@ public final class ModelProcessorUtil {
      * @return Set of resource methods that can be invoked on the given resource.
      */
     public static Set<String> getAllowedMethods(RuntimeResource resource) {
-        boolean getFound = false;
-        Set<String> allowedMethods = new HashSet<>();
-        for (ResourceMethod resourceMethod : resource.getResourceMethods()) {
-            final String httpMethod = resourceMethod.getHttpMethod();
-            allowedMethods.add(httpMethod);
-            if (!getFound && httpMethod.equals(HttpMethod.GET)) {
-                getFound = true;
-            }
-        }
-        allowedMethods.add(HttpMethod.OPTIONS);
-        if (getFound) {
-            allowedMethods.add(HttpMethod.HEAD);
-        }
-        return allowedMethods;
+        return new HashSet<>(resource.getAllowedMethods());
     }
 
 
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.monitoring;
+
+/**
+ * MXBean interface of the state of an {@link org.glassfish.jersey.server.admission.AdmissionController admission
+ * controller} of the {@link org.glassfish.jersey.server.admission.OverloadProtectionFeature overload protection}.
+ *
+ * @since 2.41
+ */
+public interface AdmissionControlMXBean {
+
+    /**
+     * Get the name of the admission controller, i.e. {@code Application} or the name of the resource method it limits.
+     *
+     * @return Admission controller name.
+     */
+    public String getName();
+
+    /**
+     * Get the current concurrency limit.
+     *
+     * @return Concurrency limit.
+     */
+    public int getLimit();
+
+    /**
+     * Get the number of admitted requests currently being processed.
+     *
+     * @return Number of requests in flight.
+     */
+    public int getInFlight();
+
+    /**
+     * Get the number of requests currently waiting for admission.
+     *
+     * @return Number of queued requests.
+     */
+    public int getQueued();
+
+    /**
+     * Get the total number of requests rejected because the concurrency limit has been reached.
+     *
+     * @return Rejected request count.
+     */
+    public long getRejectedCount();
+}
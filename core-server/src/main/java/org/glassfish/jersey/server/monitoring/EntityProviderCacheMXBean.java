@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.monitoring;
+
+/**
+ * MXBean interface of the statistics of a cache of the {@link javax.ws.rs.ext.MessageBodyReader message body reader}
+ * and {@link javax.ws.rs.ext.MessageBodyWriter message body writer} lookups.
+ *
+ * @since 2.41
+ */
+public interface EntityProviderCacheMXBean {
+
+    /**
+     * Get the name of the cache.
+     *
+     * @return Cache name.
+     */
+    public String getName();
+
+    /**
+     * Get the current number of cached lookup results.
+     *
+     * @return Cache size.
+     */
+    public int getSize();
+
+    /**
+     * Get the maximum number of cached lookup results. The cache evicts the results that are not being used when
+     * this size is reached.
+     *
+     * @return Maximum cache size.
+     */
+    public int getMaxSize();
+
+    /**
+     * Get the number of lookups served from the cache.
+     *
+     * @return Hit count.
+     */
+    public long getHitCount();
+
+    /**
+     * Get the number of lookups not served from the cache.
+     *
+     * @return Miss count.
+     */
+    public long getMissCount();
+
+    /**
+     * Get the number of lookup results evicted from the cache because the cache was full. A steadily growing count
+     * indicates that the cache is too small for the application.
+     *
+     * @return Eviction count.
+     */
+    public long getEvictionCount();
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -28,6 +28,7 @@ import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.model.ModelProcessor;
 import org.glassfish.jersey.server.wadl.internal.WadlApplicationContextImpl;
+import org.glassfish.jersey.server.wadl.internal.WadlCache;
 import org.glassfish.jersey.server.wadl.processor.WadlModelProcessor;
 
 import java.util.logging.Logger;
@@ -72,6 +73,7 @@ public class WadlFeature implements Feature {
             @Override
             protected void configure() {
                 bind(WadlApplicationContextImpl.class).to(WadlApplicationContext.class).in(Singleton.class);
+                bindAsContract(WadlCache.class).in(Singleton.class);
             }
         });
 
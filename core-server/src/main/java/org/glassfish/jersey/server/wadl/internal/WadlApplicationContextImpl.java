@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -170,8 +170,8 @@ public final class WadlApplicationContextImpl implements WadlApplicationContext
 
         // Attach any grammar we may have
 
-        attachExternalGrammar(application, description,
-                info.getRequestUri());
+        // the grammars are referenced by absolute URIs, the document does not depend on the path of the resource
+        attachExternalGrammar(application, description, null);
 
         for (final Resources resources : application.getResources()) {
             final Resource r = resources.getResource().get(0);
@@ -206,6 +206,8 @@ public final class WadlApplicationContextImpl implements WadlApplicationContext
 
     /**
      * Update the application object to include the generated grammar objects.
+     *
+     * @param requestURI URI the grammars are referenced relative to, {@code null} to reference them by absolute URIs.
      */
     private void attachExternalGrammar(
             final Application application,
@@ -216,9 +218,9 @@ public final class WadlApplicationContextImpl implements WadlApplicationContext
         //
 
         try {
-            final String requestURIPath = requestURI.getPath();
+            final String requestURIPath = requestURI != null ? requestURI.getPath() : null;
 
-            if (requestURIPath.endsWith("application.wadl")) {
+            if (requestURIPath != null && requestURIPath.endsWith("application.wadl")) {
                 requestURI = UriBuilder.fromUri(requestURI)
                         .replacePath(
                                 requestURIPath
@@ -248,7 +250,8 @@ public final class WadlApplicationContextImpl implements WadlApplicationContext
 
             for (final String path : applicationDescription.getExternalMetadataKeys()) {
                 final URI schemaURI = extendedPath.clone().path(path).build();
-                final String schemaPath = rootURI != null ? requestURI.relativize(schemaURI).toString() : schemaURI.toString();
+                final String schemaPath = rootURI != null && requestURI != null
+                        ? requestURI.relativize(schemaURI).toString() : schemaURI.toString();
 
                 final Include include = new Include();
                 include.setHref(schemaPath);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -160,13 +160,14 @@ public class WadlBuilder {
 
             String message;
 
+            // link the application.wadl so that the hint does not depend on the request URI
+            final UriBuilder wadlUri = UriBuilder.fromUri(uriInfo.getBaseUri()).path("application.wadl");
             if (detailedWadl) {
-                final String uriWithoutQueryParam = UriBuilder.fromUri(uriInfo.getRequestUri()).replaceQuery("").build()
-                        .toString();
+                final String uriWithoutQueryParam = wadlUri.build().toString();
                 message = LocalizationMessages.WADL_DOC_EXTENDED_WADL(WadlUtils.DETAILED_WADL_QUERY_PARAM, uriWithoutQueryParam);
             } else {
-                final String uriWithQueryParam = UriBuilder.fromUri(uriInfo.getRequestUri())
-                        .queryParam(WadlUtils.DETAILED_WADL_QUERY_PARAM, "true").build().toString();
+                final String uriWithQueryParam = wadlUri.queryParam(WadlUtils.DETAILED_WADL_QUERY_PARAM, "true").build()
+                        .toString();
 
                 message = LocalizationMessages.WADL_DOC_SIMPLE_WADL(WadlUtils.DETAILED_WADL_QUERY_PARAM, uriWithQueryParam);
             }
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.wadl.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Objects;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.UriInfo;
+
+import javax.xml.bind.Marshaller;
+
+import org.glassfish.jersey.internal.guava.Cache;
+import org.glassfish.jersey.internal.guava.CacheBuilder;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.wadl.WadlApplicationContext;
+
+import com.sun.research.ws.wadl.Application;
+import com.sun.research.ws.wadl.Resources;
+
+/**
+ * Cache of serialized WADL documents.
+ * <p>
+ * Documents are keyed by the described resource (or the whole application), the base URI and the requested level of
+ * detail, so that repeated {@code OPTIONS} and {@code application.wadl} requests do not build and marshal the WADL
+ * {@link Application} again. The document of a resource is cached with a placeholder instead of the request path,
+ * which is written into the document for each request, hence all the request URIs matched by a resource template
+ * share a single cached document. The only query parameter the documents depend on is the
+ * {@link WadlUtils#DETAILED_WADL_QUERY_PARAM level of detail}. One cache instance is bound per application, hence
+ * a reload of the resource model, which creates a new application, starts with an empty cache.
+ * </p>
+ */
+public final class WadlCache {
+
+    /**
+     * Maximum number of cached documents. The least recently used documents are evicted once the limit is reached.
+     */
+    static final int MAX_SIZE = 256;
+
+    private static final byte[] PATH_PLACEHOLDER = "{jersey.wadl.resource.path}".getBytes(StandardCharsets.UTF_8);
+
+    private final Cache<Key, SerializedWadl> documents = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+
+    /**
+     * Get the serialized WADL of the whole application.
+     *
+     * @param wadlContext  WADL application context used to generate the document if it is not cached yet.
+     * @param uriInfo      URI information of the current request.
+     * @param detailedWadl {@code true} if the detailed WADL has been requested.
+     * @return serialized WADL of the application.
+     */
+    public SerializedWadl getApplicationWadl(final WadlApplicationContext wadlContext,
+                                             final UriInfo uriInfo,
+                                             final boolean detailedWadl) {
+        final Key key = new Key(null, uriInfo.getBaseUri(), detailedWadl);
+        SerializedWadl wadl = documents.getIfPresent(key);
+        if (wadl == null) {
+            wadl = cache(key, marshal(wadlContext, wadlContext.getApplication(uriInfo, detailedWadl).getApplication()));
+        }
+        return wadl;
+    }
+
+    /**
+     * Get the serialized WADL of a single resource.
+     *
+     * @param wadlContext  WADL application context used to generate the document if it is not cached yet.
+     * @param uriInfo      URI information of the current request.
+     * @param resource     resource to be described.
+     * @param detailedWadl {@code true} if the detailed WADL has been requested.
+     * @return serialized WADL of the resource, {@link SerializedWadl#getBytes()} returns {@code null} if there is nothing
+     * to describe at the requested level of detail.
+     */
+    public SerializedWadl getResourceWadl(final WadlApplicationContext wadlContext,
+                                          final UriInfo uriInfo,
+                                          final Resource resource,
+                                          final boolean detailedWadl) {
+        final Key key = new Key(resource, uriInfo.getBaseUri(), detailedWadl);
+        SerializedWadl wadl = documents.getIfPresent(key);
+        if (wadl == null) {
+            final Application application = wadlContext.getApplication(uriInfo, resource, detailedWadl);
+            if (application != null) {
+                for (final Resources resources : application.getResources()) {
+                    resources.getResource().get(0).setPath(new String(PATH_PLACEHOLDER, StandardCharsets.UTF_8));
+                }
+            }
+            wadl = cache(key, application == null ? null : marshal(wadlContext, application));
+        }
+        return wadl.withPath(uriInfo.getBaseUri().relativize(uriInfo.getAbsolutePath()).toString());
+    }
+
+    private SerializedWadl cache(final Key key, final byte[] bytes) {
+        final String lastModified = new SimpleDateFormat(WadlResource.HTTPDATEFORMAT).format(new Date());
+        final SerializedWadl wadl = new SerializedWadl(bytes, lastModified);
+        documents.put(key, wadl);
+        return wadl;
+    }
+
+    private static byte[] marshal(final WadlApplicationContext wadlContext, final Application application) {
+        try {
+            final Marshaller marshaller = wadlContext.getJAXBContext().createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+            final ByteArrayOutputStream os = new ByteArrayOutputStream();
+            marshaller.marshal(application, os);
+            return os.toByteArray();
+        } catch (Exception e) {
+            throw new ProcessingException("Could not marshal the wadl Application.", e);
+        }
+    }
+
+    /**
+     * Serialized WADL document together with the time of its creation.
+     */
+    public static final class SerializedWadl {
+
+        private final byte[] bytes;
+        private final String lastModified;
+        // offsets of the resource path placeholders in the cached document
+        private final int[] placeholders;
+
+        private SerializedWadl(final byte[] bytes, final String lastModified) {
+            this.bytes = bytes;
+            this.lastModified = lastModified;
+            this.placeholders = bytes == null ? new int[0] : find(bytes, PATH_PLACEHOLDER);
+        }
+
+        private SerializedWadl(final byte[] bytes, final String lastModified, final int[] placeholders) {
+            this.bytes = bytes;
+            this.lastModified = lastModified;
+            this.placeholders = placeholders;
+        }
+
+        /**
+         * Get the serialized WADL document. The returned array is shared and must not be modified.
+         *
+         * @return serialized WADL or {@code null} if there is no WADL to be returned.
+         */
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Get the creation time of the document formatted as a HTTP date.
+         *
+         * @return value of the {@code Last-modified} header.
+         */
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        private SerializedWadl withPath(final String path) {
+            if (placeholders.length == 0) {
+                return this;
+            }
+
+            final byte[] value = escape(path).getBytes(StandardCharsets.UTF_8);
+            final ByteArrayOutputStream os = new ByteArrayOutputStream(
+                    bytes.length + placeholders.length * (value.length - PATH_PLACEHOLDER.length));
+            int from = 0;
+            for (final int placeholder : placeholders) {
+                os.write(bytes, from, placeholder - from);
+                os.write(value, 0, value.length);
+                from = placeholder + PATH_PLACEHOLDER.length;
+            }
+            os.write(bytes, from, bytes.length - from);
+            return new SerializedWadl(os.toByteArray(), lastModified, new int[0]);
+        }
+
+        private static int[] find(final byte[] bytes, final byte[] pattern) {
+            int[] offsets = new int[0];
+            for (int i = 0; i <= bytes.length - pattern.length; i++) {
+                int j = 0;
+                while (j < pattern.length && bytes[i + j] == pattern[j]) {
+                    j++;
+                }
+                if (j == pattern.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length + 1);
+                    offsets[offsets.length - 1] = i;
+                    i += pattern.length - 1;
+                }
+            }
+            return offsets;
+        }
+
+        private static String escape(final String path) {
+            final StringBuilder sb = new StringBuilder(path.length());
+            for (int i = 0; i < path.length(); i++) {
+                final char c = path.charAt(i);
+                switch (c) {
+                    case '&':
+                        sb.append("&amp;");
+                        break;
+                    case '<':
+                        sb.append("&lt;");
+                        break;
+                    case '>':
+                        sb.append("&gt;");
+                        break;
+                    case '"':
+                        sb.append("&quot;");
+                        break;
+                    default:
+                        sb.append(c);
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    private static final class Key {
+
+        private final Resource resource;
+        private final URI baseUri;
+        private final boolean detailedWadl;
+        private final int hash;
+
+        private Key(final Resource resource, final URI baseUri, final boolean detailedWadl) {
+            this.resource = resource;
+            this.baseUri = baseUri;
+            this.detailedWadl = detailedWadl;
+            this.hash = Objects.hash(System.identityHashCode(resource), baseUri, detailedWadl);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return resource == other.resource
+                    && detailedWadl == other.detailedWadl
+                    && baseUri.equals(other.baseUri);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
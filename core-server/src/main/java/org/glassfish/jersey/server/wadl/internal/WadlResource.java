@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -17,10 +17,6 @@
 package org.glassfish.jersey.server.wadl.internal;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.net.URI;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
@@ -31,15 +27,13 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
-import javax.xml.bind.Marshaller;
 
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.model.ExtendedResource;
 import org.glassfish.jersey.server.wadl.WadlApplicationContext;
 
-import com.sun.research.ws.wadl.Application;
-
 /**
  *
  * @author Paul Sandoz
@@ -51,56 +45,24 @@ public final class WadlResource {
 
     public static final String HTTPDATEFORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
 
-    private volatile URI lastBaseUri;
-    private volatile boolean lastDetailedWadl;
-
-    private byte[] wadlXmlRepresentation;
-    private String lastModified;
-
     @Context
     private WadlApplicationContext wadlContext;
 
-
-    public WadlResource() {
-        this.lastModified = new SimpleDateFormat(HTTPDATEFORMAT).format(new Date());
-    }
-
-    private boolean isCached(UriInfo uriInfo, boolean detailedWadl) {
-        return (lastBaseUri != null && lastBaseUri.equals(uriInfo.getBaseUri()) && lastDetailedWadl == detailedWadl);
-    }
+    @Inject
+    private WadlCache wadlCache;
 
     @Produces({"application/vnd.sun.wadl+xml", "application/xml"})
     @GET
-    public synchronized Response getWadl(@Context UriInfo uriInfo) {
+    public Response getWadl(@Context UriInfo uriInfo) {
         try {
             if (!wadlContext.isWadlGenerationEnabled()) {
                 return Response.status(Response.Status.NOT_FOUND).build();
             }
 
-            final boolean detailedWadl = WadlUtils.isDetailedWadlRequested(uriInfo);
-            if ((wadlXmlRepresentation == null) || (!isCached(uriInfo, detailedWadl))) {
-                this.lastBaseUri = uriInfo.getBaseUri();
-                lastDetailedWadl = detailedWadl;
-                this.lastModified = new SimpleDateFormat(HTTPDATEFORMAT).format(new Date());
-
-                ApplicationDescription applicationDescription = wadlContext.getApplication(uriInfo,
-                        detailedWadl);
-
-                Application application = applicationDescription.getApplication();
-
-                try {
-                    final Marshaller marshaller = wadlContext.getJAXBContext().createMarshaller();
-                    marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-                    final ByteArrayOutputStream os = new ByteArrayOutputStream();
-                    marshaller.marshal(application, os);
-                    wadlXmlRepresentation = os.toByteArray();
-                    os.close();
-                } catch (Exception e) {
-                    throw new ProcessingException("Could not marshal the wadl Application.", e);
-                }
-            }
+            final WadlCache.SerializedWadl wadl = wadlCache.getApplicationWadl(wadlContext, uriInfo,
+                    WadlUtils.isDetailedWadlRequested(uriInfo));
 
-            return Response.ok(new ByteArrayInputStream(wadlXmlRepresentation)).header("Last-modified", lastModified).build();
+            return Response.ok(new ByteArrayInputStream(wadl.getBytes())).header("Last-modified", wadl.getLastModified()).build();
         } catch (Exception e) {
             throw new ProcessingException("Error generating /application.wadl.", e);
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -31,11 +31,14 @@ import javax.annotation.Priority;
 import javax.inject.Inject;
 import javax.inject.Provider;
 
+import org.glassfish.jersey.internal.guava.Cache;
+import org.glassfish.jersey.internal.guava.CacheBuilder;
 import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.server.ExtendedUriInfo;
 import org.glassfish.jersey.server.model.ModelProcessor;
 import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.server.model.RuntimeResource;
 import org.glassfish.jersey.server.model.internal.ModelProcessorUtil;
 
 /**
@@ -64,21 +67,38 @@ public class OptionsMethodProcessor implements ModelProcessor {
 
     private static class PlainTextOptionsInflector implements Inflector<ContainerRequestContext, Response> {
 
+        /**
+         * Maximum number of precomputed plain text OPTIONS bodies.
+         */
+        private static final int MAX_BODIES = 128;
+        /**
+         * Plain text OPTIONS bodies keyed by the (unmodifiable) set of allowed methods they list. Resources
+         * usually share only a handful of distinct method sets, the least recently used bodies are evicted
+         * once the limit is reached.
+         */
+        private static final Cache<Set<String>, String> BODIES = CacheBuilder.newBuilder().maximumSize(MAX_BODIES).build();
+
         @Inject
         private Provider<ExtendedUriInfo> extendedUriInfo;
 
         @Override
         public Response apply(ContainerRequestContext containerRequestContext) {
-            Set<String> allowedMethods = ModelProcessorUtil.getAllowedMethods(extendedUriInfo.get()
-                    .getMatchedRuntimeResources().get(0));
-
-            final String allowedList = allowedMethods.toString();
-            final String optionsBody = allowedList.substring(1, allowedList.length() - 1);
+            final Set<String> allowedMethods = extendedUriInfo.get().getMatchedRuntimeResources().get(0).getAllowedMethods();
 
-            return Response.ok(optionsBody, MediaType.TEXT_PLAIN_TYPE)
+            return Response.ok(getOptionsBody(allowedMethods), MediaType.TEXT_PLAIN_TYPE)
                     .allow(allowedMethods)
                     .build();
         }
+
+        private static String getOptionsBody(final Set<String> allowedMethods) {
+            String optionsBody = BODIES.getIfPresent(allowedMethods);
+            if (optionsBody == null) {
+                final String allowedList = allowedMethods.toString();
+                optionsBody = allowedList.substring(1, allowedList.length() - 1);
+                BODIES.put(allowedMethods, optionsBody);
+            }
+            return optionsBody;
+        }
     }
 
     private static class GenericOptionsInflector implements Inflector<ContainerRequestContext, Response> {
@@ -87,10 +107,9 @@ public class OptionsMethodProcessor implements ModelProcessor {
 
         @Override
         public Response apply(ContainerRequestContext containerRequestContext) {
-            final Set<String> allowedMethods = ModelProcessorUtil.getAllowedMethods(
-                    (extendedUriInfo.get().getMatchedRuntimeResources().get(0)));
+            final RuntimeResource resource = extendedUriInfo.get().getMatchedRuntimeResources().get(0);
             return Response.ok()
-                    .allow(allowedMethods)
+                    .allow(resource.getAllowedMethods())
                     .header(HttpHeaders.CONTENT_LENGTH, "0")
                     .type(containerRequestContext.getAcceptableMediaTypes().get(0))
                     .build();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,14 +16,10 @@
 
 package org.glassfish.jersey.server.wadl.processor;
 
-import java.io.ByteArrayOutputStream;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 
 import javax.ws.rs.HttpMethod;
-import javax.ws.rs.ProcessingException;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.Context;
@@ -34,7 +30,6 @@ import javax.ws.rs.core.UriInfo;
 import javax.annotation.Priority;
 import javax.inject.Inject;
 import javax.inject.Provider;
-import javax.xml.bind.Marshaller;
 
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.message.internal.MediaTypes;
@@ -47,11 +42,10 @@ import org.glassfish.jersey.server.model.ResourceModel;
 import org.glassfish.jersey.server.model.RuntimeResource;
 import org.glassfish.jersey.server.model.internal.ModelProcessorUtil;
 import org.glassfish.jersey.server.wadl.WadlApplicationContext;
+import org.glassfish.jersey.server.wadl.internal.WadlCache;
 import org.glassfish.jersey.server.wadl.internal.WadlResource;
 import org.glassfish.jersey.server.wadl.internal.WadlUtils;
 
-import com.sun.research.ws.wadl.Application;
-
 /**
  * WADL {@link ModelProcessor model processor} which enhance resource model by WADL related resources (like "/application.wadl").
  * The provider should be registered using
@@ -100,8 +94,6 @@ public class WadlModelProcessor implements ModelProcessor {
      * OPTIONS resource method handler that serves resource WADL.
      */
     public static class OptionsHandler implements Inflector<ContainerRequestContext, Response> {
-        private final String lastModified =
-                new SimpleDateFormat(WadlResource.HTTPDATEFORMAT).format(new Date());
 
         @Inject
         private Provider<ExtendedUriInfo> extendedUriInfo;
@@ -109,6 +101,9 @@ public class WadlModelProcessor implements ModelProcessor {
         @Context
         private WadlApplicationContext wadlApplicationContext;
 
+        @Inject
+        private WadlCache wadlCache;
+
         @Override
         public Response apply(ContainerRequestContext containerRequestContext) {
 
@@ -116,33 +111,21 @@ public class WadlModelProcessor implements ModelProcessor {
             // TODO: support multiple resources, see ignored tests in WadlResourceTest.Wadl8Test
             final UriInfo uriInfo = containerRequestContext.getUriInfo();
 
-            final Application wadlApplication = wadlApplicationContext.getApplication(uriInfo,
+            final WadlCache.SerializedWadl wadl = wadlCache.getResourceWadl(wadlApplicationContext, uriInfo,
                     resource.getResources().get(0), WadlUtils.isDetailedWadlRequested(uriInfo));
 
-            if (wadlApplication == null) {
+            if (wadl.getBytes() == null) {
                 // wadlApplication can be null if limited WADL is requested and all content
                 // of wadlApplication is invisible in limited WADL
                 return Response.status(Response.Status.NOT_FOUND).build();
 
             }
 
-            byte[] bytes;
-            try {
-                final Marshaller marshaller = wadlApplicationContext.getJAXBContext().createMarshaller();
-                marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-                final ByteArrayOutputStream os = new ByteArrayOutputStream();
-                marshaller.marshal(wadlApplication, os);
-                bytes = os.toByteArray();
-                os.close();
-            } catch (Exception e) {
-                throw new ProcessingException("Could not marshal the wadl Application.", e);
-            }
-
             return Response.ok()
                     .type(MediaTypes.WADL_TYPE)
-                    .allow(ModelProcessorUtil.getAllowedMethods(resource))
-                    .header("Last-modified", lastModified)
-                    .entity(bytes)
+                    .allow(resource.getAllowedMethods())
+                    .header("Last-modified", wadl.getLastModified())
+                    .entity(wadl.getBytes())
                     .build();
         }
     }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.admission;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link AdmissionController} and the {@link ConcurrencyLimit concurrency limits}.
+ */
+public class AdmissionControllerTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        assertNull(AdmissionController.create(new ResourceConfig()));
+    }
+
+    @Test
+    public void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> AdmissionController.create(new ResourceConfig()
+                .property(ServerProperties.ADMISSION_CONTROL_LIMIT, 0)));
+        assertThrows(IllegalArgumentException.class, () -> AdmissionController.create(new ResourceConfig()
+                .property(ServerProperties.ADMISSION_CONTROL_LIMIT, 1)
+                .property(ServerProperties.ADMISSION_CONTROL_ALGORITHM, "unknown")));
+    }
+
+    @Test
+    public void testLimitAndBypass() {
+        final AdmissionController controller = AdmissionController.create(new ResourceConfig()
+                .property(ServerProperties.ADMISSION_CONTROL_LIMIT, 2)
+                .property(ServerProperties.ADMISSION_CONTROL_BYPASS_PATHS, "health, /status/"));
+
+        final AdmissionController.Permit first = controller.acquire("a");
+        final AdmissionController.Permit second = controller.acquire("a");
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNull(controller.acquire("a"));
+        assertNotNull(controller.acquire("health"));
+        assertNotNull(controller.acquire("/health/live"));
+        assertNotNull(controller.acquire("status/db"));
+        assertNull(controller.acquire("healthy"));
+        assertEquals(2, controller.getInFlight());
+        assertEquals(2, controller.getRejectedCount());
+
+        first.release(false);
+        first.release(false);
+        assertEquals(1, controller.getInFlight());
+        assertNotNull(controller.acquire("a"));
+    }
+
+    @Test
+    public void testQueuedRequestIsAdmittedOnRelease() throws Exception {
+        final AdmissionController controller = new AdmissionController(new FixedConcurrencyLimit(1), 1,
+                10, TimeUnit.SECONDS, 1);
+        final AdmissionController.Permit permit = controller.acquire("a");
+
+        final CompletableFuture<AdmissionController.Permit> queued =
+                CompletableFuture.supplyAsync(() -> controller.acquire("a"));
+        while (controller.getQueued() == 0) {
+            Thread.sleep(10);
+        }
+        // the queue is full
+        assertNull(controller.acquire("a"));
+
+        permit.release(false);
+        assertNotNull(queued.get(10, TimeUnit.SECONDS));
+        assertEquals(0, controller.getQueued());
+    }
+
+    @Test
+    public void testQueueTimeout() {
+        final AdmissionController controller = new AdmissionController(new FixedConcurrencyLimit(1), 1,
+                50, TimeUnit.MILLISECONDS, 1);
+        assertNotNull(controller.acquire("a"));
+        assertNull(controller.acquire("a"));
+        assertEquals(1, controller.getRejectedCount());
+    }
+
+    @Test
+    public void testAimdLimit() {
+        final AimdConcurrencyLimit limit = new AimdConcurrencyLimit(10, 20);
+        limit.onSample(1000, 5, false);
+        assertEquals(11, limit.getLimit());
+        limit.onSample(1000, 1, false);
+        assertEquals(11, limit.getLimit());
+        limit.onSample(1000, 11, true);
+        assertEquals(9, limit.getLimit());
+    }
+
+    @Test
+    public void testVegasLimit() {
+        final VegasConcurrencyLimit limit = new VegasConcurrencyLimit(10, 100);
+        limit.onSample(1_000_000, 10, false);
+        assertTrue(limit.getLimit() > 10, "The limit should grow while there is no queueing.");
+
+        final int grown = limit.getLimit();
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(10_000_000, grown, false);
+        }
+        assertTrue(limit.getLimit() < grown, "The limit should shrink when the latency grows.");
+    }
+
+    @Test
+    public void testGradientLimit() {
+        final GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 100);
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(1_000_000, limit.getLimit(), false);
+        }
+        final int grown = limit.getLimit();
+        assertTrue(grown > 10, "The limit should grow while the latency is stable.");
+
+        for (int i = 0; i < 10; i++) {
+            limit.onSample(10_000_000, limit.getLimit(), false);
+        }
+        assertTrue(limit.getLimit() < grown, "The limit should shrink when the latency grows.");
+    }
+
+    @Test
+    public void testContainerScope() {
+        assertNull(AdmissionController.create(new ResourceConfig()
+                .property(ServerProperties.ADMISSION_CONTROL_LIMIT, 1)
+                .property(ServerProperties.ADMISSION_CONTROL_SCOPE, "method")));
+        assertNotNull(AdmissionController.create(new ResourceConfig()
+                .property(ServerProperties.ADMISSION_CONTROL_LIMIT, 1)
+                .property(ServerProperties.ADMISSION_CONTROL_SCOPE, "Container")));
+        assertThrows(IllegalArgumentException.class, () -> AdmissionController.create(new ResourceConfig()
+                .property(ServerProperties.ADMISSION_CONTROL_LIMIT, 1)
+                .property(ServerProperties.ADMISSION_CONTROL_SCOPE, "unknown")));
+    }
+
+    @Test
+    public void testTryAcquireDoesNotQueue() {
+        final AdmissionController controller = new AdmissionController(new FixedConcurrencyLimit(1), 1,
+                10, TimeUnit.SECONDS, 1);
+        assertNotNull(controller.tryAcquire("a"));
+        assertNull(controller.tryAcquire("a"));
+        assertEquals(1, controller.getRejectedCount());
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.admission;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.HttpHeaders;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link OverloadProtectionFeature}.
+ */
+public class OverloadProtectionFeatureTest {
+
+    private static volatile CountDownLatch entered;
+    private static volatile CountDownLatch release;
+
+    @Path("/")
+    public static class Resource {
+
+        @GET
+        @Path("slow")
+        public String slow() throws InterruptedException {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "slow";
+        }
+
+        @GET
+        @Path("fast")
+        public String fast() {
+            return "fast";
+        }
+
+        @GET
+        @Path("health")
+        @AdmissionPriority(AdmissionPriority.Level.CRITICAL)
+        public String health() {
+            return "ok";
+        }
+
+        @GET
+        @Path("fail")
+        public String fail() {
+            throw new IllegalStateException();
+        }
+    }
+
+    @BeforeEach
+    public void reset() {
+        entered = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    private static ApplicationHandler createApplication(final String scope) {
+        final ResourceConfig config = new ResourceConfig(Resource.class)
+                .register(OverloadProtectionFeature.class)
+                .property(ServerProperties.ADMISSION_CONTROL_LIMIT, 1)
+                .property(ServerProperties.ADMISSION_CONTROL_RETRY_AFTER, 5);
+        if (scope != null) {
+            config.property(ServerProperties.ADMISSION_CONTROL_SCOPE, scope);
+        }
+        return new ApplicationHandler(config);
+    }
+
+    private static ContainerResponse get(final ApplicationHandler app, final String path) throws Exception {
+        return app.apply(RequestContextBuilder.from(path, "GET").build()).get();
+    }
+
+    private static Thread startSlowRequest(final ApplicationHandler app) throws Exception {
+        final Thread thread = new Thread(() -> {
+            try {
+                get(app, "/slow");
+            } catch (final Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        return thread;
+    }
+
+    @Test
+    public void testApplicationScope() throws Exception {
+        final ApplicationHandler app = createApplication(null);
+        assertEquals("application", app.getConfiguration().getProperty(ServerProperties.ADMISSION_CONTROL_SCOPE));
+        assertNull(AdmissionController.create(app.getConfiguration()), "Containers must not enforce the limit again.");
+
+        final Thread slow = startSlowRequest(app);
+
+        final ContainerResponse rejected = get(app, "/fast");
+        assertEquals(503, rejected.getStatus());
+        assertEquals("5", rejected.getHeaderString(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, get(app, "/health").getStatus());
+
+        release.countDown();
+        slow.join(10_000);
+        assertEquals(200, get(app, "/fast").getStatus());
+
+        final OverloadProtection protection = app.getInjectionManager().getInstance(OverloadProtection.class);
+        final AdmissionController controller =
+                protection.getAdmissionControllers().get(OverloadProtection.APPLICATION_CONTROLLER);
+        assertEquals(1, protection.getAdmissionControllers().size());
+        assertEquals(0, controller.getInFlight());
+        assertEquals(1, controller.getRejectedCount());
+    }
+
+    @Test
+    public void testMethodScope() throws Exception {
+        final ApplicationHandler app = createApplication("method");
+        final Thread slow = startSlowRequest(app);
+
+        assertEquals(200, get(app, "/fast").getStatus());
+        assertEquals(503, get(app, "/slow").getStatus());
+
+        release.countDown();
+        slow.join(10_000);
+
+        final OverloadProtection protection = app.getInjectionManager().getInstance(OverloadProtection.class);
+        assertEquals(2, protection.getAdmissionControllers().size());
+        assertTrue(protection.getAdmissionControllers().containsKey(Resource.class.getName() + ".slow[GET]"));
+        for (final AdmissionController controller : protection.getAdmissionControllers().values()) {
+            assertEquals(0, controller.getInFlight());
+        }
+    }
+
+    @Test
+    public void testFailedRequestReleasesPermit() throws Exception {
+        final ApplicationHandler app = createApplication(null);
+        try {
+            get(app, "/fail");
+        } catch (final Exception e) {
+            // expected, the exception is not mapped
+        }
+        final OverloadProtection protection = app.getInjectionManager().getInstance(OverloadProtection.class);
+        assertEquals(0, protection.getAdmissionControllers().get(OverloadProtection.APPLICATION_CONTROLLER).getInFlight());
+        assertEquals(200, get(app, "/fast").getStatus());
+    }
+
+    @Test
+    public void testDisabledWithoutLimit() {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(Resource.class)
+                .register(OverloadProtectionFeature.class));
+        assertFalse(app.getConfiguration().isEnabled(OverloadProtectionFeature.class));
+    }
+}
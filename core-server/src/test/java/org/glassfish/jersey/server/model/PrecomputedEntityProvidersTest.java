@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+import org.glassfish.jersey.message.internal.ReaderWriter;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests message body readers and writers selected ahead of time
+ * ({@link ServerProperties#ENTITY_PROVIDERS_PRECOMPUTED_ENABLED}).
+ */
+public class PrecomputedEntityProvidersTest {
+
+    private static final String TEXT_BEAN = "text/bean";
+    private static final int REQUEST_COUNT = 5;
+
+    private static final AtomicInteger IS_READABLE = new AtomicInteger();
+    private static final AtomicInteger IS_WRITEABLE = new AtomicInteger();
+    private static volatile boolean writeable = true;
+
+    public static class Bean {
+
+        private final String value;
+
+        public Bean(final String value) {
+            this.value = value;
+        }
+    }
+
+    @Provider
+    @Produces(TEXT_BEAN)
+    @Consumes(TEXT_BEAN)
+    public static class BeanProvider implements MessageBodyReader<Bean>, MessageBodyWriter<Bean> {
+
+        @Override
+        public boolean isReadable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                                  final MediaType mediaType) {
+            IS_READABLE.incrementAndGet();
+            return type == Bean.class;
+        }
+
+        @Override
+        public Bean readFrom(final Class<Bean> type, final Type genericType, final Annotation[] annotations,
+                             final MediaType mediaType, final MultivaluedMap<String, String> httpHeaders,
+                             final InputStream entityStream) throws IOException {
+            return new Bean(ReaderWriter.readFromAsString(entityStream, mediaType));
+        }
+
+        @Override
+        public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                                   final MediaType mediaType) {
+            // do not count the serialization of the test request entity
+            if (annotations.length > 0) {
+                IS_WRITEABLE.incrementAndGet();
+                return writeable && type == Bean.class;
+            }
+            return type == Bean.class;
+        }
+
+        @Override
+        public void writeTo(final Bean bean, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                            final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders,
+                            final OutputStream entityStream) throws IOException {
+            entityStream.write(bean.value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Path("bean")
+    public static class BeanResource {
+
+        @POST
+        @Consumes(TEXT_BEAN)
+        @Produces(TEXT_BEAN)
+        public Bean echo(final Bean bean) {
+            return new Bean("echo:" + bean.value);
+        }
+    }
+
+    @BeforeEach
+    public void reset() {
+        IS_READABLE.set(0);
+        IS_WRITEABLE.set(0);
+        writeable = true;
+    }
+
+    @Test
+    public void testProvidersSelectedAheadOfTime() throws Exception {
+        final ApplicationHandler application = createApplication(true);
+        // providers are queried once, during the initialization
+        assertEquals(1, IS_READABLE.get());
+        assertEquals(1, IS_WRITEABLE.get());
+
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            assertEquals("echo:" + i, echo(application, String.valueOf(i)));
+        }
+        // the selected custom providers are only asked again whether they still accept the entity
+        assertEquals(1 + REQUEST_COUNT, IS_READABLE.get());
+        assertEquals(1 + REQUEST_COUNT, IS_WRITEABLE.get());
+    }
+
+    @Test
+    public void testNotWriteablePrecomputedProviderIsNotUsed() throws Exception {
+        final ApplicationHandler application = createApplication(true);
+        writeable = false;
+
+        final ContainerResponse response = application.apply(RequestContextBuilder.from("/bean", "POST")
+                .entity(new Bean("value"))
+                .type(TEXT_BEAN)
+                .accept(TEXT_BEAN)
+                .build(), new ByteArrayOutputStream()).get();
+        // no writer is able to write the entity
+        assertEquals(500, response.getStatus());
+    }
+
+    @Test
+    public void testProvidersSelectedPerRequestByDefault() throws Exception {
+        final ApplicationHandler application = createApplication(false);
+        reset();
+
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            assertEquals("echo:" + i, echo(application, String.valueOf(i)));
+        }
+        assertTrue(IS_READABLE.get() >= REQUEST_COUNT);
+        assertTrue(IS_WRITEABLE.get() >= REQUEST_COUNT);
+    }
+
+    @Test
+    public void testNotMatchingLookupSelectsProvider() throws Exception {
+        final ApplicationHandler application = createApplication(true);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final ContainerResponse response = application.apply(RequestContextBuilder.from("/bean", "POST")
+                .entity(new Bean("value"))
+                .type(TEXT_BEAN + ";charset=UTF-8")
+                .accept(TEXT_BEAN)
+                .build(), output).get();
+
+        assertEquals(200, response.getStatus());
+        assertEquals("echo:value", output.toString("UTF-8"));
+        // the content type with parameters does not match the precomputed reader
+        assertEquals(2, IS_READABLE.get());
+        assertEquals(2, IS_WRITEABLE.get());
+    }
+
+    private static ApplicationHandler createApplication(final boolean precomputed) {
+        return new ApplicationHandler(new ResourceConfig(BeanResource.class, BeanProvider.class)
+                .property(ServerProperties.ENTITY_PROVIDERS_PRECOMPUTED_ENABLED, precomputed)
+                .property(ServerProperties.WADL_FEATURE_DISABLE, true));
+    }
+
+    private static String echo(final ApplicationHandler application, final String value) throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final ContainerResponse response = application.apply(RequestContextBuilder.from("/bean", "POST")
+                .entity(new Bean(value))
+                .type(TEXT_BEAN)
+                .accept(TEXT_BEAN)
+                .build(), output).get();
+        assertEquals(200, response.getStatus());
+        return output.toString("UTF-8");
+    }
+}
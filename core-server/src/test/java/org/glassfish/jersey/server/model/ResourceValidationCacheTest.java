@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ExtendedResourceContext;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link ResourceValidationCache}.
+ */
+public class ResourceValidationCacheTest {
+
+    @Path("a")
+    public static class ResourceA {
+        @GET
+        public String get() {
+            return "a";
+        }
+
+        @GET
+        @Path("child")
+        public String getChild() {
+            return "child";
+        }
+    }
+
+    @Path("b")
+    public static class ResourceB {
+        @GET
+        public String get() {
+            return "b";
+        }
+    }
+
+    @Path("ambiguous")
+    public static class AmbiguousResource {
+        @GET
+        public String get() {
+            return "get";
+        }
+
+        @GET
+        public String getAgain() {
+            return "get";
+        }
+    }
+
+    public static class NoopFilter implements ContainerRequestFilter {
+        @Override
+        public void filter(final ContainerRequestContext requestContext) {
+        }
+    }
+
+    public static class CachedApplication extends ResourceConfig {
+        public CachedApplication() {
+            super(ResourceA.class, ResourceB.class);
+        }
+    }
+
+    @Test
+    public void testWrittenCacheMatches() throws IOException {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(ResourceA.class, ResourceB.class));
+        final ResourceValidationCache cache = ResourceValidationCache.create(resourceModel(handler), handler.getConfiguration());
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        cache.write(bytes);
+        final ResourceValidationCache read = ResourceValidationCache.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertTrue(read.matches(resourceModel(handler), handler.getConfiguration()));
+
+        // registration order does not matter
+        final ApplicationHandler reordered = new ApplicationHandler(new ResourceConfig(ResourceB.class, ResourceA.class));
+        assertTrue(read.matches(resourceModel(reordered), reordered.getConfiguration()));
+    }
+
+    @Test
+    public void testDifferentModelDoesNotMatch() {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(ResourceA.class));
+        final ResourceValidationCache cache = ResourceValidationCache.create(resourceModel(handler), handler.getConfiguration());
+
+        final ApplicationHandler other = new ApplicationHandler(new ResourceConfig(ResourceA.class, ResourceB.class));
+        assertFalse(cache.matches(resourceModel(other), other.getConfiguration()));
+    }
+
+    @Test
+    public void testDifferentProvidersDoNotMatch() {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(ResourceA.class)
+                .register(NoopFilter.class, ContainerRequestFilter.class));
+        final ResourceValidationCache cache = ResourceValidationCache.create(resourceModel(handler), handler.getConfiguration());
+        assertTrue(cache.matches(resourceModel(handler), handler.getConfiguration()));
+
+        final ApplicationHandler noProvider = new ApplicationHandler(new ResourceConfig(ResourceA.class));
+        assertFalse(cache.matches(resourceModel(noProvider), noProvider.getConfiguration()));
+
+        final ApplicationHandler otherPriority = new ApplicationHandler(new ResourceConfig(ResourceA.class)
+                .register(NoopFilter.class, Collections.singletonMap(ContainerRequestFilter.class, 10)));
+        assertFalse(cache.matches(resourceModel(otherPriority), otherPriority.getConfiguration()));
+    }
+
+    @Test
+    public void testUnsupportedCache() {
+        assertThrows(IOException.class,
+                () -> ResourceValidationCache.read(new ByteArrayInputStream("validation.version=0".getBytes("UTF-8"))));
+    }
+
+    @Test
+    public void testMatchingCacheSkipsValidation() throws IOException {
+        final ApplicationHandler notValidated = new ApplicationHandler(new ResourceConfig(AmbiguousResource.class)
+                .property(ServerProperties.RESOURCE_VALIDATION_DISABLE, true));
+        final File file = File.createTempFile("validation", ".properties");
+        file.deleteOnExit();
+        try (OutputStream outputStream = Files.newOutputStream(file.toPath())) {
+            ResourceValidationCache.create(resourceModel(notValidated), notValidated.getConfiguration()).write(outputStream);
+        }
+
+        assertThrows(ModelValidationException.class,
+                () -> new ApplicationHandler(new ResourceConfig(AmbiguousResource.class)));
+        new ApplicationHandler(new ResourceConfig(AmbiguousResource.class)
+                .property(ServerProperties.RESOURCE_VALIDATION_CACHE, file.getAbsolutePath()));
+    }
+
+    @Test
+    public void testMain() throws Exception {
+        final File file = File.createTempFile("validation", ".properties");
+        file.deleteOnExit();
+        ResourceValidationCache.main(new String[] {CachedApplication.class.getName(), file.getAbsolutePath()});
+
+        final ResourceValidationCache cache;
+        try (InputStream inputStream = new FileInputStream(file)) {
+            cache = ResourceValidationCache.read(inputStream);
+        }
+        final ApplicationHandler handler = new ApplicationHandler(CachedApplication.class);
+        assertTrue(cache.matches(resourceModel(handler), handler.getConfiguration()));
+    }
+
+    private static ResourceModel resourceModel(final ApplicationHandler handler) {
+        return handler.getInjectionManager().getInstance(ExtendedResourceContext.class).getResourceModel();
+    }
+}
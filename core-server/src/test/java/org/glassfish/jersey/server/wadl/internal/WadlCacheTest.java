@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.server.wadl.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.UriInfo;
+
+import javax.xml.bind.JAXBContext;
+
+import org.glassfish.jersey.message.internal.MediaTypes;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ExtendedResourceContext;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.server.model.RuntimeResource;
+import org.glassfish.jersey.server.wadl.WadlApplicationContext;
+
+import com.sun.research.ws.wadl.Application;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests caching of WADL and OPTIONS responses.
+ */
+public class WadlCacheTest {
+
+    @Path("items")
+    public static class ItemsResource {
+
+        @GET
+        public String get() {
+            return "items";
+        }
+
+        @POST
+        public String post(final String entity) {
+            return entity;
+        }
+    }
+
+    @Path("items/{id}")
+    public static class ItemResource {
+
+        @GET
+        public String get() {
+            return "item";
+        }
+    }
+
+    @Test
+    public void testResourceWadlIsSharedByRequestPaths() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(ItemResource.class));
+        final CountingWadlContext context = new CountingWadlContext(app);
+        final WadlCache cache = new WadlCache();
+        final Resource resource = Resource.from(ItemResource.class);
+
+        final WadlCache.SerializedWadl first = cache.getResourceWadl(context, uriInfo("/items/1"), resource, false);
+        final WadlCache.SerializedWadl second = cache.getResourceWadl(context, uriInfo("/items/2"), resource, false);
+        assertEquals(1, context.generated.get());
+        assertTrue(string(first).contains("path=\"items/1\""));
+        assertTrue(string(second).contains("path=\"items/2\""));
+        assertFalse(string(second).contains("items/1"));
+        assertEquals(first.getLastModified(), second.getLastModified());
+
+        cache.getResourceWadl(context, uriInfo("/items/3?page=2&sort=name"), resource, false);
+        assertEquals(1, context.generated.get());
+
+        cache.getResourceWadl(context, uriInfo("/items/1?detail=true"), resource, true);
+        assertEquals(2, context.generated.get());
+    }
+
+    @Test
+    public void testResourcePathIsEscaped() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(ItemResource.class));
+        final WadlCache cache = new WadlCache();
+
+        final WadlCache.SerializedWadl wadl = cache.getResourceWadl(new CountingWadlContext(app), uriInfo("/items/a&b"),
+                Resource.from(ItemResource.class), false);
+        assertTrue(string(wadl).contains("path=\"items/a&amp;b\""));
+    }
+
+    @Test
+    public void testResourceWadlIsServedFromCache() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(ItemsResource.class));
+
+        final ContainerResponse first = options(app, "/items");
+        assertEquals(200, first.getStatus());
+        final ContainerResponse second = options(app, "/items?page=1");
+        assertEquals(200, second.getStatus());
+        assertEquals(new String((byte[]) first.getEntity(), StandardCharsets.UTF_8),
+                new String((byte[]) second.getEntity(), StandardCharsets.UTF_8));
+        assertEquals(first.getHeaderString("Last-modified"), second.getHeaderString("Last-modified"));
+    }
+
+    @Test
+    public void testApplicationWadlIsKeyedByBaseUri() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(ItemsResource.class));
+        final CountingWadlContext context = new CountingWadlContext(app);
+        final WadlCache cache = new WadlCache();
+
+        cache.getApplicationWadl(context, uriInfo("http://localhost/", "http://localhost/application.wadl"), false);
+        cache.getApplicationWadl(context, uriInfo("http://localhost/", "http://localhost/application.wadl?a=b"), false);
+        assertEquals(1, context.generated.get());
+
+        final WadlCache.SerializedWadl other = cache.getApplicationWadl(context,
+                uriInfo("http://example.org/", "http://example.org/application.wadl"), false);
+        assertEquals(2, context.generated.get());
+        assertTrue(string(other).contains("http://example.org/application.wadl?detail=true"));
+
+        final String wadl = wadl(app, "http://example.org/");
+        assertTrue(wadl.contains("http://example.org/"));
+        assertFalse(wadl.contains("http://localhost/"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDocumentsAreEvicted() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(ItemResource.class));
+        final CountingWadlContext context = new CountingWadlContext(app);
+        final WadlCache cache = new WadlCache();
+        final Resource resource = Resource.from(ItemResource.class);
+
+        cache.getResourceWadl(context, uriInfo("/items/0"), resource, false);
+        for (int i = 1; i <= 2 * WadlCache.MAX_SIZE; i++) {
+            final String base = "http://host" + i + "/";
+            cache.getApplicationWadl(context, uriInfo(base, base + "application.wadl"), false);
+            // the document used all along stays cached
+            cache.getResourceWadl(context, uriInfo("/items/" + i), resource, false);
+        }
+        assertEquals(1 + 2 * WadlCache.MAX_SIZE, context.generated.get());
+
+        cache.getApplicationWadl(context, uriInfo("http://host1/", "http://host1/application.wadl"), false);
+        assertEquals(2 + 2 * WadlCache.MAX_SIZE, context.generated.get());
+    }
+
+    @Test
+    public void testReloadStartsWithEmptyCache() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(ItemsResource.class));
+        options(app, "/items");
+
+        final ApplicationHandler reloaded = new ApplicationHandler(new ResourceConfig(ItemsResource.class));
+        assertNotSame(app.getInjectionManager().getInstance(WadlCache.class),
+                reloaded.getInjectionManager().getInstance(WadlCache.class));
+    }
+
+    @Test
+    public void testAllowedMethodsArePrecomputed() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(ItemsResource.class));
+        final ResourceModel model = app.getInjectionManager()
+                .getInstance(ExtendedResourceContext.class).getResourceModel();
+        RuntimeResource items = null;
+        for (final RuntimeResource runtimeResource : model.getRuntimeResourceModel().getRuntimeResources()) {
+            for (final Resource resource : runtimeResource.getResources()) {
+                if ("items".equals(resource.getPath())) {
+                    items = runtimeResource;
+                }
+            }
+        }
+
+        final Set<String> allowed = items.getAllowedMethods();
+        assertSame(allowed, items.getAllowedMethods());
+        assertTrue(allowed.contains(HttpMethod.GET));
+        assertTrue(allowed.contains(HttpMethod.HEAD));
+        assertTrue(allowed.contains(HttpMethod.POST));
+        assertTrue(allowed.contains(HttpMethod.OPTIONS));
+        assertThrows(UnsupportedOperationException.class, () -> allowed.add(HttpMethod.PUT));
+
+        final ContainerResponse response = app.apply(RequestContextBuilder.from("/items", HttpMethod.OPTIONS)
+                .accept(MediaType.TEXT_PLAIN_TYPE).build()).get();
+        assertEquals(200, response.getStatus());
+        for (final String method : allowed) {
+            assertTrue(response.getAllowedMethods().contains(method));
+            assertTrue(((String) response.getEntity()).contains(method));
+        }
+    }
+
+    private static ContainerResponse options(final ApplicationHandler app, final String uri) throws Exception {
+        return app.apply(RequestContextBuilder.from(uri, HttpMethod.OPTIONS).accept(MediaTypes.WADL_TYPE).build()).get();
+    }
+
+    private static String wadl(final ApplicationHandler app, final String baseUri) throws Exception {
+        final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+        final ContainerResponse response = app.apply(RequestContextBuilder.from(baseUri, baseUri + "application.wadl",
+                HttpMethod.GET).build(), entity).get();
+        assertEquals(200, response.getStatus());
+        return new String(entity.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static UriInfo uriInfo(final String uri) {
+        return uriInfo("http://localhost/", "http://localhost" + uri);
+    }
+
+    private static UriInfo uriInfo(final String baseUri, final String requestUri) {
+        return RequestContextBuilder.from(baseUri, requestUri, HttpMethod.OPTIONS).build().getUriInfo();
+    }
+
+    private static String string(final WadlCache.SerializedWadl wadl) {
+        return new String(wadl.getBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static final class CountingWadlContext implements WadlApplicationContext {
+
+        private final WadlApplicationContext delegate;
+        private final AtomicInteger generated = new AtomicInteger();
+
+        private CountingWadlContext(final ApplicationHandler app) {
+            this.delegate = app.getInjectionManager().getInstance(WadlApplicationContext.class);
+        }
+
+        @Override
+        public ApplicationDescription getApplication(final UriInfo ui, final boolean detailedWadl) {
+            generated.incrementAndGet();
+            return delegate.getApplication(ui, detailedWadl);
+        }
+
+        @Override
+        public Application getApplication(final UriInfo info, final Resource resource, final boolean detailedWadl) {
+            generated.incrementAndGet();
+            return delegate.getApplication(info, resource, detailedWadl);
+        }
+
+        @Override
+        public JAXBContext getJAXBContext() {
+            return delegate.getJAXBContext();
+        }
+
+        @Override
+        public void setWadlGenerationEnabled(final boolean wadlGenerationEnabled) {
+            delegate.setWadlGenerationEnabled(wadlGenerationEnabled);
+        }
+
+        @Override
+        public boolean isWadlGenerationEnabled() {
+            return delegate.isWadlGenerationEnabled();
+        }
+    }
+}
@@ -15,6 +15,9 @@
  */
 package org.glassfish.jersey.micrometer.server;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
 import org.glassfish.jersey.server.ContainerResponse;
@@ -29,16 +32,18 @@ import org.glassfish.jersey.server.monitoring.RequestEvent;
  */
 public final class DefaultJerseyTagsProvider implements JerseyTagsProvider {
 
+    private final Map<JerseyTags.MatchedTemplates, Tag> uriTags = new ConcurrentHashMap<>();
+
     @Override
     public Iterable<Tag> httpRequestTags(RequestEvent event) {
         ContainerResponse response = event.getContainerResponse();
-        return Tags.of(JerseyTags.method(event.getContainerRequest()), JerseyTags.uri(event),
+        return Tags.of(JerseyTags.method(event.getContainerRequest()), JerseyTags.uri(event, uriTags),
                 JerseyTags.exception(event), JerseyTags.status(response), JerseyTags.outcome(response));
     }
 
     @Override
     public Iterable<Tag> httpLongRequestTags(RequestEvent event) {
-        return Tags.of(JerseyTags.method(event.getContainerRequest()), JerseyTags.uri(event));
+        return Tags.of(JerseyTags.method(event.getContainerRequest()), JerseyTags.uri(event, uriTags));
     }
 
 }
@@ -15,7 +15,9 @@
  */
 package org.glassfish.jersey.micrometer.server;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import io.micrometer.common.util.StringUtils;
@@ -84,6 +86,17 @@ public final class JerseyTags {
      * @return the uri tag derived from the request event
      */
     public static Tag uri(RequestEvent event) {
+        return uri(event, null);
+    }
+
+    /**
+     * Creates a {@code uri} tag the same way as {@link #uri(RequestEvent)} does, reusing the tags cached in the given
+     * {@code cache} for the matched URI templates.
+     * @param event the request event
+     * @param cache cache of the uri tags or {@code null}
+     * @return the uri tag derived from the request event
+     */
+    static Tag uri(RequestEvent event, Map<MatchedTemplates, Tag> cache) {
         ContainerResponse response = event.getContainerResponse();
         if (response != null) {
             int status = response.getStatus();
@@ -94,7 +107,22 @@ public final class JerseyTags {
                 return URI_NOT_FOUND;
             }
         }
-        String matchingPattern = getMatchingPattern(event);
+        if (cache == null) {
+            return uriTag(getMatchingPattern(event));
+        }
+        ExtendedUriInfo uriInfo = event.getUriInfo();
+        MatchedTemplates key = new MatchedTemplates(uriInfo.getBaseUri().getPath(), uriInfo.getMatchedTemplates());
+        Tag tag = cache.get(key);
+        if (tag == null) {
+            tag = uriTag(getMatchingPattern(event));
+            if (cache.size() < MatchedTemplates.MAX_CACHED) {
+                cache.put(key.copy(), tag);
+            }
+        }
+        return tag;
+    }
+
+    private static Tag uriTag(String matchingPattern) {
         if (matchingPattern.equals("/")) {
             return URI_ROOT;
         }
@@ -121,6 +149,64 @@ public final class JerseyTags {
         return TRAILING_SLASH_PATTERN.matcher(multipleSlashCleaned).replaceAll("");
     }
 
+    /**
+     * Base path and URI templates matched by a request, the key of the cached {@code uri} tags.
+     */
+    static final class MatchedTemplates {
+
+        /**
+         * Maximum number of cached {@code uri} tags, prevents unbounded growth for applications with dynamic routing.
+         */
+        static final int MAX_CACHED = 1024;
+
+        private final String basePath;
+
+        private final List<UriTemplate> templates;
+
+        private final int hash;
+
+        MatchedTemplates(String basePath, List<UriTemplate> templates) {
+            this.basePath = basePath;
+            this.templates = templates;
+            int hash = basePath.hashCode();
+            for (UriTemplate template : templates) {
+                hash = 31 * hash + template.getTemplate().hashCode();
+            }
+            this.hash = hash;
+        }
+
+        MatchedTemplates copy() {
+            return new MatchedTemplates(basePath, new ArrayList<>(templates));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MatchedTemplates)) {
+                return false;
+            }
+            MatchedTemplates that = (MatchedTemplates) o;
+            if (hash != that.hash || !basePath.equals(that.basePath) || templates.size() != that.templates.size()) {
+                return false;
+            }
+            // templates differing only in the names of their variables are equal, compare the template strings
+            for (int i = 0; i < templates.size(); i++) {
+                if (!templates.get(i).getTemplate().equals(that.templates.get(i).getTemplate())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
     /**
      * Creates an {@code exception} tag based on the {@link Class#getSimpleName() simple
      * name} of the class of the given {@code exception}.
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.jersey.micrometer.server;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.glassfish.jersey.server.model.ResourceMethod;
+
+/**
+ * Caches the {@link Timed} annotations resolved for the resource methods and the meters registered for them, so that
+ * they are not resolved and looked up in the registry on each request. A cached meter is looked up in the registry again
+ * once it is older than {@link #REVALIDATE_INTERVAL}, so that the requests are recorded by newly registered meters after
+ * the cached ones have been removed from the registry (e.g. by {@link MeterRegistry#clear()}). The cache does not register
+ * any listener with the registry, which usually outlives the application.
+ */
+class MeterCache {
+
+    /**
+     * Maximum number of entries of each of the caches, the cache is not updated once full. Prevents unbounded growth
+     * for resource methods created per request (e.g. by sub-resource locators returning a resource model) or
+     * for tags of a high cardinality.
+     */
+    static final int MAX_CACHED = 4096;
+
+    /**
+     * Age of a cached meter after which the meter is looked up in the registry again.
+     */
+    static final Duration REVALIDATE_INTERVAL = Duration.ofSeconds(1);
+
+    private static final long REVALIDATE_INTERVAL_NANOS = REVALIDATE_INTERVAL.toNanos();
+
+    private final MeterRegistry registry;
+
+    private final Clock clock;
+
+    private final String metricName;
+
+    private final TimedFinder timedFinder;
+
+    private final Map<ResourceMethod, Set<Timed>> timedAnnotations = new ConcurrentHashMap<>();
+
+    private final Map<MeterKey, CachedMeter<Timer>> timers = new ConcurrentHashMap<>();
+
+    private final Map<MeterKey, CachedMeter<LongTaskTimer>> longTaskTimers = new ConcurrentHashMap<>();
+
+    private final boolean cacheMeters;
+
+    /**
+     * Create the cache shared by the requests of an application.
+     */
+    MeterCache(MeterRegistry registry, String metricName, AnnotationFinder annotationFinder) {
+        this(registry, metricName, annotationFinder, true);
+    }
+
+    /**
+     * Create the cache.
+     *
+     * @param cacheMeters whether to cache the meters; caching the meters is of no use for caches created per request.
+     */
+    MeterCache(MeterRegistry registry, String metricName, AnnotationFinder annotationFinder, boolean cacheMeters) {
+        this.registry = registry;
+        this.clock = registry.config().clock();
+        this.metricName = metricName;
+        this.timedFinder = new TimedFinder(annotationFinder);
+        this.cacheMeters = cacheMeters;
+    }
+
+    /**
+     * Get the {@link Timed} annotations of the resource method, or of its class if the method is not annotated.
+     */
+    Set<Timed> timedAnnotations(ResourceMethod method) {
+        if (method == null) {
+            return Collections.emptySet();
+        }
+        Set<Timed> timed = timedAnnotations.get(method);
+        if (timed == null) {
+            timed = findTimedAnnotations(method);
+            if (timedAnnotations.size() < MAX_CACHED) {
+                timedAnnotations.putIfAbsent(method, timed);
+            }
+        }
+        return timed;
+    }
+
+    private Set<Timed> findTimedAnnotations(ResourceMethod method) {
+        final Set<Timed> timed = new HashSet<>(
+                timedFinder.findTimedAnnotations(method.getInvocable().getHandlingMethod()));
+        if (timed.isEmpty()) {
+            timed.addAll(timedFinder.findTimedAnnotations(method.getInvocable().getHandlingMethod().getDeclaringClass()));
+        }
+        return Collections.unmodifiableSet(timed);
+    }
+
+    /**
+     * Get the timer for the {@code Timed} annotation, or the default request timer if {@code timed} is {@code null}.
+     */
+    Timer timer(Timed timed, Iterable<Tag> tags) {
+        final MeterKey key = new MeterKey(timed, Tags.of(tags));
+        final long now = clock.monotonicTime();
+        final CachedMeter<Timer> cached = timers.get(key);
+        if (cached != null && cached.isValid(now)) {
+            return cached.meter;
+        }
+        // the registry returns the registered meter, or registers a new one if the cached meter has been removed
+        final Timer timer = timed == null
+                ? registry.timer(metricName, key.tags)
+                : Timer.builder(timed, metricName).tags(key.tags).register(registry);
+        if (cacheMeters && (cached != null || timers.size() < MAX_CACHED)) {
+            timers.put(key, new CachedMeter<>(timer, now));
+        }
+        return timer;
+    }
+
+    /**
+     * Get the long task timer for the {@code Timed} annotation.
+     */
+    LongTaskTimer longTaskTimer(Timed timed, Iterable<Tag> tags) {
+        final MeterKey key = new MeterKey(timed, Tags.of(tags));
+        final long now = clock.monotonicTime();
+        final CachedMeter<LongTaskTimer> cached = longTaskTimers.get(key);
+        if (cached != null && cached.isValid(now)) {
+            return cached.meter;
+        }
+        final LongTaskTimer timer = LongTaskTimer.builder(timed).tags(key.tags).register(registry);
+        if (cacheMeters && (cached != null || longTaskTimers.size() < MAX_CACHED)) {
+            longTaskTimers.put(key, new CachedMeter<>(timer, now));
+        }
+        return timer;
+    }
+
+    private static final class CachedMeter<M extends Meter> {
+
+        private final M meter;
+
+        private final long resolved;
+
+        private CachedMeter(M meter, long resolved) {
+            this.meter = meter;
+            this.resolved = resolved;
+        }
+
+        private boolean isValid(long now) {
+            return now - resolved < REVALIDATE_INTERVAL_NANOS;
+        }
+
+    }
+
+    private static final class MeterKey {
+
+        private final Timed timed;
+
+        private final Tags tags;
+
+        private MeterKey(Timed timed, Tags tags) {
+            this.timed = timed;
+            this.tags = tags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MeterKey)) {
+                return false;
+            }
+            MeterKey that = (MeterKey) o;
+            // the annotations are the cached instances
+            return timed == that.timed && tags.equals(that.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(timed) + tags.hashCode();
+        }
+
+    }
+
+}
@@ -42,6 +42,8 @@ public class MetricsApplicationEventListener implements ApplicationEventListener
 
     private final boolean autoTimeRequests;
 
+    private final MeterCache meterCache;
+
     public MetricsApplicationEventListener(MeterRegistry registry, JerseyTagsProvider tagsProvider, String metricName,
             boolean autoTimeRequests) {
         this(registry, tagsProvider, metricName, autoTimeRequests, AnnotationFinder.DEFAULT);
@@ -54,6 +56,7 @@ public class MetricsApplicationEventListener implements ApplicationEventListener
         this.metricName = requireNonNull(metricName);
         this.annotationFinder = requireNonNull(annotationFinder);
         this.autoTimeRequests = autoTimeRequests;
+        this.meterCache = new MeterCache(meterRegistry, metricName, annotationFinder);
     }
 
     @Override
@@ -62,8 +65,7 @@ public class MetricsApplicationEventListener implements ApplicationEventListener
 
     @Override
     public RequestEventListener onRequest(RequestEvent requestEvent) {
-        return new MetricsRequestEventListener(meterRegistry, tagsProvider, metricName, autoTimeRequests,
-                annotationFinder);
+        return new MetricsRequestEventListener(meterRegistry, tagsProvider, autoTimeRequests, meterCache);
     }
 
 }
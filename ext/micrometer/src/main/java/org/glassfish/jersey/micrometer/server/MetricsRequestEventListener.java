@@ -15,21 +15,16 @@
  */
 package org.glassfish.jersey.micrometer.server;
 
-import java.util.Collection;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.LongTaskTimer;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
-import org.glassfish.jersey.server.ContainerRequest;
-import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.monitoring.RequestEventListener;
 
@@ -44,60 +39,59 @@ import static java.util.Objects.requireNonNull;
  */
 public class MetricsRequestEventListener implements RequestEventListener {
 
-    private final Map<ContainerRequest, Timer.Sample> shortTaskSample = Collections
-        .synchronizedMap(new IdentityHashMap<>());
-
-    private final Map<ContainerRequest, Collection<LongTaskTimer.Sample>> longTaskSamples = Collections
-        .synchronizedMap(new IdentityHashMap<>());
+    private final JerseyTagsProvider tagsProvider;
 
-    private final Map<ContainerRequest, Set<Timed>> timedAnnotationsOnRequest = Collections
-        .synchronizedMap(new IdentityHashMap<>());
+    private final boolean autoTimeRequests;
 
     private final MeterRegistry registry;
 
-    private final JerseyTagsProvider tagsProvider;
+    private final MeterCache meterCache;
 
-    private boolean autoTimeRequests;
+    // the listener is created for a single request, the request state is kept in fields
+    private Timer.Sample shortTaskSample;
 
-    private final TimedFinder timedFinder;
+    private List<LongTaskTimer.Sample> longTaskSamples;
 
-    private final String metricName;
+    private Set<Timed> timedAnnotations;
 
     public MetricsRequestEventListener(MeterRegistry registry, JerseyTagsProvider tagsProvider, String metricName,
             boolean autoTimeRequests, AnnotationFinder annotationFinder) {
+        this(registry, tagsProvider, autoTimeRequests,
+                new MeterCache(requireNonNull(registry), requireNonNull(metricName), annotationFinder, false));
+    }
+
+    MetricsRequestEventListener(MeterRegistry registry, JerseyTagsProvider tagsProvider, boolean autoTimeRequests,
+            MeterCache meterCache) {
         this.registry = requireNonNull(registry);
         this.tagsProvider = requireNonNull(tagsProvider);
-        this.metricName = requireNonNull(metricName);
         this.autoTimeRequests = autoTimeRequests;
-        this.timedFinder = new TimedFinder(annotationFinder);
+        this.meterCache = meterCache;
     }
 
     @Override
     public void onEvent(RequestEvent event) {
-        ContainerRequest containerRequest = event.getContainerRequest();
-        Set<Timed> timedAnnotations;
-
         switch (event.getType()) {
             case ON_EXCEPTION:
                 if (!isNotFoundException(event)) {
                     break;
                 }
-                time(event, containerRequest);
+                time(event);
                 break;
             case REQUEST_MATCHED:
-                time(event, containerRequest);
+                time(event);
                 break;
             case FINISHED:
-                timedAnnotations = timedAnnotationsOnRequest.remove(containerRequest);
-                Timer.Sample shortSample = shortTaskSample.remove(containerRequest);
+                final Set<Timed> timed = timedAnnotations;
+                final Timer.Sample shortSample = shortTaskSample;
+                final List<LongTaskTimer.Sample> longSamples = longTaskSamples;
+                timedAnnotations = null;
+                shortTaskSample = null;
+                longTaskSamples = null;
 
                 if (shortSample != null) {
-                    for (Timer timer : shortTimers(timedAnnotations, event)) {
-                        shortSample.stop(timer);
-                    }
+                    stopShortTimers(shortSample, timed, event);
                 }
 
-                Collection<LongTaskTimer.Sample> longSamples = this.longTaskSamples.remove(containerRequest);
                 if (longSamples != null) {
                     for (LongTaskTimer.Sample longSample : longSamples) {
                         longSample.stop();
@@ -107,19 +101,28 @@ public class MetricsRequestEventListener implements RequestEventListener {
         }
     }
 
-    private void time(RequestEvent event, ContainerRequest containerRequest) {
-        Set<Timed> timedAnnotations;
-        timedAnnotations = annotations(event);
-
-        timedAnnotationsOnRequest.put(containerRequest, timedAnnotations);
-        shortTaskSample.put(containerRequest, Timer.start(registry));
-
-        List<LongTaskTimer.Sample> longTaskSamples = longTaskTimers(timedAnnotations, event).stream()
-            .map(LongTaskTimer::start)
-            .collect(Collectors.toList());
-        if (!longTaskSamples.isEmpty()) {
-            this.longTaskSamples.put(containerRequest, longTaskSamples);
+    private void time(RequestEvent event) {
+        timedAnnotations = meterCache.timedAnnotations(event.getUriInfo().getMatchedResourceMethod());
+        shortTaskSample = Timer.start(registry);
+
+        List<LongTaskTimer.Sample> samples = null;
+        Iterable<Tag> tags = null;
+        Set<LongTaskTimer> started = null;
+        for (Timed timed : timedAnnotations) {
+            if (timed.longTask()) {
+                if (tags == null) {
+                    tags = tagsProvider.httpLongRequestTags(event);
+                    samples = new ArrayList<>(1);
+                    started = new HashSet<>(2);
+                }
+                LongTaskTimer timer = meterCache.longTaskTimer(timed, tags);
+                // the annotations may resolve to the same timer
+                if (started.add(timer)) {
+                    samples.add(timer.start());
+                }
+            }
         }
+        longTaskSamples = samples;
     }
 
     private boolean isNotFoundException(RequestEvent event) {
@@ -131,48 +134,35 @@ public class MetricsRequestEventListener implements RequestEventListener {
         return className.equals("jakarta.ws.rs.NotFoundException") || className.equals("javax.ws.rs.NotFoundException");
     }
 
-    private Set<Timer> shortTimers(Set<Timed> timed, RequestEvent event) {
+    private void stopShortTimers(Timer.Sample sample, Set<Timed> timed, RequestEvent event) {
         /*
          * Given we didn't find any matching resource method, 404s will be only recorded
          * when auto-time-requests is enabled. On par with WebMVC instrumentation.
          */
         if ((timed == null || timed.isEmpty()) && autoTimeRequests) {
-            return Collections.singleton(registry.timer(metricName, tagsProvider.httpRequestTags(event)));
+            sample.stop(meterCache.timer(null, tagsProvider.httpRequestTags(event)));
+            return;
         }
 
         if (timed == null) {
-            return Collections.emptySet();
+            return;
         }
 
-        return timed.stream()
-            .filter(annotation -> !annotation.longTask())
-            .map(t -> Timer.builder(t, metricName).tags(tagsProvider.httpRequestTags(event)).register(registry))
-            .collect(Collectors.toSet());
-    }
-
-    private Set<LongTaskTimer> longTaskTimers(Set<Timed> timed, RequestEvent event) {
-        return timed.stream()
-            .filter(Timed::longTask)
-            .map(LongTaskTimer::builder)
-            .map(b -> b.tags(tagsProvider.httpLongRequestTags(event)).register(registry))
-            .collect(Collectors.toSet());
-    }
-
-    private Set<Timed> annotations(RequestEvent event) {
-        final Set<Timed> timed = new HashSet<>();
-
-        final ResourceMethod matchingResourceMethod = event.getUriInfo().getMatchedResourceMethod();
-        if (matchingResourceMethod != null) {
-            // collect on method level
-            timed.addAll(timedFinder.findTimedAnnotations(matchingResourceMethod.getInvocable().getHandlingMethod()));
-
-            // fallback on class level
-            if (timed.isEmpty()) {
-                timed.addAll(timedFinder.findTimedAnnotations(
-                        matchingResourceMethod.getInvocable().getHandlingMethod().getDeclaringClass()));
+        Iterable<Tag> tags = null;
+        Set<Timer> stopped = null;
+        for (Timed annotation : timed) {
+            if (!annotation.longTask()) {
+                if (tags == null) {
+                    tags = tagsProvider.httpRequestTags(event);
+                    stopped = new HashSet<>(2);
+                }
+                Timer timer = meterCache.timer(annotation, tags);
+                // the annotations may resolve to the same timer
+                if (stopped.add(timer)) {
+                    sample.stop(timer);
+                }
             }
         }
-        return timed;
     }
 
 }
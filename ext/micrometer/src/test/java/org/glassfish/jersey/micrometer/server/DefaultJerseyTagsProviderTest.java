@@ -67,6 +67,16 @@ class DefaultJerseyTagsProviderTest {
             .containsExactlyInAnyOrder(tagsFrom("/app/hello", 200, null, "SUCCESS"));
     }
 
+    @Test
+    void templatesDifferingInVariableNamesAreDistinguished() {
+        assertThat(tagsProvider.httpRequestTags(event(200, null, "/app", "/", "/items/{id}")))
+            .containsExactlyInAnyOrder(tagsFrom("/app/items/{id}", 200, null, "SUCCESS"));
+        assertThat(tagsProvider.httpRequestTags(event(200, null, "/app", "/", "/items/{name}")))
+            .containsExactlyInAnyOrder(tagsFrom("/app/items/{name}", 200, null, "SUCCESS"));
+        assertThat(tagsProvider.httpRequestTags(event(200, null, "/app", "/", "/items/{id}")))
+            .containsExactlyInAnyOrder(tagsFrom("/app/items/{id}", 200, null, "SUCCESS"));
+    }
+
     @Test
     void notFoundsAreShunted() {
         assertThat(tagsProvider.httpRequestTags(event(404, null, "/app", "/", "/not-found")))
@@ -22,8 +22,10 @@ import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.Application;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MockClock;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleConfig;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.glassfish.jersey.micrometer.server.mapper.ResourceGoneExceptionMapper;
 import org.glassfish.jersey.micrometer.server.resources.TestResource;
@@ -49,9 +51,12 @@ class MetricsRequestEventListenerTest extends JerseyTest {
 
     private MeterRegistry registry;
 
+    private MockClock clock;
+
     @Override
     protected Application configure() {
-        registry = new SimpleMeterRegistry();
+        clock = new MockClock();
+        registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
 
         final MetricsApplicationEventListener listener = new MetricsApplicationEventListener(registry,
                 new DefaultJerseyTagsProvider(), METRIC_NAME, true);
@@ -90,6 +95,30 @@ class MetricsRequestEventListenerTest extends JerseyTest {
         assertThat(registry.getMeters()).hasSize(4);
     }
 
+    @Test
+    void requestsAreTimedAfterRegistryIsCleared() {
+        target("hello").request().get();
+        registry.clear();
+        clock.add(MeterCache.REVALIDATE_INTERVAL);
+        target("hello").request().get();
+
+        // the cached timer removed from the registry is not used anymore
+        assertThat(registry.get(METRIC_NAME).tags(tagsFrom("/hello", "200", "SUCCESS", null)).timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void cachedTimersAreRevalidated() {
+        target("hello").request().get();
+        clock.add(MeterCache.REVALIDATE_INTERVAL);
+        target("hello").request().get();
+        target("hello").request().get();
+
+        assertThat(registry.get(METRIC_NAME).tags(tagsFrom("/hello", "200", "SUCCESS", null)).timer().count())
+            .isEqualTo(3);
+        assertThat(registry.getMeters()).hasSize(1);
+    }
+
     @Test
     void notFoundIsAccumulatedUnderSameUri() {
         try {
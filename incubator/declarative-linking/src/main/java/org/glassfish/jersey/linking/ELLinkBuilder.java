@@ -24,12 +24,8 @@ import java.util.Map;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
 
-import javax.el.ExpressionFactory;
-import javax.el.ValueExpression;
-
 import org.glassfish.jersey.linking.mapping.ResourceMappingContext;
 import org.glassfish.jersey.uri.internal.UriPart;
-import org.glassfish.jersey.uri.internal.UriTemplateParser;
 
 /**
  * A helper class to build links from EL expressions.
@@ -42,9 +38,6 @@ final class ELLinkBuilder {
     private ELLinkBuilder() {
     }
 
-    private static final ExpressionFactory expressionFactory =
-            ExpressionFactory.newInstance();
-
     /**
      * Evaluates the condition
      *
@@ -63,9 +56,7 @@ final class ELLinkBuilder {
             return true;
         }
         LinkELContext context = new LinkELContext(entity, resource, instance);
-        ValueExpression expr = expressionFactory.createValueExpression(context, condition, boolean.class);
-
-        Object result = expr.getValue(context).toString();
+        Object result = LinkExpression.forBoolean(condition).getValue(context).toString();
         return "true".equals(result);
     }
 
@@ -91,14 +82,12 @@ final class ELLinkBuilder {
 
         // first process any embedded EL expressions
         LinkELContext context = new LinkELContext(entity, resource, instance);
-        ValueExpression expr = expressionFactory.createValueExpression(context,
-                template, String.class);
-        template = expr.getValue(context).toString();
+        LinkExpression templateExpression = LinkExpression.forString(template);
+        template = templateExpression.getValue(context).toString();
 
         // now process any embedded URI template parameters
         UriBuilder ub = applyLinkStyle(template, link.getLinkStyle(), uriInfo);
-        UriTemplateParser parser = new UriTemplateParser(template);
-        List<UriPart> parameterNames = parser.getNames();
+        List<UriPart> parameterNames = templateExpression.getTemplateNames(template);
         Map<String, Object> valueMap = getParameterValues(parameterNames, link, context, uriInfo);
         return ub.buildFromMap(valueMap);
     }
@@ -139,10 +128,7 @@ final class ELLinkBuilder {
                 }
                 elExpression = "${" + ResponseContextResolver.INSTANCE_OBJECT + "." + name + "}";
             }
-            ValueExpression expr = expressionFactory.createValueExpression(context,
-                        elExpression, String.class);
-
-            Object value = expr.getValue(context);
+            Object value = LinkExpression.forString(elExpression).getValue(context);
             values.put(name, value != null ? value.toString() : null);
          }
         return values;
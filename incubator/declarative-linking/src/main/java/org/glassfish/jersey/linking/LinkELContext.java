@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -32,9 +32,12 @@ import javax.el.VariableMapper;
  */
 class LinkELContext extends ELContext {
 
+    private static final ELResolver BEAN_RESOLVER = new BeanELResolver(true);
+
     private Object entity;
     private Object resource;
     private Object instance;
+    private ELResolver resolver;
 
     /**
      * Convenience constructor for the common case where a context where
@@ -63,11 +66,32 @@ class LinkELContext extends ELContext {
         this.instance = instance;
     }
 
+    /**
+     * Get the object of the given name.
+     * @param name {@code entity}, {@code resource} or {@code instance}.
+     * @return the named object.
+     */
+    Object getObject(String name) {
+        switch (name) {
+            case ResponseContextResolver.ENTITY_OBJECT:
+                return entity;
+            case ResponseContextResolver.RESOURCE_OBJECT:
+                return resource;
+            case ResponseContextResolver.INSTANCE_OBJECT:
+                return instance;
+            default:
+                return null;
+        }
+    }
+
     @Override
     public ELResolver getELResolver() {
-        CompositeELResolver resolver = new CompositeELResolver();
-        resolver.add(new ResponseContextResolver(entity, resource, instance));
-        resolver.add(new BeanELResolver(true));
+        if (resolver == null) {
+            CompositeELResolver composite = new CompositeELResolver();
+            composite.add(new ResponseContextResolver(entity, resource, instance));
+            composite.add(BEAN_RESOLVER);
+            resolver = composite;
+        }
         return resolver;
     }
 
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.linking;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.el.ELException;
+import javax.el.ExpressionFactory;
+import javax.el.ValueExpression;
+
+import org.glassfish.jersey.uri.internal.UriPart;
+import org.glassfish.jersey.uri.internal.UriTemplateParser;
+
+/**
+ * A parsed EL expression of a link. The expressions are parsed once and cached, simple property expressions like
+ * {@code ${instance.id}} are evaluated by calling the property getter directly.
+ */
+final class LinkExpression {
+
+    private static final ExpressionFactory EXPRESSION_FACTORY = ExpressionFactory.newInstance();
+
+    /**
+     * Maximum number of cached expressions of a type. The expressions come from the link annotations, the limit only
+     * guards against unexpected growth.
+     */
+    private static final int MAX_CACHED = 1024;
+
+    private static final Map<String, LinkExpression> STRING_EXPRESSIONS = new ConcurrentHashMap<>();
+    private static final Map<String, LinkExpression> BOOLEAN_EXPRESSIONS = new ConcurrentHashMap<>();
+
+    private static final Pattern PROPERTY_EXPRESSION = Pattern.compile(
+            "\\$\\{(entity|resource|instance)\\.(\\p{javaJavaIdentifierStart}\\p{javaJavaIdentifierPart}*)}");
+
+    private static final Method NO_GETTER;
+
+    static {
+        try {
+            NO_GETTER = Object.class.getMethod("toString");
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final ValueExpression expression;
+    private final String base;
+    private final String property;
+    // class values do not prevent unloading of the bean classes and their class loaders
+    private final ClassValue<Method> getters;
+    private volatile List<UriPart> templateNames;
+
+    private LinkExpression(final String expression, final Class<?> expectedType) {
+        // expressions are parsed without any function and variable mappers, they can be evaluated in any context
+        this.expression = EXPRESSION_FACTORY.createValueExpression(new LinkELContext(null, null), expression, expectedType);
+
+        final Matcher matcher = PROPERTY_EXPRESSION.matcher(expression);
+        if (expectedType == String.class && matcher.matches()) {
+            this.base = matcher.group(1);
+            this.property = matcher.group(2);
+            this.getters = new ClassValue<Method>() {
+                @Override
+                protected Method computeValue(final Class<?> beanClass) {
+                    return findGetter(beanClass, property);
+                }
+            };
+        } else {
+            this.base = null;
+            this.property = null;
+            this.getters = null;
+        }
+    }
+
+    /**
+     * Get the expression evaluating to a {@code String}.
+     *
+     * @param expression EL expression.
+     * @return parsed expression.
+     */
+    static LinkExpression forString(final String expression) {
+        return get(STRING_EXPRESSIONS, expression, String.class);
+    }
+
+    /**
+     * Get the expression evaluating to a {@code boolean}.
+     *
+     * @param expression EL expression.
+     * @return parsed expression.
+     */
+    static LinkExpression forBoolean(final String expression) {
+        return get(BOOLEAN_EXPRESSIONS, expression, boolean.class);
+    }
+
+    private static LinkExpression get(final Map<String, LinkExpression> cache, final String expression,
+                                      final Class<?> expectedType) {
+        LinkExpression linkExpression = cache.get(expression);
+        if (linkExpression == null) {
+            linkExpression = new LinkExpression(expression, expectedType);
+            if (cache.size() < MAX_CACHED) {
+                cache.putIfAbsent(expression, linkExpression);
+            }
+        }
+        return linkExpression;
+    }
+
+    /**
+     * Evaluate the expression.
+     *
+     * @param context context of the evaluation.
+     * @return value of the expression.
+     */
+    Object getValue(final LinkELContext context) {
+        if (property != null) {
+            final Object baseObject = context.getObject(base);
+            if (baseObject != null) {
+                final Method getter = getters.get(baseObject.getClass());
+                if (getter != NO_GETTER) {
+                    return coerceToString(invoke(getter, baseObject));
+                }
+            }
+        }
+        return expression.getValue(context);
+    }
+
+    /**
+     * Get the names of the URI template parameters of the evaluated expression. The names are parsed only once if
+     * the expression is a literal text.
+     *
+     * @param template the value of the expression.
+     * @return template parameters.
+     */
+    List<UriPart> getTemplateNames(final String template) {
+        if (!expression.isLiteralText()) {
+            return new UriTemplateParser(template).getNames();
+        }
+        List<UriPart> names = templateNames;
+        if (names == null) {
+            names = new UriTemplateParser(template).getNames();
+            templateNames = names;
+        }
+        return names;
+    }
+
+    /**
+     * Find the public getter of the property, the same way as {@link javax.el.BeanELResolver} does. The other cases are
+     * left to the EL implementation.
+     */
+    private static Method findGetter(final Class<?> beanClass, final String property) {
+        if (!Modifier.isPublic(beanClass.getModifiers())) {
+            return NO_GETTER;
+        }
+        try {
+            for (final PropertyDescriptor descriptor : Introspector.getBeanInfo(beanClass).getPropertyDescriptors()) {
+                if (property.equals(descriptor.getName())) {
+                    final Method getter = descriptor.getReadMethod();
+                    return getter != null && Modifier.isPublic(getter.getDeclaringClass().getModifiers())
+                            ? getter
+                            : NO_GETTER;
+                }
+            }
+        } catch (final IntrospectionException e) {
+            // let the EL implementation report the failure
+        }
+        return NO_GETTER;
+    }
+
+    private static Object invoke(final Method getter, final Object bean) {
+        try {
+            return getter.invoke(bean);
+        } catch (final InvocationTargetException e) {
+            throw new ELException(e.getCause());
+        } catch (final IllegalAccessException e) {
+            throw new ELException(e);
+        }
+    }
+
+    /**
+     * Coerce the value to a {@code String} the same way as the EL implementation does.
+     */
+    private static String coerceToString(final Object value) {
+        if (value == null) {
+            return "";
+        } else if (value instanceof String) {
+            return (String) value;
+        } else if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        return value.toString();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -35,8 +35,8 @@ import javax.el.PropertyNotWritableException;
 class ResponseContextResolver extends ELResolver {
 
     private Map<String, Object> responseObjects;
-    private static final String ENTITY_OBJECT = "entity";
-    private static final String RESOURCE_OBJECT = "resource";
+    static final String ENTITY_OBJECT = "entity";
+    static final String RESOURCE_OBJECT = "resource";
     static final String INSTANCE_OBJECT = "instance";
 
     ResponseContextResolver(Object entity, Object resource, Object instance) {
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.linking;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jersey.uri.internal.UriPart;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests {@link LinkExpression}.
+ */
+public class LinkExpressionTest {
+
+    public static class Bean {
+
+        public String getId() {
+            return "10";
+        }
+
+        public String getMissing() {
+            return null;
+        }
+
+        public TimeUnit getUnit() {
+            return TimeUnit.SECONDS;
+        }
+
+        public boolean isActive() {
+            return true;
+        }
+    }
+
+    static class HiddenBean {
+
+        public String getId() {
+            return "hidden";
+        }
+    }
+
+    @Test
+    public void testExpressionsAreCached() {
+        assertSame(LinkExpression.forString("${instance.id}"), LinkExpression.forString("${instance.id}"));
+        assertSame(LinkExpression.forBoolean("${instance.active}"), LinkExpression.forBoolean("${instance.active}"));
+    }
+
+    @Test
+    public void testPropertyExpression() {
+        final LinkELContext context = new LinkELContext(new Bean(), null);
+        assertEquals("10", LinkExpression.forString("${instance.id}").getValue(context));
+        assertEquals("10", LinkExpression.forString("${entity.id}").getValue(context));
+        assertEquals("", LinkExpression.forString("${instance.missing}").getValue(context));
+        assertEquals("SECONDS", LinkExpression.forString("${instance.unit}").getValue(context));
+        assertEquals("", LinkExpression.forString("${resource.id}").getValue(context));
+    }
+
+    @Test
+    public void testNonPublicBeanIsEvaluatedByEl() {
+        final LinkELContext context = new LinkELContext(new HiddenBean(), new Bean());
+        assertEquals("10", LinkExpression.forString("${resource.id}").getValue(context));
+        assertEquals("10-true", LinkExpression.forString("${resource.id}-${resource.active}").getValue(context));
+        assertEquals(true, LinkExpression.forBoolean("${resource.active}").getValue(context));
+    }
+
+    @Test
+    public void testTemplateNames() {
+        final LinkExpression literal = LinkExpression.forString("widgets/{id}/{name}");
+        final List<UriPart> names = literal.getTemplateNames("widgets/{id}/{name}");
+        assertEquals(2, names.size());
+        assertEquals("id", names.get(0).getPart());
+        assertSame(names, literal.getTemplateNames("widgets/{id}/{name}"));
+
+        final LinkExpression expression = LinkExpression.forString("${instance.id}/{name}");
+        assertEquals(1, expression.getTemplateNames("10/{name}").size());
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.inject.injectless.server;
+
+import javax.ws.rs.core.Context;
+
+import org.glassfish.jersey.internal.inject.ContextInjectionResolver;
+import org.glassfish.jersey.internal.inject.Injectee;
+
+/**
+ * Injection resolver for {@link Context @Context} injection annotation used by resource method parameters. Field, constructor
+ * and setter injection is handled directly by {@link ServerNonInjectionManager}.
+ */
+final class ContextInjectionResolverImpl implements ContextInjectionResolver {
+
+    private final ServerNonInjectionManager injectionManager;
+
+    ContextInjectionResolverImpl(ServerNonInjectionManager injectionManager) {
+        this.injectionManager = injectionManager;
+    }
+
+    @Override
+    public Object resolve(Injectee injectee) {
+        return injectionManager.resolveContext(injectee);
+    }
+
+    @Override
+    public boolean isConstructorParameterIndicator() {
+        return true;
+    }
+
+    @Override
+    public boolean isMethodParameterIndicator() {
+        return false;
+    }
+
+    @Override
+    public Class<Context> getAnnotation() {
+        return Context.class;
+    }
+}
@@ -0,0 +1,967 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.inject.injectless.server;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Qualifier;
+import javax.inject.Singleton;
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.Context;
+
+import org.glassfish.jersey.internal.inject.AliasBinding;
+import org.glassfish.jersey.internal.inject.Binder;
+import org.glassfish.jersey.internal.inject.Binding;
+import org.glassfish.jersey.internal.inject.Bindings;
+import org.glassfish.jersey.internal.inject.ClassBinding;
+import org.glassfish.jersey.internal.inject.ContextInjectionResolver;
+import org.glassfish.jersey.internal.inject.DisposableSupplier;
+import org.glassfish.jersey.internal.inject.ForeignDescriptor;
+import org.glassfish.jersey.internal.inject.Injectee;
+import org.glassfish.jersey.internal.inject.InjecteeImpl;
+import org.glassfish.jersey.internal.inject.InjectionManager;
+import org.glassfish.jersey.internal.inject.InjectionResolver;
+import org.glassfish.jersey.internal.inject.InjectionResolverBinding;
+import org.glassfish.jersey.internal.inject.InstanceBinding;
+import org.glassfish.jersey.internal.inject.PerLookup;
+import org.glassfish.jersey.internal.inject.PerThread;
+import org.glassfish.jersey.internal.inject.ServiceHolder;
+import org.glassfish.jersey.internal.inject.ServiceHolderImpl;
+import org.glassfish.jersey.internal.inject.SupplierClassBinding;
+import org.glassfish.jersey.internal.inject.SupplierInstanceBinding;
+import org.glassfish.jersey.internal.util.ReflectionHelper;
+import org.glassfish.jersey.process.internal.RequestScope;
+import org.glassfish.jersey.process.internal.RequestScoped;
+
+/**
+ * Server-side {@link InjectionManager} that does not require any DI container.
+ * <p>
+ * Bindings are indexed by their contracts at registration time and the results of the lookups are cached, so that resolving
+ * an injection point at runtime is a map lookup. Per-class injection metadata (selected constructor, injectable fields and
+ * methods, lifecycle callbacks) are computed once and reused for each new instance. Request-scoped instances are stored
+ * directly in the request context of the {@link ServerNonInjectionRequestScope}.
+ * <p>
+ * Supported are {@link Context @Context} and {@link Inject @Inject} constructor, field and method injection, the Jersey
+ * {@link InjectionResolver injection resolvers} (e.g. for {@code @QueryParam} fields), {@link Singleton}, {@link RequestScoped},
+ * {@link PerThread} and {@link PerLookup} scopes, {@link Provider} and {@link Supplier} injection points, qualifiers and
+ * {@link PostConstruct}/{@link PreDestroy} callbacks. Proxiable request-scoped interfaces (e.g. {@code UriInfo}) injected into
+ * instances that are not request-scoped are represented by JDK dynamic proxies resolving the current request-scoped instance.
+ *
+ * @since 2.41
+ */
+@ConstrainedTo(RuntimeType.SERVER)
+public final class ServerNonInjectionManager implements InjectionManager {
+
+    private static final Logger LOGGER = Logger.getLogger(ServerNonInjectionManager.class.getName());
+
+    private static final Comparator<Candidate> CANDIDATE_COMPARATOR =
+            Comparator.comparingInt((Candidate candidate) -> candidate.rank).reversed()
+                    .thenComparingLong(candidate -> candidate.order);
+
+    private final InjectionManager parent;
+
+    private final Map<Class<?>, List<Candidate>> candidates = new ConcurrentHashMap<>();
+    private final Map<Class<? extends Annotation>, InjectionResolver<?>> resolvers = new ConcurrentHashMap<>();
+    private final Map<LookupKey, List<Candidate>> lookups = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ClassInjector<?>> injectors = new ConcurrentHashMap<>();
+    private final Map<Binding<?, ?>, ForeignDescriptor> descriptors = new ConcurrentHashMap<>();
+    private final Map<Map.Entry<Binding<?, ?>, Class<?>>, Object> proxies = new ConcurrentHashMap<>();
+
+    private final Map<Binding<?, ?>, Object> singletons = new ConcurrentHashMap<>();
+    private final Map<Binding<?, ?>, Supplier<?>> singletonSuppliers = new ConcurrentHashMap<>();
+    private final List<Map.Entry<Binding<?, ?>, Object>> destroyables = new CopyOnWriteArrayList<>();
+    private final Object singletonLock = new Object();
+
+    private final ThreadLocal<Map<Binding<?, ?>, Object>> threadInstances = ThreadLocal.withInitial(HashMap::new);
+
+    private final ServerNonInjectionRequestScope requestScope = new ServerNonInjectionRequestScope();
+
+    private long sequence = 0;
+    private volatile boolean shutdown = false;
+
+    /**
+     * Create a new injection manager.
+     *
+     * @param parent parent {@link InjectionManager} used to look up services not bound in this injection manager,
+     *               may be {@code null}.
+     * @throws IllegalArgumentException in case the parent is not an {@code InjectionManager}.
+     */
+    public ServerNonInjectionManager(Object parent) {
+        if (parent != null && !(parent instanceof InjectionManager)) {
+            throw new IllegalArgumentException(LocalizationMessages.NONINJECT_PARENT_UNSUPPORTED(parent));
+        }
+        this.parent = (InjectionManager) parent;
+
+        register(Bindings.service(requestScope).to(RequestScope.class));
+        register(Bindings.service(new ContextInjectionResolverImpl(this)).to(ContextInjectionResolver.class));
+
+        LOGGER.log(Level.FINER, LocalizationMessages.NONINJECT_BOOTSTRAP());
+    }
+
+    @Override
+    public void completeRegistration() {
+        checkShutdown();
+    }
+
+    @Override
+    public void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+
+        final List<Map.Entry<Binding<?, ?>, Object>> toDestroy = new ArrayList<>(destroyables);
+        Collections.reverse(toDestroy);
+        for (Map.Entry<Binding<?, ?>, Object> entry : toDestroy) {
+            try {
+                dispose(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.FINE, e.getMessage(), e);
+            }
+        }
+        destroyables.clear();
+        singletons.clear();
+        singletonSuppliers.clear();
+        proxies.clear();
+        lookups.clear();
+        injectors.clear();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    private void checkShutdown() {
+        if (shutdown) {
+            throw new IllegalStateException(LocalizationMessages.NONINJECT_SHUTDOWN());
+        }
+    }
+
+    @Override
+    public synchronized void register(Binding binding) {
+        checkShutdown();
+
+        if (binding instanceof InjectionResolverBinding) {
+            final InjectionResolver<?> resolver = ((InjectionResolverBinding<?>) binding).getResolver();
+            resolvers.put(resolver.getAnnotation(), resolver);
+            // constructor selection and injection points depend on the known resolvers
+            injectors.clear();
+            return;
+        }
+
+        final Binding<?, ?> typed = (Binding<?, ?>) binding;
+        final long order = sequence++;
+        final int rank = typed.getRank() == null ? 0 : typed.getRank();
+
+        final Set<Type> contracts = new LinkedHashSet<>(typed.getContracts());
+        if (contracts.isEmpty() && typed.getImplementationType() != null) {
+            contracts.add(typed.getImplementationType());
+        }
+        for (Type contract : contracts) {
+            index(new Candidate(typed, contract, typed.getQualifiers(), typed.getName(), rank, order, contracts));
+        }
+        for (AliasBinding alias : typed.getAliases()) {
+            final Set<Type> aliasContracts = new LinkedHashSet<>(contracts);
+            aliasContracts.add(alias.getContract());
+            index(new Candidate(typed, alias.getContract(), alias.getQualifiers(), null,
+                    alias.getRank().orElse(rank), order, aliasContracts));
+        }
+
+        lookups.clear();
+    }
+
+    private void index(Candidate candidate) {
+        candidates.computeIfAbsent(ReflectionHelper.erasure(candidate.contract), key -> new CopyOnWriteArrayList<>())
+                .add(candidate);
+    }
+
+    @Override
+    public void register(Iterable<Binding> descriptors) {
+        checkShutdown();
+        for (Binding binding : descriptors) {
+            register(binding);
+        }
+    }
+
+    @Override
+    public void register(Binder binder) {
+        checkShutdown();
+        for (Binding binding : Bindings.getBindings(this, binder)) {
+            register(binding);
+        }
+    }
+
+    @Override
+    public void register(Object provider) throws IllegalArgumentException {
+        throw new IllegalArgumentException(LocalizationMessages.NONINJECT_REGISTRATION_UNSUPPORTED(provider));
+    }
+
+    @Override
+    public boolean isRegistrable(Class<?> clazz) {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T create(Class<T> createMe) {
+        checkShutdown();
+        if (InjectionManager.class.equals(createMe)) {
+            return (T) this;
+        }
+        return injector(createMe).construct(scopeOf(createMe));
+    }
+
+    @Override
+    public <T> T createAndInitialize(Class<T> createMe) {
+        checkShutdown();
+        return createAndInitialize(createMe, scopeOf(createMe));
+    }
+
+    private <T> T createAndInitialize(Class<T> createMe, Class<? extends Annotation> scope) {
+        final ClassInjector<T> injector = injector(createMe);
+        final T instance = injector.construct(scope);
+        injector.injectMembers(instance, scope);
+        injector.postConstruct(instance);
+        return instance;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<ServiceHolder<T>> getAllServiceHolders(Class<T> contractOrImpl, Annotation... qualifiers) {
+        checkShutdown();
+
+        final List<Candidate> found = lookup(contractOrImpl, qualifiers);
+        final List<ServiceHolder<T>> holders = new ArrayList<>(found.size());
+        for (Candidate candidate : found) {
+            final T instance = (T) instance(candidate.binding);
+            final Class<T> implementation = candidate.binding.getImplementationType() != null
+                    ? (Class<T>) candidate.binding.getImplementationType()
+                    : (Class<T>) instance.getClass();
+            holders.add(new ServiceHolderImpl<>(instance, implementation, candidate.contracts, candidate.rank));
+        }
+        return holders;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getInstance(Class<T> contractOrImpl, Annotation... qualifiers) {
+        checkShutdown();
+        return (T) lookupInstance(contractOrImpl, qualifiers);
+    }
+
+    @Override
+    public <T> T getInstance(Class<T> contractOrImpl, String classAnalyzer) {
+        return getInstance(contractOrImpl);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getInstance(Class<T> contractOrImpl) {
+        checkShutdown();
+        return (T) lookupInstance(contractOrImpl);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getInstance(Type contractOrImpl) {
+        checkShutdown();
+        return (T) lookupInstance(contractOrImpl);
+    }
+
+    @Override
+    public Object getInstance(ForeignDescriptor foreignDescriptor) {
+        checkShutdown();
+        return instance((Binding<?, ?>) foreignDescriptor.get());
+    }
+
+    @Override
+    public ForeignDescriptor createForeignDescriptor(Binding binding) {
+        checkShutdown();
+        return descriptor((Binding<?, ?>) binding);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getAllInstances(Type contractOrImpl) {
+        checkShutdown();
+        return lookup(contractOrImpl).stream()
+                .map(candidate -> (T) instance(candidate.binding))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void inject(Object injectMe) {
+        checkShutdown();
+        injectMembers(injectMe);
+    }
+
+    @Override
+    public void inject(Object injectMe, String classAnalyzer) {
+        inject(injectMe);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void injectMembers(T injectMe) {
+        final Class<T> clazz = (Class<T>) injectMe.getClass();
+        injector(clazz).injectMembers(injectMe, scopeOf(clazz));
+    }
+
+    @Override
+    public void preDestroy(Object preDestroyMe) {
+        injector(preDestroyMe.getClass()).preDestroy(preDestroyMe);
+    }
+
+    /**
+     * Resolve the {@link Context @Context} injectee on behalf of the {@link ContextInjectionResolverImpl}.
+     *
+     * @param injectee resource method parameter injection point.
+     * @return resolved value or {@code null} if the value cannot be resolved.
+     */
+    Object resolveContext(Injectee injectee) {
+        if (injectee.isFactory()) {
+            final Type type = ReflectionHelper.getTypeArgument(injectee.getRequiredType(), 0);
+            return (Supplier<Object>) () -> resolveContext(type, injectee);
+        }
+        return resolveContext(injectee.getRequiredType(), injectee);
+    }
+
+    private Object resolveContext(Type type, Injectee injectee) {
+        final Annotation[] qualifiers = injectee.getRequiredQualifiers().toArray(new Annotation[0]);
+        final Object instance = lookupInstance(type, qualifiers);
+        if (instance != null) {
+            return instance;
+        }
+        final ForeignDescriptor descriptor = injectee.getInjecteeDescriptor();
+        if (descriptor != null && descriptor.get() instanceof ClassBinding) {
+            final Class<?> service = ((ClassBinding<?>) descriptor.get()).getService();
+            if (!service.isInterface() && !Modifier.isAbstract(service.getModifiers())) {
+                return getInstance(descriptor);
+            }
+        }
+        return null;
+    }
+
+    private Object lookupInstance(Type type, Annotation... qualifiers) {
+        if (InjectionManager.class.equals(type)) {
+            return this;
+        }
+        final List<Candidate> found = lookup(type, qualifiers);
+        if (!found.isEmpty()) {
+            return instance(found.get(0).binding);
+        }
+        if (parent != null) {
+            return type instanceof Class
+                    ? parent.getInstance((Class<?>) type, qualifiers)
+                    : parent.getInstance(type);
+        }
+        return null;
+    }
+
+    private List<Candidate> lookup(Type type, Annotation... qualifiers) {
+        final LookupKey key = new LookupKey(type, qualifiers);
+        List<Candidate> found = lookups.get(key);
+        if (found == null) {
+            found = doLookup(type, qualifiers);
+            lookups.put(key, found);
+        }
+        return found;
+    }
+
+    private List<Candidate> doLookup(Type type, Annotation[] qualifiers) {
+        final Class<?> raw = ReflectionHelper.erasure(type);
+        final List<Candidate> all = candidates.get(raw);
+        if (all == null) {
+            return Collections.emptyList();
+        }
+
+        List<Candidate> found = all.stream()
+                .filter(candidate -> candidate.contract.equals(type) || type.equals(candidate.contract))
+                .filter(candidate -> candidate.matches(qualifiers))
+                .collect(Collectors.toList());
+        if (found.isEmpty() && type instanceof ParameterizedType) {
+            found = all.stream()
+                    .filter(candidate -> raw.equals(candidate.contract))
+                    .filter(candidate -> candidate.matches(qualifiers))
+                    .collect(Collectors.toList());
+        }
+        found.sort(CANDIDATE_COMPARATOR);
+        return Collections.unmodifiableList(found);
+    }
+
+    /*
+     * Scope handling.
+     */
+
+    private Object instance(Binding<?, ?> binding) {
+        if (binding instanceof InstanceBinding) {
+            return ((InstanceBinding<?>) binding).getService();
+        }
+
+        final Class<? extends Annotation> scope = scopeOf(binding);
+        if (scope == Singleton.class) {
+            Object instance = singletons.get(binding);
+            if (instance == null) {
+                synchronized (singletonLock) {
+                    instance = singletons.get(binding);
+                    if (instance == null) {
+                        instance = produce(binding, scope);
+                        singletons.put(binding, instance);
+                        destroyables.add(new AbstractMap.SimpleImmutableEntry<>(binding, instance));
+                    }
+                }
+            }
+            return instance;
+        } else if (scope == RequestScoped.class) {
+            final ServerNonInjectionRequestScope.Instance context =
+                    (ServerNonInjectionRequestScope.Instance) requestScope.current();
+            final ForeignDescriptor descriptor = descriptor(binding);
+            final Object instance = context.get(descriptor);
+            return instance != null ? instance : context.putIfAbsent(descriptor, produce(binding, scope));
+        } else if (scope == PerThread.class) {
+            final Map<Binding<?, ?>, Object> instances = threadInstances.get();
+            Object instance = instances.get(binding);
+            if (instance == null) {
+                instance = produce(binding, scope);
+                instances.put(binding, instance);
+            }
+            return instance;
+        }
+        return produce(binding, scope);
+    }
+
+    private Object produce(Binding<?, ?> binding, Class<? extends Annotation> scope) {
+        if (binding instanceof ClassBinding) {
+            return createAndInitialize(((ClassBinding<?>) binding).getService(), scope);
+        } else if (binding instanceof SupplierInstanceBinding) {
+            return ((SupplierInstanceBinding<?>) binding).getSupplier().get();
+        } else if (binding instanceof SupplierClassBinding) {
+            return supplier((SupplierClassBinding<?>) binding).get();
+        }
+        throw new IllegalStateException(LocalizationMessages.NONINJECT_UNSATISFIED(binding.getContracts()));
+    }
+
+    private Supplier<?> supplier(SupplierClassBinding<?> binding) {
+        final Class<? extends Annotation> supplierScope = binding.getSupplierScope();
+        if (supplierScope == Singleton.class) {
+            Supplier<?> supplier = singletonSuppliers.get(binding);
+            if (supplier == null) {
+                synchronized (singletonLock) {
+                    supplier = singletonSuppliers.get(binding);
+                    if (supplier == null) {
+                        supplier = createAndInitialize(binding.getSupplierClass(), supplierScope);
+                        singletonSuppliers.put(binding, supplier);
+                    }
+                }
+            }
+            return supplier;
+        }
+        return createAndInitialize(binding.getSupplierClass(), supplierScope == null ? PerLookup.class : supplierScope);
+    }
+
+    private ForeignDescriptor descriptor(Binding<?, ?> binding) {
+        return descriptors.computeIfAbsent(binding, key -> ForeignDescriptor.wrap(key, instance -> dispose(key, instance)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispose(Binding<?, ?> binding, Object instance) {
+        if (binding instanceof ClassBinding) {
+            preDestroy(instance);
+        } else if (binding instanceof SupplierInstanceBinding) {
+            final Supplier<?> supplier = ((SupplierInstanceBinding<?>) binding).getSupplier();
+            if (supplier instanceof DisposableSupplier) {
+                ((DisposableSupplier<Object>) supplier).dispose(instance);
+            }
+        } else if (binding instanceof SupplierClassBinding) {
+            final SupplierClassBinding<?> supplierBinding = (SupplierClassBinding<?>) binding;
+            if (DisposableSupplier.class.isAssignableFrom(supplierBinding.getSupplierClass())) {
+                ((DisposableSupplier<Object>) supplier(supplierBinding)).dispose(instance);
+            }
+        }
+    }
+
+    private static Class<? extends Annotation> scopeOf(Binding<?, ?> binding) {
+        if (binding.getScope() != null) {
+            return binding.getScope();
+        }
+        if (binding instanceof ClassBinding) {
+            return scopeOf(((ClassBinding<?>) binding).getService());
+        }
+        return PerLookup.class;
+    }
+
+    private static Class<? extends Annotation> scopeOf(Class<?> clazz) {
+        if (clazz.isAnnotationPresent(Singleton.class)) {
+            return Singleton.class;
+        } else if (clazz.isAnnotationPresent(RequestScoped.class)) {
+            return RequestScoped.class;
+        } else if (clazz.isAnnotationPresent(PerThread.class)) {
+            return PerThread.class;
+        }
+        return PerLookup.class;
+    }
+
+    /*
+     * Injection point resolution.
+     */
+
+    private Object resolve(InjectionPoint point, Class<? extends Annotation> injecteeScope) {
+        if (point.resolver != null) {
+            final Object value = point.resolver.resolve(point.injectee);
+            if (point.provider && value instanceof Supplier) {
+                return (Provider<Object>) ((Supplier<?>) value)::get;
+            }
+            return value;
+        }
+
+        if (point.lazy) {
+            final Supplier<Object> supplier = () -> resolve(point.lazyType, point, null);
+            return point.provider ? (Provider<Object>) supplier::get : supplier;
+        }
+        return resolve(point.injectee.getRequiredType(), point, injecteeScope);
+    }
+
+    private Object resolve(Type type, InjectionPoint point, Class<? extends Annotation> injecteeScope) {
+        if (InjectionManager.class.equals(type)) {
+            return this;
+        }
+
+        final List<Candidate> found = lookup(type, point.qualifiers);
+        if (found.isEmpty()) {
+            final Object instance = parent == null ? null : parent.getInstance(type);
+            if (instance == null && !point.optional) {
+                throw new IllegalStateException(LocalizationMessages.NONINJECT_UNSATISFIED(point.injectee));
+            }
+            return instance;
+        }
+
+        final Binding<?, ?> binding = found.get(0).binding;
+        final Class<?> raw = ReflectionHelper.erasure(type);
+        if (injecteeScope != null && raw.isInterface() && isProxied(binding, injecteeScope)) {
+            return proxies.computeIfAbsent(new AbstractMap.SimpleImmutableEntry<>(binding, raw),
+                    key -> Proxy.newProxyInstance(raw.getClassLoader(), new Class<?>[] {raw}, (proxy, method, args) -> {
+                        try {
+                            return method.invoke(instance(binding), args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }));
+        }
+        return instance(binding);
+    }
+
+    private static boolean isProxied(Binding<?, ?> binding, Class<? extends Annotation> injecteeScope) {
+        if (!Boolean.TRUE.equals(binding.isProxiable())) {
+            return false;
+        }
+        return !(Boolean.FALSE.equals(binding.isProxiedForSameScope()) && injecteeScope == scopeOf(binding));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ClassInjector<T> injector(Class<T> clazz) {
+        return (ClassInjector<T>) injectors.computeIfAbsent(clazz, key -> new ClassInjector<>(clazz));
+    }
+
+    /**
+     * Binding indexed under one of its contracts.
+     */
+    private static final class Candidate {
+
+        private final Binding<?, ?> binding;
+        private final Type contract;
+        private final Set<Annotation> qualifiers;
+        private final String name;
+        private final int rank;
+        private final long order;
+        private final Set<Type> contracts;
+
+        private Candidate(Binding<?, ?> binding, Type contract, Set<Annotation> qualifiers, String name,
+                          int rank, long order, Set<Type> contracts) {
+            this.binding = binding;
+            this.contract = contract;
+            this.qualifiers = qualifiers;
+            this.name = name;
+            this.rank = rank;
+            this.order = order;
+            this.contracts = contracts;
+        }
+
+        private boolean matches(Annotation[] required) {
+            for (Annotation qualifier : required) {
+                if (qualifiers.contains(qualifier)) {
+                    continue;
+                }
+                if (qualifier instanceof Named && ((Named) qualifier).value().equals(name)) {
+                    continue;
+                }
+                if (qualifiers.stream().noneMatch(q -> q.annotationType() == qualifier.annotationType())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Key of the cached binding lookups.
+     */
+    private static final class LookupKey {
+
+        private final Type type;
+        private final Annotation[] qualifiers;
+        private final int hash;
+
+        private LookupKey(Type type, Annotation[] qualifiers) {
+            this.type = type;
+            this.qualifiers = qualifiers == null ? new Annotation[0] : qualifiers;
+            this.hash = 31 * type.hashCode() + Arrays.hashCode(this.qualifiers);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LookupKey)) {
+                return false;
+            }
+            final LookupKey that = (LookupKey) o;
+            return type.equals(that.type) && Arrays.equals(qualifiers, that.qualifiers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Constructor parameter, field or method parameter to be injected.
+     */
+    private static final class InjectionPoint {
+
+        private final InjecteeImpl injectee;
+        private final InjectionResolver<?> resolver;
+        private final Annotation[] qualifiers;
+        private final boolean optional;
+        private final boolean provider;
+        private final boolean lazy;
+        private final Type lazyType;
+
+        private InjectionPoint(Class<?> injecteeClass, AnnotatedElement parent, int position, Type type,
+                               Annotation[] annotations, InjectionResolver<?> resolver, boolean optional) {
+            final Class<?> raw = ReflectionHelper.erasure(type);
+            this.provider = Provider.class.equals(raw);
+            this.lazy = (provider || Supplier.class.equals(raw)) && type instanceof ParameterizedType;
+            this.lazyType = lazy ? ReflectionHelper.getTypeArgument(type, 0) : null;
+            this.resolver = resolver;
+            this.optional = optional;
+            this.qualifiers = Arrays.stream(annotations)
+                    .filter(annotation -> annotation.annotationType().isAnnotationPresent(Qualifier.class))
+                    .toArray(Annotation[]::new);
+
+            this.injectee = new InjecteeImpl();
+            injectee.setRequiredType(type);
+            injectee.setRequiredQualifiers(new HashSet<>(Arrays.asList(qualifiers)));
+            injectee.setParent(parent);
+            injectee.setPosition(position);
+            injectee.setInjecteeClass(injecteeClass);
+            injectee.setOptional(optional);
+            injectee.setFactory(lazy);
+            injectee.setProvider(provider);
+        }
+    }
+
+    /**
+     * Cached injection metadata of a single class.
+     *
+     * @param <T> injected class.
+     */
+    private final class ClassInjector<T> {
+
+        private final Class<T> clazz;
+        private volatile Constructor<T> constructor;
+        private volatile InjectionPoint[] constructorPoints;
+        private final List<Map.Entry<Field, InjectionPoint>> fields = new ArrayList<>();
+        private final List<Map.Entry<Method, InjectionPoint[]>> methods = new ArrayList<>();
+        private final List<Method> postConstructs = new ArrayList<>();
+        private final List<Method> preDestroys = new ArrayList<>();
+
+        private ClassInjector(Class<T> clazz) {
+            this.clazz = clazz;
+
+            final List<Class<?>> hierarchy = new ArrayList<>();
+            for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+                hierarchy.add(0, c);
+            }
+            final Set<String> overridden = new HashSet<>();
+            for (int i = hierarchy.size() - 1; i >= 0; i--) {
+                final Class<?> c = hierarchy.get(i);
+                for (Method method : c.getDeclaredMethods()) {
+                    if (Modifier.isStatic(method.getModifiers()) || method.isSynthetic()) {
+                        continue;
+                    }
+                    final String signature = method.getName() + Arrays.toString(method.getParameterTypes());
+                    if (!Modifier.isPrivate(method.getModifiers()) && !overridden.add(signature)) {
+                        continue;
+                    }
+                    analyzeMethod(method);
+                }
+            }
+            Collections.reverse(methods);
+            Collections.reverse(postConstructs);
+
+            for (Class<?> c : hierarchy) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        analyzeField(field);
+                    }
+                }
+            }
+        }
+
+        private void analyzeField(Field field) {
+            final Annotation[] annotations = field.getDeclaredAnnotations();
+            final InjectionPoint point;
+            if (field.isAnnotationPresent(Inject.class)) {
+                point = new InjectionPoint(clazz, field, 0, field.getGenericType(), annotations, null, false);
+            } else if (field.isAnnotationPresent(Context.class)) {
+                point = new InjectionPoint(clazz, field, 0, field.getGenericType(), annotations, null, true);
+            } else {
+                final InjectionResolver<?> resolver = resolverOf(annotations);
+                if (resolver == null) {
+                    return;
+                }
+                point = new InjectionPoint(clazz, field, 0, field.getGenericType(), annotations, resolver, true);
+            }
+            field.setAccessible(true);
+            fields.add(new AbstractMap.SimpleImmutableEntry<>(field, point));
+        }
+
+        private void analyzeMethod(Method method) {
+            if (method.isAnnotationPresent(PostConstruct.class)) {
+                method.setAccessible(true);
+                postConstructs.add(method);
+            }
+            if (method.isAnnotationPresent(PreDestroy.class)) {
+                method.setAccessible(true);
+                preDestroys.add(method);
+            }
+
+            final boolean inject = method.isAnnotationPresent(Inject.class);
+            final boolean context = method.isAnnotationPresent(Context.class);
+            final InjectionResolver<?> resolver = resolverOf(method.getDeclaredAnnotations());
+            if (!inject && !context && (resolver == null || method.getParameterCount() != 1)) {
+                return;
+            }
+
+            final InjectionPoint[] points = new InjectionPoint[method.getParameterCount()];
+            final Type[] types = method.getGenericParameterTypes();
+            final Annotation[][] annotations = method.getParameterAnnotations();
+            for (int i = 0; i < points.length; i++) {
+                points[i] = parameterPoint(method, i, types[i], annotations[i], !inject);
+                if (points[i] == null) {
+                    points[i] = new InjectionPoint(clazz, method, i, types[i], method.getDeclaredAnnotations(), resolver, true);
+                }
+            }
+            method.setAccessible(true);
+            methods.add(new AbstractMap.SimpleImmutableEntry<>(method, points));
+        }
+
+        private InjectionPoint parameterPoint(AnnotatedElement parent, int position, Type type, Annotation[] annotations,
+                                              boolean optional) {
+            final InjectionResolver<?> resolver = resolverOf(annotations);
+            if (resolver != null) {
+                return new InjectionPoint(clazz, parent, position, type, annotations, resolver, true);
+            }
+            for (Annotation annotation : annotations) {
+                if (annotation.annotationType() == Context.class) {
+                    return new InjectionPoint(clazz, parent, position, type, annotations, null, true);
+                }
+            }
+            return optional ? null : new InjectionPoint(clazz, parent, position, type, annotations, null, false);
+        }
+
+        private InjectionResolver<?> resolverOf(Annotation[] annotations) {
+            for (Annotation annotation : annotations) {
+                final InjectionResolver<?> resolver = resolvers.get(annotation.annotationType());
+                if (resolver != null) {
+                    return resolver;
+                }
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void selectConstructor() {
+            Constructor<T> selected = null;
+            InjectionPoint[] points = null;
+
+            final Constructor<T>[] declared = (Constructor<T>[]) clazz.getDeclaredConstructors();
+            for (Constructor<T> candidate : declared) {
+                if (candidate.isAnnotationPresent(Inject.class)) {
+                    selected = candidate;
+                    points = parameterPoints(candidate, false);
+                    break;
+                }
+            }
+            if (selected == null) {
+                final Constructor<T>[] sorted = Arrays.copyOf(declared, declared.length);
+                Arrays.sort(sorted, Comparator.comparingInt((Constructor<T> c) -> c.getParameterCount()).reversed());
+                for (Constructor<T> candidate : sorted) {
+                    if (!Modifier.isPublic(candidate.getModifiers()) && candidate.getParameterCount() > 0) {
+                        continue;
+                    }
+                    final InjectionPoint[] candidatePoints = parameterPoints(candidate, true);
+                    if (candidatePoints != null) {
+                        selected = candidate;
+                        points = candidatePoints;
+                        break;
+                    }
+                }
+            }
+            if (selected == null) {
+                throw new IllegalStateException(LocalizationMessages.NONINJECT_NO_CONSTRUCTOR(clazz));
+            }
+            selected.setAccessible(true);
+            constructorPoints = points;
+            constructor = selected;
+        }
+
+        private InjectionPoint[] parameterPoints(Constructor<T> constructor, boolean annotatedOnly) {
+            final Type[] types = constructor.getGenericParameterTypes();
+            final Annotation[][] annotations = constructor.getParameterAnnotations();
+            // inner class constructors of non-static classes have the outer instance as an extra parameter
+            final int offset = types.length - annotations.length;
+            final InjectionPoint[] points = new InjectionPoint[types.length];
+            for (int i = 0; i < types.length; i++) {
+                final Annotation[] parameterAnnotations = i < offset ? new Annotation[0] : annotations[i - offset];
+                points[i] = parameterPoint(constructor, i, types[i], parameterAnnotations, annotatedOnly);
+                if (points[i] == null) {
+                    return null;
+                }
+            }
+            return points;
+        }
+
+        private T construct(Class<? extends Annotation> scope) {
+            if (constructor == null) {
+                synchronized (this) {
+                    if (constructor == null) {
+                        selectConstructor();
+                    }
+                }
+            }
+            final Object[] args = new Object[constructorPoints.length];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = resolve(constructorPoints[i], scope);
+            }
+            try {
+                return constructor.newInstance(args);
+            } catch (InvocationTargetException e) {
+                throw unwrap(e, LocalizationMessages.NONINJECT_CREATION_FAILED(clazz));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(LocalizationMessages.NONINJECT_CREATION_FAILED(clazz), e);
+            }
+        }
+
+        private void injectMembers(T instance, Class<? extends Annotation> scope) {
+            try {
+                for (Map.Entry<Field, InjectionPoint> field : fields) {
+                    final Object value = resolve(field.getValue(), scope);
+                    if (value != null) {
+                        field.getKey().set(instance, value);
+                    }
+                }
+                for (Map.Entry<Method, InjectionPoint[]> method : methods) {
+                    final InjectionPoint[] points = method.getValue();
+                    final Object[] args = new Object[points.length];
+                    for (int i = 0; i < args.length; i++) {
+                        args[i] = resolve(points[i], scope);
+                    }
+                    method.getKey().invoke(instance, args);
+                }
+            } catch (InvocationTargetException e) {
+                throw unwrap(e, LocalizationMessages.NONINJECT_INJECTION_FAILED(clazz));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(LocalizationMessages.NONINJECT_INJECTION_FAILED(clazz), e);
+            }
+        }
+
+        private void postConstruct(T instance) {
+            invokeAll(postConstructs, instance);
+        }
+
+        private void preDestroy(Object instance) {
+            invokeAll(preDestroys, instance);
+        }
+
+        private void invokeAll(List<Method> callbacks, Object instance) {
+            for (Method callback : callbacks) {
+                try {
+                    callback.invoke(instance);
+                } catch (InvocationTargetException e) {
+                    throw unwrap(e, LocalizationMessages.NONINJECT_INJECTION_FAILED(clazz));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(LocalizationMessages.NONINJECT_INJECTION_FAILED(clazz), e);
+                }
+            }
+        }
+    }
+
+    private static RuntimeException unwrap(InvocationTargetException e, String message) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(message, cause);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.inject.injectless.server;
+
+import javax.annotation.Priority;
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+
+import org.glassfish.jersey.internal.inject.InjectionManager;
+import org.glassfish.jersey.internal.inject.InjectionManagerFactory;
+
+/**
+ * <p>
+ *     This {@link InjectionManagerFactory} implementation provides an {@link InjectionManager} for the server runtime that does
+ *     not require any DI container. It is designed for applications that rely only on {@link javax.ws.rs.core.Context}
+ *     injection, singleton and per-request resources and providers, and Jersey's own bindings. HK2-specific features
+ *     (e.g. HK2 binders registered in the application, {@code IterableProvider} or custom HK2 scopes) and CDI are not supported.
+ * </p>
+ * <p>
+ *     The factory has a higher priority than the HK2 one, so placing this module on the classpath is enough to bootstrap
+ *     the server without HK2.
+ * </p>
+ *
+ * @since 2.41
+ */
+@Priority(15)
+@ConstrainedTo(RuntimeType.SERVER)
+public class ServerNonInjectionManagerFactory implements InjectionManagerFactory {
+    @Override
+    public InjectionManager create(Object parent) {
+        return new ServerNonInjectionManager(parent);
+    }
+}
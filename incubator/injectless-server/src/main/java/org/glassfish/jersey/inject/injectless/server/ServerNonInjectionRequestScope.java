@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.inject.injectless.server;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.internal.inject.ForeignDescriptor;
+import org.glassfish.jersey.internal.util.ExtendedLogger;
+import org.glassfish.jersey.internal.util.LazyUid;
+import org.glassfish.jersey.process.internal.RequestContext;
+import org.glassfish.jersey.process.internal.RequestScope;
+
+/**
+ * Request scope of the {@link ServerNonInjectionManager}. Request-scoped instances are stored directly in the
+ * {@link Instance request context}, keyed by the {@link ForeignDescriptor} of their binding.
+ */
+final class ServerNonInjectionRequestScope extends RequestScope {
+
+    @Override
+    public RequestContext createContext() {
+        return new Instance();
+    }
+
+    /**
+     * Implementation of the request scope instance.
+     */
+    static final class Instance implements RequestContext {
+
+        private static final ExtendedLogger logger = new ExtendedLogger(Logger.getLogger(Instance.class.getName()), Level.FINEST);
+
+        /*
+         * Scope instance UUID.
+         *
+         * For performance reasons, it's only generated if toString() method is invoked,
+         * e.g. as part of some low-level logging.
+         */
+        private final LazyUid id = new LazyUid();
+
+        /**
+         * A map of injectable instances in this scope.
+         */
+        private final Map<ForeignDescriptor, Object> store;
+
+        /**
+         * Holds the number of snapshots of this scope.
+         */
+        private final AtomicInteger referenceCounter;
+
+        private Instance() {
+            this.store = new ConcurrentHashMap<>();
+            this.referenceCounter = new AtomicInteger(1);
+        }
+
+        @Override
+        public Instance getReference() {
+            referenceCounter.incrementAndGet();
+            return this;
+        }
+
+        /**
+         * Get an instance stored in the scope instance for the given descriptor.
+         *
+         * @param descriptor binding descriptor.
+         * @return stored instance or {@code null} if none stored.
+         */
+        Object get(ForeignDescriptor descriptor) {
+            return store.get(descriptor);
+        }
+
+        /**
+         * Store a new instance for the given descriptor unless another one has been already stored.
+         *
+         * @param descriptor binding descriptor.
+         * @param value      instance to be stored.
+         * @return instance stored in the scope for the given descriptor.
+         */
+        Object putIfAbsent(ForeignDescriptor descriptor, Object value) {
+            final Object previous = store.putIfAbsent(descriptor, value);
+            return previous == null ? value : previous;
+        }
+
+        /**
+         * Release a single reference to the current request scope instance.
+         * <p>
+         * Once all instance references are released, the stored instances are disposed.
+         */
+        @Override
+        public void release() {
+            if (referenceCounter.decrementAndGet() < 1) {
+                try {
+                    for (ForeignDescriptor descriptor : new ArrayList<>(store.keySet())) {
+                        final Object removed = store.remove(descriptor);
+                        if (removed != null) {
+                            descriptor.dispose(removed);
+                        }
+                    }
+                } finally {
+                    logger.debugLog("Released scope instance {0}", this);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Instance{"
+                    + "id=" + id
+                    + ", referenceCounter=" + referenceCounter
+                    + ", store size=" + store.size()
+                    + '}';
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.inject.injectless.server;
+
+import java.net.URI;
+import java.util.concurrent.ExecutionException;
+
+import javax.inject.Singleton;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.UriInfo;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the server runtime running on {@link ServerNonInjectionManager}.
+ */
+public class ServerNonInjectionManagerTest {
+
+    private ApplicationHandler handler;
+
+    @Path("singleton")
+    @Singleton
+    public static class SingletonResource {
+
+        @Context
+        private UriInfo uriInfo;
+
+        @GET
+        public String get() {
+            return uriInfo.getPath() + ":" + System.identityHashCode(this);
+        }
+    }
+
+    @Path("request")
+    public static class RequestResource {
+
+        private final HttpHeaders headers;
+
+        @QueryParam("name")
+        private String name;
+
+        public RequestResource(@Context HttpHeaders headers) {
+            this.headers = headers;
+        }
+
+        @GET
+        public String get(@Context Request request) {
+            return name + ":" + headers.getHeaderString("X-Test") + ":" + request.getMethod()
+                    + ":" + System.identityHashCode(this);
+        }
+    }
+
+    public static class ResourceNameFilter implements ContainerResponseFilter {
+
+        @Context
+        private ResourceInfo resourceInfo;
+
+        @Override
+        public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+            responseContext.getHeaders().add("X-Resource", resourceInfo.getResourceClass().getSimpleName());
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        handler = new ApplicationHandler(
+                new ResourceConfig(SingletonResource.class, RequestResource.class, ResourceNameFilter.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        handler.onShutdown(null);
+    }
+
+    @Test
+    public void testInjectionManager() {
+        assertTrue(handler.getInjectionManager() instanceof ServerNonInjectionManager);
+    }
+
+    @Test
+    public void testSingletonResourceWithProxiedContext() throws Exception {
+        final String first = apply("singleton", null).getEntity().toString();
+        final String second = apply("singleton", null).getEntity().toString();
+
+        assertTrue(first.startsWith("singleton:"));
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void testRequestScopedResource() throws Exception {
+        final ContainerResponse first = apply("request?name=first", "a");
+        final ContainerResponse second = apply("request?name=second", "b");
+
+        final String[] firstParts = first.getEntity().toString().split(":");
+        final String[] secondParts = second.getEntity().toString().split(":");
+        assertEquals("first", firstParts[0]);
+        assertEquals("a", firstParts[1]);
+        assertEquals("GET", firstParts[2]);
+        assertEquals("second", secondParts[0]);
+        assertEquals("b", secondParts[1]);
+        assertNotEquals(firstParts[3], secondParts[3]);
+    }
+
+    @Test
+    public void testProviderContextInjection() throws Exception {
+        assertEquals("SingletonResource", apply("singleton", null).getHeaderString("X-Resource"));
+        assertEquals("RequestResource", apply("request", null).getHeaderString("X-Resource"));
+    }
+
+    private ContainerResponse apply(String path, String header) throws ExecutionException, InterruptedException {
+        final ContainerRequest request = new ContainerRequest(URI.create("http://localhost/"),
+                URI.create("http://localhost/" + path), "GET", null, new MapPropertiesDelegate(), handler.getConfiguration());
+        if (header != null) {
+            request.header("X-Test", header);
+        }
+        return handler.apply(request).get();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -77,6 +77,9 @@ public class ContextInjectionResolverImpl implements InjectionResolver<Context>,
     @Inject
     private ServiceLocator serviceLocator;
 
+    private final LazyValue<RequestContext> requestContext = Values.lazy(
+            (Value<RequestContext>) () -> serviceLocator.getService(RequestContext.class));
+
     private final Cache<CacheKey, ActiveDescriptor<?>> descriptorCache
             = new Cache<>(cacheKey -> serviceLocator.getInjecteeDescriptor(cacheKey.injectee));
 
@@ -95,6 +98,10 @@ public class ContextInjectionResolverImpl implements InjectionResolver<Context>,
         ActiveDescriptor<?> ad = descriptorCache.apply(new CacheKey(newInjectee));
 
         if (ad != null) {
+            if (!isHk2Factory && isDirectlyInjectable(ad, newInjectee, root)) {
+                return requestContext.get().findOrCreate(ad, root);
+            }
+
             final ServiceHandle handle = serviceLocator.getServiceHandle(ad, newInjectee);
 
             if (isHk2Factory) {
@@ -106,6 +113,22 @@ public class ContextInjectionResolverImpl implements InjectionResolver<Context>,
         return null;
     }
 
+    /**
+     * Request-scoped instances are injected directly, bypassing the service handle and the proxy, into request-scoped
+     * injection points, e.g. request-scoped components or resource method parameters, as the injected instance cannot
+     * outlive the request there.
+     */
+    private static boolean isDirectlyInjectable(ActiveDescriptor<?> ad, Injectee injectee, ServiceHandle<?> root) {
+        if (ad.getScopeAnnotation() != RequestScoped.class || Boolean.TRUE.equals(ad.isProxyForSameScope())) {
+            return false;
+        }
+        final ActiveDescriptor<?> injecteeDescriptor = injectee.getInjecteeDescriptor() != null || root == null
+                ? injectee.getInjecteeDescriptor()
+                : root.getActiveDescriptor();
+        // the injectee descriptor may not be reified yet
+        return injecteeDescriptor != null && RequestScoped.class.getName().equals(injecteeDescriptor.getScope());
+    }
+
     /**
      * Jersey Injection Resolver method that just populate HK2 injectee object and delegates the processing to HK2 Injection
      * Resolver.
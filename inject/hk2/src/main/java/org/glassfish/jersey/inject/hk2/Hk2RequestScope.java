@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,9 +16,11 @@
 
 package org.glassfish.jersey.inject.hk2;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -28,13 +30,73 @@ import org.glassfish.jersey.internal.util.ExtendedLogger;
 import org.glassfish.jersey.internal.util.LazyUid;
 import org.glassfish.jersey.process.internal.RequestScope;
 
+import org.glassfish.hk2.api.ActiveDescriptor;
+
 import static org.glassfish.jersey.internal.guava.Preconditions.checkState;
 
 public class Hk2RequestScope extends RequestScope {
 
+    /**
+     * Maximal number of descriptors stored in the fixed slots of a scope instance. Instances of any other
+     * descriptor are kept in a map.
+     */
+    static final int MAX_SLOTS = 64;
+
+    private static final ForeignDescriptor[] NO_DESCRIPTORS = new ForeignDescriptor[0];
+
+    private final Map<ActiveDescriptor<?>, Slot> slots = new ConcurrentHashMap<>();
+    private volatile ForeignDescriptor[] slotDescriptors = NO_DESCRIPTORS;
+
     @Override
     public org.glassfish.jersey.process.internal.RequestContext createContext() {
-        return new Instance();
+        return new Instance(this);
+    }
+
+    /**
+     * Get the slot assigned to the descriptor in the scope instances of this scope. A new slot is assigned when the
+     * descriptor is seen for the first time.
+     *
+     * @param descriptor request-scoped descriptor.
+     * @return descriptor slot or {@code null} if all the slots are already taken.
+     */
+    Slot slot(final ActiveDescriptor<?> descriptor) {
+        final Slot slot = slots.get(descriptor);
+        return slot != null ? slot : assignSlot(descriptor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized Slot assignSlot(final ActiveDescriptor<?> descriptor) {
+        Slot slot = slots.get(descriptor);
+        if (slot == null) {
+            final int index = slotDescriptors.length;
+            if (index >= MAX_SLOTS) {
+                return null;
+            }
+            final ActiveDescriptor<Object> disposer = (ActiveDescriptor<Object>) descriptor;
+            slot = new Slot(this, index, ForeignDescriptor.wrap(descriptor, disposer::dispose));
+
+            final ForeignDescriptor[] descriptors = Arrays.copyOf(slotDescriptors, index + 1);
+            descriptors[index] = slot.descriptor;
+            slotDescriptors = descriptors;
+            slots.put(descriptor, slot);
+        }
+        return slot;
+    }
+
+    /**
+     * Fixed position of the instances of a request-scoped descriptor in the scope instances.
+     */
+    static final class Slot {
+
+        private final Hk2RequestScope scope;
+        private final int index;
+        private final ForeignDescriptor descriptor;
+
+        private Slot(final Hk2RequestScope scope, final int index, final ForeignDescriptor descriptor) {
+            this.scope = scope;
+            this.index = index;
+            this.descriptor = descriptor;
+        }
     }
 
     /**
@@ -44,6 +106,8 @@ public class Hk2RequestScope extends RequestScope {
 
         private static final ExtendedLogger logger = new ExtendedLogger(Logger.getLogger(Instance.class.getName()), Level.FINEST);
 
+        private static final Object[] NO_VALUES = new Object[0];
+
         /*
          * Scope instance UUID.
          *
@@ -53,17 +117,27 @@ public class Hk2RequestScope extends RequestScope {
         private final LazyUid id = new LazyUid();
 
         /**
-         * A map of injectable instances in this scope.
+         * Scope the instance belongs to.
          */
-        private final Map<ForeignDescriptor, Object> store;
+        private final Hk2RequestScope scope;
+
+        /**
+         * Injectable instances of the descriptors with a slot assigned, indexed by the slot.
+         */
+        private Object[] slotValues = NO_VALUES;
+
+        /**
+         * A map of the other injectable instances in this scope, created lazily.
+         */
+        private Map<ForeignDescriptor, Object> store;
 
         /**
          * Holds the number of snapshots of this scope.
          */
         private final AtomicInteger referenceCounter;
 
-        private Instance() {
-            this.store = new HashMap<>();
+        private Instance(final Hk2RequestScope scope) {
+            this.scope = scope;
             this.referenceCounter = new AtomicInteger(1);
         }
 
@@ -91,7 +165,7 @@ public class Hk2RequestScope extends RequestScope {
          */
         @SuppressWarnings("unchecked")
         public <T> T get(ForeignDescriptor descriptor) {
-            return (T) store.get(descriptor);
+            return store == null ? null : (T) store.get(descriptor);
         }
 
         /**
@@ -105,6 +179,9 @@ public class Hk2RequestScope extends RequestScope {
          */
         @SuppressWarnings("unchecked")
         public <T> T put(ForeignDescriptor descriptor, T value) {
+            if (store == null) {
+                store = new HashMap<>();
+            }
             checkState(!store.containsKey(descriptor),
                     "An instance for the descriptor %s was already seeded in this scope. Old instance: %s New instance: %s",
                     descriptor,
@@ -121,6 +198,9 @@ public class Hk2RequestScope extends RequestScope {
          */
         @SuppressWarnings("unchecked")
         public <T> void remove(ForeignDescriptor descriptor) {
+            if (store == null) {
+                return;
+            }
             final T removed = (T) store.remove(descriptor);
             if (removed != null) {
                 descriptor.dispose(removed);
@@ -128,7 +208,70 @@ public class Hk2RequestScope extends RequestScope {
         }
 
         public boolean contains(ForeignDescriptor provider) {
-            return store.containsKey(provider);
+            return store != null && store.containsKey(provider);
+        }
+
+        /**
+         * Get an inhabitant stored in the slot of the scope instance.
+         *
+         * @param <T>  inhabitant type.
+         * @param slot inhabitant descriptor slot.
+         * @return inhabitant stored in the slot or {@code null} if the slot is empty.
+         */
+        @SuppressWarnings("unchecked")
+        <T> T get(Slot slot) {
+            if (slot.scope != scope) {
+                return get(slot.descriptor);
+            }
+            return slot.index < slotValues.length ? (T) slotValues[slot.index] : null;
+        }
+
+        /**
+         * Store a new inhabitant in the slot of the scope instance.
+         *
+         * @param slot  inhabitant descriptor slot.
+         * @param value inhabitant value.
+         */
+        void put(Slot slot, Object value) {
+            if (slot.scope != scope) {
+                put(slot.descriptor, value);
+                return;
+            }
+            final Object old = get(slot);
+            if (old != null) {
+                // not using checkState to avoid allocating its arguments on every put
+                throw new IllegalStateException(String.format(
+                        "An instance for the descriptor %s was already seeded in this scope. Old instance: %s New instance: %s",
+                        slot.descriptor, old, value));
+            }
+            if (slot.index >= slotValues.length) {
+                // all the slots assigned so far at once, the slots are rarely assigned after the application start
+                slotValues = Arrays.copyOf(slotValues, Math.max(slot.index + 1, scope.slotDescriptors.length));
+            }
+            slotValues[slot.index] = value;
+        }
+
+        /**
+         * Remove the inhabitant stored in the slot of the scope instance if present.
+         *
+         * @param slot inhabitant descriptor slot.
+         */
+        void remove(Slot slot) {
+            if (slot.scope != scope) {
+                remove(slot.descriptor);
+                return;
+            }
+            if (slot.index < slotValues.length) {
+                final Object removed = slotValues[slot.index];
+                slotValues[slot.index] = null;
+                if (removed != null) {
+                    slot.descriptor.dispose(removed);
+                }
+            }
+        }
+
+        boolean contains(Slot slot) {
+            return get(slot) != null;
         }
 
         /**
@@ -140,7 +283,17 @@ public class Hk2RequestScope extends RequestScope {
         public void release() {
             if (referenceCounter.decrementAndGet() < 1) {
                 try {
-                    new HashSet<>(store.keySet()).forEach(this::remove);
+                    final ForeignDescriptor[] descriptors = scope.slotDescriptors;
+                    for (int i = 0; i < slotValues.length; i++) {
+                        final Object removed = slotValues[i];
+                        if (removed != null) {
+                            slotValues[i] = null;
+                            descriptors[i].dispose(removed);
+                        }
+                    }
+                    if (store != null) {
+                        new HashSet<>(store.keySet()).forEach(this::remove);
+                    }
                 } finally {
                     logger.debugLog("Released scope instance {0}", this);
                 }
@@ -152,9 +305,18 @@ public class Hk2RequestScope extends RequestScope {
             return "Instance{"
                     + "id=" + id
                     + ", referenceCounter=" + referenceCounter
-                    + ", store size=" + store.size()
+                    + ", store size=" + size()
                     + '}';
         }
+
+        private int size() {
+            int size = store == null ? 0 : store.size();
+            for (final Object value : slotValues) {
+                if (value != null) {
+                    size++;
+                }
+            }
+            return size;
+        }
     }
 }
-
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -54,6 +54,16 @@ public class RequestContext implements Context<RequestScoped> {
     public <U> U findOrCreate(ActiveDescriptor<U> activeDescriptor, ServiceHandle<?> root) {
         Hk2RequestScope.Instance instance = (Hk2RequestScope.Instance) requestScope.current();
 
+        Hk2RequestScope.Slot slot = slot(activeDescriptor);
+        if (slot != null) {
+            U retVal = instance.get(slot);
+            if (retVal == null) {
+                retVal = activeDescriptor.create(root);
+                instance.put(slot, retVal);
+            }
+            return retVal;
+        }
+
         U retVal = instance.get(ForeignDescriptor.wrap(activeDescriptor));
         if (retVal == null) {
             retVal = activeDescriptor.create(root);
@@ -65,7 +75,8 @@ public class RequestContext implements Context<RequestScoped> {
     @Override
     public boolean containsKey(ActiveDescriptor<?> descriptor) {
         Hk2RequestScope.Instance instance = (Hk2RequestScope.Instance) requestScope.current();
-        return instance.contains(ForeignDescriptor.wrap(descriptor));
+        Hk2RequestScope.Slot slot = slot(descriptor);
+        return slot != null ? instance.contains(slot) : instance.contains(ForeignDescriptor.wrap(descriptor));
     }
 
     @Override
@@ -81,7 +92,12 @@ public class RequestContext implements Context<RequestScoped> {
     @Override
     public void destroyOne(ActiveDescriptor<?> descriptor) {
         Hk2RequestScope.Instance instance = (Hk2RequestScope.Instance) requestScope.current();
-        instance.remove(ForeignDescriptor.wrap(descriptor));
+        Hk2RequestScope.Slot slot = slot(descriptor);
+        if (slot != null) {
+            instance.remove(slot);
+        } else {
+            instance.remove(ForeignDescriptor.wrap(descriptor));
+        }
     }
 
     @Override
@@ -89,6 +105,13 @@ public class RequestContext implements Context<RequestScoped> {
         requestScope.shutdown();
     }
 
+    /**
+     * Get the fixed slot of the descriptor instances if the request scope supports them.
+     */
+    private Hk2RequestScope.Slot slot(ActiveDescriptor<?> descriptor) {
+        return requestScope instanceof Hk2RequestScope ? ((Hk2RequestScope) requestScope).slot(descriptor) : null;
+    }
+
     /**
      * Request scope injection binder.
      */
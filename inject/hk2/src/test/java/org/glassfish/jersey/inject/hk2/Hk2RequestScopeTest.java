@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.inject.hk2;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import org.glassfish.jersey.internal.inject.InjectionManager;
+import org.glassfish.jersey.process.internal.RequestScope;
+import org.glassfish.jersey.process.internal.RequestScoped;
+
+import org.glassfish.hk2.api.ActiveDescriptor;
+import org.glassfish.hk2.utilities.BuilderHelper;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the fixed slots of {@link Hk2RequestScope}.
+ */
+public class Hk2RequestScopeTest {
+
+    private static final AtomicInteger DESTROYED = new AtomicInteger();
+
+    public static class RequestScopedService {
+
+        @PreDestroy
+        public void destroy() {
+            DESTROYED.incrementAndGet();
+        }
+    }
+
+    @Test
+    public void testSlotAssignedOncePerDescriptor() {
+        Hk2RequestScope scope = new Hk2RequestScope();
+        ActiveDescriptor<?> descriptor = descriptor("first");
+
+        Hk2RequestScope.Slot slot = scope.slot(descriptor);
+        assertNotNull(slot);
+        assertSame(slot, scope.slot(descriptor));
+        assertNotSame(slot, scope.slot(descriptor("second")));
+    }
+
+    @Test
+    public void testSlotsExhausted() {
+        Hk2RequestScope scope = new Hk2RequestScope();
+        for (int i = 0; i < Hk2RequestScope.MAX_SLOTS; i++) {
+            assertNotNull(scope.slot(descriptor("descriptor-" + i)));
+        }
+        assertNull(scope.slot(descriptor("overflow")));
+        assertNotNull(scope.slot(descriptor("descriptor-0")));
+    }
+
+    @Test
+    public void testInstanceSlots() {
+        Hk2RequestScope scope = new Hk2RequestScope();
+        Hk2RequestScope.Slot first = scope.slot(descriptor("first"));
+        Hk2RequestScope.Instance instance = (Hk2RequestScope.Instance) scope.createContext();
+        // assigned after the instance has been created
+        Hk2RequestScope.Slot second = scope.slot(descriptor("second"));
+
+        assertNull(instance.get(first));
+        instance.put(first, "first");
+        instance.put(second, "second");
+        assertEquals("first", instance.get(first));
+        assertEquals("second", instance.get(second));
+        assertTrue(instance.contains(second));
+
+        instance.remove(second);
+        assertFalse(instance.contains(second));
+        assertEquals("first", instance.get(first));
+
+        instance.release();
+        assertNull(instance.get(first));
+    }
+
+    @Test
+    public void testSlotOfAnotherScope() {
+        Hk2RequestScope.Slot slot = new Hk2RequestScope().slot(descriptor("foreign"));
+        Hk2RequestScope.Instance instance = (Hk2RequestScope.Instance) new Hk2RequestScope().createContext();
+
+        instance.put(slot, "foreign");
+        assertEquals("foreign", instance.get(slot));
+        instance.release();
+        assertNull(instance.get(slot));
+    }
+
+    @Test
+    public void testRequestScopedInstances() {
+        InjectionManager injectionManager = BindingTestHelper.createInjectionManager();
+        BindingTestHelper.bind(injectionManager, binder -> binder.bindAsContract(RequestScopedService.class)
+                .in(RequestScoped.class));
+        RequestScope requestScope = injectionManager.getInstance(RequestScope.class);
+        DESTROYED.set(0);
+
+        RequestScopedService first = requestScope.runInScope(() -> {
+            RequestScopedService service = injectionManager.getInstance(RequestScopedService.class);
+            assertSame(service, injectionManager.getInstance(RequestScopedService.class));
+            return service;
+        });
+        assertEquals(1, DESTROYED.get());
+
+        RequestScopedService second = requestScope.runInScope(
+                () -> injectionManager.getInstance(RequestScopedService.class));
+        assertNotSame(first, second);
+        assertEquals(2, DESTROYED.get());
+    }
+
+    private static ActiveDescriptor<?> descriptor(String name) {
+        return BuilderHelper.activeLink(RequestScopedService.class).named(name).in(RequestScoped.class).build();
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.tests.e2e.client;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.bulkhead.Bulkhead;
+import org.glassfish.jersey.client.bulkhead.BulkheadFeature;
+import org.glassfish.jersey.client.bulkhead.BulkheadRejectedException;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link BulkheadFeature}.
+ */
+public class BulkheadTest extends JerseyTest {
+
+    private static final Semaphore STARTED = new Semaphore(0);
+    private static volatile CountDownLatch release;
+
+    @Path("bulkhead")
+    public static class BulkheadResource {
+
+        @GET
+        @Path("slow")
+        public String slow() throws InterruptedException {
+            STARTED.release();
+            release.await(10, TimeUnit.SECONDS);
+            return "slow";
+        }
+
+        @GET
+        @Path("fast")
+        public String fast() {
+            return "fast";
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(BulkheadResource.class);
+    }
+
+    @BeforeEach
+    public void reset() {
+        STARTED.drainPermits();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    public void releaseRequests() {
+        release.countDown();
+    }
+
+    @Test
+    public void testHostCompartmentQueuesAndRejects() throws Exception {
+        final BulkheadFeature feature = new BulkheadFeature();
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .property(ClientProperties.BULKHEAD_MAX_CONCURRENT_REQUESTS, 2)
+                .property(ClientProperties.BULKHEAD_MAX_QUEUED_REQUESTS, 1)
+                .property(ClientProperties.BULKHEAD_QUEUE_TIMEOUT, 0)
+                .register(feature));
+        try {
+            final Future<String> first = client.target(getBaseUri()).path("bulkhead/slow").request().async().get(String.class);
+            final Future<String> second = client.target(getBaseUri()).path("bulkhead/slow").request().async().get(String.class);
+            assertTrue(STARTED.tryAcquire(2, 10, TimeUnit.SECONDS));
+
+            final Future<String> queued = client.target(getBaseUri()).path("bulkhead/slow").request().rx().get(String.class)
+                    .toCompletableFuture();
+            final Future<String> rejected = client.target(getBaseUri()).path("bulkhead/slow").request().async().get(String.class);
+
+            final ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> rejected.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(BulkheadRejectedException.class, exception.getCause());
+
+            final Bulkhead.Compartment compartment = feature.getCompartments().values().iterator().next();
+            assertEquals(2, compartment.getInFlightCount());
+            assertEquals(1, compartment.getQueuedCount());
+            assertEquals(1, compartment.getRejectedCount());
+
+            release.countDown();
+            assertEquals("slow", first.get(10, TimeUnit.SECONDS));
+            assertEquals("slow", second.get(10, TimeUnit.SECONDS));
+            assertEquals("slow", queued.get(10, TimeUnit.SECONDS));
+            assertEquals(0, compartment.getQueuedCount());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testQueueTimeout() throws Exception {
+        final BulkheadFeature feature = new BulkheadFeature();
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .property(ClientProperties.BULKHEAD_MAX_CONCURRENT_REQUESTS, 1)
+                .property(ClientProperties.BULKHEAD_QUEUE_TIMEOUT, 200)
+                .register(feature));
+        try {
+            final Future<String> first = client.target(getBaseUri()).path("bulkhead/slow").request().async().get(String.class);
+            assertTrue(STARTED.tryAcquire(10, TimeUnit.SECONDS));
+
+            assertThrows(BulkheadRejectedException.class,
+                    () -> client.target(getBaseUri()).path("bulkhead/fast").request().get(String.class));
+            assertEquals(1, feature.getCompartments().values().iterator().next().getRejectedCount());
+
+            release.countDown();
+            assertEquals("slow", first.get(10, TimeUnit.SECONDS));
+            assertEquals("fast", client.target(getBaseUri()).path("bulkhead/fast").request().get(String.class));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testPrefixCompartmentIsolatesSlowEndpoint() throws Exception {
+        final String slowPrefix = getBaseUri().toString() + "bulkhead/slow";
+        final BulkheadFeature feature = new BulkheadFeature().compartment(slowPrefix, 1, 0);
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .property(ClientProperties.BULKHEAD_MAX_CONCURRENT_REQUESTS, 1)
+                .register(feature));
+        try {
+            final Future<String> slow = client.target(slowPrefix).request().async().get(String.class);
+            assertTrue(STARTED.tryAcquire(10, TimeUnit.SECONDS));
+
+            final Future<String> rejected = client.target(slowPrefix).request().async().get(String.class);
+            final ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> rejected.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(BulkheadRejectedException.class, exception.getCause());
+
+            // the host compartment is not affected by the slow endpoint
+            assertEquals("fast", client.target(getBaseUri()).path("bulkhead/fast").request().get(String.class));
+            assertEquals("fast", client.target(getBaseUri()).path("bulkhead/fast").request().async().get(String.class)
+                    .get(10, TimeUnit.SECONDS));
+            assertEquals(2, feature.getCompartments().size());
+            assertEquals(1, feature.getCompartments().get(slowPrefix).getRejectedCount());
+
+            release.countDown();
+            assertEquals("slow", slow.get(10, TimeUnit.SECONDS));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testPermitIsHeldUntilEntityIsClosed() throws Exception {
+        final BulkheadFeature feature = new BulkheadFeature();
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .property(ClientProperties.BULKHEAD_MAX_CONCURRENT_REQUESTS, 1)
+                .register(feature));
+        try {
+            final Response response = client.target(getBaseUri()).path("bulkhead/fast").request().get();
+            final Bulkhead.Compartment compartment = feature.getCompartments().values().iterator().next();
+            assertEquals(1, compartment.getInFlightCount());
+            assertEquals("fast", response.readEntity(String.class));
+            assertEquals(0, compartment.getInFlightCount());
+
+            final Response async = client.target(getBaseUri()).path("bulkhead/fast").request().async().get()
+                    .get(10, TimeUnit.SECONDS);
+            assertEquals(1, compartment.getInFlightCount());
+            async.close();
+            assertEquals(0, compartment.getInFlightCount());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testAbortedRequestTakesNoPermit() throws Exception {
+        final BulkheadFeature feature = new BulkheadFeature();
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .property(ClientProperties.BULKHEAD_MAX_CONCURRENT_REQUESTS, 1)
+                .property(ClientProperties.BULKHEAD_MAX_QUEUED_REQUESTS, 0)
+                .register(feature));
+        try {
+            final Future<String> slow = client.target(getBaseUri()).path("bulkhead/slow").request().async().get(String.class);
+            assertTrue(STARTED.tryAcquire(10, TimeUnit.SECONDS));
+
+            final ClientRequestFilter cache = context -> context.abortWith(Response.ok("cached").build());
+            assertEquals("cached", client.target(getBaseUri()).path("bulkhead/fast").register(cache)
+                    .request().get(String.class));
+            assertEquals("cached", client.target(getBaseUri()).path("bulkhead/fast").register(cache)
+                    .request().async().get(String.class).get(10, TimeUnit.SECONDS));
+            assertEquals(0, feature.getCompartments().values().iterator().next().getRejectedCount());
+
+            release.countDown();
+            assertEquals("slow", slow.get(10, TimeUnit.SECONDS));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testCompartmentIsChosenFromFilteredRequest() throws Exception {
+        final String slowPrefix = getBaseUri().toString() + "bulkhead/slow";
+        final BulkheadFeature feature = new BulkheadFeature().compartment(slowPrefix, 1, 0);
+        final Client client = ClientBuilder.newClient(new ClientConfig().register(feature));
+        try {
+            final Future<String> slow = client.target(slowPrefix).request().async().get(String.class);
+            assertTrue(STARTED.tryAcquire(10, TimeUnit.SECONDS));
+
+            final ClientRequestFilter rewrite = context -> context.setUri(context.getUri().resolve("slow"));
+            assertThrows(BulkheadRejectedException.class, () -> client.target(getBaseUri()).path("bulkhead/fast")
+                    .register(rewrite).request().get(String.class));
+            assertEquals(1, feature.getCompartments().get(slowPrefix).getRejectedCount());
+
+            release.countDown();
+            assertEquals("slow", slow.get(10, TimeUnit.SECONDS));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testWaitingForAdmissionIsInterruptible() throws Exception {
+        final BulkheadFeature feature = new BulkheadFeature();
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .property(ClientProperties.BULKHEAD_MAX_CONCURRENT_REQUESTS, 1)
+                .property(ClientProperties.BULKHEAD_MAX_QUEUED_REQUESTS, 1)
+                .property(ClientProperties.BULKHEAD_QUEUE_TIMEOUT, 0)
+                .register(feature));
+        try {
+            final Future<String> first = client.target(getBaseUri()).path("bulkhead/slow").request().async().get(String.class);
+            assertTrue(STARTED.tryAcquire(10, TimeUnit.SECONDS));
+
+            final AtomicReference<Throwable> failure = new AtomicReference<>();
+            final Thread waiting = new Thread(() -> {
+                try {
+                    client.target(getBaseUri()).path("bulkhead/fast").request().get(String.class);
+                } catch (final Throwable t) {
+                    failure.set(t);
+                }
+            });
+            waiting.start();
+            final Bulkhead.Compartment compartment = feature.getCompartments().values().iterator().next();
+            while (compartment.getQueuedCount() == 0) {
+                Thread.sleep(10);
+            }
+            waiting.interrupt();
+            waiting.join(10_000);
+            assertInstanceOf(ProcessingException.class, failure.get());
+
+            // the permit handed over to the interrupted request is passed on
+            release.countDown();
+            assertEquals("slow", first.get(10, TimeUnit.SECONDS));
+            assertEquals("fast", client.target(getBaseUri()).path("bulkhead/fast").request().get(String.class));
+            assertEquals(0, compartment.getInFlightCount());
+        } finally {
+            client.close();
+        }
+    }
+}
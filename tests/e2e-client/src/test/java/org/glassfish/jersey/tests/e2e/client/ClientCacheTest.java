@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.e2e.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.cache.ClientCacheFeature;
+import org.glassfish.jersey.client.cache.InMemoryClientCacheStore;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests {@link ClientCacheFeature}.
+ */
+public class ClientCacheTest extends JerseyTest {
+
+    private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+    private static final AtomicInteger NOT_MODIFIED = new AtomicInteger();
+    private static volatile String value = "v1";
+
+    private final InMemoryClientCacheStore store = new InMemoryClientCacheStore();
+
+    @Path("cache")
+    public static class CacheResource {
+
+        @GET
+        @Path("fresh")
+        public Response fresh() {
+            INVOCATIONS.incrementAndGet();
+            final CacheControl cacheControl = new CacheControl();
+            cacheControl.setMaxAge(60);
+            return Response.ok(value).cacheControl(cacheControl).build();
+        }
+
+        @GET
+        @Path("validated")
+        public Response validated(@Context final Request request) {
+            INVOCATIONS.incrementAndGet();
+            final EntityTag tag = new EntityTag(value);
+            final Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+            final CacheControl cacheControl = new CacheControl();
+            cacheControl.setMaxAge(0);
+            if (notModified != null) {
+                NOT_MODIFIED.incrementAndGet();
+                return notModified.cacheControl(cacheControl).build();
+            }
+            return Response.ok(value).tag(tag).cacheControl(cacheControl).build();
+        }
+
+        @PUT
+        @Path("fresh")
+        public void update(final String newValue) {
+            value = newValue;
+        }
+
+        @GET
+        @Path("nostore")
+        public Response noStore() {
+            INVOCATIONS.incrementAndGet();
+            final CacheControl cacheControl = new CacheControl();
+            cacheControl.setNoStore(true);
+            return Response.ok(value).cacheControl(cacheControl).build();
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(CacheResource.class);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.register(new ClientCacheFeature(store));
+    }
+
+    @BeforeEach
+    public void reset() {
+        INVOCATIONS.set(0);
+        NOT_MODIFIED.set(0);
+        value = "v1";
+    }
+
+    @Test
+    public void testFreshResponseIsServedFromCache() {
+        assertEquals("v1", target("cache/fresh").request().get(String.class));
+        final Response response = target("cache/fresh").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("v1", response.readEntity(String.class));
+        assertNotNull(response.getHeaderString("Age"));
+        assertEquals(1, INVOCATIONS.get());
+    }
+
+    @Test
+    public void testRequestNoCacheForcesRevalidation() {
+        target("cache/fresh").request().get(String.class);
+        target("cache/fresh").request().header(HttpHeaders.CACHE_CONTROL, "no-cache").get(String.class);
+        assertEquals(2, INVOCATIONS.get());
+    }
+
+    @Test
+    public void testStaleResponseIsRevalidated() {
+        assertEquals("v1", target("cache/validated").request().get(String.class));
+        assertEquals("v1", target("cache/validated").request().get(String.class));
+        assertEquals(2, INVOCATIONS.get());
+        assertEquals(1, NOT_MODIFIED.get());
+
+        value = "v2";
+        assertEquals("v2", target("cache/validated").request().get(String.class));
+        assertEquals(1, NOT_MODIFIED.get());
+    }
+
+    @Test
+    public void testCallerConditionalRequestKeepsStoredResponse() {
+        assertEquals("v1", target("cache/validated").request().get(String.class));
+
+        final Response notModified = target("cache/validated").request()
+                .header(HttpHeaders.IF_NONE_MATCH, new EntityTag("v1").toString()).get();
+        assertEquals(304, notModified.getStatus());
+        assertEquals(1, store.size());
+
+        assertEquals("v1", target("cache/validated").request().get(String.class));
+        assertEquals(2, NOT_MODIFIED.get());
+    }
+
+    @Test
+    public void testUnsafeMethodInvalidates() {
+        assertEquals("v1", target("cache/fresh").request().get(String.class));
+        target("cache/fresh").request().put(Entity.text("v2"));
+        assertEquals("v2", target("cache/fresh").request().get(String.class));
+        assertEquals(2, INVOCATIONS.get());
+    }
+
+    @Test
+    public void testNoStoreIsNotCached() {
+        target("cache/nostore").request().get(String.class);
+        target("cache/nostore").request().get(String.class);
+        assertEquals(2, INVOCATIONS.get());
+        assertEquals(0, store.size());
+    }
+}
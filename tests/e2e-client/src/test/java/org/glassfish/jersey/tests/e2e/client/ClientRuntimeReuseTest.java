@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.e2e.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.HttpUrlConnectorProvider;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that client runtimes (and connectors) are reused among equivalent web target and invocation configurations.
+ */
+public class ClientRuntimeReuseTest extends JerseyTest {
+
+    private static final String TAG_PROPERTY = "test.tag";
+
+    private final CountingConnectorProvider connectorProvider = new CountingConnectorProvider();
+
+    @Path("echo")
+    public static class EchoResource {
+
+        @GET
+        public String get(@HeaderParam("X-Tag") final String tag) {
+            return tag == null ? "none" : tag;
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(EchoResource.class);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.connectorProvider(connectorProvider).property(ClientProperties.RUNTIME_CACHE_SIZE, 16);
+    }
+
+    @BeforeEach
+    public void reset() {
+        connectorProvider.connectors.set(0);
+    }
+
+    @Test
+    public void testEquivalentConfigurationsShareRuntime() {
+        assertEquals("none", target("echo").request().get(String.class));
+        final int base = connectorProvider.connectors.get();
+        assertEquals("none", target("echo").property(TAG_PROPERTY, "a").request().get(String.class));
+        assertEquals("none", target("echo").property(TAG_PROPERTY, "a").request().get(String.class));
+        assertEquals(base + 1, connectorProvider.connectors.get());
+
+        final ClientRequestFilter filter = new TagFilter();
+        target("echo").register(filter).request().get(String.class);
+        target("echo").register(filter).request().get(String.class);
+        assertEquals(base + 2, connectorProvider.connectors.get());
+
+        target("echo").register(new TagFilter()).request().get(String.class);
+        assertEquals(base + 3, connectorProvider.connectors.get());
+    }
+
+    @Test
+    public void testRuntimesAreNotReusedByDefault() {
+        final Client client = ClientBuilder.newClient(new ClientConfig().connectorProvider(connectorProvider));
+        try {
+            final WebTarget target = client.target(getBaseUri()).path("echo");
+            assertEquals("none", target.property(TAG_PROPERTY, "a").request().get(String.class));
+            assertEquals("none", target.property(TAG_PROPERTY, "a").request().get(String.class));
+            assertEquals(2, connectorProvider.connectors.get());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testPropertyOverlayReusesParentRuntime() {
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(connectorProvider)
+                .property(ClientProperties.RUNTIME_PROPERTY_OVERLAY, true)
+                .register(TagFilter.class));
+        try {
+            final WebTarget target = client.target(getBaseUri()).path("echo");
+            assertEquals("none", target.request().get(String.class));
+            for (int i = 0; i < 5; i++) {
+                assertEquals("tag-" + i, target.property(TAG_PROPERTY, "tag-" + i).request().get(String.class));
+                assertEquals("request-" + i, target.request().property(TAG_PROPERTY, "request-" + i).get(String.class));
+            }
+            assertEquals(1, connectorProvider.connectors.get());
+
+            target.register(new TagFilter()).request().get(String.class);
+            assertEquals(2, connectorProvider.connectors.get());
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * Propagates the {@value #TAG_PROPERTY} request property to the {@code X-Tag} header.
+     */
+    public static class TagFilter implements ClientRequestFilter {
+
+        @Override
+        public void filter(final ClientRequestContext requestContext) {
+            Object tag = requestContext.getProperty(TAG_PROPERTY);
+            if (tag == null) {
+                tag = requestContext.getConfiguration().getProperty(TAG_PROPERTY);
+            }
+            if (tag != null) {
+                requestContext.getHeaders().putSingle("X-Tag", tag);
+            }
+        }
+    }
+
+    private static class CountingConnectorProvider implements ConnectorProvider {
+
+        private final ConnectorProvider delegate = new HttpUrlConnectorProvider();
+        private final AtomicInteger connectors = new AtomicInteger();
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            connectors.incrementAndGet();
+            return delegate.getConnector(client, runtimeConfig);
+        }
+    }
+}
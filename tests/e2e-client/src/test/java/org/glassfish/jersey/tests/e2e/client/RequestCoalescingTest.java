@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.e2e.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.Application;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.filter.RequestCoalescingFeature;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests {@link RequestCoalescingFeature}.
+ */
+public class RequestCoalescingTest extends JerseyTest {
+
+    private static final int REQUEST_COUNT = 20;
+    private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+    private static volatile CountDownLatch release;
+
+    private final RequestCoalescingFeature feature = new RequestCoalescingFeature();
+
+    @Path("slow")
+    public static class SlowResource {
+
+        @GET
+        public String get() throws InterruptedException {
+            INVOCATIONS.incrementAndGet();
+            release.await(10, TimeUnit.SECONDS);
+            return "slow";
+        }
+    }
+
+    @Path("fast")
+    public static class FastResource {
+
+        @GET
+        public String get() {
+            return "fast";
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(SlowResource.class, FastResource.class);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.register(feature);
+    }
+
+    @BeforeEach
+    public void reset() {
+        INVOCATIONS.set(0);
+        release = new CountDownLatch(1);
+    }
+
+    @Test
+    public void testConcurrentAsyncRequestsAreCoalesced() throws Exception {
+        final List<Future<String>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            responses.add(target("slow").request().async().get(String.class));
+        }
+        // let all the requests reach the filter
+        Thread.sleep(500);
+        release.countDown();
+
+        for (final Future<String> response : responses) {
+            assertEquals("slow", response.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, INVOCATIONS.get());
+        assertEquals(1, feature.getStatistics().getSentCount());
+        assertEquals(REQUEST_COUNT - 1, feature.getStatistics().getCoalescedCount());
+    }
+
+    @Test
+    public void testDifferentAcceptHeadersAreNotCoalesced() throws Exception {
+        final Future<String> plain = target("slow").request("text/plain").async().get(String.class);
+        final CompletionStage<String> any = target("slow").request("*/*").rx().get(String.class);
+        Thread.sleep(500);
+        release.countDown();
+
+        assertEquals("slow", plain.get(10, TimeUnit.SECONDS));
+        assertEquals("slow", any.toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertEquals(2, INVOCATIONS.get());
+        assertEquals(0, feature.getStatistics().getCoalescedCount());
+    }
+
+    @Test
+    public void testDifferentCustomHeadersAreNotCoalesced() throws Exception {
+        final Future<String> first = target("slow").request().header("X-Tenant", "a").async().get(String.class);
+        final Future<String> second = target("slow").request().header("X-Tenant", "b").async().get(String.class);
+        Thread.sleep(500);
+        release.countDown();
+
+        assertEquals("slow", first.get(10, TimeUnit.SECONDS));
+        assertEquals("slow", second.get(10, TimeUnit.SECONDS));
+        assertEquals(2, INVOCATIONS.get());
+        assertEquals(0, feature.getStatistics().getCoalescedCount());
+    }
+
+    @Test
+    public void testWaitingRequestsDoNotHoldThreads() throws Exception {
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .register(new RequestCoalescingFeature())
+                .property(ClientProperties.ASYNC_THREADPOOL_SIZE, 2));
+        try {
+            final List<Future<String>> responses = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                responses.add(client.target(getBaseUri()).path("slow").request().async().get(String.class));
+            }
+            // one thread is taken by the in-flight request, the waiting requests must leave the other one free
+            final Future<String> fast = client.target(getBaseUri()).path("fast").request().async().get(String.class);
+            assertEquals("fast", fast.get(5, TimeUnit.SECONDS));
+
+            release.countDown();
+            for (final Future<String> response : responses) {
+                assertEquals("slow", response.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, INVOCATIONS.get());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testSequentialRequestsAreNotCoalesced() {
+        release.countDown();
+        assertEquals("slow", target("slow").request().get(String.class));
+        assertEquals("slow", target("slow").request().get(String.class));
+        assertEquals(2, INVOCATIONS.get());
+    }
+
+    @Test
+    public void testFeatureEnabledByProperty() throws Exception {
+        final Client client = ClientBuilder.newClient(
+                new ClientConfig().property(ClientProperties.REQUEST_COALESCING, true));
+        try {
+            final Future<String> first = client.target(getBaseUri()).path("slow").request().async().get(String.class);
+            final Future<String> second = client.target(getBaseUri()).path("slow").request().async().get(String.class);
+            Thread.sleep(500);
+            release.countDown();
+
+            assertEquals("slow", first.get(10, TimeUnit.SECONDS));
+            assertEquals("slow", second.get(10, TimeUnit.SECONDS));
+            assertEquals(1, INVOCATIONS.get());
+        } finally {
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.tests.e2e.client;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.bulkhead.Bulkhead;
+import org.glassfish.jersey.client.bulkhead.BulkheadFeature;
+import org.glassfish.jersey.client.retry.RetryFeature;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link RetryFeature}.
+ */
+public class RetryTest extends JerseyTest {
+
+    private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+    private static volatile int failures;
+    private static volatile CountDownLatch release;
+
+    @Path("retry")
+    public static class RetryResource {
+
+        @GET
+        @Path("flaky")
+        public Response flaky() {
+            return INVOCATIONS.incrementAndGet() <= failures
+                    ? Response.status(Response.Status.SERVICE_UNAVAILABLE).build()
+                    : Response.ok("ok").build();
+        }
+
+        @POST
+        @Path("flaky")
+        public Response flakyPost(final String entity) {
+            return flaky();
+        }
+
+        @GET
+        @Path("stuck")
+        public String stuck() throws InterruptedException {
+            if (INVOCATIONS.incrementAndGet() == 1) {
+                release.await(10, TimeUnit.SECONDS);
+                return "stuck";
+            }
+            return "hedged";
+        }
+
+        @GET
+        @Path("fast")
+        public String fast() {
+            return "fast";
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(RetryResource.class);
+    }
+
+    @BeforeEach
+    public void reset() {
+        INVOCATIONS.set(0);
+        failures = 0;
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    public void releaseRequests() {
+        release.countDown();
+    }
+
+    private Client client(final RetryFeature feature, final ClientConfig config) {
+        return ClientBuilder.newClient(config.property(ClientProperties.RETRY_BACKOFF, 10).register(feature));
+    }
+
+    @Test
+    public void testRetryUntilSuccess() throws Exception {
+        final RetryFeature feature = new RetryFeature();
+        final Client client = client(feature, new ClientConfig().property(ClientProperties.RETRY_MAX_ATTEMPTS, 3));
+        try {
+            failures = 2;
+            assertEquals("ok", client.target(getBaseUri()).path("retry/flaky").request().get(String.class));
+            assertEquals(3, INVOCATIONS.get());
+
+            INVOCATIONS.set(0);
+            assertEquals("ok", client.target(getBaseUri()).path("retry/flaky").request().async().get(String.class)
+                    .get(10, TimeUnit.SECONDS));
+            assertEquals(3, INVOCATIONS.get());
+            assertEquals(4, feature.getStatistics().getRetryCount());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testLastResponseReturnedWhenAttemptsExhausted() {
+        final Client client = client(new RetryFeature(), new ClientConfig().property(ClientProperties.RETRY_MAX_ATTEMPTS, 2));
+        try {
+            failures = Integer.MAX_VALUE;
+            assertEquals(503, client.target(getBaseUri()).path("retry/flaky").request().get().getStatus());
+            assertEquals(2, INVOCATIONS.get());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testRequestWithEntityIsNotRetried() {
+        final Client client = client(new RetryFeature(), new ClientConfig().property(ClientProperties.RETRY_MAX_ATTEMPTS, 3));
+        try {
+            failures = Integer.MAX_VALUE;
+            assertEquals(503, client.target(getBaseUri()).path("retry/flaky").request().post(Entity.text("x")).getStatus());
+            assertEquals(1, INVOCATIONS.get());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testRetryBudget() {
+        final RetryFeature feature = new RetryFeature();
+        final Client client = client(feature, new ClientConfig()
+                .property(ClientProperties.RETRY_MAX_ATTEMPTS, 2)
+                .property(ClientProperties.RETRY_BUDGET, 0));
+        try {
+            failures = Integer.MAX_VALUE;
+            for (int i = 0; i < 12; i++) {
+                assertEquals(503, client.target(getBaseUri()).path("retry/flaky").request().get().getStatus());
+            }
+            // the initial budget allows 10 retries
+            assertEquals(22, INVOCATIONS.get());
+            assertEquals(10, feature.getStatistics().getRetryCount());
+            assertEquals(2, feature.getStatistics().getBudgetExhaustedCount());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testSlowRequestIsHedged() throws Exception {
+        final RetryFeature feature = new RetryFeature();
+        final Client client = client(feature, new ClientConfig().property(ClientProperties.HEDGING_PERCENTILE, 90));
+        try {
+            for (int i = 0; i < 30; i++) {
+                assertEquals("fast", client.target(getBaseUri()).path("retry/fast").request().get(String.class));
+            }
+
+            final long start = System.nanoTime();
+            assertEquals("hedged", client.target(getBaseUri()).path("retry/stuck").request().get(String.class));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            // a warm-up request may have been hedged as well
+            assertTrue(feature.getStatistics().getHedgedCount() >= 1);
+            assertTrue(feature.getStatistics().getHedgeWinCount() >= 1);
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testHedgedRequestWaitsForBulkheadPermit() throws Exception {
+        final RetryFeature feature = new RetryFeature();
+        final Client client = client(feature, new ClientConfig()
+                .property(ClientProperties.HEDGING_PERCENTILE, 90)
+                .property(ClientProperties.BULKHEAD_MAX_CONCURRENT_REQUESTS, 1)
+                .register(new BulkheadFeature()));
+        try {
+            for (int i = 0; i < 30; i++) {
+                assertEquals("fast", client.target(getBaseUri()).path("retry/fast").request().get(String.class));
+            }
+
+            final Thread releasing = new Thread(() -> {
+                try {
+                    Thread.sleep(1000);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                release.countDown();
+            });
+            releasing.start();
+            // the only permit is held by the request, the hedged request is not sent
+            assertEquals("stuck", client.target(getBaseUri()).path("retry/stuck").request().get(String.class));
+            assertEquals(1, INVOCATIONS.get());
+            assertEquals(0, feature.getStatistics().getHedgedCount());
+            releasing.join();
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testRetriedResponseIsReleasedBeforeRetry() {
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        final AtomicBoolean closedBeforeRetry = new AtomicBoolean(false);
+        final AtomicInteger attempts = new AtomicInteger();
+        final Client client = client(new RetryFeature(), new ClientConfig()
+                .property(ClientProperties.RETRY_MAX_ATTEMPTS, 2)
+                .connectorProvider((jaxrsClient, config) -> new TestConnector() {
+                    @Override
+                    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+                        if (attempts.incrementAndGet() == 1) {
+                            callback.response(response(request, Response.Status.SERVICE_UNAVAILABLE, "unavailable", closed));
+                        } else {
+                            closedBeforeRetry.set(closed.get());
+                            callback.response(response(request, Response.Status.OK, "ok", new AtomicBoolean()));
+                        }
+                        return CompletableFuture.completedFuture(null);
+                    }
+                }));
+        try {
+            assertEquals("ok", client.target("http://localhost/").request().get(String.class));
+            assertEquals(2, attempts.get());
+            assertTrue(closedBeforeRetry.get(), "The connection of the retried response was held during the retry.");
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testHedgePermitIsHeldUntilEntityIsClosed() throws Exception {
+        final BulkheadFeature bulkhead = new BulkheadFeature();
+        final CountDownLatch hedged = new CountDownLatch(1);
+        final Client client = client(new RetryFeature(), new ClientConfig()
+                .property(ClientProperties.HEDGING_PERCENTILE, 90)
+                .property(ClientProperties.BULKHEAD_MAX_CONCURRENT_REQUESTS, 2)
+                .register(bulkhead)
+                .connectorProvider((jaxrsClient, config) -> new TestConnector() {
+                    @Override
+                    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+                        if (request.getUri().getPath().endsWith("stuck") && hedged.getCount() > 0) {
+                            // the first attempt never completes, the hedged one does
+                            hedged.countDown();
+                            return new CompletableFuture<>();
+                        }
+                        callback.response(response(request, Response.Status.OK, "ok", new AtomicBoolean()));
+                        return CompletableFuture.completedFuture(null);
+                    }
+                }));
+        try {
+            for (int i = 0; i < 30; i++) {
+                assertEquals("ok", client.target("http://localhost/fast").request().get(String.class));
+            }
+            final Bulkhead.Compartment compartment = bulkhead.getCompartments().values().iterator().next();
+
+            final Response response = client.target("http://localhost/stuck").request().get();
+            assertEquals(0, hedged.getCount());
+            // the permit of the request and the permit of the hedged attempt
+            assertEquals(2, compartment.getInFlightCount());
+            assertEquals("ok", response.readEntity(String.class));
+            assertEquals(0, compartment.getInFlightCount());
+        } finally {
+            client.close();
+        }
+    }
+
+    private static ClientResponse response(final ClientRequest request,
+                                           final Response.Status status,
+                                           final String entity,
+                                           final AtomicBoolean closed) {
+        final ClientResponse response = new ClientResponse(status, request);
+        response.setEntityStream(new ByteArrayInputStream(entity.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        });
+        return response;
+    }
+
+    @Test
+    public void testConnectorFailureIsPropagated() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final Client client = client(new RetryFeature(), new ClientConfig()
+                .property(ClientProperties.RETRY_MAX_ATTEMPTS, 2)
+                .connectorProvider((jaxrsClient, config) -> new TestConnector() {
+                    @Override
+                    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+                        attempts.incrementAndGet();
+                        throw new IllegalStateException("failed");
+                    }
+                }));
+        try {
+            final ProcessingException exception = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> assertThrows(ProcessingException.class, () -> client.target("http://localhost/").request().get()));
+            assertInstanceOf(IllegalStateException.class, exception.getCause());
+            assertEquals(2, attempts.get());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testInterruptedRequestCancelsAttempts() throws Exception {
+        final CompletableFuture<Future<?>> connection = new CompletableFuture<>();
+        final Client client = client(new RetryFeature(), new ClientConfig()
+                .property(ClientProperties.RETRY_MAX_ATTEMPTS, 2)
+                .connectorProvider((jaxrsClient, config) -> new TestConnector() {
+                    @Override
+                    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+                        final CompletableFuture<ClientResponse> response = new CompletableFuture<>();
+                        connection.complete(response);
+                        return response;
+                    }
+                }));
+        try {
+            final AtomicReference<Throwable> failure = new AtomicReference<>();
+            final Thread caller = new Thread(() -> {
+                try {
+                    client.target("http://localhost/").request().get();
+                } catch (final Throwable t) {
+                    failure.set(t);
+                }
+            });
+            caller.start();
+            final Future<?> attempt = connection.get(10, TimeUnit.SECONDS);
+            caller.interrupt();
+            caller.join(10000);
+
+            assertFalse(caller.isAlive());
+            assertInstanceOf(ProcessingException.class, failure.get());
+            assertTrue(attempt.isCancelled());
+        } finally {
+            client.close();
+        }
+    }
+
+    private abstract static class TestConnector implements Connector {
+
+        @Override
+        public ClientResponse apply(final ClientRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getName() {
+            return "test";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.e2e.entity;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.internal.jsr166.Flow;
+import org.glassfish.jersey.internal.jsr166.JdkFlowAdapter;
+import org.glassfish.jersey.message.StreamingMediaType;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests {@link Flow.Publisher} entities.
+ */
+public class FlowPublisherTest extends JerseyTest {
+
+    private static final int ITEM_COUNT = 100;
+    private static final AtomicLong MAX_OUTSTANDING = new AtomicLong(0);
+    private static final AtomicLong SUBSCRIBED = new AtomicLong(0);
+
+    @Path("publisher")
+    public static class PublisherResource {
+
+        @GET
+        @Path("ndjson")
+        @Produces(StreamingMediaType.APPLICATION_NDJSON)
+        public Flow.Publisher<String> ndjson() {
+            return new RangePublisher<>(ITEM_COUNT, i -> "item-" + i);
+        }
+
+        @GET
+        @Path("sse")
+        @Produces("text/event-stream")
+        public Flow.Publisher<String> sse() {
+            return new RangePublisher<>(3, i -> "item-" + i);
+        }
+
+        @GET
+        @Path("raw")
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        public Flow.Publisher<byte[]> raw() {
+            return new RangePublisher<>(ITEM_COUNT, i -> new byte[] {(byte) i});
+        }
+
+        @GET
+        @Path("failing")
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        public Flow.Publisher<byte[]> failing() {
+            return new RangePublisher<>(ITEM_COUNT, i -> new byte[] {(byte) i}, true);
+        }
+
+        @GET
+        @Path("jdk")
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        public Object jdk() {
+            return JdkFlowAdapter.toJdkPublisher(new RangePublisher<>(ITEM_COUNT, i -> new byte[] {(byte) i}));
+        }
+
+        @POST
+        @Path("single")
+        @Consumes(MediaType.TEXT_PLAIN)
+        public String single(final Flow.Publisher<String> items) throws Exception {
+            return String.join("|", collect(items));
+        }
+
+        @POST
+        @Path("count")
+        @Consumes(StreamingMediaType.APPLICATION_NDJSON)
+        public String count(final Flow.Publisher<String> items) throws Exception {
+            return String.valueOf(collect(items).size());
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(PublisherResource.class);
+    }
+
+    @Test
+    public void testNdjsonPublisher() throws Exception {
+        MAX_OUTSTANDING.set(0);
+        final Flow.Publisher<String> publisher = target("publisher/ndjson").request(StreamingMediaType.APPLICATION_NDJSON)
+                .get(new GenericType<Flow.Publisher<String>>() {
+                });
+
+        final List<String> items = collect(publisher);
+        assertEquals(ITEM_COUNT, items.size());
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            assertEquals("item-" + i, items.get(i));
+        }
+        assertEquals(1, MAX_OUTSTANDING.get(), "Writer requested more than a single item ahead.");
+    }
+
+    @Test
+    public void testSsePublisher() {
+        final String response = target("publisher/sse").request("text/event-stream").get(String.class);
+        assertEquals("data: item-0\n\ndata: item-1\n\ndata: item-2\n\n", response);
+    }
+
+    @Test
+    public void testSsePublisherRead() throws Exception {
+        final Flow.Publisher<String> publisher = target("publisher/sse").request("text/event-stream")
+                .get(new GenericType<Flow.Publisher<String>>() {
+                });
+        assertEquals(Arrays.asList("item-0", "item-1", "item-2"), collect(publisher));
+    }
+
+    @Test
+    public void testJdkPublisher() throws Exception {
+        assumeTrue(JdkFlowAdapter.getJdkPublisherClass() != null, "java.util.concurrent.Flow is not available.");
+
+        final Object publisher = target("publisher/jdk").request(MediaType.APPLICATION_OCTET_STREAM)
+                .get(new GenericType<>(JdkFlowAdapter.getJdkPublisherClass()));
+        assertTrue(JdkFlowAdapter.isJdkPublisher(publisher.getClass()));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (final Object chunk : collect(JdkFlowAdapter.toFlowPublisher(publisher))) {
+            bytes.write((byte[]) chunk);
+        }
+        final byte[] expected = new byte[ITEM_COUNT];
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            expected[i] = (byte) i;
+        }
+        assertArrayEquals(expected, bytes.toByteArray());
+    }
+
+    @Test
+    public void testRawEntityIsSingleItem() {
+        final String entity = new String(new char[3 * 8192]).replace('\0', 'x');
+        final Response response = target("publisher/single").request()
+                .post(Entity.entity(entity, MediaType.TEXT_PLAIN_TYPE));
+        assertEquals(200, response.getStatus());
+        assertEquals(entity, response.readEntity(String.class));
+    }
+
+    @Test
+    public void testRawPublisher() {
+        final byte[] response = target("publisher/raw").request(MediaType.APPLICATION_OCTET_STREAM).get(byte[].class);
+        assertEquals(ITEM_COUNT, response.length);
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            assertEquals((byte) i, response[i]);
+        }
+    }
+
+    @Test
+    public void testFailingPublisherAbortsResponse() {
+        assertThrows(ProcessingException.class, () -> target("publisher/failing")
+                .property(ClientProperties.READ_TIMEOUT, 10_000)
+                .request(MediaType.APPLICATION_OCTET_STREAM)
+                .get(byte[].class));
+    }
+
+    @Test
+    public void testHeadDoesNotSubscribe() {
+        SUBSCRIBED.set(0);
+        final Response response = target("publisher/raw").request(MediaType.APPLICATION_OCTET_STREAM).head();
+        assertEquals(200, response.getStatus());
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM_TYPE, response.getMediaType());
+        assertEquals(0, SUBSCRIBED.get(), "Publisher subscribed for a HEAD request.");
+    }
+
+    @Test
+    public void testPublisherParameter() {
+        final StringBuilder entity = new StringBuilder();
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            entity.append("item-").append(i).append('\n');
+        }
+        final Response response = target("publisher/count").request()
+                .post(Entity.entity(entity.toString(), StreamingMediaType.APPLICATION_NDJSON_TYPE));
+        assertEquals(200, response.getStatus());
+        assertEquals(String.valueOf(ITEM_COUNT), response.readEntity(String.class));
+    }
+
+    private static <T> List<T> collect(final Flow.Publisher<T> publisher) throws Exception {
+        final List<T> items = new ArrayList<>();
+        final CompletableFuture<List<T>> done = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<T>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(final Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(final T item) {
+                items.add(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+                done.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(items);
+            }
+        });
+        return done.get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Publisher emitting a fixed number of items strictly on demand and tracking the outstanding demand. A failing
+     * publisher signals an error instead of completing.
+     */
+    private static final class RangePublisher<T> implements Flow.Publisher<T> {
+
+        private final int count;
+        private final LongFunction<T> itemFactory;
+        private final boolean failing;
+
+        private RangePublisher(final int count, final LongFunction<T> itemFactory) {
+            this(count, itemFactory, false);
+        }
+
+        private RangePublisher(final int count, final LongFunction<T> itemFactory, final boolean failing) {
+            this.count = count;
+            this.itemFactory = itemFactory;
+            this.failing = failing;
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+            SUBSCRIBED.incrementAndGet();
+            subscriber.onSubscribe(new Flow.Subscription() {
+                private long next = 0;
+                private long demand = 0;
+                private boolean emitting = false;
+                private boolean cancelled = false;
+
+                @Override
+                public synchronized void request(final long n) {
+                    demand += n;
+                    MAX_OUTSTANDING.accumulateAndGet(demand, Math::max);
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (demand > 0 && next < count && !cancelled) {
+                        demand--;
+                        subscriber.onNext(itemFactory.apply(next++));
+                    }
+                    if (next == count && !cancelled) {
+                        cancelled = true;
+                        if (failing) {
+                            subscriber.onError(new IllegalStateException("Publisher failed."));
+                        } else {
+                            subscriber.onComplete();
+                        }
+                    }
+                    emitting = false;
+                }
+
+                @Override
+                public synchronized void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.e2e.server;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests request processing with {@link ServerProperties#COMPILED_PIPELINE_ENABLED the compiled pipeline}.
+ */
+public class CompiledPipelineTest extends JerseyTest {
+
+    @Path("pipeline")
+    public static class PipelineResource {
+
+        @GET
+        @Path("sync")
+        public String sync() {
+            return "sync";
+        }
+
+        @GET
+        @Path("suspended")
+        public void suspended(@Suspended final AsyncResponse asyncResponse) {
+            new Thread(() -> asyncResponse.resume("suspended")).start();
+        }
+
+        @GET
+        @Path("stage")
+        public CompletionStage<String> stage() {
+            return CompletableFuture.supplyAsync(() -> "stage");
+        }
+
+        @Path("locator/{id}")
+        public SubResource locator(@PathParam("id") final String id) {
+            return new SubResource(id);
+        }
+    }
+
+    public static class SubResource {
+
+        private final String id;
+
+        public SubResource(final String id) {
+            this.id = id;
+        }
+
+        @GET
+        public String get() {
+            return id;
+        }
+    }
+
+    @PreMatching
+    public static class AbortFilter implements ContainerRequestFilter {
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) {
+            if (requestContext.getHeaderString("X-Abort") != null) {
+                requestContext.abortWith(Response.status(Response.Status.CONFLICT).entity("aborted").build());
+            }
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(PipelineResource.class, AbortFilter.class)
+                .property(ServerProperties.COMPILED_PIPELINE_ENABLED, true);
+    }
+
+    @Test
+    public void testSync() {
+        assertEquals("sync", target("pipeline/sync").request().get(String.class));
+    }
+
+    @Test
+    public void testSuspended() {
+        assertEquals("suspended", target("pipeline/suspended").request().get(String.class));
+    }
+
+    @Test
+    public void testCompletionStage() {
+        assertEquals("stage", target("pipeline/stage").request().get(String.class));
+    }
+
+    @Test
+    public void testSubResourceLocator() {
+        assertEquals("42", target("pipeline/locator/42").request().get(String.class));
+    }
+
+    @Test
+    public void testAbortedByFilter() {
+        final Response response = target("pipeline/sync").request().header("X-Abort", "true").get();
+        assertEquals(409, response.getStatus());
+        assertEquals("aborted", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testNotFound() {
+        assertEquals(404, target("pipeline/missing").request().get().getStatus());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.e2e.server.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.filter.EntityTagFeature;
+import org.glassfish.jersey.server.filter.EntityVersion;
+import org.glassfish.jersey.server.filter.EntityVersionSupplier;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests {@link EntityTagFeature}.
+ */
+public class EntityTagFeatureTest extends JerseyTest {
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+    private static volatile String value = "v1";
+
+    public static class ValueVersion implements EntityVersionSupplier {
+
+        @Override
+        public String getVersion(final ContainerRequestContext requestContext) {
+            return value;
+        }
+    }
+
+    @Path("etag")
+    public static class EntityTagResource {
+
+        @GET
+        @Path("hashed")
+        public String hashed() {
+            INVOCATIONS.incrementAndGet();
+            return value;
+        }
+
+        @GET
+        @Path("large")
+        public String large() {
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i <= BUFFER_SIZE; i++) {
+                sb.append('x');
+            }
+            return sb.toString();
+        }
+
+        @GET
+        @Path("versioned")
+        @EntityVersion(ValueVersion.class)
+        public String versioned() {
+            INVOCATIONS.incrementAndGet();
+            return value;
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(EntityTagResource.class)
+                .register(EntityTagFeature.class)
+                .property(ServerProperties.ENTITY_TAG_BUFFER_SIZE, BUFFER_SIZE);
+    }
+
+    @BeforeEach
+    public void reset() {
+        INVOCATIONS.set(0);
+        value = "v1";
+    }
+
+    @Test
+    public void testHashedEntityTag() {
+        final Response response = target("etag/hashed").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("v1", response.readEntity(String.class));
+        final String etag = response.getHeaderString(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertFalse(etag.startsWith("W/"));
+
+        final Response notModified = target("etag/hashed").request().header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(304, notModified.getStatus());
+        assertEquals(etag, notModified.getHeaderString(HttpHeaders.ETAG));
+        assertFalse(notModified.hasEntity());
+
+        value = "v2";
+        final Response modified = target("etag/hashed").request().header(HttpHeaders.IF_NONE_MATCH, etag).get();
+        assertEquals(200, modified.getStatus());
+        assertEquals("v2", modified.readEntity(String.class));
+        assertNotEquals(etag, modified.getHeaderString(HttpHeaders.ETAG));
+        assertEquals(3, INVOCATIONS.get());
+    }
+
+    @Test
+    public void testEntityLargerThanBufferIsNotTagged() {
+        final Response response = target("etag/large").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals(BUFFER_SIZE + 1, response.readEntity(String.class).length());
+        assertNull(response.getHeaderString(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testVersionSupplierShortCircuits() {
+        final Response response = target("etag/versioned").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("\"v1\"", response.getHeaderString(HttpHeaders.ETAG));
+        response.close();
+
+        final Response notModified = target("etag/versioned").request().header(HttpHeaders.IF_NONE_MATCH, "\"v1\"").get();
+        assertEquals(304, notModified.getStatus());
+        assertEquals(1, INVOCATIONS.get());
+    }
+}
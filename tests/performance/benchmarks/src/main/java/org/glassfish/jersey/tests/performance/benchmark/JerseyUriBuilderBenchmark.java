@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2018 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2023 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -16,6 +16,9 @@
 
 package org.glassfish.jersey.tests.performance.benchmark;
 
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.glassfish.jersey.uri.internal.JerseyUriBuilder;
@@ -36,7 +39,7 @@ import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 /**
- * {@link JerseyUriBuilder} benchmark for parsing templates.
+ * {@link JerseyUriBuilder} benchmark for parsing and expanding templates.
  *
  * @author David Schlosnagle
  */
@@ -51,11 +54,22 @@ public class JerseyUriBuilderBenchmark {
     @Param(value = {"http://localhost:8080/a/b/c", "https://localhost:443/{a}/{b}/{c:.+}"})
     private String uriTemplate;
 
+    private static final String PATH_TEMPLATE = "users/{id}/orders/{oid}";
+
     private volatile JerseyUriBuilder uriBuilder;
+    private volatile Map<String, Object> templateValues;
 
     @Setup
     public void start() throws Exception {
         uriBuilder = new JerseyUriBuilder();
+
+        final Map<String, Object> values = new HashMap<>();
+        values.put("a", "alpha");
+        values.put("b", "beta gamma");
+        values.put("c", "c/d");
+        values.put("id", 42);
+        values.put("oid", "2023-01 #7");
+        templateValues = values;
     }
 
     @Benchmark
@@ -63,6 +77,24 @@ public class JerseyUriBuilderBenchmark {
         return uriBuilder.uri(uriTemplate);
     }
 
+    @Benchmark
+    public URI buildFromMap() throws Exception {
+        return new JerseyUriBuilder().uri(uriTemplate).path(PATH_TEMPLATE).buildFromMap(templateValues);
+    }
+
+    @Benchmark
+    public URI resolveTemplatesAndBuild() throws Exception {
+        return new JerseyUriBuilder().uri(uriTemplate).path(PATH_TEMPLATE).resolveTemplates(templateValues).build();
+    }
+
+    @Benchmark
+    public URI resolveTemplateAndBuild() throws Exception {
+        return new JerseyUriBuilder().uri(uriTemplate).path(PATH_TEMPLATE)
+                .resolveTemplate("id", 42)
+                .resolveTemplate("oid", "2023-01 #7")
+                .buildFromMap(templateValues);
+    }
+
     public static void main(final String[] args) throws Exception {
         final Options opt = new OptionsBuilder()
                 // Register our benchmarks.
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.performance.benchmark;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.test.util.server.ContainerRequestBuilder;
+import org.glassfish.jersey.tests.performance.benchmark.server.LocatorApplication;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Request processing pipeline {@link ApplicationHandler} benchmark comparing the linked stage chain with the
+ * {@link ServerProperties#COMPILED_PIPELINE_ENABLED compiled pipeline}.
+ * <p>
+ * The benchmark is meant to be run with the GC profiler ({@code -prof gc}) and its {@code gc.alloc.rate.norm} metric
+ * (bytes allocated per request) is the primary result. When run via {@link #main(String[])} the benchmark fails if
+ * the compiled pipeline allocates more per request than the linked stage chain for any of the measured paths.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 8, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 8, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PipelineAllocationBenchmark {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    @Param(value = {"resource", "resource/locator"})
+    private String path;
+
+    @Param(value = {"false", "true"})
+    private boolean compiled;
+
+    private volatile ApplicationHandler handler;
+
+    @Setup
+    public void start() throws Exception {
+        handler = new ApplicationHandler(new LocatorApplication()
+                .property(ServerProperties.COMPILED_PIPELINE_ENABLED, compiled));
+    }
+
+    @Benchmark
+    public ContainerResponse measure() throws Exception {
+        final ContainerRequest request = ContainerRequestBuilder
+                .from(path, "GET", handler.getConfiguration())
+                .build();
+        return handler.apply(request).get();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Options opt = new OptionsBuilder()
+                // Register our benchmarks.
+                .include(PipelineAllocationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        final Collection<RunResult> results = new Runner(opt).run();
+
+        // path -> [linked, compiled] bytes allocated per request
+        final Map<String, double[]> allocations = new HashMap<>();
+        for (final RunResult result : results) {
+            final String resultPath = result.getParams().getParam("path");
+            final boolean resultCompiled = Boolean.parseBoolean(result.getParams().getParam("compiled"));
+            allocations.computeIfAbsent(resultPath, p -> new double[2])[resultCompiled ? 1 : 0] = allocationRate(result);
+        }
+
+        for (final Map.Entry<String, double[]> entry : allocations.entrySet()) {
+            final double linked = entry.getValue()[0];
+            final double compiled = entry.getValue()[1];
+            System.out.printf("%s: linked pipeline %.1f B/op, compiled pipeline %.1f B/op%n", entry.getKey(), linked, compiled);
+            if (compiled > linked) {
+                throw new AssertionError("Compiled pipeline allocates more per request than the linked pipeline for path '"
+                        + entry.getKey() + "': " + compiled + " B/op > " + linked + " B/op.");
+            }
+        }
+    }
+
+    private static double allocationRate(final RunResult result) {
+        for (final Map.Entry<String, Result> secondary : result.getSecondaryResults().entrySet()) {
+            // older JMH versions prefix the profiler metrics with a middle dot
+            if (secondary.getKey().endsWith(ALLOCATION_METRIC)) {
+                return secondary.getValue().getScore();
+            }
+        }
+        throw new IllegalStateException("Allocation rate not measured, run the benchmark with the GC profiler.");
+    }
+}
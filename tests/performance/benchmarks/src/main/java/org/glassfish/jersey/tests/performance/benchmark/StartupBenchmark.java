@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.performance.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ExtendedResourceContext;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.model.ResourceValidationCache;
+import org.glassfish.jersey.tests.performance.benchmark.entity.json.ProjectsResource;
+import org.glassfish.jersey.tests.performance.benchmark.headers.HeadersMBRW;
+import org.glassfish.jersey.tests.performance.benchmark.headers.HeadersResource;
+import org.glassfish.jersey.tests.performance.benchmark.server.LocatorResource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * {@link ApplicationHandler} initialization benchmark comparing the startup with the resource model validated, with the
+ * validation skipped by a matching {@link ResourceValidationCache resource validation cache} and with the validation
+ * disabled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 8, time = 2500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 8, time = 2500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param(value = {"validated", "cached", "disabled"})
+    private String validation;
+
+    private volatile File cache;
+
+    @Setup
+    public void start() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(application());
+        cache = File.createTempFile("jersey-validation", ".properties");
+        try (OutputStream outputStream = new FileOutputStream(cache)) {
+            ResourceValidationCache.create(
+                    handler.getInjectionManager().getInstance(ExtendedResourceContext.class).getResourceModel(),
+                    handler.getConfiguration()).write(outputStream);
+        }
+    }
+
+    @TearDown
+    public void shutdown() {
+        cache.delete();
+    }
+
+    @Benchmark
+    public ApplicationHandler measure() {
+        final ResourceConfig application = application();
+        if ("cached".equals(validation)) {
+            application.property(ServerProperties.RESOURCE_VALIDATION_CACHE, cache.getAbsolutePath());
+        } else if ("disabled".equals(validation)) {
+            application.property(ServerProperties.RESOURCE_VALIDATION_DISABLE, true);
+        }
+        return new ApplicationHandler(application);
+    }
+
+    private static ResourceConfig application() {
+        return new ResourceConfig(LocatorResource.class, HeadersResource.class, HeadersMBRW.class, ProjectsResource.class)
+                // Turn off Monitoring to not affect benchmarks.
+                .property(ServerProperties.MONITORING_ENABLED, false)
+                .property(ServerProperties.MONITORING_STATISTICS_ENABLED, false)
+                .property(ServerProperties.MONITORING_STATISTICS_MBEANS_ENABLED, false);
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Options opt = new OptionsBuilder()
+                // Register our benchmarks.
+                .include(StartupBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2023 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.stress;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ChunkedInput;
+import org.glassfish.jersey.internal.guava.ThreadFactoryBuilder;
+import org.glassfish.jersey.server.AsyncChunkedOutput;
+import org.glassfish.jersey.server.ChunkedOutput;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress test of {@link AsyncChunkedOutput} serving a large number of slow consumers from a small executor.
+ */
+public class AsyncChunkedOutputStressTest extends JerseyTest {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncChunkedOutputStressTest.class.getName());
+
+    private static final int CONSUMER_COUNT = Integer.getInteger("jersey.stress.chunked.consumers", 2_000);
+    private static final int CHUNK_COUNT = 50;
+    private static final int SLOW_CONSUMER_DELAY_MILLIS = 5;
+    private static final int LOW_WATERMARK = 2;
+    private static final int HIGH_WATERMARK = 8;
+    private static final int WRITER_THREADS = 4;
+    private static final int TIMEOUT_SECONDS = 300;
+
+    private static final ExecutorService WRITER_EXECUTOR = Executors.newFixedThreadPool(WRITER_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("chunk-writer-%d").setDaemon(true).build());
+    private static final AtomicInteger WRITTEN = new AtomicInteger(0);
+
+    private final ExecutorService consumerExecutor = Executors.newFixedThreadPool(CONSUMER_COUNT,
+            new ThreadFactoryBuilder().setNameFormat("slow-consumer-%d").setDaemon(true).build());
+
+    @Path("stream")
+    public static class StreamingResource {
+
+        @GET
+        public ChunkedOutput<String> stream() {
+            final AsyncChunkedOutput<String> output = new AsyncChunkedOutput<>(String.class, "\r\n", WRITER_EXECUTOR,
+                    LOW_WATERMARK, HIGH_WATERMARK);
+            produce(output, new AtomicInteger(0));
+            return output;
+        }
+
+        private static void produce(final AsyncChunkedOutput<String> output, final AtomicInteger next) {
+            CompletionStage<Void> last = null;
+            while (next.get() < CHUNK_COUNT && output.isWritable()) {
+                last = output.writeAsync("chunk-" + next.getAndIncrement());
+            }
+
+            if (last == null || next.get() == CHUNK_COUNT) {
+                try {
+                    output.close();
+                } catch (final IOException e) {
+                    LOGGER.log(Level.FINE, "Error closing chunked output.", e);
+                }
+                if (last != null) {
+                    last.thenRun(() -> WRITTEN.addAndGet(CHUNK_COUNT));
+                }
+            } else {
+                // continue once the output has drained below the low watermark
+                last.whenComplete((result, throwable) -> {
+                    if (throwable == null) {
+                        produce(output, next);
+                    } else {
+                        LOGGER.log(Level.FINE, "Error writing chunk.", throwable);
+                    }
+                });
+            }
+        }
+    }
+
+    @Path("rejected")
+    public static class RejectingExecutorResource {
+
+        @GET
+        public ChunkedOutput<String> stream() throws IOException {
+            final AsyncChunkedOutput<String> output = new AsyncChunkedOutput<>(String.class, "\r\n", command -> {
+                throw new RejectedExecutionException();
+            }, LOW_WATERMARK, HIGH_WATERMARK);
+            WRITER_EXECUTOR.execute(() -> {
+                try {
+                    for (int i = 0; i < CHUNK_COUNT; i++) {
+                        output.writeAsync("chunk-" + i);
+                    }
+                    output.close();
+                } catch (final IOException e) {
+                    LOGGER.log(Level.FINE, "Error writing chunks.", e);
+                }
+            });
+            return output;
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(StreamingResource.class, RejectingExecutorResource.class);
+    }
+
+    @AfterEach
+    public void shutdownConsumers() {
+        consumerExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testRejectingExecutor() throws Exception {
+        try (Response response = target("rejected").request().get()) {
+            final ChunkedInput<String> input = response.readEntity(new GenericType<ChunkedInput<String>>() {
+            });
+            int counter = 0;
+            String chunk;
+            while ((chunk = input.read()) != null) {
+                assertEquals("chunk-" + counter, chunk);
+                counter++;
+            }
+            assertEquals(CHUNK_COUNT, counter);
+        }
+    }
+
+    @Test
+    public void testSlowConsumers() throws Exception {
+        final CountDownLatch done = new CountDownLatch(CONSUMER_COUNT);
+        final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        final AtomicInteger received = new AtomicInteger(0);
+
+        for (int i = 0; i < CONSUMER_COUNT; i++) {
+            consumerExecutor.submit(() -> {
+                try (Response response = target("stream").request().get()) {
+                    final ChunkedInput<String> input = response.readEntity(new GenericType<ChunkedInput<String>>() {
+                    });
+
+                    int counter = 0;
+                    String chunk;
+                    while ((chunk = input.read()) != null) {
+                        assertEquals("chunk-" + counter, chunk);
+                        counter++;
+                        Thread.sleep(SLOW_CONSUMER_DELAY_MILLIS);
+                    }
+                    assertEquals(CHUNK_COUNT, counter);
+                    received.addAndGet(counter);
+                } catch (final Throwable t) {
+                    failures.add(t);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        assertTrue(done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Consumers did not finish in time.");
+        if (!failures.isEmpty()) {
+            throw new AssertionError(failures.size() + " consumers failed.", failures.peek());
+        }
+        assertEquals(CONSUMER_COUNT * CHUNK_COUNT, received.get());
+        assertEquals(CONSUMER_COUNT * CHUNK_COUNT, WRITTEN.get());
+    }
+}